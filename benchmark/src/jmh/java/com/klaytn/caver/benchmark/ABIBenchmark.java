@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.ABICodec;
+import com.klaytn.caver.abi.datatypes.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding parameters by solidity type strings with the precompiled ABICodec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ABIBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ABIState {
+        List<String> types = Arrays.asList("address", "uint256", "bool", "bytes32", "string", "uint256[]");
+        List<Object> values = Arrays.asList(
+                "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a",
+                BigInteger.TEN.pow(18),
+                true,
+                "0xb3cb6dd8e2bda8e0ab5c21b1bfcaa2bf5b0d6dba4c68b7c85ed3a0ea3d6b2e0b",
+                "caver-java",
+                Arrays.asList(1, 2, 3)
+        );
+
+        ABICodec codec;
+        String encoded;
+
+        @Setup
+        public void setup() throws Exception {
+            codec = ABICodec.compile(types);
+            encoded = codec.encode(values);
+        }
+    }
+
+    @Benchmark
+    public String encodeParameters(ABIState state) throws Exception {
+        return ABI.encodeParameters(state.types, state.values);
+    }
+
+    @Benchmark
+    public String encodeWithCodec(ABIState state) throws Exception {
+        return state.codec.encode(state.values);
+    }
+
+    @Benchmark
+    public List<Type> decodeParameters(ABIState state) throws Exception {
+        return ABI.decodeParameters(state.types, state.encoded);
+    }
+
+    @Benchmark
+    public List<Type> decodeWithCodec(ABIState state) {
+        return state.codec.decode(state.encoded);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
+import com.klaytn.caver.transaction.TransactionHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the fee payer's hash and sign paths for every fee delegated transaction type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FeeDelegatedTransactionBenchmark {
+
+    @Benchmark
+    public String getHashForFeePayerSignature(FeeDelegatedTransactionState state) {
+        return TransactionHasher.getHashForFeePayerSignature(state.senderSigned);
+    }
+
+    @Benchmark
+    public AbstractFeeDelegatedTransaction signAsFeePayer(FeeDelegatedTransactionState state) throws IOException {
+        return state.toSign.signAsFeePayer(state.feePayer);
+    }
+}
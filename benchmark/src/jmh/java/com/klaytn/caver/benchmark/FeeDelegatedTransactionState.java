@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
+import com.klaytn.caver.transaction.type.TransactionType;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+
+/**
+ * Holds the per-type fixtures shared by the fee payer benchmarks.
+ */
+@State(Scope.Thread)
+public class FeeDelegatedTransactionState {
+    @Param({
+            "TxTypeFeeDelegatedValueTransfer",
+            "TxTypeFeeDelegatedValueTransferWithRatio",
+            "TxTypeFeeDelegatedValueTransferMemo",
+            "TxTypeFeeDelegatedValueTransferMemoWithRatio",
+            "TxTypeFeeDelegatedAccountUpdate",
+            "TxTypeFeeDelegatedAccountUpdateWithRatio",
+            "TxTypeFeeDelegatedSmartContractDeploy",
+            "TxTypeFeeDelegatedSmartContractDeployWithRatio",
+            "TxTypeFeeDelegatedSmartContractExecution",
+            "TxTypeFeeDelegatedSmartContractExecutionWithRatio",
+            "TxTypeFeeDelegatedCancel",
+            "TxTypeFeeDelegatedCancelWithRatio",
+            "TxTypeFeeDelegatedChainDataAnchoring",
+            "TxTypeFeeDelegatedChainDataAnchoringWithRatio"
+    })
+    public String type;
+
+    /**
+     * The keyring used to sign transactions as a fee payer.
+     */
+    public SingleKeyring feePayer;
+
+    /**
+     * A transaction signed by the sender, which has a fee payer address.
+     */
+    public AbstractFeeDelegatedTransaction senderSigned;
+
+    /**
+     * A transaction to be signed repeatedly by the fee payer.
+     */
+    public AbstractFeeDelegatedTransaction toSign;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        TransactionType transactionType = TransactionType.valueOf(type);
+        SingleKeyring sender = TransactionFixture.senderKeyring();
+        feePayer = TransactionFixture.feePayerKeyring();
+
+        senderSigned = (AbstractFeeDelegatedTransaction)TransactionFixture.create(transactionType, sender);
+        senderSigned.sign(sender);
+        senderSigned.setFeePayer(feePayer.getAddress());
+
+        toSign = (AbstractFeeDelegatedTransaction)TransactionFixture.create(transactionType, sender);
+        toSign.sign(sender);
+    }
+}
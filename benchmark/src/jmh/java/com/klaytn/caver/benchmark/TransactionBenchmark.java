@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.TransactionDecoder;
+import com.klaytn.caver.transaction.TransactionHasher;
+import com.klaytn.caver.transaction.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the encode, hash, sign and decode paths for every transaction type.
+ * Run it with the gc profiler(enabled by default in benchmark/build.gradle) to see allocations per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionBenchmark {
+
+    /**
+     * Provides a fresh unsigned transaction for each invocation of the sign benchmark.<p>
+     * A LegacyTransaction cannot be signed twice, so a batch of unsigned transactions is built before each iteration
+     * and the invocations walk through it. An invocation level setup would add its own overhead to every call.
+     * If an iteration uses up the batch, it is built again, which costs a small fraction of signing BATCH_SIZE transactions.
+     */
+    @State(Scope.Thread)
+    public static class UnsignedTransactions {
+        static final int BATCH_SIZE = 1024;
+
+        final AbstractTransaction[] batch = new AbstractTransaction[BATCH_SIZE];
+        TransactionState state;
+        int index;
+
+        @Setup(Level.Iteration)
+        public void setup(TransactionState state) {
+            this.state = state;
+            fill();
+        }
+
+        AbstractTransaction next() {
+            if(index == BATCH_SIZE) {
+                fill();
+            }
+            return batch[index++];
+        }
+
+        private void fill() {
+            TransactionType type = TransactionType.valueOf(state.type);
+            for(int i = 0; i < BATCH_SIZE; i++) {
+                batch[i] = TransactionFixture.create(type, state.sender);
+            }
+            index = 0;
+        }
+    }
+
+    @Benchmark
+    public String getRLPEncoding(TransactionState state) {
+        return state.signed.getRLPEncoding();
+    }
+
+    @Benchmark
+    public byte[] getRLPEncodingAsByteArray(TransactionState state) {
+        return state.signed.getRLPEncodingAsByteArray();
+    }
+
+    @Benchmark
+    public String getRLPEncodingForSignature(TransactionState state) {
+        return state.unsigned.getRLPEncodingForSignature();
+    }
+
+    @Benchmark
+    public String getHashForSignature(TransactionState state) {
+        return TransactionHasher.getHashForSignature(state.unsigned);
+    }
+
+    @Benchmark
+    public byte[] getHashForSignatureAsByteArray(TransactionState state) {
+        return TransactionHasher.getHashForSignatureAsByteArray(state.unsigned);
+    }
+
+    @Benchmark
+    public AbstractTransaction sign(TransactionState state, UnsignedTransactions unsigned) throws IOException {
+        return unsigned.next().sign(state.sender);
+    }
+
+    @Benchmark
+    public AbstractTransaction decode(TransactionState state) {
+        return TransactionDecoder.decode(state.rawTransaction);
+    }
+}
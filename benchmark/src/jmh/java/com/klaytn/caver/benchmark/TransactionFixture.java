@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.account.Account;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.type.*;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+
+/**
+ * Creates a transaction instance of each type in com.klaytn.caver.transaction.type with fixed values.
+ * All optional values(nonce, gasPrice, chainId) are filled, so no Klay RPC instance is needed to sign them.
+ */
+public class TransactionFixture {
+    static final String SENDER_PRIVATE_KEY = "0x45a915e4d060149eb4365960e6a7a45f334393093061116b197e3240065ff2d8";
+    static final String FEE_PAYER_PRIVATE_KEY = "0xb9d5558443585bca6f225b935950e3f6e69f9da8a5809a83f51c3365dff53936";
+
+    static final String TO = "0x7b65b75d204abed71587c9e519a89277766ee1d0";
+    static final String VALUE = "0xa";
+    static final String NONCE = "0x4d2";
+    static final String GAS = "0x3b9ac9ff";
+    static final String GAS_PRICE = "0x5d21dba00";
+    static final String CHAIN_ID = "0x2710";
+    static final String FEE_RATIO = "0x1e";
+    static final String MEMO = "0x68656c6c6f";
+    static final String CODE_FORMAT = "0x0";
+
+    // Bytecode of a small storage contract and the calldata of `set(uint256)` on it.
+    static final String DEPLOY_INPUT = "0x608060405234801561001057600080fd5b5060bd8061001f6000396000f3fe6080604052348015600f57600080fd5b5060043610603c5760003560e01c806360fe47b11460415780636d4ce63c14605d575b600080fd5b605b60048036036020811015605557600080fd5b5035607d565b005b60636082565b60408051918252519081900360200190f35b600055565b6000549056fea165627a7a72305820e0d9eca5a1a5d3e7ec0fe45b2e3c7e1c0f84d6fa0b9eb46f1b2fd1d3f1cbbd2a0029";
+    static final String EXECUTION_INPUT = "0x60fe47b10000000000000000000000000000000000000000000000000000000000000001";
+
+    /**
+     * Returns a keyring which is used as a sender of fixture transactions.
+     * @return SingleKeyring
+     */
+    public static SingleKeyring senderKeyring() {
+        return KeyringFactory.createFromPrivateKey(SENDER_PRIVATE_KEY);
+    }
+
+    /**
+     * Returns a keyring which is used as a fee payer of fixture transactions.
+     * @return SingleKeyring
+     */
+    public static SingleKeyring feePayerKeyring() {
+        return KeyringFactory.createFromPrivateKey(FEE_PAYER_PRIVATE_KEY);
+    }
+
+    /**
+     * Creates an unsigned transaction instance of the given type.
+     * @param type The transaction type to create.
+     * @param sender The keyring of the sender.
+     * @return AbstractTransaction
+     */
+    public static AbstractTransaction create(TransactionType type, SingleKeyring sender) {
+        String from = sender.getAddress();
+        Account account = Account.createWithAccountKeyPublic(from, sender.getPublicKey());
+
+        switch(type) {
+            case TxTypeLegacyTransaction:
+                return new LegacyTransaction.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE)
+                        .build();
+            case TxTypeValueTransfer:
+                return new ValueTransfer.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE)
+                        .build();
+            case TxTypeFeeDelegatedValueTransfer:
+                return new FeeDelegatedValueTransfer.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE)
+                        .build();
+            case TxTypeFeeDelegatedValueTransferWithRatio:
+                return new FeeDelegatedValueTransferWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE).setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeValueTransferMemo:
+                return new ValueTransferMemo.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE).setInput(MEMO)
+                        .build();
+            case TxTypeFeeDelegatedValueTransferMemo:
+                return new FeeDelegatedValueTransferMemo.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE).setInput(MEMO)
+                        .build();
+            case TxTypeFeeDelegatedValueTransferMemoWithRatio:
+                return new FeeDelegatedValueTransferMemoWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue(VALUE).setInput(MEMO).setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeAccountUpdate:
+                return new AccountUpdate.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setAccount(account)
+                        .build();
+            case TxTypeFeeDelegatedAccountUpdate:
+                return new FeeDelegatedAccountUpdate.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setAccount(account)
+                        .build();
+            case TxTypeFeeDelegatedAccountUpdateWithRatio:
+                return new FeeDelegatedAccountUpdateWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setAccount(account).setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeSmartContractDeploy:
+                return new SmartContractDeploy.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setValue("0x0").setInput(DEPLOY_INPUT).setHumanReadable(false).setCodeFormat(CODE_FORMAT)
+                        .build();
+            case TxTypeFeeDelegatedSmartContractDeploy:
+                return new FeeDelegatedSmartContractDeploy.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setValue("0x0").setInput(DEPLOY_INPUT).setHumanReadable(false).setCodeFormat(CODE_FORMAT)
+                        .build();
+            case TxTypeFeeDelegatedSmartContractDeployWithRatio:
+                return new FeeDelegatedSmartContractDeployWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setValue("0x0").setInput(DEPLOY_INPUT).setHumanReadable(false).setCodeFormat(CODE_FORMAT)
+                        .setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeSmartContractExecution:
+                return new SmartContractExecution.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue("0x0").setInput(EXECUTION_INPUT)
+                        .build();
+            case TxTypeFeeDelegatedSmartContractExecution:
+                return new FeeDelegatedSmartContractExecution.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue("0x0").setInput(EXECUTION_INPUT)
+                        .build();
+            case TxTypeFeeDelegatedSmartContractExecutionWithRatio:
+                return new FeeDelegatedSmartContractExecutionWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setTo(TO).setValue("0x0").setInput(EXECUTION_INPUT).setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeCancel:
+                return new Cancel.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .build();
+            case TxTypeFeeDelegatedCancel:
+                return new FeeDelegatedCancel.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .build();
+            case TxTypeFeeDelegatedCancelWithRatio:
+                return new FeeDelegatedCancelWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setFeeRatio(FEE_RATIO)
+                        .build();
+            case TxTypeChainDataAnchoring:
+                return new ChainDataAnchoring.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setInput(MEMO)
+                        .build();
+            case TxTypeFeeDelegatedChainDataAnchoring:
+                return new FeeDelegatedChainDataAnchoring.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setInput(MEMO)
+                        .build();
+            case TxTypeFeeDelegatedChainDataAnchoringWithRatio:
+                return new FeeDelegatedChainDataAnchoringWithRatio.Builder()
+                        .setFrom(from).setNonce(NONCE).setGas(GAS).setGasPrice(GAS_PRICE).setChainId(CHAIN_ID)
+                        .setInput(MEMO).setFeeRatio(FEE_RATIO)
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unsupported transaction type : " + type);
+        }
+    }
+}
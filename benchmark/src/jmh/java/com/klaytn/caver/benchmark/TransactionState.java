@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.benchmark;
+
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.type.TransactionType;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+
+/**
+ * Holds the per-type fixtures shared by the transaction benchmarks.
+ */
+@State(Scope.Thread)
+public class TransactionState {
+    @Param({
+            "TxTypeLegacyTransaction",
+            "TxTypeValueTransfer",
+            "TxTypeFeeDelegatedValueTransfer",
+            "TxTypeFeeDelegatedValueTransferWithRatio",
+            "TxTypeValueTransferMemo",
+            "TxTypeFeeDelegatedValueTransferMemo",
+            "TxTypeFeeDelegatedValueTransferMemoWithRatio",
+            "TxTypeAccountUpdate",
+            "TxTypeFeeDelegatedAccountUpdate",
+            "TxTypeFeeDelegatedAccountUpdateWithRatio",
+            "TxTypeSmartContractDeploy",
+            "TxTypeFeeDelegatedSmartContractDeploy",
+            "TxTypeFeeDelegatedSmartContractDeployWithRatio",
+            "TxTypeSmartContractExecution",
+            "TxTypeFeeDelegatedSmartContractExecution",
+            "TxTypeFeeDelegatedSmartContractExecutionWithRatio",
+            "TxTypeCancel",
+            "TxTypeFeeDelegatedCancel",
+            "TxTypeFeeDelegatedCancelWithRatio",
+            "TxTypeChainDataAnchoring",
+            "TxTypeFeeDelegatedChainDataAnchoring",
+            "TxTypeFeeDelegatedChainDataAnchoringWithRatio"
+    })
+    public String type;
+
+    /**
+     * The keyring used to sign transactions.
+     */
+    public SingleKeyring sender;
+
+    /**
+     * An unsigned transaction. It is only used to compute hashes, so it is never mutated.
+     */
+    public AbstractTransaction unsigned;
+
+    /**
+     * A transaction signed by the sender.
+     */
+    public AbstractTransaction signed;
+
+    /**
+     * The RLP-encoded string of the signed transaction.
+     */
+    public String rawTransaction;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        TransactionType transactionType = TransactionType.valueOf(type);
+        sender = TransactionFixture.senderKeyring();
+
+        unsigned = TransactionFixture.create(transactionType, sender);
+
+        signed = TransactionFixture.create(transactionType, sender);
+        signed.sign(sender);
+        rawTransaction = signed.getRLPEncoding();
+    }
+}
@@ -44,15 +44,7 @@ public class ABI {
      * @return String
      */
     public static String encodeFunctionCall(ContractMethod method, List<Object> params) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String functionSignature = ABI.buildFunctionString(method);
-
-        List<String> solTypeList = new ArrayList();
-
-        for (ContractIOType contractIOType : method.getInputs()) {
-            solTypeList.add(contractIOType.getTypeAsString());
-        }
-
-        return encodeFunctionCall(functionSignature, solTypeList, params);
+        return method.getFunctionSelector() + method.getInputCodec().encode(params);
     }
 
     /**
@@ -312,13 +304,7 @@ public class ABI {
      * @throws ClassNotFoundException
      */
     public static List<Type> decodeParameters(ContractMethod method, String encoded) throws ClassNotFoundException {
-        List<TypeReference<Type>> resultParams = new ArrayList<>();
-
-        for(ContractIOType ioType: method.getOutputs()) {
-            resultParams.add(TypeReference.makeTypeReference(ioType.getTypeAsString()));
-        }
-
-        return FunctionReturnDecoder.decode(encoded, resultParams);
+        return method.getOutputCodec().decode(encoded);
     }
 
     /**
@@ -353,6 +339,27 @@ public class ABI {
         return new EventValues(indexedValues, nonIndexedValues);
     }
 
+    /**
+     * Decodes a ABI-encoded log data and indexed topic data with the codecs compiled in the ContractEvent.
+     * @param event A ContractEvent instance.
+     * @param data An ABI-encoded in the data field of a log
+     * @param topics A list of topics of the log. The first topic is the event signature.
+     * @return EventValues
+     * @throws ClassNotFoundException
+     */
+    public static EventValues decodeLog(ContractEvent event, String data, List<String> topics) throws ClassNotFoundException {
+        ABICodec indexedCodec = event.getIndexedCodec();
+
+        List<Type> nonIndexedValues = event.getNonIndexedCodec().decode(data);
+        List<Type> indexedValues = new ArrayList<>(indexedCodec.size());
+
+        for(int i=0; i < indexedCodec.size(); i++) {
+            indexedValues.add(indexedCodec.decodeTopic(i, topics.get(i + 1)));
+        }
+
+        return new EventValues(indexedValues, nonIndexedValues);
+    }
+
 //    private static int getLength(List<Type> parameters) {
 //        int count = 0;
 //        for (Type type:parameters) {
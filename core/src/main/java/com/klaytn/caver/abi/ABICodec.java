@@ -0,0 +1,586 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.abi;
+
+import com.klaytn.caver.abi.datatypes.*;
+import com.klaytn.caver.abi.datatypes.generated.*;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Strings;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.klaytn.caver.abi.TypeDecoder.MAX_BYTE_LENGTH_FOR_HEX_STRING;
+
+/**
+ * A codec for a list of solidity types, compiled once and reused for every encoding and decoding.<p>
+ * The solidity type strings are resolved when the codec is compiled. The atomic types(address, bool, string, bytes, bytesN, intN, uintN)
+ * and the dynamic arrays of them are instantiated and decoded by direct constructor calls, without parsing the type string
+ * or looking up the type class and its constructor by reflection on each call.
+ * The other types(tuple, static array, nested array and fixed point number) are handled by the TypeReference made at compile time.
+ * <pre>
+ * ABICodec codec = ABICodec.compile(Arrays.asList("address", "uint256"));
+ * String encoded = codec.encode(Arrays.asList("0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a", BigInteger.ONE));
+ * List&lt;Type&gt; decoded = codec.decode(encoded);
+ * </pre>
+ */
+public class ABICodec {
+    private static final Map<String, Function<BigInteger, NumericType>> NUMERIC_TYPES = new HashMap<>();
+    private static final Map<String, Function<byte[], Bytes>> BYTES_TYPES = new HashMap<>();
+
+    static {
+        NUMERIC_TYPES.put("uint", Uint::new);
+        NUMERIC_TYPES.put("int", Int::new);
+        NUMERIC_TYPES.put("uint8", Uint8::new);
+        NUMERIC_TYPES.put("uint16", Uint16::new);
+        NUMERIC_TYPES.put("uint24", Uint24::new);
+        NUMERIC_TYPES.put("uint32", Uint32::new);
+        NUMERIC_TYPES.put("uint40", Uint40::new);
+        NUMERIC_TYPES.put("uint48", Uint48::new);
+        NUMERIC_TYPES.put("uint56", Uint56::new);
+        NUMERIC_TYPES.put("uint64", Uint64::new);
+        NUMERIC_TYPES.put("uint72", Uint72::new);
+        NUMERIC_TYPES.put("uint80", Uint80::new);
+        NUMERIC_TYPES.put("uint88", Uint88::new);
+        NUMERIC_TYPES.put("uint96", Uint96::new);
+        NUMERIC_TYPES.put("uint104", Uint104::new);
+        NUMERIC_TYPES.put("uint112", Uint112::new);
+        NUMERIC_TYPES.put("uint120", Uint120::new);
+        NUMERIC_TYPES.put("uint128", Uint128::new);
+        NUMERIC_TYPES.put("uint136", Uint136::new);
+        NUMERIC_TYPES.put("uint144", Uint144::new);
+        NUMERIC_TYPES.put("uint152", Uint152::new);
+        NUMERIC_TYPES.put("uint160", Uint160::new);
+        NUMERIC_TYPES.put("uint168", Uint168::new);
+        NUMERIC_TYPES.put("uint176", Uint176::new);
+        NUMERIC_TYPES.put("uint184", Uint184::new);
+        NUMERIC_TYPES.put("uint192", Uint192::new);
+        NUMERIC_TYPES.put("uint200", Uint200::new);
+        NUMERIC_TYPES.put("uint208", Uint208::new);
+        NUMERIC_TYPES.put("uint216", Uint216::new);
+        NUMERIC_TYPES.put("uint224", Uint224::new);
+        NUMERIC_TYPES.put("uint232", Uint232::new);
+        NUMERIC_TYPES.put("uint240", Uint240::new);
+        NUMERIC_TYPES.put("uint248", Uint248::new);
+        NUMERIC_TYPES.put("uint256", Uint256::new);
+        NUMERIC_TYPES.put("int8", Int8::new);
+        NUMERIC_TYPES.put("int16", Int16::new);
+        NUMERIC_TYPES.put("int24", Int24::new);
+        NUMERIC_TYPES.put("int32", Int32::new);
+        NUMERIC_TYPES.put("int40", Int40::new);
+        NUMERIC_TYPES.put("int48", Int48::new);
+        NUMERIC_TYPES.put("int56", Int56::new);
+        NUMERIC_TYPES.put("int64", Int64::new);
+        NUMERIC_TYPES.put("int72", Int72::new);
+        NUMERIC_TYPES.put("int80", Int80::new);
+        NUMERIC_TYPES.put("int88", Int88::new);
+        NUMERIC_TYPES.put("int96", Int96::new);
+        NUMERIC_TYPES.put("int104", Int104::new);
+        NUMERIC_TYPES.put("int112", Int112::new);
+        NUMERIC_TYPES.put("int120", Int120::new);
+        NUMERIC_TYPES.put("int128", Int128::new);
+        NUMERIC_TYPES.put("int136", Int136::new);
+        NUMERIC_TYPES.put("int144", Int144::new);
+        NUMERIC_TYPES.put("int152", Int152::new);
+        NUMERIC_TYPES.put("int160", Int160::new);
+        NUMERIC_TYPES.put("int168", Int168::new);
+        NUMERIC_TYPES.put("int176", Int176::new);
+        NUMERIC_TYPES.put("int184", Int184::new);
+        NUMERIC_TYPES.put("int192", Int192::new);
+        NUMERIC_TYPES.put("int200", Int200::new);
+        NUMERIC_TYPES.put("int208", Int208::new);
+        NUMERIC_TYPES.put("int216", Int216::new);
+        NUMERIC_TYPES.put("int224", Int224::new);
+        NUMERIC_TYPES.put("int232", Int232::new);
+        NUMERIC_TYPES.put("int240", Int240::new);
+        NUMERIC_TYPES.put("int248", Int248::new);
+        NUMERIC_TYPES.put("int256", Int256::new);
+        BYTES_TYPES.put("bytes1", Bytes1::new);
+        BYTES_TYPES.put("bytes2", Bytes2::new);
+        BYTES_TYPES.put("bytes3", Bytes3::new);
+        BYTES_TYPES.put("bytes4", Bytes4::new);
+        BYTES_TYPES.put("bytes5", Bytes5::new);
+        BYTES_TYPES.put("bytes6", Bytes6::new);
+        BYTES_TYPES.put("bytes7", Bytes7::new);
+        BYTES_TYPES.put("bytes8", Bytes8::new);
+        BYTES_TYPES.put("bytes9", Bytes9::new);
+        BYTES_TYPES.put("bytes10", Bytes10::new);
+        BYTES_TYPES.put("bytes11", Bytes11::new);
+        BYTES_TYPES.put("bytes12", Bytes12::new);
+        BYTES_TYPES.put("bytes13", Bytes13::new);
+        BYTES_TYPES.put("bytes14", Bytes14::new);
+        BYTES_TYPES.put("bytes15", Bytes15::new);
+        BYTES_TYPES.put("bytes16", Bytes16::new);
+        BYTES_TYPES.put("bytes17", Bytes17::new);
+        BYTES_TYPES.put("bytes18", Bytes18::new);
+        BYTES_TYPES.put("bytes19", Bytes19::new);
+        BYTES_TYPES.put("bytes20", Bytes20::new);
+        BYTES_TYPES.put("bytes21", Bytes21::new);
+        BYTES_TYPES.put("bytes22", Bytes22::new);
+        BYTES_TYPES.put("bytes23", Bytes23::new);
+        BYTES_TYPES.put("bytes24", Bytes24::new);
+        BYTES_TYPES.put("bytes25", Bytes25::new);
+        BYTES_TYPES.put("bytes26", Bytes26::new);
+        BYTES_TYPES.put("bytes27", Bytes27::new);
+        BYTES_TYPES.put("bytes28", Bytes28::new);
+        BYTES_TYPES.put("bytes29", Bytes29::new);
+        BYTES_TYPES.put("bytes30", Bytes30::new);
+        BYTES_TYPES.put("bytes31", Bytes31::new);
+        BYTES_TYPES.put("bytes32", Bytes32::new);
+    }
+
+    /**
+     * The list of solidity type string.
+     */
+    private final List<String> solidityTypes;
+
+    /**
+     * The list of compiled codec for each solidity type.
+     */
+    private final List<ParameterCodec> parameterCodecs;
+
+    private ABICodec(List<String> solidityTypes, List<ParameterCodec> parameterCodecs) {
+        this.solidityTypes = Collections.unmodifiableList(new ArrayList<>(solidityTypes));
+        this.parameterCodecs = parameterCodecs;
+    }
+
+    /**
+     * Compiles a codec for the list of solidity types.
+     * @param solidityTypes A List of solidity type string. e.g. ["uint256", "address[]", "tuple(string,bytes32)"]
+     * @return ABICodec
+     * @throws ClassNotFoundException
+     */
+    public static ABICodec compile(List<String> solidityTypes) throws ClassNotFoundException {
+        List<ParameterCodec> parameterCodecs = new ArrayList<>(solidityTypes.size());
+        for(String solidityType : solidityTypes) {
+            parameterCodecs.add(compileParameter(solidityType));
+        }
+
+        return new ABICodec(solidityTypes, parameterCodecs);
+    }
+
+    /**
+     * Encodes values based on the compiled solidity types to its ABI representation.
+     * @param values A List of value to encode.
+     * @return String
+     * @throws ClassNotFoundException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    public String encode(List<Object> values) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        return ABI.encodeParameters(instantiate(values));
+    }
+
+    /**
+     * Converts values to the solidity type wrappers of the compiled solidity types.
+     * @param values A List of value to convert.
+     * @return List
+     * @throws ClassNotFoundException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    public List<Type> instantiate(List<Object> values) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        if(values.size() != parameterCodecs.size()) {
+            throw new IllegalArgumentException("The number of values does not match the number of types. Expected " + parameterCodecs.size() + " but " + values.size());
+        }
+
+        List<Type> typeList = new ArrayList<>(values.size());
+        for(int i = 0; i < parameterCodecs.size(); i++) {
+            typeList.add(parameterCodecs.get(i).instantiate(values.get(i)));
+        }
+
+        return typeList;
+    }
+
+    /**
+     * Decodes an ABI encoded parameters based on the compiled solidity types.
+     * @param encoded The ABI encoded string to decode.
+     * @return List
+     */
+    public List<Type> decode(String encoded) {
+        String input = Numeric.cleanHexPrefix(encoded);
+        if(Strings.isEmpty(input)) {
+            return Collections.emptyList();
+        }
+
+        List<Type> results = new ArrayList<>(parameterCodecs.size());
+        int offset = 0;
+        for(ParameterCodec codec : parameterCodecs) {
+            int dataOffset = codec.isDynamic() ? decodeLength(input, offset) << 1 : offset;
+            results.add(codec.decode(input, dataOffset));
+            offset += codec.getHeadLength();
+        }
+
+        return results;
+    }
+
+    /**
+     * Decodes an indexed event parameter in a log topic.<p>
+     * The topic of a dynamic type(string, bytes, array and tuple) only contains the hash of the value, so it is returned as Bytes32.
+     * @param index The index of the solidity type in this codec.
+     * @param topic The log topic to decode.
+     * @return Type
+     */
+    public Type decodeTopic(int index, String topic) {
+        String input = Numeric.cleanHexPrefix(topic);
+        ParameterCodec codec = parameterCodecs.get(index);
+
+        if(codec instanceof AtomicCodec && !codec.isDynamic()) {
+            return codec.decode(input, 0);
+        }
+        return new Bytes32(Numeric.hexStringToByteArray(input.substring(0, MAX_BYTE_LENGTH_FOR_HEX_STRING)));
+    }
+
+    /**
+     * Getter function for solidityTypes
+     * @return List
+     */
+    public List<String> getSolidityTypes() {
+        return solidityTypes;
+    }
+
+    /**
+     * Returns the number of solidity types in this codec.
+     * @return int
+     */
+    public int size() {
+        return parameterCodecs.size();
+    }
+
+    private static ParameterCodec compileParameter(String solidityType) throws ClassNotFoundException {
+        AtomicCodec atomicCodec = compileAtomic(solidityType);
+        if(atomicCodec != null) {
+            return atomicCodec;
+        }
+
+        if(solidityType.endsWith("[]")) {
+            AtomicCodec elementCodec = compileAtomic(solidityType.substring(0, solidityType.length() - 2));
+            if(elementCodec != null) {
+                return new DynamicArrayCodec(elementCodec);
+            }
+        }
+
+        return new TypeReferenceCodec(TypeReference.makeTypeReference(solidityType));
+    }
+
+    private static AtomicCodec compileAtomic(String solidityType) {
+        if(NUMERIC_TYPES.containsKey(solidityType)) {
+            Function<BigInteger, NumericType> constructor = NUMERIC_TYPES.get(solidityType);
+            boolean signed = solidityType.startsWith("int");
+            int byteLength = solidityType.length() == (signed ? 3 : 4) ? Type.MAX_BYTE_LENGTH : Integer.parseInt(solidityType.substring(signed ? 3 : 4)) >> 3;
+
+            return new AtomicCodec(
+                    AbiTypes.getType(solidityType),
+                    false,
+                    value -> constructor.apply(toBigInteger(solidityType, value)),
+                    (input, offset) -> constructor.apply(decodeNumeric(input, offset, byteLength, signed)));
+        } else if(BYTES_TYPES.containsKey(solidityType)) {
+            Function<byte[], Bytes> constructor = BYTES_TYPES.get(solidityType);
+            int hexLength = Integer.parseInt(solidityType.substring(5)) << 1;
+
+            return new AtomicCodec(
+                    AbiTypes.getType(solidityType),
+                    false,
+                    value -> constructor.apply(toByteArray(solidityType, value)),
+                    (input, offset) -> constructor.apply(Numeric.hexStringToByteArray(input.substring(offset, offset + hexLength))));
+        }
+
+        switch(solidityType) {
+            case "address":
+                return new AtomicCodec(
+                        Address.class,
+                        false,
+                        ABICodec::toAddress,
+                        (input, offset) -> new Address(new Uint160(decodeNumeric(input, offset, Address.DEFAULT_LENGTH >> 3, false))));
+            case "bool":
+                return new AtomicCodec(
+                        Bool.class,
+                        false,
+                        ABICodec::toBool,
+                        (input, offset) -> new Bool(Numeric.toBigInt(input.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING)).equals(BigInteger.ONE)));
+            case "bytes":
+                return new AtomicCodec(
+                        DynamicBytes.class,
+                        true,
+                        value -> new DynamicBytes(toByteArray(solidityType, value)),
+                        (input, offset) -> new DynamicBytes(decodeDynamicBytes(input, offset)));
+            case "string":
+                return new AtomicCodec(
+                        Utf8String.class,
+                        true,
+                        value -> new Utf8String(value.toString()),
+                        (input, offset) -> new Utf8String(new String(decodeDynamicBytes(input, offset), StandardCharsets.UTF_8)));
+            default:
+                return null;
+        }
+    }
+
+    private static BigInteger toBigInteger(String solidityType, Object value) throws InstantiationException {
+        BigInteger converted = TypeDecoder.asBigInteger(value);
+        if(converted == null) {
+            throw createInstantiationException(solidityType, value);
+        }
+        return converted;
+    }
+
+    private static byte[] toByteArray(String solidityType, Object value) throws InstantiationException {
+        if(value instanceof byte[]) {
+            return (byte[])value;
+        } else if(value instanceof BigInteger) {
+            return ((BigInteger)value).toByteArray();
+        } else if(value instanceof String) {
+            return Numeric.hexStringToByteArray((String)value);
+        }
+        throw createInstantiationException(solidityType, value);
+    }
+
+    private static Address toAddress(Object value) {
+        if(value instanceof BigInteger) {
+            return new Address((BigInteger)value);
+        } else if(value instanceof Uint160) {
+            return new Address((Uint160)value);
+        }
+        return new Address(value.toString());
+    }
+
+    private static Bool toBool(Object value) throws InstantiationException {
+        if(value instanceof Boolean) {
+            return new Bool((Boolean)value);
+        }
+        return new Bool(!toBigInteger("bool", value).equals(BigInteger.ZERO));
+    }
+
+    private static InstantiationException createInstantiationException(String solidityType, Object value) {
+        return new InstantiationException(
+                "Could not create type "
+                        + solidityType
+                        + " from arg "
+                        + value.toString()
+                        + " of type "
+                        + value.getClass());
+    }
+
+    private static BigInteger decodeNumeric(String input, int offset, int byteLength, boolean signed) {
+        byte[] word = Numeric.hexStringToByteArray(input.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING));
+        byte[] value = new byte[byteLength + 1];
+
+        if(signed) {
+            value[0] = word[0]; // take MSB as sign bit
+        }
+        System.arraycopy(word, Type.MAX_BYTE_LENGTH - byteLength, value, 1, byteLength);
+
+        return new BigInteger(value);
+    }
+
+    private static int decodeLength(String input, int offset) {
+        return new BigInteger(input.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING), 16).intValue();
+    }
+
+    private static byte[] decodeDynamicBytes(String input, int offset) {
+        int length = decodeLength(input, offset);
+        int valueOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
+
+        return Numeric.hexStringToByteArray(input.substring(valueOffset, valueOffset + (length << 1)));
+    }
+
+    private static List toList(Object value) {
+        if(value instanceof List) {
+            return (List)value;
+        } else if(value.getClass().isArray()) {
+            return TypeDecoder.arrayToList(value);
+        }
+        throw new ClassCastException(
+                "Arg of type "
+                        + value.getClass()
+                        + " should be a list to instantiate Array");
+    }
+
+    private interface Instantiator {
+        Type instantiate(Object value) throws InstantiationException;
+    }
+
+    private interface Decoder {
+        Type decode(String input, int offset);
+    }
+
+    private abstract static class ParameterCodec {
+        /**
+         * Returns true if the head of the parameter holds the offset of the data.
+         */
+        abstract boolean isDynamic();
+
+        /**
+         * Returns the length of the parameter's head as a hex string length.
+         */
+        abstract int getHeadLength();
+
+        abstract Type instantiate(Object value) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException;
+
+        abstract Type decode(String input, int offset);
+    }
+
+    private static class AtomicCodec extends ParameterCodec {
+        private final Class<? extends Type> typeClass;
+        private final boolean dynamic;
+        private final Instantiator instantiator;
+        private final Decoder decoder;
+
+        AtomicCodec(Class<? extends Type> typeClass, boolean dynamic, Instantiator instantiator, Decoder decoder) {
+            this.typeClass = typeClass;
+            this.dynamic = dynamic;
+            this.instantiator = instantiator;
+            this.decoder = decoder;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return dynamic;
+        }
+
+        @Override
+        int getHeadLength() {
+            return MAX_BYTE_LENGTH_FOR_HEX_STRING;
+        }
+
+        @Override
+        Type instantiate(Object value) throws InstantiationException {
+            return instantiator.instantiate(value);
+        }
+
+        @Override
+        Type decode(String input, int offset) {
+            return decoder.decode(input, offset);
+        }
+    }
+
+    private static class DynamicArrayCodec extends ParameterCodec {
+        private final AtomicCodec elementCodec;
+
+        DynamicArrayCodec(AtomicCodec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return true;
+        }
+
+        @Override
+        int getHeadLength() {
+            return MAX_BYTE_LENGTH_FOR_HEX_STRING;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Type instantiate(Object value) throws InstantiationException {
+            List values = toList(value);
+            List<Type> elements = new ArrayList<>(values.size());
+            for(Object element : values) {
+                elements.add(elementCodec.instantiate(element));
+            }
+
+            return new DynamicArray(elementCodec.typeClass, elements);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Type decode(String input, int offset) {
+            int length = decodeLength(input, offset);
+            int startOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
+
+            List<Type> elements = new ArrayList<>(length);
+            for(int i = 0; i < length; i++) {
+                int elementOffset = startOffset + i * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                if(elementCodec.isDynamic()) {
+                    elementOffset = startOffset + (decodeLength(input, elementOffset) << 1);
+                }
+                elements.add(elementCodec.decode(input, elementOffset));
+            }
+
+            return new DynamicArray(elementCodec.typeClass, elements);
+        }
+    }
+
+    private static class TypeReferenceCodec extends ParameterCodec {
+        private final TypeReference typeReference;
+        private final Class typeClass;
+        private final boolean dynamic;
+        private final int headLength;
+
+        TypeReferenceCodec(TypeReference typeReference) throws ClassNotFoundException {
+            this.typeReference = typeReference;
+            this.typeClass = typeReference.getClassType();
+            this.dynamic = TypeDecoder.isDynamic(typeReference);
+
+            if(dynamic) {
+                this.headLength = MAX_BYTE_LENGTH_FOR_HEX_STRING;
+            } else if(StaticStruct.class.isAssignableFrom(typeClass)) {
+                this.headLength = Utils.getStaticStructComponentSize((TypeReference.StructTypeReference)typeReference) * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+            } else if(typeReference instanceof TypeReference.StaticArrayTypeReference) {
+                this.headLength = Utils.getStaticArrayElementSize((TypeReference.StaticArrayTypeReference)typeReference) * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+            } else {
+                this.headLength = MAX_BYTE_LENGTH_FOR_HEX_STRING;
+            }
+        }
+
+        @Override
+        boolean isDynamic() {
+            return dynamic;
+        }
+
+        @Override
+        int getHeadLength() {
+            return headLength;
+        }
+
+        @Override
+        Type instantiate(Object value) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+            return TypeDecoder.instantiateType(typeReference, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Type decode(String input, int offset) {
+            try {
+                if(DynamicStruct.class.isAssignableFrom(typeClass)) {
+                    return TypeDecoder.decodeDynamicStruct(input, offset, typeReference);
+                } else if(DynamicArray.class.isAssignableFrom(typeClass)) {
+                    return TypeDecoder.decodeDynamicArray(input, offset, typeReference);
+                } else if(typeReference instanceof TypeReference.StaticArrayTypeReference) {
+                    int length = ((TypeReference.StaticArrayTypeReference)typeReference).getSize();
+                    return TypeDecoder.decodeStaticArray(input, offset, typeReference, length);
+                } else if(StaticStruct.class.isAssignableFrom(typeClass)) {
+                    return TypeDecoder.decodeStaticStruct(input, offset, typeReference);
+                }
+                return TypeDecoder.decode(input, offset, typeClass);
+            } catch(ClassNotFoundException e) {
+                throw new UnsupportedOperationException("Invalid class reference provided", e);
+            }
+        }
+    }
+}
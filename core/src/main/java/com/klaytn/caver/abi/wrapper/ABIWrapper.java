@@ -245,4 +245,16 @@ public class ABIWrapper {
     public EventValues decodeLog(List<ContractIOType> inputs, String data, List<String> topics) throws ClassNotFoundException {
         return ABI.decodeLog(inputs, data, topics);
     }
+
+    /**
+     * Decodes a ABI-encoded log data and indexed topic data with the codecs compiled in the ContractEvent.
+     * @param event A ContractEvent instance.
+     * @param data An ABI-encoded in the data field of a log
+     * @param topics A list of topics of the log. The first topic is the event signature.
+     * @return EventValues
+     * @throws ClassNotFoundException
+     */
+    public EventValues decodeLog(ContractEvent event, String data, List<String> topics) throws ClassNotFoundException {
+        return ABI.decodeLog(event, data, topics);
+    }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.contract;
+
+import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.EventValues;
+import com.klaytn.caver.abi.datatypes.Type;
+import com.klaytn.caver.methods.response.KlayLogs;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the methods by function selector and the events by the signature topic, across one or more ABIs.<p>
+ * It decodes raw call data or a raw log back into the method or event and its values with a single map lookup,
+ * using the codecs compiled in the ContractMethod and ContractEvent instances.
+ * Events which share a signature topic but index a different number of parameters (e.g. Transfer of KIP-7 and KIP-17)
+ * are told apart by the number of topics of a log. If two ABIs have the same signature, the first one added is kept.
+ * <pre>
+ * ABIIndex index = new ABIIndex();
+ * index.add(kip7);
+ * index.add(kip17);
+ * ABIIndex.DecodedFunctionCall call = index.decodeFunctionCall(transaction.getInput());
+ * ABIIndex.DecodedLog log = index.decodeLog(receiptLog);
+ * </pre>
+ */
+public class ABIIndex {
+
+    /**
+     * The map where a function selector and ContractMethod mapped.
+     */
+    private final Map<String, ContractMethod> methods = new ConcurrentHashMap<>();
+
+    /**
+     * The map where a signature topic and the ContractEvents which have the signature are mapped.
+     */
+    private final Map<String, ContractEvent[]> events = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty ABIIndex instance.
+     */
+    public ABIIndex() {
+    }
+
+    /**
+     * Creates an ABIIndex instance of the methods and events of the contracts.
+     * @param contracts Contract instances.
+     */
+    public ABIIndex(Collection<? extends Contract> contracts) {
+        for(Contract contract : contracts) {
+            add(contract);
+        }
+    }
+
+    /**
+     * Adds the methods and events of the contract, including the overloaded methods.
+     * @param contract A Contract instance.
+     */
+    public void add(Contract contract) {
+        for(Map.Entry<String, ContractMethod> entry : contract.getMethods().entrySet()) {
+            if(!entry.getKey().equals("constructor")) {
+                addMethod(entry.getValue());
+            }
+        }
+        for(ContractEvent event : contract.getEvents().values()) {
+            addEvent(event);
+        }
+    }
+
+    /**
+     * Adds a method and its overloaded methods.
+     * @param method A ContractMethod instance.
+     */
+    public void addMethod(ContractMethod method) {
+        methods.putIfAbsent(method.getFunctionSelector(), method);
+        if(method.getNextContractMethods() != null) {
+            for(ContractMethod next : method.getNextContractMethods()) {
+                methods.putIfAbsent(next.getFunctionSelector(), next);
+            }
+        }
+    }
+
+    /**
+     * Adds an event.
+     * @param event A ContractEvent instance.
+     */
+    public void addEvent(ContractEvent event) {
+        String topic = event.getSignature() != null ? event.getSignature() : ABI.encodeEventSignature(event);
+        events.compute(topic.toLowerCase(), (key, existing) -> {
+            if(existing == null) {
+                return new ContractEvent[] {event};
+            }
+            int count = countIndexed(event);
+            for(ContractEvent e : existing) {
+                if(countIndexed(e) == count) {
+                    return existing;
+                }
+            }
+            ContractEvent[] added = new ContractEvent[existing.length + 1];
+            System.arraycopy(existing, 0, added, 0, existing.length);
+            added[existing.length] = event;
+            return added;
+        });
+    }
+
+    /**
+     * Returns the method of the function selector.
+     * @param selector The function selector, or call data which starts with it.
+     * @return ContractMethod It returns null if the selector is unknown.
+     */
+    public ContractMethod getMethodBySelector(String selector) {
+        String key = toSelector(selector);
+        return key == null ? null : methods.get(key);
+    }
+
+    /**
+     * Returns the event of the signature topic. If more than one event has the topic, the first one added is returned.
+     * @param topic The signature topic, the first topic of a log.
+     * @return ContractEvent It returns null if the topic is unknown.
+     */
+    public ContractEvent getEventByTopic(String topic) {
+        ContractEvent[] candidates = events.get(topic.toLowerCase());
+        return candidates == null ? null : candidates[0];
+    }
+
+    /**
+     * Decodes call data into the method and its parameters.
+     * @param input The call data, e.g. the input of a SmartContractExecution transaction.
+     * @return DecodedFunctionCall It returns null if the selector is unknown.
+     * @throws ClassNotFoundException
+     */
+    public DecodedFunctionCall decodeFunctionCall(String input) throws ClassNotFoundException {
+        ContractMethod method = getMethodBySelector(input);
+        if(method == null) {
+            return null;
+        }
+
+        String prefixed = input.startsWith("0x") || input.startsWith("0X") ? input : "0x" + input;
+        return new DecodedFunctionCall(method, method.getInputCodec().decode(prefixed.substring(10)));
+    }
+
+    /**
+     * Decodes a log into the event and its values.
+     * @param log A log.
+     * @return DecodedLog It returns null if the event is unknown.
+     * @throws ClassNotFoundException
+     */
+    public DecodedLog decodeLog(KlayLogs.Log log) throws ClassNotFoundException {
+        return decodeLog(log.getData(), log.getTopics());
+    }
+
+    /**
+     * Decodes the data and topics of a log into the event and its values.
+     * @param data The data of the log.
+     * @param topics The topics of the log. The first topic is the event signature.
+     * @return DecodedLog It returns null if the event is unknown, or the log is of an anonymous event.
+     * @throws ClassNotFoundException
+     */
+    public DecodedLog decodeLog(String data, List<String> topics) throws ClassNotFoundException {
+        if(topics == null || topics.isEmpty()) {
+            return null;
+        }
+
+        ContractEvent[] candidates = events.get(topics.get(0).toLowerCase());
+        if(candidates == null) {
+            return null;
+        }
+
+        for(ContractEvent event : candidates) {
+            if(countIndexed(event) == topics.size() - 1) {
+                return new DecodedLog(event, ABI.decodeLog(event, data, topics));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of the indexed methods.
+     * @return int
+     */
+    public int getMethodCount() {
+        return methods.size();
+    }
+
+    /**
+     * Returns the number of the indexed events.
+     * @return int
+     */
+    public int getEventCount() {
+        int count = 0;
+        for(ContractEvent[] candidates : events.values()) {
+            count += candidates.length;
+        }
+        return count;
+    }
+
+    private static int countIndexed(ContractEvent event) {
+        int count = 0;
+        if(event.getInputs() != null) {
+            for(ContractIOType input : event.getInputs()) {
+                if(input.isIndexed()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static String toSelector(String input) {
+        if(input == null) {
+            return null;
+        }
+
+        int start = input.startsWith("0x") || input.startsWith("0X") ? 2 : 0;
+        if(input.length() < start + 8) {
+            return null;
+        }
+        return "0x" + input.substring(start, start + 8).toLowerCase();
+    }
+
+    /**
+     * Representing a method and the parameters decoded from call data.
+     */
+    public static class DecodedFunctionCall {
+        private final ContractMethod method;
+        private final List<Type> parameters;
+
+        public DecodedFunctionCall(ContractMethod method, List<Type> parameters) {
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+        /**
+         * Getter function for method
+         * @return ContractMethod
+         */
+        public ContractMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * Getter function for parameters
+         * @return List
+         */
+        public List<Type> getParameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * Representing an event and the values decoded from a log.
+     */
+    public static class DecodedLog {
+        private final ContractEvent event;
+        private final EventValues values;
+
+        public DecodedLog(ContractEvent event, EventValues values) {
+            this.event = event;
+            this.values = values;
+        }
+
+        /**
+         * Getter function for event
+         * @return ContractEvent
+         */
+        public ContractEvent getEvent() {
+            return event;
+        }
+
+        /**
+         * Getter function for values
+         * @return EventValues
+         */
+        public EventValues getValues() {
+            return values;
+        }
+    }
+}
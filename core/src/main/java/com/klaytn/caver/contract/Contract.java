@@ -25,6 +25,7 @@ import com.klaytn.caver.methods.request.CallObject;
 import com.klaytn.caver.methods.request.KlayLogFilter;
 import com.klaytn.caver.methods.response.KlayLogs;
 import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.rpc.LogScanner;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
 import com.klaytn.caver.transaction.AbstractTransaction;
 import com.klaytn.caver.transaction.response.PollingTransactionReceiptProcessor;
@@ -87,6 +88,11 @@ public class Contract {
      */
     IWallet wallet;
 
+    /**
+     * The index of the methods and events by selector and topic. It is built on first use.
+     */
+    private volatile ABIIndex abiIndex;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Contract.class);
 
     /**
@@ -255,6 +261,23 @@ public class Contract {
         return logs;
     }
 
+    /**
+     * Scan past events for this contract with the LogScanner.<p>
+     * Unlike getPastEvent, the range of the filter is fetched in chunks with concurrent requests,
+     * and the decoded events are emitted in block order as they are fetched.
+     * @param eventName The name of the event in the contract.
+     * @param filterOption The KlayLogFilter instance to filter event. The fromBlock and toBlock must be a block number, "earliest" or "latest".
+     * @param scanner The LogScanner instance to fetch logs.
+     * @return Flowable
+     */
+    public Flowable<EventValuesWithLog> scanPastEvent(String eventName, KlayLogFilter filterOption, LogScanner scanner) {
+        ContractEvent event = getEvent(eventName);
+        filterOption.addSingleTopic(ABI.encodeEventSignature(event));
+
+        return scanner.flowable(filterOption)
+                .map(log -> new EventValuesWithLog(ABI.decodeLog(event, log.getData(), log.getTopics()), log));
+    }
+
     /**
      * Execute smart contract method in the EVM without sending any transaction.
      * @param methodName The smart contract method name to execute.
@@ -722,6 +745,40 @@ public class Contract {
         return this.getEvents().get(eventName);
     }
 
+    /**
+     * Decodes call data of this contract into the method and its parameters.
+     * @param input The call data, e.g. the input of a SmartContractExecution transaction.
+     * @return ABIIndex.DecodedFunctionCall It returns null if the selector is not in the ABI.
+     * @throws ClassNotFoundException
+     */
+    public ABIIndex.DecodedFunctionCall decodeFunctionCall(String input) throws ClassNotFoundException {
+        return getABIIndex().decodeFunctionCall(input);
+    }
+
+    /**
+     * Decodes a log of this contract into the event and its values.
+     * @param log A log.
+     * @return ABIIndex.DecodedLog It returns null if the event is not in the ABI.
+     * @throws ClassNotFoundException
+     */
+    public ABIIndex.DecodedLog decodeLog(KlayLogs.Log log) throws ClassNotFoundException {
+        return getABIIndex().decodeLog(log);
+    }
+
+    /**
+     * Returns the index of the methods by function selector and the events by signature topic of the ABI.
+     * @return ABIIndex
+     */
+    public ABIIndex getABIIndex() {
+        ABIIndex index = abiIndex;
+        if(index == null) {
+            index = new ABIIndex();
+            index.add(this);
+            abiIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Getter function for caver.
      * @return Caver
@@ -830,6 +887,7 @@ public class Contract {
      */
     void setMethods(Map<String, ContractMethod> methods) {
         this.methods = methods;
+        this.abiIndex = null;
     }
 
     /**
@@ -838,6 +896,7 @@ public class Contract {
      */
     void setEvents(Map<String, ContractEvent> events) {
         this.events = events;
+        this.abiIndex = null;
     }
 
     /**
@@ -882,6 +941,7 @@ public class Contract {
 
         methods = new HashMap<>();
         events = new HashMap<>();
+        abiIndex = null;
 
         JsonNode root = objectMapper.readTree(abi);
         Iterator<JsonNode> iterator = root.iterator();
@@ -927,5 +987,9 @@ public class Contract {
             methods.put("constructor", method);
             this.constructor = method;
         }
+
+        // Resolves the solidity types once, so that calls and logs are encoded and decoded without parsing them again.
+        methods.values().forEach(ContractMethod::compile);
+        events.values().forEach(ContractEvent::compile);
     }
 }
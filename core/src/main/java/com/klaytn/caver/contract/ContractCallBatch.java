@@ -0,0 +1,387 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.contract;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.datatypes.*;
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.Bytes;
+import com.klaytn.caver.rpc.KlayBatch;
+import com.klaytn.caver.utils.HexCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes many contract calls, possibly to different contracts, in a few requests.<p>
+ * If a Multicall contract is given, the calls are packed into a single `tryAggregate` call of the contract per chunk.
+ * Otherwise, or if the aggregated call fails (e.g. the contract is not deployed in the network), the calls are sent as a JSON-RPC batch of `klay_call`.
+ * The result of each call is decoded with the outputs of the matched ContractMethod.
+ * <pre>
+ * ContractCallBatch batch = new ContractCallBatch(caver, new Multicall(caver, multicallAddress));
+ * ContractCallBatch.Entry balance = batch.add(kip7, "balanceOf", owner);
+ * ContractCallBatch.Entry tokenURI = batch.add(kip17, "tokenURI", tokenId);
+ * batch.call();
+ *
+ * BigInteger value = (BigInteger)balance.getResult().get(0).getValue();
+ * </pre>
+ */
+public class ContractCallBatch {
+
+    /**
+     * The default maximum number of calls sent in a single request.
+     */
+    public static final int DEFAULT_MAX_CALLS_PER_REQUEST = 100;
+
+    private static final String ERROR_SELECTOR = "0x08c379a0";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractCallBatch.class);
+
+    private final Caver caver;
+
+    /**
+     * The Multicall contract which aggregates calls. If it is null, the calls are sent as a JSON-RPC batch.
+     */
+    private final Multicall multicall;
+
+    /**
+     * The maximum number of calls sent in a single request.
+     */
+    private final int maxCallsPerRequest;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Creates a ContractCallBatch instance which sends the calls as a JSON-RPC batch.
+     * @param caver A Caver instance.
+     */
+    public ContractCallBatch(Caver caver) {
+        this(caver, null, DEFAULT_MAX_CALLS_PER_REQUEST);
+    }
+
+    /**
+     * Creates a ContractCallBatch instance which aggregates the calls through the Multicall contract.
+     * @param caver A Caver instance.
+     * @param multicall The Multicall contract. If it is null, the calls are sent as a JSON-RPC batch.
+     */
+    public ContractCallBatch(Caver caver, Multicall multicall) {
+        this(caver, multicall, DEFAULT_MAX_CALLS_PER_REQUEST);
+    }
+
+    /**
+     * Creates a ContractCallBatch instance which aggregates the calls through the Multicall contract.
+     * @param caver A Caver instance.
+     * @param multicall The Multicall contract. If it is null, the calls are sent as a JSON-RPC batch.
+     * @param maxCallsPerRequest The maximum number of calls sent in a single request.
+     */
+    public ContractCallBatch(Caver caver, Multicall multicall, int maxCallsPerRequest) {
+        if(maxCallsPerRequest <= 0) {
+            throw new IllegalArgumentException("Invalid max calls per request : " + maxCallsPerRequest);
+        }
+
+        this.caver = caver;
+        this.multicall = multicall;
+        this.maxCallsPerRequest = maxCallsPerRequest;
+    }
+
+    /**
+     * Adds a call of the contract's method.
+     * @param contract The contract instance. e.g. KIP7, KIP17, KIP37 or Contract.
+     * @param methodName The method name.
+     * @param arguments The arguments of the method.
+     * @return Entry
+     * @throws ClassNotFoundException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    public Entry add(Contract contract, String methodName, Object... arguments) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        return add(contract.getMethod(methodName), Arrays.asList(arguments));
+    }
+
+    /**
+     * Adds a call of the contract's method.<p>
+     * The arguments are encoded when it is added, so an invalid argument is reported here.
+     * @param method The ContractMethod instance.
+     * @param arguments The arguments of the method.
+     * @return Entry
+     * @throws ClassNotFoundException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    public Entry add(ContractMethod method, List<Object> arguments) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        List<Object> functionParams = arguments == null ? Collections.emptyList() : arguments;
+        if(method.getContractAddress() == null) {
+            throw new IllegalArgumentException("The contract address of the " + method.getName() + " method is not set.");
+        }
+
+        ContractMethod matchedMethod = method.findMatchedInstance(functionParams);
+        String data = matchedMethod.getFunctionSelector() + matchedMethod.getInputCodec().encode(functionParams);
+
+        Entry entry = new Entry(matchedMethod, data);
+        entries.add(entry);
+
+        return entry;
+    }
+
+    /**
+     * Executes the calls at the latest block.
+     * @throws IOException If all requests failed.
+     */
+    public void call() throws IOException {
+        call(DefaultBlockParameterName.LATEST);
+    }
+
+    /**
+     * Executes the calls at the given block.<p>
+     * The result or the error of each call is stored in its entry.
+     * @param blockTag The block number or the string "latest", "earliest" or "pending"
+     * @throws IOException If all requests failed.
+     */
+    public void call(DefaultBlockParameter blockTag) throws IOException {
+        IOException lastException = null;
+        boolean succeeded = entries.isEmpty();
+
+        for(int start = 0; start < entries.size(); start += maxCallsPerRequest) {
+            List<Entry> chunk = entries.subList(start, Math.min(start + maxCallsPerRequest, entries.size()));
+
+            if(multicall != null && aggregate(chunk, blockTag)) {
+                succeeded = true;
+                continue;
+            }
+
+            try {
+                sendBatch(chunk, blockTag);
+                succeeded = true;
+            } catch(IOException e) {
+                lastException = e;
+                for(Entry entry : chunk) {
+                    entry.fail(e);
+                }
+            }
+        }
+
+        if(!succeeded) {
+            throw lastException;
+        }
+    }
+
+    /**
+     * Getter function for entries
+     * @return List
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the number of calls in this batch.
+     * @return int
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Getter function for multicall
+     * @return Multicall
+     */
+    public Multicall getMulticall() {
+        return multicall;
+    }
+
+    /**
+     * Getter function for maxCallsPerRequest
+     * @return int
+     */
+    public int getMaxCallsPerRequest() {
+        return maxCallsPerRequest;
+    }
+
+    private boolean aggregate(List<Entry> chunk, DefaultBlockParameter blockTag) {
+        try {
+            ContractMethod tryAggregate = multicall.getMethod(Multicall.FUNCTION_TRY_AGGREGATE);
+
+            List<Object> calls = new ArrayList<>(chunk.size());
+            for(Entry entry : chunk) {
+                calls.add(Arrays.asList(entry.getTo(), entry.getData()));
+            }
+
+            CallObject callObject = CallObject.createCallObject();
+            callObject.setTo(multicall.getContractAddress());
+            callObject.setData(tryAggregate.getFunctionSelector() + tryAggregate.getInputCodec().encode(Arrays.asList(false, calls)));
+
+            Bytes response = caver.rpc.klay.call(callObject, blockTag).send();
+            if(response.hasError()) {
+                throw new IOException(response.getError().getMessage());
+            }
+
+            List<Type> decoded = tryAggregate.getOutputCodec().decode(response.getResult());
+            if(decoded.isEmpty() || ((DynamicArray<?>)decoded.get(0)).getValue().size() != chunk.size()) {
+                throw new IOException("The result of the aggregated call does not match the calls.");
+            }
+
+            List<?> results = ((DynamicArray<?>)decoded.get(0)).getValue();
+            for(int i = 0; i < chunk.size(); i++) {
+                List<Type> result = ((DynamicStruct)results.get(i)).getValue();
+                boolean success = ((Bool)result.get(0)).getValue();
+                String returnData = HexCodec.toHexString(((DynamicBytes)result.get(1)).getValue());
+
+                if(success) {
+                    chunk.get(i).complete(returnData);
+                } else {
+                    chunk.get(i).fail(new IOException(getRevertMessage(returnData)));
+                }
+            }
+            return true;
+        } catch(Exception e) {
+            LOGGER.warn("Failed to aggregate the calls through the Multicall contract. The calls are sent as a JSON-RPC batch.", e);
+            return false;
+        }
+    }
+
+    private void sendBatch(List<Entry> chunk, DefaultBlockParameter blockTag) throws IOException {
+        KlayBatch batch = caver.rpc.klay.newBatch(maxCallsPerRequest);
+
+        List<KlayBatch.Entry<Bytes>> batchEntries = new ArrayList<>(chunk.size());
+        for(Entry entry : chunk) {
+            CallObject callObject = CallObject.createCallObject();
+            callObject.setTo(entry.getTo());
+            callObject.setData(entry.getData());
+            batchEntries.add(batch.call(callObject, blockTag));
+        }
+
+        batch.send();
+
+        for(int i = 0; i < chunk.size(); i++) {
+            Bytes response = batchEntries.get(i).getResponse();
+            if(response.hasError()) {
+                chunk.get(i).fail(new IOException(response.getError().getMessage()));
+            } else {
+                chunk.get(i).complete(response.getResult());
+            }
+        }
+    }
+
+    private static String getRevertMessage(String returnData) {
+        if(returnData.startsWith(ERROR_SELECTOR)) {
+            try {
+                Type reason = ABI.decodeParameter("string", returnData.substring(ERROR_SELECTOR.length()));
+                return "execution reverted: " + reason.getValue();
+            } catch(ClassNotFoundException | RuntimeException e) {
+                LOGGER.debug("Failed to decode the revert reason.", e);
+            }
+        }
+        return "execution reverted";
+    }
+
+    /**
+     * A call in a ContractCallBatch which holds the result of the call.
+     */
+    public static class Entry {
+        private final ContractMethod method;
+        private final String data;
+        private volatile List<Type> result;
+        private volatile IOException exception;
+
+        Entry(ContractMethod method, String data) {
+            this.method = method;
+            this.data = data;
+        }
+
+        private void complete(String returnData) {
+            try {
+                this.result = method.getOutputCodec().decode(returnData);
+                this.exception = null;
+            } catch(ClassNotFoundException | RuntimeException e) {
+                fail(new IOException("Failed to decode the result of the " + method.getName() + " method.", e));
+            }
+        }
+
+        private void fail(IOException exception) {
+            this.result = null;
+            this.exception = exception;
+        }
+
+        /**
+         * Returns the decoded result of the call.
+         * @return List
+         * @throws IOException If the call is reverted or the request which contains this call failed.
+         */
+        public List<Type> getResult() throws IOException {
+            if(exception != null) {
+                throw exception;
+            }
+            if(result == null) {
+                throw new RuntimeException("The batch is not called yet.");
+            }
+            return result;
+        }
+
+        /**
+         * Returns true if the call is reverted or the request which contains this call failed.
+         * @return boolean
+         */
+        public boolean hasError() {
+            return exception != null;
+        }
+
+        /**
+         * Returns the exception of the call. It returns null if the call has no error.
+         * @return IOException
+         */
+        public IOException getException() {
+            return exception;
+        }
+
+        /**
+         * Getter function for method
+         * @return ContractMethod
+         */
+        public ContractMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the address of the contract to call.
+         * @return String
+         */
+        public String getTo() {
+            return method.getContractAddress();
+        }
+
+        /**
+         * Returns the ABI encoded call data.
+         * @return String
+         */
+        public String getData() {
+            return data;
+        }
+    }
+}
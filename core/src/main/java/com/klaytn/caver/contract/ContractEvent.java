@@ -16,6 +16,12 @@
 
 package com.klaytn.caver.contract;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.klaytn.caver.abi.ABICodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,6 +49,18 @@ public class ContractEvent {
      */
     List<ContractIOType> inputs;
 
+    /**
+     * The ABICodec compiled from indexed inputs to decode the log topics.
+     */
+    private volatile ABICodec indexedCodec;
+
+    /**
+     * The ABICodec compiled from non-indexed inputs to decode the log data.
+     */
+    private volatile ABICodec nonIndexedCodec;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractEvent.class);
+
     /**
      * Creates a ContractEvent instance.
      */
@@ -95,6 +113,38 @@ public class ContractEvent {
         return inputs;
     }
 
+    /**
+     * Getter function for indexedCodec.
+     * It is compiled from the indexed inputs once and reused for every decoding of the log topics.
+     * @return ABICodec
+     * @throws ClassNotFoundException
+     */
+    @JsonIgnore
+    public ABICodec getIndexedCodec() throws ClassNotFoundException {
+        ABICodec codec = indexedCodec;
+        if(codec == null) {
+            codec = ABICodec.compile(getTypeStrings(true));
+            indexedCodec = codec;
+        }
+        return codec;
+    }
+
+    /**
+     * Getter function for nonIndexedCodec.
+     * It is compiled from the non-indexed inputs once and reused for every decoding of the log data.
+     * @return ABICodec
+     * @throws ClassNotFoundException
+     */
+    @JsonIgnore
+    public ABICodec getNonIndexedCodec() throws ClassNotFoundException {
+        ABICodec codec = nonIndexedCodec;
+        if(codec == null) {
+            codec = ABICodec.compile(getTypeStrings(false));
+            nonIndexedCodec = codec;
+        }
+        return codec;
+    }
+
     /**
      * Setter function for name.
      * @param name A function name.
@@ -117,6 +167,33 @@ public class ContractEvent {
      */
     void setInputs(List<ContractIOType> inputs) {
         this.inputs = inputs;
+        this.indexedCodec = null;
+        this.nonIndexedCodec = null;
+    }
+
+    /**
+     * Compiles the codecs of this event in advance.
+     * If a solidity type cannot be resolved, the error is thrown when the event is decoded.
+     */
+    void compile() {
+        try {
+            getIndexedCodec();
+            getNonIndexedCodec();
+        } catch(ClassNotFoundException | RuntimeException e) {
+            LOGGER.debug("Failed to compile the codec of the " + getName() + " event.", e);
+        }
+    }
+
+    private List<String> getTypeStrings(boolean indexed) {
+        List<String> typeStrings = new ArrayList<>();
+        if(inputs != null) {
+            for(ContractIOType input : inputs) {
+                if(input.isIndexed() == indexed) {
+                    typeStrings.add(input.getTypeAsString());
+                }
+            }
+        }
+        return typeStrings;
     }
 
     /**
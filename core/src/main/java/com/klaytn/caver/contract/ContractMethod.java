@@ -17,13 +17,16 @@
 package com.klaytn.caver.contract;
 
 import com.klaytn.caver.Caver;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.ABICodec;
 import com.klaytn.caver.abi.datatypes.Type;
 import com.klaytn.caver.methods.request.CallObject;
 import com.klaytn.caver.methods.response.Bytes;
 import com.klaytn.caver.methods.response.Bytes32;
 import com.klaytn.caver.methods.response.Quantity;
 import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.rpc.CallCache;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
 import com.klaytn.caver.transaction.AbstractTransaction;
 import com.klaytn.caver.transaction.TxPropertyBuilder;
@@ -96,6 +99,15 @@ public class ContractMethod {
 
     List<ContractMethod> nextContractMethods = new ArrayList<>();
 
+    /**
+     * The ABICodec compiled from inputs to encode the parameters.
+     */
+    private volatile ABICodec inputCodec;
+
+    /**
+     * The ABICodec compiled from outputs to decode the return values.
+     */
+    private volatile ABICodec outputCodec;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ContractMethod.class);
 
@@ -162,7 +174,7 @@ public class ContractMethod {
         }
 
         ContractMethod matchedMethod = findMatchedInstance(functionParams);
-        String encodedFunction = ABI.encodeFunctionCall(matchedMethod, functionParams);
+        String encodedFunction = matchedMethod.encodeFunctionCall(functionParams);
 
         return callFunction(matchedMethod, encodedFunction, callObject);
     }
@@ -485,10 +497,11 @@ public class ContractMethod {
             String byteCode = (String)functionParams.get(0);
             List<Object> constructParams = functionParams.subList(1, arguments.size());
 
-            return ABI.encodeContractDeploy(this, byteCode, constructParams);
+            checkTypeValid(constructParams);
+            return byteCode + getInputCodec().encode(constructParams);
         } else {
             ContractMethod matchedMethod = findMatchedInstance(functionParams);
-            return ABI.encodeFunctionCall(matchedMethod, arguments);
+            return matchedMethod.encodeFunctionCall(arguments);
         }
     }
 
@@ -541,7 +554,7 @@ public class ContractMethod {
         }
 
         ContractMethod matchedMethod = findMatchedInstanceWithSolidityWrapper(functionParams);
-        String encodedFunction = ABI.encodeFunctionCallWithSolidityWrapper(matchedMethod, functionParams);
+        String encodedFunction = matchedMethod.getFunctionSelector() + ABI.encodeParameters(functionParams);
 
         return callFunction(matchedMethod, encodedFunction, callObject);
     }
@@ -699,7 +712,7 @@ public class ContractMethod {
         }
 
         ContractMethod matchedMethod = this.findMatchedInstanceWithSolidityWrapper(functionParams);
-        return ABI.encodeFunctionCallWithSolidityWrapper(matchedMethod, functionParams);
+        return matchedMethod.getFunctionSelector() + ABI.encodeParameters(functionParams);
     }
 
     /**
@@ -796,6 +809,53 @@ public class ContractMethod {
         return nextContractMethods;
     }
 
+    /**
+     * Returns the function selector, the first 4 bytes of the hash of the function signature.
+     * It is the signature of this method, which is set when the ABI is parsed.
+     * If the signature is not set, it is computed from the name and the inputs.
+     * @return String
+     */
+    @JsonIgnore
+    public String getFunctionSelector() {
+        String selector = signature;
+        if(selector == null) {
+            selector = ABI.encodeFunctionSignature(this);
+        }
+        return selector;
+    }
+
+    /**
+     * Getter function for inputCodec.
+     * It is compiled from the inputs once and reused for every encoding of the parameters.
+     * @return ABICodec
+     * @throws ClassNotFoundException
+     */
+    @JsonIgnore
+    public ABICodec getInputCodec() throws ClassNotFoundException {
+        ABICodec codec = inputCodec;
+        if(codec == null) {
+            codec = ABICodec.compile(getTypeStrings(inputs));
+            inputCodec = codec;
+        }
+        return codec;
+    }
+
+    /**
+     * Getter function for outputCodec.
+     * It is compiled from the outputs once and reused for every decoding of the return values.
+     * @return ABICodec
+     * @throws ClassNotFoundException
+     */
+    @JsonIgnore
+    public ABICodec getOutputCodec() throws ClassNotFoundException {
+        ABICodec codec = outputCodec;
+        if(codec == null) {
+            codec = ABICodec.compile(getTypeStrings(outputs));
+            outputCodec = codec;
+        }
+        return codec;
+    }
+
     /**
      * Setter function for Caver.
      * @param caver The Caver instance.
@@ -826,6 +886,7 @@ public class ContractMethod {
      */
     void setInputs(List<ContractIOType> inputs) {
         this.inputs = inputs;
+        this.inputCodec = null;
     }
 
     /**
@@ -834,6 +895,7 @@ public class ContractMethod {
      */
     void setOutputs(List<ContractIOType> outputs) {
         this.outputs = outputs;
+        this.outputCodec = null;
     }
 
     /**
@@ -967,7 +1029,38 @@ public class ContractMethod {
         }
     }
 
-    private ContractMethod findMatchedInstance(List arguments) {
+    /**
+     * Compiles the codecs of this method and its overloaded methods in advance.
+     * If a solidity type cannot be resolved, the error is thrown when the method is used.
+     */
+    void compile() {
+        try {
+            getInputCodec();
+            getOutputCodec();
+        } catch(ClassNotFoundException | RuntimeException e) {
+            LOGGER.debug("Failed to compile the codec of the " + getName() + " method.", e);
+        }
+
+        for(ContractMethod method : getNextContractMethods()) {
+            method.compile();
+        }
+    }
+
+    private String encodeFunctionCall(List<Object> arguments) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        return getFunctionSelector() + getInputCodec().encode(arguments);
+    }
+
+    private static List<String> getTypeStrings(List<ContractIOType> ioTypes) {
+        List<String> typeStrings = new ArrayList<>();
+        if(ioTypes != null) {
+            for(ContractIOType ioType : ioTypes) {
+                typeStrings.add(ioType.getTypeAsString());
+            }
+        }
+        return typeStrings;
+    }
+
+    ContractMethod findMatchedInstance(List arguments) {
         // Check the parameter type defined in function and the parameter type passed are the same.
         List<ContractMethod> matchedMethod = new ArrayList<>();
 
@@ -1042,13 +1135,19 @@ public class ContractMethod {
         }
         callObject.setData(encodedInput);
         callObject.setTo(method.getContractAddress());
+
+        CallCache callCache = caver.rpc.klay.getCallCache();
+        if(callCache != null) {
+            return method.getOutputCodec().decode(callCache.call(callObject));
+        }
+
         Bytes response = caver.rpc.klay.call(callObject).send();
         if(response.hasError()) {
             throw new IOException(response.getError().getMessage());
         }
 
         String encodedResult = response.getResult();
-        return ABI.decodeParameters(method, encodedResult);
+        return method.getOutputCodec().decode(encodedResult);
     }
 
     private String estimateGas(String encodedFunctionCall, CallObject callObject) throws IOException {
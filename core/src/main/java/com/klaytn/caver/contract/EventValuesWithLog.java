@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.contract;
+
+import com.klaytn.caver.abi.EventValues;
+import com.klaytn.caver.methods.response.KlayLogs;
+
+/**
+ * Representing the decoded values of an event with the log which the event is decoded from.
+ */
+public class EventValuesWithLog extends EventValues {
+    private final KlayLogs.Log log;
+
+    public EventValuesWithLog(EventValues eventValues, KlayLogs.Log log) {
+        super(eventValues.getIndexedValues(), eventValues.getNonIndexedValues());
+        this.log = log;
+    }
+
+    /**
+     * Getter function for log
+     * @return KlayLogs.Log
+     */
+    public KlayLogs.Log getLog() {
+        return log;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.contract;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.wallet.IWallet;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+/**
+ * Representing an aggregator contract which executes many calls in a single `klay_call`.<p>
+ * The contract has a single function, `tryAggregate(bool requireSuccess, (address target, bytes callData)[] calls)`,
+ * which returns `(bool success, bytes returnData)[]`. It is compatible with the function of the same name in Multicall2 and Multicall3,
+ * so an already deployed Multicall contract can be used as well.<p>
+ * The deployed code is a small hand-assembled program without storage. It calls each target with the given call data
+ * and the remaining gas, and if requireSuccess is true, it reverts with the revert data of the first failed call.
+ * The annotated assembly listing of {@link #BINARY} is in the resource `com/klaytn/caver/contract/Multicall.asm`.
+ * <pre>
+ * Multicall multicall = Multicall.deploy(caver, deployer);
+ * ContractCallBatch batch = multicall.newBatch();
+ * ContractCallBatch.Entry balance = batch.add(kip7, "balanceOf", owner);
+ * batch.call();
+ * </pre>
+ */
+public class Multicall extends Contract {
+    public static final String FUNCTION_TRY_AGGREGATE = "tryAggregate";
+
+    public static final String ABI = "[{\"inputs\":[{\"name\":\"requireSuccess\",\"type\":\"bool\"},{\"components\":[{\"name\":\"target\",\"type\":\"address\"},{\"name\":\"callData\",\"type\":\"bytes\"}],\"name\":\"calls\",\"type\":\"tuple[]\"}]," +
+            "\"name\":\"tryAggregate\",\"outputs\":[{\"components\":[{\"name\":\"success\",\"type\":\"bool\"},{\"name\":\"returnData\",\"type\":\"bytes\"}],\"name\":\"returnData\",\"type\":\"tuple[]\"}],\"stateMutability\":\"payable\",\"type\":\"function\"}]";
+
+    public static final String BINARY = "60c580600b6000396000f360003560e01c63bce38bd71461001457600080fd5b6004356024356004018035906020019060206000528060205260008160051b6040015b828210156100b757604081038260051b604001528160051b840135840180602001358101803580826020018560600137600060008286606001600087355af1801589166100bb578452505050604081602001523d81604001523d6000826060013e60003d826060010152601f3d01601f1916606001019060010190610037565b6000f35b3d6000803e3d6000fd";
+
+    /**
+     * Creates a Multicall instance.
+     * @param caver A Caver instance.
+     * @throws IOException
+     */
+    public Multicall(Caver caver) throws IOException {
+        super(caver, ABI);
+    }
+
+    /**
+     * Creates a Multicall instance.
+     * @param caver A Caver instance.
+     * @param contractAddress A contract address.
+     * @throws IOException
+     */
+    public Multicall(Caver caver, String contractAddress) throws IOException {
+        super(caver, ABI, contractAddress);
+    }
+
+    /**
+     * Deploy Multicall contract.<p>
+     * It must add deployer's keyring in caver.wallet.
+     * @param caver A Caver instance.
+     * @param deployer A deployer's address.
+     * @return Multicall
+     * @throws IOException
+     * @throws TransactionException
+     * @throws ClassNotFoundException
+     * @throws InvocationTargetException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    public static Multicall deploy(Caver caver, String deployer) throws IOException, TransactionException, ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        return deploy(caver, deployer, caver.getWallet());
+    }
+
+    /**
+     * Deploy Multicall contract.<p>
+     * The wallet used in the contract is set to the wallet type passed as a parameter of the method.
+     * @param caver A Caver instance.
+     * @param deployer A deployer's address.
+     * @param wallet The class instance implemented IWallet to sign transaction.
+     * @return Multicall
+     * @throws IOException
+     * @throws TransactionException
+     * @throws ClassNotFoundException
+     * @throws InvocationTargetException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    public static Multicall deploy(Caver caver, String deployer, IWallet wallet) throws IOException, TransactionException, ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        SendOptions sendOptions = new SendOptions();
+        sendOptions.setFrom(deployer);
+        sendOptions.setGas(BigInteger.valueOf(500000));
+
+        return deploy(caver, sendOptions, wallet);
+    }
+
+    /**
+     * Deploy Multicall contract.<p>
+     * The wallet used in the contract is set to the wallet type passed as a parameter of the method.
+     * @param caver A Caver instance.
+     * @param sendOptions The send options to deploy a contract.
+     * @param wallet The class instance implemented IWallet to sign transaction.
+     * @return Multicall
+     * @throws IOException
+     * @throws TransactionException
+     * @throws ClassNotFoundException
+     * @throws InvocationTargetException
+     * @throws NoSuchMethodException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    public static Multicall deploy(Caver caver, SendOptions sendOptions, IWallet wallet) throws IOException, TransactionException, ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        ContractDeployParams contractDeployParams = new ContractDeployParams(BINARY, new ArrayList<>());
+
+        Multicall multicall = new Multicall(caver);
+        multicall.setWallet(wallet);
+        multicall.deploy(contractDeployParams, sendOptions);
+
+        return multicall;
+    }
+
+    /**
+     * Creates a ContractCallBatch which aggregates calls through this contract.
+     * @return ContractCallBatch
+     */
+    public ContractCallBatch newBatch() {
+        return new ContractCallBatch(getCaver(), this);
+    }
+
+    /**
+     * Creates a ContractCallBatch which aggregates calls through this contract.
+     * @param maxCallsPerRequest The maximum number of calls aggregated in a single request.
+     * @return ContractCallBatch
+     */
+    public ContractCallBatch newBatch(int maxCallsPerRequest) {
+        return new ContractCallBatch(getCaver(), this, maxCallsPerRequest);
+    }
+}
@@ -23,18 +23,49 @@ import io.ipfs.multihash.Multihash;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 /**
- * This class represents uploading and getting file from IPFS.
+ * This class represents uploading and getting file from IPFS.<p>
+ * Files can be uploaded and downloaded as streams, so a large file is never held in memory.
+ * If a cache is set, the files got or added are kept on the local disk by the multihash,
+ * and getting them again does not request the IPFS node.
  */
 public class IPFS {
 
+    /**
+     * The default number of files uploaded at the same time by {@link #addAll(List)}.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The size of the chunk to copy a stream with.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * The IPFS instance.
      */
     io.ipfs.api.IPFS ipfs;
 
+    /**
+     * The local cache of the files. It is null if the files are not cached.
+     */
+    IPFSCache cache;
+
+    /**
+     * The number of files uploaded at the same time.
+     */
+    int parallelism = DEFAULT_PARALLELISM;
+
 
     public IPFS() {
     }
@@ -78,7 +109,11 @@ public class IPFS {
      */
     public String add(String path) throws IOException {
         NamedStreamable streamable = new NamedStreamable.FileWrapper(new File(path));
-        return add(streamable);
+        String encodedHash = add(streamable);
+        if(cache != null) {
+            cache.put(encodedHash, Paths.get(path));
+        }
+        return encodedHash;
     }
 
     /**
@@ -89,9 +124,72 @@ public class IPFS {
      */
     public String add(byte[] content) throws IOException {
         NamedStreamable streamable = new NamedStreamable.ByteArrayWrapper(content);
+        String encodedHash = add(streamable);
+        if(cache != null) {
+            cache.put(encodedHash, content);
+        }
+        return encodedHash;
+    }
+
+    /**
+     * Add the data read from the stream to IPFS.
+     * The data is uploaded in chunks while it is read, and the stream is read to the end but not closed.
+     * @param content The stream to add at IPFS.
+     * @return String
+     * @throws IOException
+     */
+    public String add(InputStream content) throws IOException {
+        NamedStreamable streamable = new NamedStreamable.InputStreamWrapper(content);
         return add(streamable);
     }
 
+    /**
+     * Add the data read from the channel to IPFS.
+     * The data is uploaded in chunks while it is read, and the channel is read to the end but not closed.
+     * @param content The channel to add at IPFS.
+     * @return String
+     * @throws IOException
+     */
+    public String add(ReadableByteChannel content) throws IOException {
+        return add(Channels.newInputStream(content));
+    }
+
+    /**
+     * Add files to IPFS. The files are uploaded at the same time up to the parallelism.
+     * @param paths The file paths to add at IPFS.
+     * @return List The encoded multi hashes of the files in the given order.
+     * @throws IOException If a file fails to be added.
+     */
+    public List<String> addAll(List<String> paths) throws IOException {
+        if(paths.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Callable<String>> tasks = new ArrayList<>(paths.size());
+        for(String path : paths) {
+            tasks.add(() -> add(path));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, paths.size()));
+        try {
+            List<String> encodedHashes = new ArrayList<>(paths.size());
+            for(Future<String> future : executor.invokeAll(tasks)) {
+                encodedHashes.add(future.get());
+            }
+            return encodedHashes;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while adding files.", e);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Get file from IPFS.
      * @param encodedHash A encoded multi hash string with base58.
@@ -99,8 +197,72 @@ public class IPFS {
      * @throws IOException
      */
     public byte[] get(String encodedHash) throws IOException {
+        if(cache != null) {
+            byte[] cached = cache.get(encodedHash);
+            if(cached != null) {
+                return cached;
+            }
+        }
+
         Multihash multihash = Multihash.fromBase58(encodedHash);
-        return this.ipfs.cat(multihash);
+        byte[] content = this.ipfs.cat(multihash);
+        if(cache != null) {
+            cache.put(encodedHash, content);
+        }
+        return content;
+    }
+
+    /**
+     * Get file from IPFS as a stream. The caller must close the stream.<p>
+     * If a cache is set, the file is downloaded to the cache first and the stream reads the cached file.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return InputStream
+     * @throws IOException
+     */
+    public InputStream getStream(String encodedHash) throws IOException {
+        if(cache == null) {
+            return this.ipfs.catStream(Multihash.fromBase58(encodedHash));
+        }
+
+        InputStream cached = cache.open(encodedHash);
+        if(cached != null) {
+            return cached;
+        }
+        try(InputStream content = this.ipfs.catStream(Multihash.fromBase58(encodedHash))) {
+            cache.put(encodedHash, content);
+        }
+        return cache.open(encodedHash);
+    }
+
+    /**
+     * Get file from IPFS, writing it to the stream in chunks. The stream is not closed.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param out The stream to write the file to.
+     * @return long The size of the file.
+     * @throws IOException
+     */
+    public long get(String encodedHash, OutputStream out) throws IOException {
+        try(InputStream content = getStream(encodedHash)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while((read = content.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Get file from IPFS, writing it to the channel in chunks. The channel is not closed.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param out The channel to write the file to.
+     * @return long The size of the file.
+     * @throws IOException
+     */
+    public long get(String encodedHash, WritableByteChannel out) throws IOException {
+        return get(encodedHash, Channels.newOutputStream(out));
     }
 
     /**
@@ -113,6 +275,41 @@ public class IPFS {
         this.ipfs = new io.ipfs.api.IPFS(host, port, "/api/v0/", ssl);;
     }
 
+    /**
+     * Set a local cache of the files. If it is null, the files are not cached.
+     * @param cache The local cache of the files.
+     */
+    public void setCache(IPFSCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Getter function for cache
+     * @return IPFSCache
+     */
+    public IPFSCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Set the number of files uploaded at the same time by {@link #addAll(List)}.
+     * @param parallelism The number of files uploaded at the same time.
+     */
+    public void setParallelism(int parallelism) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism : " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Getter function for parallelism
+     * @return int
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
 
     /**
      * Add stream data to IPFS
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.ipfs;
+
+import io.ipfs.multihash.Multihash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed cache of IPFS files on the local disk.<p>
+ * A file is stored under the hex string of its multihash. Because the content of a multihash never changes,
+ * a cached file is never invalidated, and the cache can be shared by processes and kept between runs.
+ * A file is written to a temporary file first and moved in place atomically, so a reader never sees a partial file.<p>
+ * The total size of the cached files is bounded by maxSize. When a stored file exceeds it, the least recently used files are removed.
+ * The size is tracked over the files found when the cache is created and the files read or stored by this instance,
+ * so the files stored by another process in the same directory are not counted until this instance is created again.
+ * <pre>
+ * caver.ipfs.setIPFSNode(host, port, ssl);
+ * caver.ipfs.setCache(new IPFSCache(Paths.get("ipfs-cache")));
+ * </pre>
+ */
+public class IPFSCache {
+
+    /**
+     * The default maximum total size of the cached files in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 1L << 30;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IPFSCache.class);
+
+    private final Path directory;
+
+    /**
+     * The maximum total size of the cached files in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * The sizes of the cached files in the order of the last access. It is guarded by this instance.
+     */
+    private final LinkedHashMap<Path, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total size of the files. It is guarded by this instance.
+     */
+    private long size = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates an IPFSCache instance with the default max size.
+     * @param directory The directory to store the files in. It is created if it does not exist.
+     * @throws IOException If the directory cannot be created.
+     */
+    public IPFSCache(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates an IPFSCache instance.
+     * @param directory The directory to store the files in. It is created if it does not exist.
+     * @param maxSize The maximum total size of the cached files in bytes.
+     * @throws IOException If the directory cannot be created or read.
+     */
+    public IPFSCache(Path directory, long maxSize) throws IOException {
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid max size : " + maxSize);
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+        loadFiles();
+    }
+
+    /**
+     * Returns the path where the file of the multihash is stored.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return Path
+     */
+    public Path getPath(String encodedHash) {
+        String hex = Multihash.fromBase58(encodedHash).toHex();
+        // The first bytes of a multihash are its hash type and length, so the last byte spreads the files over sub directories.
+        return directory.resolve(hex.substring(hex.length() - 2)).resolve(hex);
+    }
+
+    /**
+     * Returns true if the file of the multihash is cached.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return boolean
+     */
+    public boolean contains(String encodedHash) {
+        return Files.isRegularFile(getPath(encodedHash));
+    }
+
+    /**
+     * Opens the cached file of the multihash.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return InputStream It returns null if the file is not cached.
+     * @throws IOException
+     */
+    public InputStream open(String encodedHash) throws IOException {
+        try {
+            Path file = getPath(encodedHash);
+            InputStream inputStream = Files.newInputStream(file);
+            touch(file);
+            hitCount.incrementAndGet();
+            return inputStream;
+        } catch(NoSuchFileException e) {
+            missCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Reads the cached file of the multihash.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return byte[] It returns null if the file is not cached.
+     * @throws IOException
+     */
+    public byte[] get(String encodedHash) throws IOException {
+        try {
+            Path file = getPath(encodedHash);
+            byte[] content = Files.readAllBytes(file);
+            touch(file);
+            hitCount.incrementAndGet();
+            return content;
+        } catch(NoSuchFileException e) {
+            missCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the content of the multihash.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param content The content of the multihash.
+     * @return Path The path of the cached file.
+     * @throws IOException
+     */
+    public Path put(String encodedHash, byte[] content) throws IOException {
+        Path file = getPath(encodedHash);
+        Path temp = createTempFile(file);
+        try {
+            Files.write(temp, content);
+            return store(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores the content of the multihash, reading the stream to the end. The stream is not closed.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param content The content of the multihash.
+     * @return Path The path of the cached file.
+     * @throws IOException
+     */
+    public Path put(String encodedHash, InputStream content) throws IOException {
+        Path file = getPath(encodedHash);
+        Path temp = createTempFile(file);
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            return store(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores a copy of the file as the content of the multihash.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param source The file which has the content of the multihash.
+     * @return Path The path of the cached file.
+     * @throws IOException
+     */
+    public Path put(String encodedHash, Path source) throws IOException {
+        Path file = getPath(encodedHash);
+        Path temp = createTempFile(file);
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            return store(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Removes the cached file of the multihash.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return boolean It returns true if the file was cached.
+     * @throws IOException
+     */
+    public boolean remove(String encodedHash) throws IOException {
+        Path file = getPath(encodedHash);
+        synchronized(this) {
+            Long removed = files.remove(file);
+            if(removed != null) {
+                size -= removed;
+            }
+        }
+        return Files.deleteIfExists(file);
+    }
+
+    /**
+     * Getter function for directory
+     * @return Path
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Getter function for maxSize
+     * @return long
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the total size of the cached files known to this instance.
+     * @return long
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of reads served from the cache.
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of reads which did not find the file in the cache.
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private Path createTempFile(Path file) throws IOException {
+        Path parent = Files.createDirectories(file.getParent());
+        return Files.createTempFile(parent, "tmp", null);
+    }
+
+    private Path store(Path temp, Path file) throws IOException {
+        long fileSize = Files.size(temp);
+        Path stored = Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        List<Path> evicted = new ArrayList<>();
+        synchronized(this) {
+            Long previous = files.put(stored, fileSize);
+            size += fileSize - (previous == null ? 0 : previous);
+
+            // The stored file is kept even if it alone exceeds maxSize, because the caller reads it next.
+            Iterator<Map.Entry<Path, Long>> iterator = files.entrySet().iterator();
+            while(size > maxSize && iterator.hasNext()) {
+                Map.Entry<Path, Long> entry = iterator.next();
+                if(entry.getKey().equals(stored)) {
+                    continue;
+                }
+                iterator.remove();
+                size -= entry.getValue();
+                evicted.add(entry.getKey());
+            }
+        }
+
+        for(Path evictedFile : evicted) {
+            try {
+                Files.deleteIfExists(evictedFile);
+            } catch(IOException e) {
+                LOGGER.warn("Failed to remove the evicted file " + evictedFile + ".", e);
+            }
+        }
+        return stored;
+    }
+
+    private synchronized void touch(Path file) {
+        files.get(file);
+    }
+
+    /**
+     * Adds the files in the directory to the index in the order of the last modified time.
+     */
+    private void loadFiles() throws IOException {
+        List<Path> existing = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        try(Stream<Path> stream = Files.walk(directory, 2)) {
+            for(Path file : (Iterable<Path>)stream::iterator) {
+                // Temporary files are left only by an interrupted put.
+                if(Files.isRegularFile(file) && !file.getFileName().toString().startsWith("tmp")) {
+                    existing.add(file);
+                    attributes.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+                }
+            }
+        }
+        existing.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+
+        synchronized(this) {
+            for(Path file : existing) {
+                long fileSize = attributes.get(file).size();
+                files.put(file, fileSize);
+                size += fileSize;
+            }
+        }
+    }
+}
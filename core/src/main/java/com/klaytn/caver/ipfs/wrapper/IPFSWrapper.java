@@ -17,8 +17,14 @@
 package com.klaytn.caver.ipfs.wrapper;
 
 import com.klaytn.caver.ipfs.IPFS;
+import com.klaytn.caver.ipfs.IPFSCache;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
 
 /**
  * Representing an IPFSWrapper
@@ -86,6 +92,68 @@ public class IPFSWrapper {
         return this.ipfs.get(encodedHash);
     }
 
+    /**
+     * Add the data read from the stream to IPFS.
+     * @param content The stream to add at IPFS.
+     * @return String
+     * @throws IOException
+     */
+    public String add(InputStream content) throws IOException {
+        return this.ipfs.add(content);
+    }
+
+    /**
+     * Add the data read from the channel to IPFS.
+     * @param content The channel to add at IPFS.
+     * @return String
+     * @throws IOException
+     */
+    public String add(ReadableByteChannel content) throws IOException {
+        return this.ipfs.add(content);
+    }
+
+    /**
+     * Add files to IPFS at the same time up to the parallelism.
+     * @param paths The file paths to add at IPFS.
+     * @return List
+     * @throws IOException
+     */
+    public List<String> addAll(List<String> paths) throws IOException {
+        return this.ipfs.addAll(paths);
+    }
+
+    /**
+     * Get file from IPFS as a stream.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @return InputStream
+     * @throws IOException
+     */
+    public InputStream getStream(String encodedHash) throws IOException {
+        return this.ipfs.getStream(encodedHash);
+    }
+
+    /**
+     * Get file from IPFS, writing it to the stream.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param out The stream to write the file to.
+     * @return long
+     * @throws IOException
+     */
+    public long get(String encodedHash, OutputStream out) throws IOException {
+        return this.ipfs.get(encodedHash, out);
+    }
+
+    /**
+     * Get file from IPFS, writing it to the channel.
+     * @param encodedHash A encoded multi hash string with base58.
+     * @param out The channel to write the file to.
+     * @return long
+     * @throws IOException
+     */
+    public long get(String encodedHash, WritableByteChannel out) throws IOException {
+        return this.ipfs.get(encodedHash, out);
+    }
+
     /**
      * Set a IPFS node.
      * @param host The host url.
@@ -95,4 +163,36 @@ public class IPFSWrapper {
     public void setIPFSNode(String host, int port, boolean ssl) {
         this.ipfs.setIPFSNode(host, port, ssl);
     }
+
+    /**
+     * Set a local cache of the files.
+     * @param cache The local cache of the files.
+     */
+    public void setCache(IPFSCache cache) {
+        this.ipfs.setCache(cache);
+    }
+
+    /**
+     * Getter function for cache
+     * @return IPFSCache
+     */
+    public IPFSCache getCache() {
+        return this.ipfs.getCache();
+    }
+
+    /**
+     * Set the number of files uploaded at the same time.
+     * @param parallelism The number of files uploaded at the same time.
+     */
+    public void setParallelism(int parallelism) {
+        this.ipfs.setParallelism(parallelism);
+    }
+
+    /**
+     * Getter function for parallelism
+     * @return int
+     */
+    public int getParallelism() {
+        return this.ipfs.getParallelism();
+    }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.kct.kip13;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.Account;
+import com.klaytn.caver.methods.response.AccountSmartContract;
+import com.klaytn.caver.methods.response.Bytes;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.KlayBatch;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects the KIP-13 interfaces which contracts support, with JSON-RPC batches instead of one call per interface.<p>
+ * For each contract, `klay_getAccount` and the `supportsInterface` calls of KIP-13 itself and of every requested interface
+ * are sent in the same batch, so a contract is classified in a single round-trip and many contracts share it.
+ * The results are cached by the contract address and code hash. A cached contract costs only `klay_getAccount` to check the code hash,
+ * and it is probed again if the code hash changed.
+ * <pre>
+ * InterfaceDetector detector = new InterfaceDetector(caver);
+ * Map&lt;String, Map&lt;String, Boolean&gt;&gt; results = KIP7.detectInterfaces(detector, contractAddresses);
+ * </pre>
+ */
+public class InterfaceDetector {
+
+    /**
+     * The default number of contracts probed in a JSON-RPC batch.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    static final String SUPPORTS_INTERFACE_SELECTOR = "0x01ffc9a7";
+    static final String KIP13_INTERFACE_ID = "0x01ffc9a7";
+    static final String INVALID_INTERFACE_ID = "0xffffffff";
+
+    private final Klay klay;
+
+    /**
+     * The number of contracts probed in a JSON-RPC batch.
+     */
+    private final int chunkSize;
+
+    /**
+     * The results of the contracts. The key is the lower case address.
+     */
+    private final Map<String, Detected> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an InterfaceDetector instance.
+     * @param caver A Caver instance.
+     */
+    public InterfaceDetector(Caver caver) {
+        this(caver.rpc.getKlay(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an InterfaceDetector instance.
+     * @param klay Klay RPC instance.
+     * @param chunkSize The number of contracts probed in a JSON-RPC batch.
+     */
+    public InterfaceDetector(Klay klay, int chunkSize) {
+        if(chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size : " + chunkSize);
+        }
+
+        this.klay = klay;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Detects which of the interfaces the contract supports.
+     * @param contractAddress A contract address.
+     * @param interfaces The map where the interface name and the interface id are mapped.
+     * @return Map The map where the interface name and whether it is supported are mapped.
+     * @throws IOException
+     * @throws RuntimeException If the contract does not support KIP-13.
+     */
+    public Map<String, Boolean> detect(String contractAddress, Map<String, String> interfaces) throws IOException {
+        Map<String, Boolean> result = detectAll(Collections.singletonList(contractAddress), interfaces).get(contractAddress);
+        if(result == null) {
+            throw new RuntimeException("This contract does not support KIP-13.");
+        }
+        return result;
+    }
+
+    /**
+     * Detects which of the interfaces each contract supports.
+     * @param contractAddresses Contract addresses.
+     * @param interfaces The map where the interface name and the interface id are mapped.
+     * @return Map The map where the given address and its result are mapped in the given order.
+     * The result is null if the address is not a contract or the contract does not support KIP-13.
+     * @throws IOException
+     */
+    public Map<String, Map<String, Boolean>> detectAll(Collection<String> contractAddresses, Map<String, String> interfaces) throws IOException {
+        Map<String, Map<String, Boolean>> results = new LinkedHashMap<>();
+        List<String> addresses = new ArrayList<>(new LinkedHashSet<>(contractAddresses));
+
+        for(int start = 0; start < addresses.size(); start += chunkSize) {
+            detectChunk(addresses.subList(start, Math.min(start + chunkSize, addresses.size())), interfaces, results);
+        }
+        return results;
+    }
+
+    /**
+     * Removes the cached result of the contract.
+     * @param contractAddress A contract address.
+     */
+    public void invalidate(String contractAddress) {
+        cache.remove(contractAddress.toLowerCase());
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    private void detectChunk(List<String> addresses, Map<String, String> interfaces, Map<String, Map<String, Boolean>> results) throws IOException {
+        Set<String> allIds = new LinkedHashSet<>();
+        allIds.add(KIP13_INTERFACE_ID);
+        allIds.add(INVALID_INTERFACE_ID);
+        for(String id : interfaces.values()) {
+            allIds.add(id.toLowerCase());
+        }
+
+        KlayBatch batch = klay.newBatch(KlayBatch.DEFAULT_MAX_BATCH_SIZE);
+        List<Probe> probes = new ArrayList<>(addresses.size());
+        for(String address : addresses) {
+            Probe probe = new Probe(address, batch.add(klay.getAccount(address)));
+            Detected cached = cache.get(address.toLowerCase());
+            if(cached == null) {
+                probe.addCalls(batch, allIds);
+            } else if(cached.kip13) {
+                probe.addCalls(batch, cached.getMissing(allIds));
+            }
+            probes.add(probe);
+        }
+        batch.send();
+
+        List<Probe> retries = new ArrayList<>();
+        for(Probe probe : probes) {
+            String key = probe.address.toLowerCase();
+            String codeHash = getCodeHash(probe.account);
+            if(codeHash == null) {
+                cache.remove(key);
+                results.put(probe.address, null);
+                continue;
+            }
+
+            Detected cached = cache.get(key);
+            if(cached != null && cached.codeHash.equals(codeHash)) {
+                cached.merge(probe);
+                results.put(probe.address, cached.toResult(interfaces));
+            } else if(probe.calls.containsKey(KIP13_INTERFACE_ID)) {
+                Detected detected = new Detected(codeHash, probe);
+                cache.put(key, detected);
+                results.put(probe.address, detected.toResult(interfaces));
+            } else {
+                // The code is changed since it was cached, so the contract is probed again.
+                retries.add(probe);
+            }
+        }
+
+        if(!retries.isEmpty()) {
+            KlayBatch retryBatch = klay.newBatch(KlayBatch.DEFAULT_MAX_BATCH_SIZE);
+            List<Probe> retryProbes = new ArrayList<>(retries.size());
+            for(Probe retry : retries) {
+                Probe probe = new Probe(retry.address, retry.account);
+                probe.addCalls(retryBatch, allIds);
+                retryProbes.add(probe);
+            }
+            retryBatch.send();
+
+            for(Probe probe : retryProbes) {
+                Detected detected = new Detected(getCodeHash(probe.account), probe);
+                cache.put(probe.address.toLowerCase(), detected);
+                results.put(probe.address, detected.toResult(interfaces));
+            }
+        }
+    }
+
+    private static String getCodeHash(KlayBatch.Entry<Account> entry) throws IOException {
+        Account response = entry.getResponse();
+        if(response.hasError() || response.getResult() == null) {
+            return null;
+        }
+
+        Object account = response.getResult().getAccount();
+        if(account instanceof AccountSmartContract) {
+            return ((AccountSmartContract)account).getCodeHash();
+        }
+        return null;
+    }
+
+    /**
+     * The requests sent for a contract in a batch.
+     */
+    private class Probe {
+        final String address;
+        final KlayBatch.Entry<Account> account;
+        final Map<String, KlayBatch.Entry<Bytes>> calls = new HashMap<>();
+
+        Probe(String address, KlayBatch.Entry<Account> account) {
+            this.address = address;
+            this.account = account;
+        }
+
+        void addCalls(KlayBatch batch, Collection<String> interfaceIds) {
+            for(String id : interfaceIds) {
+                String data = SUPPORTS_INTERFACE_SELECTOR + Numeric.cleanHexPrefix(id) + "00000000000000000000000000000000000000000000000000000000";
+                calls.put(id, batch.add(klay.call(CallObject.createCallObject(null, address, null, null, null, data))));
+            }
+        }
+
+        /**
+         * Returns the result of `supportsInterface`. A failed call is regarded as false.
+         */
+        boolean isSupported(String interfaceId) {
+            KlayBatch.Entry<Bytes> entry = calls.get(interfaceId);
+            if(entry == null || entry.hasError()) {
+                return false;
+            }
+
+            try {
+                String result = Numeric.cleanHexPrefix(entry.getResponse().getResult());
+                return result.length() >= 64 && new BigInteger(result.substring(0, 64), 16).equals(BigInteger.ONE);
+            } catch(IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The cached result of a contract.
+     */
+    private static class Detected {
+        final String codeHash;
+        final boolean kip13;
+        final Map<String, Boolean> supported = new ConcurrentHashMap<>();
+
+        Detected(String codeHash, Probe probe) {
+            this.codeHash = codeHash;
+            this.kip13 = probe.isSupported(KIP13_INTERFACE_ID) && !probe.isSupported(INVALID_INTERFACE_ID);
+            merge(probe);
+        }
+
+        void merge(Probe probe) {
+            for(String id : probe.calls.keySet()) {
+                supported.put(id, probe.isSupported(id));
+            }
+        }
+
+        List<String> getMissing(Collection<String> interfaceIds) {
+            List<String> missing = new ArrayList<>();
+            for(String id : interfaceIds) {
+                if(!supported.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            return missing;
+        }
+
+        Map<String, Boolean> toResult(Map<String, String> interfaces) {
+            if(!kip13) {
+                return null;
+            }
+
+            Map<String, Boolean> result = new HashMap<>();
+            for(Map.Entry<String, String> entry : interfaces.entrySet()) {
+                result.put(entry.getKey(), supported.getOrDefault(entry.getValue().toLowerCase(), false));
+            }
+            return result;
+        }
+    }
+}
@@ -20,7 +20,7 @@ import com.klaytn.caver.Caver;
 import com.klaytn.caver.contract.Contract;
 import com.klaytn.caver.contract.ContractDeployParams;
 import com.klaytn.caver.contract.SendOptions;
-import com.klaytn.caver.kct.kip13.KIP13;
+import com.klaytn.caver.kct.kip13.InterfaceDetector;
 import com.klaytn.caver.methods.request.CallObject;
 import com.klaytn.caver.methods.response.TransactionReceipt;
 import com.klaytn.caver.wallet.IWallet;
@@ -353,21 +353,31 @@ public class KIP17 extends Contract {
      * @return Map&lt;String, Boolean&gt;
      */
     public static Map<String, Boolean> detectInterface(Caver caver, String contractAddress) {
-        KIP13 kip13;
         try {
-            kip13 = new KIP13(caver, contractAddress);
+            return caver.rpc.getKlay().getInterfaceDetector().detect(contractAddress, getInterfaceIds());
         } catch (IOException e) {
             throw new RuntimeException(e.getMessage());
         }
+    }
 
-        if(!kip13.isImplementedKIP13Interface()) {
-            throw new RuntimeException("This contract does not support KIP-13.");
-        }
+    /**
+     * Detects which interface each of the KIP-17 token contracts supports.<p>
+     * The contracts are probed with JSON-RPC batches, and the results are cached in the detector by the address and code hash.
+     * @param detector An InterfaceDetector instance.
+     * @param contractAddresses Contract addresses.
+     * @return Map&lt;String, Map&lt;String, Boolean&gt;&gt; The result of each address. It is null if the contract does not support KIP-13.
+     * @throws IOException
+     */
+    public static Map<String, Map<String, Boolean>> detectInterfaces(InterfaceDetector detector, Collection<String> contractAddresses) throws IOException {
+        return detector.detectAll(contractAddresses, getInterfaceIds());
+    }
 
-        Map<String, Boolean> result = new HashMap<>();
-        Arrays.stream(INTERFACE.values())
-                .forEach(element -> result.put(element.getName(), kip13.sendQuery(element.getId())));
-        return result;
+    private static Map<String, String> getInterfaceIds() {
+        Map<String, String> interfaceIds = new LinkedHashMap<>();
+        for(INTERFACE element : INTERFACE.values()) {
+            interfaceIds.put(element.getName(), element.getId());
+        }
+        return interfaceIds;
     }
 
     /**
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+/**
+ * The header of a block parsed by streaming. The transactions of the block are handed to the consumer of the request
+ * while they are parsed, so only the number of them is kept.
+ */
+public class CompactBlock {
+    long number;
+    byte[] hash;
+    byte[] parentHash;
+    byte[] reward;
+    long timestamp;
+    long gasUsed;
+    long size;
+    int transactionCount;
+
+    CompactBlock() {
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public byte[] getParentHash() {
+        return parentHash;
+    }
+
+    public byte[] getReward() {
+        return reward;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+}
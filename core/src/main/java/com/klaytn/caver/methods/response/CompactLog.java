@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.methods.response;
+
+import com.klaytn.caver.utils.HexCodec;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A log parsed by streaming, which keeps hashes, addresses and data as byte arrays and quantities as primitives.
+ * It takes much less memory than KlayLogs.Log which keeps every field as a hex string.
+ */
+public class CompactLog {
+    byte[] address;
+    byte[][] topics;
+    byte[] data;
+    long blockNumber;
+    byte[] blockHash;
+    byte[] transactionHash;
+    int transactionIndex;
+    int logIndex;
+
+    CompactLog() {
+    }
+
+    /**
+     * Converts it to KlayLogs.Log.
+     * @return KlayLogs.Log
+     */
+    public KlayLogs.Log toLog() {
+        List<String> topicList = new ArrayList<>(topics.length);
+        for(byte[] topic : topics) {
+            topicList.add(toHexString(topic));
+        }
+
+        return new KlayLogs.Log(
+                Numeric.toHexStringWithPrefix(BigInteger.valueOf(logIndex)),
+                Numeric.toHexStringWithPrefix(BigInteger.valueOf(transactionIndex)),
+                toHexString(transactionHash),
+                toHexString(blockHash),
+                Numeric.toHexStringWithPrefix(BigInteger.valueOf(blockNumber)),
+                toHexString(address),
+                toHexString(data),
+                topicList);
+    }
+
+    public byte[] getAddress() {
+        return address;
+    }
+
+    public byte[][] getTopics() {
+        return topics;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public byte[] getBlockHash() {
+        return blockHash;
+    }
+
+    public byte[] getTransactionHash() {
+        return transactionHash;
+    }
+
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public int getLogIndex() {
+        return logIndex;
+    }
+
+    private static String toHexString(byte[] bytes) {
+        return bytes == null ? null : HexCodec.toHexString(bytes);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.klaytn.caver.utils.HexCodec;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses logs and transactions token by token into the compact representations.
+ * Hex strings are decoded directly from the character buffer of the parser without creating a String.
+ */
+class CompactParser {
+    private static final byte[][] EMPTY_TOPICS = new byte[0][];
+
+    private CompactParser() {
+    }
+
+    /**
+     * Parses a log object. The current token of the parser must be START_OBJECT.
+     * @param parser The JsonParser.
+     * @return CompactLog
+     * @throws IOException
+     */
+    static CompactLog parseLog(JsonParser parser) throws IOException {
+        CompactLog log = new CompactLog();
+        log.topics = EMPTY_TOPICS;
+
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch(name) {
+                case "address":
+                    log.address = toBytes(parser);
+                    break;
+                case "topics":
+                    log.topics = toBytesArray(parser);
+                    break;
+                case "data":
+                    log.data = toBytes(parser);
+                    break;
+                case "blockNumber":
+                    log.blockNumber = toLong(parser);
+                    break;
+                case "blockHash":
+                    log.blockHash = toBytes(parser);
+                    break;
+                case "transactionHash":
+                    log.transactionHash = toBytes(parser);
+                    break;
+                case "transactionIndex":
+                    log.transactionIndex = (int)toLong(parser);
+                    break;
+                case "logIndex":
+                    log.logIndex = (int)toLong(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Parses a transaction object, or a transaction hash if the block does not have full transaction objects.
+     * @param parser The JsonParser.
+     * @return CompactTransaction
+     * @throws IOException
+     */
+    static CompactTransaction parseTransaction(JsonParser parser) throws IOException {
+        CompactTransaction transaction = new CompactTransaction();
+        if(parser.currentToken() == JsonToken.VALUE_STRING) {
+            transaction.hash = toBytes(parser);
+            return transaction;
+        }
+
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch(name) {
+                case "hash":
+                    transaction.hash = toBytes(parser);
+                    break;
+                case "senderTxHash":
+                    transaction.senderTxHash = toBytes(parser);
+                    break;
+                case "typeInt":
+                    transaction.type = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : (int)toLong(parser);
+                    break;
+                case "from":
+                    transaction.from = toBytes(parser);
+                    break;
+                case "to":
+                    transaction.to = toBytes(parser);
+                    break;
+                case "feePayer":
+                    transaction.feePayer = toBytes(parser);
+                    break;
+                case "value":
+                    transaction.value = toBigInteger(parser);
+                    break;
+                case "nonce":
+                    transaction.nonce = toLong(parser);
+                    break;
+                case "gas":
+                    transaction.gas = toLong(parser);
+                    break;
+                case "gasPrice":
+                    transaction.gasPrice = toBigInteger(parser);
+                    break;
+                case "input":
+                    transaction.input = toBytes(parser);
+                    break;
+                case "blockNumber":
+                    transaction.blockNumber = toLong(parser);
+                    break;
+                case "transactionIndex":
+                    transaction.transactionIndex = (int)toLong(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return transaction;
+    }
+
+    /**
+     * Decodes the hex string of the current token. It returns null if the token is null.
+     * @param parser The JsonParser.
+     * @return byte[]
+     * @throws IOException
+     */
+    static byte[] toBytes(JsonParser parser) throws IOException {
+        if(parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if(length >= 2 && chars[offset] == '0' && (chars[offset + 1] == 'x' || chars[offset + 1] == 'X')) {
+            offset += 2;
+            length -= 2;
+        }
+
+        byte[] bytes = new byte[(length + 1) / 2];
+        int index = 0;
+        if(length % 2 == 1) {
+            bytes[index++] = (byte)digit(chars[offset++]);
+            length--;
+        }
+        for(int i = 0; i < length; i += 2) {
+            bytes[index++] = (byte)((digit(chars[offset + i]) << 4) | digit(chars[offset + i + 1]));
+        }
+        return bytes;
+    }
+
+    /**
+     * Parses the hex quantity of the current token. It returns 0 if the token is null.
+     * @param parser The JsonParser.
+     * @return long
+     * @throws IOException
+     */
+    static long toLong(JsonParser parser) throws IOException {
+        if(parser.currentToken() == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if(parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+        if(end - offset >= 2 && chars[offset] == '0' && (chars[offset + 1] == 'x' || chars[offset + 1] == 'X')) {
+            offset += 2;
+        }
+        if(end - offset > 16) {
+            throw new IOException("The quantity is too large : " + parser.getText());
+        }
+
+        long value = 0;
+        for(int i = offset; i < end; i++) {
+            value = (value << 4) | digit(chars[i]);
+        }
+        return value;
+    }
+
+    private static BigInteger toBigInteger(JsonParser parser) throws IOException {
+        if(parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return new BigInteger(1, toBytes(parser));
+    }
+
+    private static byte[][] toBytesArray(JsonParser parser) throws IOException {
+        if(parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return EMPTY_TOPICS;
+        }
+
+        List<byte[]> list = new ArrayList<>(4);
+        while(parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(toBytes(parser));
+        }
+        return list.toArray(new byte[0][]);
+    }
+
+    private static int digit(char c) throws IOException {
+        int value = HexCodec.digit(c);
+        if(value < 0) {
+            throw new IOException("Invalid hex character : " + c);
+        }
+        return value;
+    }
+}
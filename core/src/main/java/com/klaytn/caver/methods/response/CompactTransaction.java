@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import java.math.BigInteger;
+
+/**
+ * A transaction of a block parsed by streaming, which keeps hashes, addresses and input as byte arrays.<p>
+ * It has only the fields common to the transaction types. The type specific fields (e.g. key, codeFormat)
+ * and the signatures are skipped while parsing. If the block is requested without full transaction objects,
+ * only the hash is set.
+ */
+public class CompactTransaction {
+    byte[] hash;
+    byte[] senderTxHash;
+    int type;
+    byte[] from;
+    byte[] to;
+    byte[] feePayer;
+    BigInteger value;
+    long nonce;
+    long gas;
+    BigInteger gasPrice;
+    byte[] input;
+    long blockNumber;
+    int transactionIndex;
+
+    CompactTransaction() {
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public byte[] getSenderTxHash() {
+        return senderTxHash;
+    }
+
+    /**
+     * Returns the type of the transaction as an integer. e.g. 8 for TxTypeValueTransfer
+     * @return int
+     */
+    public int getType() {
+        return type;
+    }
+
+    public byte[] getFrom() {
+        return from;
+    }
+
+    public byte[] getTo() {
+        return to;
+    }
+
+    public byte[] getFeePayer() {
+        return feePayer;
+    }
+
+    public BigInteger getValue() {
+        return value;
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public long getGas() {
+        return gas;
+    }
+
+    public BigInteger getGasPrice() {
+        return gasPrice;
+    }
+
+    public byte[] getInput() {
+        return input;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+
+/**
+ * The response of `klay_getBlockByNumber` or `klay_getBlockByHash` parsed by streaming.<p>
+ * Each transaction of the block is handed to the consumer of the StreamingRequest as a CompactTransaction
+ * while the response is read, and the result of the response is the header of the block.
+ */
+public class StreamedBlock extends Response<CompactBlock> {
+
+    @Override
+    @JsonDeserialize(using = StreamedBlock.ResultDeserializer.class)
+    public void setResult(CompactBlock result) {
+        super.setResult(result);
+    }
+
+    public static class ResultDeserializer extends JsonDeserializer<CompactBlock> {
+        @Override
+        public CompactBlock deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            CompactBlock block = new CompactBlock();
+
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+
+                switch(name) {
+                    case "number":
+                        block.number = CompactParser.toLong(parser);
+                        break;
+                    case "hash":
+                        block.hash = CompactParser.toBytes(parser);
+                        break;
+                    case "parentHash":
+                        block.parentHash = CompactParser.toBytes(parser);
+                        break;
+                    case "reward":
+                        block.reward = CompactParser.toBytes(parser);
+                        break;
+                    case "timestamp":
+                        block.timestamp = CompactParser.toLong(parser);
+                        break;
+                    case "gasUsed":
+                        block.gasUsed = CompactParser.toLong(parser);
+                        break;
+                    case "size":
+                        block.size = CompactParser.toLong(parser);
+                        break;
+                    case "transactions":
+                        block.transactionCount = parseTransactions(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return block;
+        }
+
+        private static int parseTransactions(JsonParser parser) throws IOException {
+            if(parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return 0;
+            }
+
+            int count = 0;
+            while(parser.nextToken() != JsonToken.END_ARRAY) {
+                StreamingRequest.accept(CompactParser.parseTransaction(parser));
+                count++;
+            }
+            return count;
+        }
+    }
+}
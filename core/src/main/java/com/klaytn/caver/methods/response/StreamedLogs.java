@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+
+/**
+ * The response of `klay_getLogs` parsed by streaming.<p>
+ * Each log is handed to the consumer of the StreamingRequest as a CompactLog while the response is read,
+ * and the result of the response is the number of the logs.
+ */
+public class StreamedLogs extends Response<Long> {
+
+    @Override
+    @JsonDeserialize(using = StreamedLogs.ResultDeserializer.class)
+    public void setResult(Long result) {
+        super.setResult(result);
+    }
+
+    /**
+     * Returns the number of the logs handed to the consumer.
+     * @return long
+     */
+    public long getCount() {
+        return getResult() == null ? 0 : getResult();
+    }
+
+    public static class ResultDeserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if(parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return 0L;
+            }
+
+            long count = 0;
+            while(parser.nextToken() == JsonToken.START_OBJECT) {
+                StreamingRequest.accept(CompactParser.parseLog(parser));
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A request whose result is parsed by streaming and handed to a consumer item by item.<p>
+ * Web3jService parses a response in the thread which sends the request, so the consumer is passed to
+ * the deserializer of the response through a thread local while the request is sent.<p>
+ * Streaming is supported by the Web3jServices which parse the response in the sending thread: HttpService and the other
+ * subclasses of {@link org.web3j.protocol.Service}, and the wrappers of caver-java which send it in the calling thread,
+ * CachingWeb3jService and LoadBalancedWeb3jService. It is not supported by WebSocketService, which parses responses
+ * in its reader thread, nor in a batch request. In these cases the response fails with IOException
+ * instead of dropping the items.
+ * @param <S> The type of the request params.
+ * @param <T> The type of the response.
+ * @param <I> The type of the items handed to the consumer.
+ */
+public class StreamingRequest<S, T extends Response<?>, I> extends Request<S, T> {
+    private static final ThreadLocal<Consumer<?>> CONSUMER = new ThreadLocal<>();
+
+    private final Consumer<I> consumer;
+
+    public StreamingRequest(String method, List<S> params, Web3jService web3jService, Class<T> type, Consumer<I> consumer) {
+        super(method, params, web3jService, type);
+        this.consumer = consumer;
+    }
+
+    @Override
+    public T send() throws IOException {
+        Consumer<?> previous = CONSUMER.get();
+        CONSUMER.set(consumer);
+        try {
+            return super.send();
+        } finally {
+            if(previous == null) {
+                CONSUMER.remove();
+            } else {
+                CONSUMER.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<T> sendAsync() {
+        return Async.run(this::send);
+    }
+
+    /**
+     * Hands an item to the consumer of the request being sent in the current thread.
+     * @param item The parsed item.
+     * @param <I> The type of the item.
+     * @throws IOException If no consumer is bound to the current thread.
+     */
+    @SuppressWarnings("unchecked")
+    static <I> void accept(I item) throws IOException {
+        Consumer<I> consumer = (Consumer<I>)CONSUMER.get();
+        if(consumer == null) {
+            throw new IOException("No consumer is bound to the thread parsing the streamed response. " +
+                    "The response must be parsed in the thread sending the StreamingRequest.");
+        }
+        consumer.accept(item);
+    }
+}
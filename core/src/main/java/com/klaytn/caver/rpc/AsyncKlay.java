@@ -0,0 +1,308 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.*;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends requests of a Klay instance asynchronously and returns CompletableFuture.<p>
+ * Requests are sent on the executor passed to the constructor. If it is not given, a virtual thread per task executor is used
+ * when the JDK supports virtual threads, otherwise a cached pool of daemon threads is used.
+ * The number of requests in flight is limited by maxInFlight. When the limit is reached, `send` blocks the caller
+ * until one of the requests in flight is finished, so a fast producer cannot pile up requests without bound.
+ * <pre>
+ * AsyncKlay asyncKlay = new AsyncKlay(caver.rpc.getKlay());
+ * CompletableFuture&lt;Quantity&gt; balance = asyncKlay.send(caver.rpc.getKlay().getBalance(address));
+ * </pre>
+ */
+public class AsyncKlay implements Closeable {
+
+    /**
+     * The default maximum number of requests in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    /**
+     * Klay RPC instance used to create requests.
+     */
+    private final Klay klay;
+
+    /**
+     * The executor which sends requests.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * True if the executor is created by this instance and has to be shut down in `close`.
+     */
+    private final boolean ownExecutor;
+
+    /**
+     * The maximum number of requests in flight.
+     */
+    private final int maxInFlight;
+
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates an AsyncKlay instance with the default executor and max in-flight limit.
+     * @param klay Klay RPC instance.
+     */
+    public AsyncKlay(Klay klay) {
+        this(klay, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Creates an AsyncKlay instance with the default executor.
+     * @param klay Klay RPC instance.
+     * @param maxInFlight The maximum number of requests in flight.
+     */
+    public AsyncKlay(Klay klay, int maxInFlight) {
+        this(klay, createDefaultExecutor(), maxInFlight, true);
+    }
+
+    /**
+     * Creates an AsyncKlay instance. The given executor is not shut down by `close`.
+     * @param klay Klay RPC instance.
+     * @param executor The executor which sends requests.
+     * @param maxInFlight The maximum number of requests in flight.
+     */
+    public AsyncKlay(Klay klay, ExecutorService executor, int maxInFlight) {
+        this(klay, executor, maxInFlight, false);
+    }
+
+    private AsyncKlay(Klay klay, ExecutorService executor, int maxInFlight, boolean ownExecutor) {
+        if(maxInFlight <= 0) {
+            throw new IllegalArgumentException("Invalid max in-flight : " + maxInFlight);
+        }
+
+        this.klay = klay;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ownExecutor = ownExecutor;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Sends a request asynchronously.<p>
+     * If the number of requests in flight reaches maxInFlight, it blocks until one of them is finished.
+     * If the calling thread is interrupted while waiting, the returned future completes exceptionally.
+     * @param request The request created by Klay instance.
+     * @param <T> The response type of the request.
+     * @return CompletableFuture
+     */
+    public <T extends Response<?>> CompletableFuture<T> send(Request<?, T> request) {
+        try {
+            permits.acquire();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedFuture(e);
+        }
+        return submit(request);
+    }
+
+    /**
+     * Sends a request asynchronously if the number of requests in flight is less than maxInFlight.
+     * @param request The request created by Klay instance.
+     * @param <T> The response type of the request.
+     * @return CompletableFuture. It returns null if the request is not sent because of the max in-flight limit.
+     */
+    public <T extends Response<?>> CompletableFuture<T> trySend(Request<?, T> request) {
+        if(!permits.tryAcquire()) {
+            return null;
+        }
+        return submit(request);
+    }
+
+    /**
+     * Sends a `klay_getBalance` request asynchronously.
+     * @param address The account address.
+     * @param blockTag The string "latest", "earliest" or "pending"
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Quantity> getBalance(String address, DefaultBlockParameter blockTag) {
+        return send(klay.getBalance(address, blockTag));
+    }
+
+    /**
+     * Sends a `klay_getTransactionCount` request asynchronously.
+     * @param address The account address.
+     * @param blockTag The string "latest", "earliest" or "pending"
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Quantity> getTransactionCount(String address, DefaultBlockParameter blockTag) {
+        return send(klay.getTransactionCount(address, blockTag));
+    }
+
+    /**
+     * Sends a `klay_blockNumber` request asynchronously.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Quantity> getBlockNumber() {
+        return send(klay.getBlockNumber());
+    }
+
+    /**
+     * Sends a `klay_getBlockByNumber` request asynchronously.
+     * @param blockNumber The block number.
+     * @param isFullTransaction If true it returns the full transaction objects, if false only the hashes of the transactions.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Block> getBlockByNumber(long blockNumber, boolean isFullTransaction) {
+        return send(klay.getBlockByNumber(blockNumber, isFullTransaction));
+    }
+
+    /**
+     * Sends a `klay_getTransactionReceipt` request asynchronously.
+     * @param transactionHash The transaction hash.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<TransactionReceipt> getTransactionReceipt(String transactionHash) {
+        return send(klay.getTransactionReceipt(transactionHash));
+    }
+
+    /**
+     * Sends a `klay_call` request asynchronously.
+     * @param callObject The transaction call object.
+     * @param blockTag The string "latest", "earliest" or "pending"
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Bytes> call(CallObject callObject, DefaultBlockParameter blockTag) {
+        return send(klay.call(callObject, blockTag));
+    }
+
+    /**
+     * Sends a `klay_sendRawTransaction` request asynchronously.
+     * @param transaction A signed transaction instance.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Bytes32> sendRawTransaction(AbstractTransaction transaction) {
+        return send(klay.sendRawTransaction(transaction));
+    }
+
+    /**
+     * Sends a `klay_sendRawTransaction` request asynchronously.
+     * @param signedTransactionData The signed transaction data.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Bytes32> sendRawTransaction(String signedTransactionData) {
+        return send(klay.sendRawTransaction(signedTransactionData));
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     * @return int
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Getter function for maxInFlight
+     * @return int
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    /**
+     * Getter function for executor
+     * @return ExecutorService
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Shuts down the executor if it was created by this instance.
+     */
+    @Override
+    public void close() {
+        if(ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private <T extends Response<?>> CompletableFuture<T> submit(Request<?, T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    T response = request.send();
+                    release();
+                    future.complete(response);
+                } catch(Throwable e) {
+                    release();
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch(RejectedExecutionException e) {
+            release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Creates a virtual thread per task executor if the JDK supports it, otherwise a cached thread pool of daemon threads.
+     * @return ExecutorService
+     */
+    static ExecutorService createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService)method.invoke(null);
+        } catch(ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "caver-async-klay-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
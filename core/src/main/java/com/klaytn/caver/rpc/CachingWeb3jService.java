@@ -0,0 +1,398 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.klaytn.caver.methods.response.StreamingRequest;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * A Web3jService which caches the results that never change once they exist, in front of another Web3jService.<p>
+ * A request is cached only if its method has a rule, and the rule decides whether the result is final with the params and the result.
+ * Since a block is final as soon as it is created in Klaytn, a block by number is final as well as a block by hash.
+ * The default rules cache:
+ * <ul>
+ *     <li>klay_chainID, net_version</li>
+ *     <li>klay_getBlockByHash, klay_getBlockReceipts, klay_getTransactionReceipt(BySenderTxHash) if the result is not null</li>
+ *     <li>klay_getTransactionByHash(BySenderTxHash) if the transaction is in a block</li>
+ *     <li>klay_getBlockByNumber, klay_getCode if the block is given as a number (not "latest" or "pending") and the result is not null</li>
+ * </ul>
+ * Results are kept as JSON bytes keyed by the method and params, and the memory tier evicts the least recently used results
+ * when the total size exceeds the max weight. If a directory is given, results are also written to it, and a result evicted
+ * from memory is read back from the directory. Batch requests, subscriptions and streaming requests are not cached.
+ * <pre>
+ * Caver caver = new Caver(new CachingWeb3jService(new HttpService(url), 64 * 1024 * 1024));
+ * </pre>
+ */
+public class CachingWeb3jService implements Web3jService {
+
+    /**
+     * The default max weight of the memory tier in bytes.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 32 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingWeb3jService.class);
+
+    private final Web3jService web3jService;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    /**
+     * The rules which decide whether a result is final. The key is the method name.
+     */
+    private final Map<String, BiPredicate<JsonNode, JsonNode>> rules = new ConcurrentHashMap<>();
+
+    /**
+     * The memory tier in the least recently used order. It is guarded by itself.
+     */
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final long maxWeight;
+    private long weight = 0;
+
+    /**
+     * The directory of the disk tier. If it is null, the disk tier is not used.
+     */
+    private final Path directory;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong diskHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a CachingWeb3jService instance with the default max weight and without the disk tier.
+     * @param web3jService The Web3jService which sends requests.
+     */
+    public CachingWeb3jService(Web3jService web3jService) {
+        this(web3jService, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Creates a CachingWeb3jService instance without the disk tier.
+     * @param web3jService The Web3jService which sends requests.
+     * @param maxWeight The max weight of the memory tier in bytes.
+     */
+    public CachingWeb3jService(Web3jService web3jService, long maxWeight) {
+        this(web3jService, maxWeight, null);
+    }
+
+    /**
+     * Creates a CachingWeb3jService instance.
+     * @param web3jService The Web3jService which sends requests.
+     * @param maxWeight The max weight of the memory tier in bytes.
+     * @param directory The directory of the disk tier. If it is null, the disk tier is not used.
+     */
+    public CachingWeb3jService(Web3jService web3jService, long maxWeight, Path directory) {
+        if(maxWeight < 0) {
+            throw new IllegalArgumentException("Invalid max weight : " + maxWeight);
+        }
+
+        this.web3jService = web3jService;
+        this.maxWeight = maxWeight;
+        this.directory = directory;
+
+        if(directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch(IOException e) {
+                throw new IllegalArgumentException("Failed to create the cache directory : " + directory, e);
+            }
+        }
+
+        BiPredicate<JsonNode, JsonNode> always = (params, result) -> true;
+        BiPredicate<JsonNode, JsonNode> notNull = (params, result) -> !result.isNull();
+        BiPredicate<JsonNode, JsonNode> inBlock = (params, result) -> result.hasNonNull("blockHash");
+        BiPredicate<JsonNode, JsonNode> atBlockNumber = (params, result) -> !result.isNull() && isBlockNumber(params.get(0));
+        BiPredicate<JsonNode, JsonNode> codeAtBlockNumber = (params, result) -> !result.isNull() && isBlockNumber(params.get(1));
+
+        rules.put("klay_chainID", always);
+        rules.put("net_version", always);
+        rules.put("klay_getBlockByHash", notNull);
+        rules.put("klay_getBlockReceipts", notNull);
+        rules.put("klay_getTransactionReceipt", notNull);
+        rules.put("klay_getTransactionReceiptBySenderTxHash", notNull);
+        rules.put("klay_getTransactionByHash", inBlock);
+        rules.put("klay_getTransactionBySenderTxHash", inBlock);
+        rules.put("klay_getBlockByNumber", atBlockNumber);
+        rules.put("klay_getCode", codeAtBlockNumber);
+    }
+
+    /**
+     * Sets the rule of a method which decides whether a result is final and can be cached.
+     * @param method The method name. e.g. "klay_getStorageAt"
+     * @param rule The predicate which takes the params and the result of a request. The result is not an error.
+     */
+    public void setRule(String method, BiPredicate<JsonNode, JsonNode> rule) {
+        rules.put(method, rule);
+    }
+
+    /**
+     * Removes the rule of a method, so its results are not cached anymore.
+     * @param method The method name.
+     */
+    public void removeRule(String method) {
+        rules.remove(method);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        BiPredicate<JsonNode, JsonNode> rule = rules.get(request.getMethod());
+        if(rule == null || request instanceof StreamingRequest) {
+            return web3jService.send(request, responseType);
+        }
+
+        JsonNode params = objectMapper.valueToTree(request.getParams());
+        String key = request.getMethod() + params.toString();
+
+        byte[] cached = get(key);
+        if(cached != null) {
+            return toResponse(request, objectMapper.readTree(cached), responseType);
+        }
+        missCount.incrementAndGet();
+
+        RawResponse response = web3jService.send(request, RawResponse.class);
+        if(response.hasError()) {
+            ObjectNode node = createResponseNode(request);
+            node.set("error", objectMapper.valueToTree(response.getError()));
+            return objectMapper.treeToValue(node, responseType);
+        }
+
+        JsonNode result = response.getResult() == null ? NullNode.getInstance() : response.getResult();
+        if(rule.test(params, result)) {
+            put(key, objectMapper.writeValueAsBytes(result));
+        }
+        return toResponse(request, result, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    /**
+     * Removes all results in the memory tier. The disk tier is not cleared.
+     */
+    public void invalidateAll() {
+        synchronized(entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Returns the number of requests answered from the cache, including the disk tier.
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of requests answered from the disk tier.
+     * @return long
+     */
+    public long getDiskHitCount() {
+        return diskHitCount.get();
+    }
+
+    /**
+     * Returns the number of requests of cacheable methods sent to the node.
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of results evicted from the memory tier.
+     * @return long
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the number of results in the memory tier.
+     * @return int
+     */
+    public int getSize() {
+        synchronized(entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the total size of the results in the memory tier in bytes.
+     * @return long
+     */
+    public long getWeight() {
+        synchronized(entries) {
+            return weight;
+        }
+    }
+
+    /**
+     * Getter function for maxWeight
+     * @return long
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Getter function for web3jService
+     * @return Web3jService
+     */
+    public Web3jService getWeb3jService() {
+        return web3jService;
+    }
+
+    private byte[] get(String key) {
+        byte[] cached;
+        synchronized(entries) {
+            cached = entries.get(key);
+        }
+        if(cached != null) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+
+        if(directory != null) {
+            Path file = toFile(key);
+            try {
+                if(Files.exists(file)) {
+                    cached = Files.readAllBytes(file);
+                    putMemory(key, cached);
+                    hitCount.incrementAndGet();
+                    diskHitCount.incrementAndGet();
+                    return cached;
+                }
+            } catch(IOException e) {
+                LOGGER.warn("Failed to read the cached result : {}", file, e);
+            }
+        }
+        return null;
+    }
+
+    private void put(String key, byte[] value) {
+        putMemory(key, value);
+
+        if(directory != null) {
+            Path file = toFile(key);
+            try {
+                Path temp = Files.createTempFile(directory, "tmp", null);
+                Files.write(temp, value);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch(IOException e) {
+                LOGGER.warn("Failed to write the cached result : {}", file, e);
+            }
+        }
+    }
+
+    private void putMemory(String key, byte[] value) {
+        if(value.length > maxWeight) {
+            return;
+        }
+
+        synchronized(entries) {
+            byte[] previous = entries.put(key, value);
+            weight += value.length - (previous == null ? 0 : previous.length);
+
+            Iterator<byte[]> iterator = entries.values().iterator();
+            while(weight > maxWeight && iterator.hasNext()) {
+                weight -= iterator.next().length;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private Path toFile(String key) {
+        return directory.resolve(Numeric.toHexStringNoPrefix(Hash.sha3(key.getBytes(StandardCharsets.UTF_8))) + ".json");
+    }
+
+    private <T extends Response> T toResponse(Request request, JsonNode result, Class<T> responseType) throws IOException {
+        ObjectNode node = createResponseNode(request);
+        node.set("result", result);
+        return objectMapper.treeToValue(node, responseType);
+    }
+
+    private ObjectNode createResponseNode(Request request) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("jsonrpc", request.getJsonrpc());
+        node.put("id", request.getId());
+        return node;
+    }
+
+    private static boolean isBlockNumber(JsonNode blockParameter) {
+        return blockParameter != null && blockParameter.isTextual() && blockParameter.asText().startsWith("0x");
+    }
+
+    /**
+     * A response which keeps the result as JSON.
+     */
+    public static class RawResponse extends Response<JsonNode> {
+    }
+}
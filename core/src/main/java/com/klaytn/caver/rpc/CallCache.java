@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.Bytes;
+import com.klaytn.caver.methods.response.Quantity;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the results of `klay_call` by the call object and the block number.<p>
+ * A call at "latest" is sent at the current head block, and its result is kept until a new block arrives.
+ * The head is fetched with `klay_blockNumber` when it is older than the head TTL, or it can be set by {@link #setHead(BigInteger)},
+ * e.g. from a newHeads subscription. A call at a block number is kept in a bounded LRU since a block is final in Klaytn.
+ * The result of a call without arguments to a constant selector (`name()`, `symbol()` and `decimals()` by default) is kept permanently per contract.
+ * Concurrent calls with the same key share one request to the node. Errors are not cached.<p>
+ * When a CallCache is set to a Klay instance, `ContractMethod.call` (including the getters of KIP7, KIP17 and KIP37) reads through it.
+ * <pre>
+ * caver.rpc.getKlay().setCallCache(new CallCache(caver.rpc.getKlay()));
+ * </pre>
+ */
+public class CallCache {
+
+    /**
+     * The default TTL of the head block number in milliseconds. It is the block time of Klaytn.
+     */
+    public static final long DEFAULT_HEAD_TTL = 1000;
+
+    /**
+     * The default max number of results of calls at a block number.
+     */
+    public static final int DEFAULT_MAX_PINNED_ENTRIES = 10000;
+
+    /**
+     * The selectors of name(), symbol() and decimals().
+     */
+    static final String[] DEFAULT_CONSTANT_SELECTORS = {"0x06fdde03", "0x95d89b41", "0x313ce567"};
+
+    /**
+     * Klay RPC instance used to send calls.
+     */
+    private final Klay klay;
+
+    /**
+     * The TTL of the head block number in nanoseconds.
+     */
+    private final long headTtl;
+
+    private final Set<String> constantSelectors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The results of calls to a constant selector. The key is the contract address and the call data.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<String>> constants = new ConcurrentHashMap<>();
+
+    /**
+     * The results of calls at the head block.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<String>> headEntries = new ConcurrentHashMap<>();
+
+    /**
+     * The results of calls at a block number in the least recently used order. It is guarded by itself.
+     */
+    private final Map<String, String> pinnedEntries;
+
+    private volatile BigInteger head;
+    private volatile long headFetchedAt;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a CallCache instance with the default head TTL and max pinned entries.
+     * @param klay Klay RPC instance used to send calls.
+     */
+    public CallCache(Klay klay) {
+        this(klay, DEFAULT_HEAD_TTL, TimeUnit.MILLISECONDS, DEFAULT_MAX_PINNED_ENTRIES);
+    }
+
+    /**
+     * Creates a CallCache instance.
+     * @param klay Klay RPC instance used to send calls.
+     * @param headTtl The time the head block number is kept. If it is 0, the head is fetched on every call at "latest" unless it is set by `setHead`.
+     * @param unit The time unit of headTtl.
+     * @param maxPinnedEntries The max number of results of calls at a block number.
+     */
+    public CallCache(Klay klay, long headTtl, TimeUnit unit, int maxPinnedEntries) {
+        if(maxPinnedEntries < 0) {
+            throw new IllegalArgumentException("Invalid max pinned entries : " + maxPinnedEntries);
+        }
+
+        this.klay = klay;
+        this.headTtl = unit.toNanos(headTtl);
+        this.constantSelectors.addAll(Arrays.asList(DEFAULT_CONSTANT_SELECTORS));
+        this.pinnedEntries = new LinkedHashMap<String, String>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxPinnedEntries;
+            }
+        };
+    }
+
+    /**
+     * Calls at the head block, or returns the cached result.
+     * @param callObject The call object. The `to` and `data` fields must be set.
+     * @return String The encoded result of the call.
+     * @throws IOException
+     */
+    public String call(CallObject callObject) throws IOException {
+        return call(callObject, DefaultBlockParameterName.LATEST);
+    }
+
+    /**
+     * Calls at the given block, or returns the cached result.<p>
+     * A call at "pending" or "earliest" is not cached.
+     * @param callObject The call object. The `to` and `data` fields must be set.
+     * @param blockParameter The block to call at.
+     * @return String The encoded result of the call.
+     * @throws IOException
+     */
+    public String call(CallObject callObject, DefaultBlockParameter blockParameter) throws IOException {
+        if(isConstant(callObject)) {
+            return load(constants, callObject.getTo().toLowerCase() + callObject.getData(), callObject, blockParameter);
+        }
+
+        if(blockParameter instanceof DefaultBlockParameterNumber) {
+            String key = toKey(callObject, ((DefaultBlockParameterNumber)blockParameter).getBlockNumber());
+            String cached;
+            synchronized(pinnedEntries) {
+                cached = pinnedEntries.get(key);
+            }
+            if(cached != null) {
+                hitCount.incrementAndGet();
+                return cached;
+            }
+
+            missCount.incrementAndGet();
+            String result = send(callObject, blockParameter);
+            synchronized(pinnedEntries) {
+                pinnedEntries.put(key, result);
+            }
+            return result;
+        }
+
+        if(blockParameter == DefaultBlockParameterName.LATEST) {
+            BigInteger blockNumber = getHead();
+            return load(headEntries, toKey(callObject, blockNumber), callObject, new DefaultBlockParameterNumber(blockNumber));
+        }
+
+        missCount.incrementAndGet();
+        return send(callObject, blockParameter);
+    }
+
+    /**
+     * Returns the head block number. It is fetched from the node if it is older than the head TTL.
+     * @return BigInteger
+     * @throws IOException
+     */
+    public BigInteger getHead() throws IOException {
+        BigInteger current = head;
+        if(current != null && System.nanoTime() - headFetchedAt < headTtl) {
+            return current;
+        }
+
+        Quantity response = klay.getBlockNumber().send();
+        if(response.hasError()) {
+            throw new IOException(response.getError().getMessage());
+        }
+        setHead(response.getValue());
+        return head;
+    }
+
+    /**
+     * Sets the head block number. The results of calls at the previous head are removed if the head advances.
+     * @param blockNumber The number of the new head block.
+     */
+    public synchronized void setHead(BigInteger blockNumber) {
+        headFetchedAt = System.nanoTime();
+        if(head == null || blockNumber.compareTo(head) > 0) {
+            head = blockNumber;
+            headEntries.clear();
+        }
+    }
+
+    /**
+     * Adds a selector whose result is constant, so a call without arguments to it is cached permanently.
+     * @param selector The 4-byte function selector with "0x" prefix. e.g. "0x06fdde03"
+     */
+    public void addConstantSelector(String selector) {
+        constantSelectors.add(selector.toLowerCase());
+    }
+
+    /**
+     * Removes all cached results including the constant ones.
+     */
+    public void invalidateAll() {
+        constants.clear();
+        headEntries.clear();
+        synchronized(pinnedEntries) {
+            pinnedEntries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of calls answered from the cache.
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of calls sent to the node.
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    /**
+     * Returns the cached result, or sends the call once for all callers waiting on the same key.
+     */
+    private String load(ConcurrentHashMap<String, CompletableFuture<String>> entries, String key, CallObject callObject, DefaultBlockParameter blockParameter) throws IOException {
+        CompletableFuture<String> future = entries.get(key);
+        if(future == null) {
+            CompletableFuture<String> created = new CompletableFuture<>();
+            future = entries.putIfAbsent(key, created);
+            if(future == null) {
+                missCount.incrementAndGet();
+                try {
+                    created.complete(send(callObject, blockParameter));
+                } catch(IOException | RuntimeException e) {
+                    entries.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                return created.join();
+            }
+        }
+
+        hitCount.incrementAndGet();
+        try {
+            return future.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the call.", e);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private String send(CallObject callObject, DefaultBlockParameter blockParameter) throws IOException {
+        Bytes response = klay.call(callObject, blockParameter).send();
+        if(response.hasError()) {
+            throw new IOException(response.getError().getMessage());
+        }
+        return response.getResult();
+    }
+
+    private boolean isConstant(CallObject callObject) {
+        String data = callObject.getData();
+        return callObject.getTo() != null && data != null && data.length() == 10 && constantSelectors.contains(data.toLowerCase());
+    }
+
+    private static String toKey(CallObject callObject, BigInteger blockNumber) {
+        return blockNumber.toString(16) + ':' + lower(callObject.getTo()) + ':' + lower(callObject.getFrom()) + ':' + callObject.getData()
+                + ':' + callObject.getValue() + ':' + callObject.getGasLimit() + ':' + callObject.getGasPrice();
+    }
+
+    private static String lower(String address) {
+        return address == null ? null : address.toLowerCase();
+    }
+}
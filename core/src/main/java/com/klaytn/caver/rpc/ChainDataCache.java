@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.response.Quantity;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches the chain id and the gas price of the network which a Klay instance is connected to.<p>
+ * When a ChainDataCache is set to a Klay instance, `fillTransaction` of the transactions which have the Klay instance
+ * (including the transactions made by Contract, KCT and KeyringContainer) takes the values from it.
+ * The chain id is fetched only once. The gas price is fetched again when it is older than the TTL,
+ * and it is refreshed in background when it is read within the refresh-ahead time before it expires.
+ * <pre>
+ * caver.rpc.getKlay().setChainDataCache(new ChainDataCache(caver.rpc.getKlay()));
+ * </pre>
+ */
+public class ChainDataCache {
+
+    /**
+     * The default TTL of the gas price in milliseconds.
+     */
+    public static final long DEFAULT_GAS_PRICE_TTL = 10000;
+
+    /**
+     * The default refresh-ahead time of the gas price in milliseconds.
+     */
+    public static final long DEFAULT_REFRESH_AHEAD_TIME = 2000;
+
+    /**
+     * Klay RPC instance used to fetch the values.
+     */
+    private final Klay klay;
+
+    /**
+     * The TTL of the gas price in nanoseconds.
+     */
+    private final long gasPriceTtl;
+
+    /**
+     * The refresh-ahead time of the gas price in nanoseconds.
+     */
+    private final long refreshAheadTime;
+
+    private volatile String chainId;
+    private volatile CachedGasPrice gasPrice;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    /**
+     * Creates a ChainDataCache instance with the default TTL and refresh-ahead time.
+     * @param klay Klay RPC instance used to fetch the values.
+     */
+    public ChainDataCache(Klay klay) {
+        this(klay, DEFAULT_GAS_PRICE_TTL, DEFAULT_REFRESH_AHEAD_TIME, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a ChainDataCache instance.
+     * @param klay Klay RPC instance used to fetch the values.
+     * @param gasPriceTtl The time the gas price is kept. If it is 0, the gas price is not cached.
+     * @param refreshAheadTime The time before expiry in which reading the gas price refreshes it in background. If it is 0, it is not refreshed ahead.
+     * @param unit The time unit of gasPriceTtl and refreshAheadTime.
+     */
+    public ChainDataCache(Klay klay, long gasPriceTtl, long refreshAheadTime, TimeUnit unit) {
+        if(gasPriceTtl < 0 || refreshAheadTime < 0) {
+            throw new IllegalArgumentException("Invalid time : gasPriceTtl and refreshAheadTime must not be negative.");
+        }
+        if(refreshAheadTime > gasPriceTtl) {
+            throw new IllegalArgumentException("Invalid time : refreshAheadTime must not be greater than gasPriceTtl.");
+        }
+
+        this.klay = klay;
+        this.gasPriceTtl = unit.toNanos(gasPriceTtl);
+        this.refreshAheadTime = unit.toNanos(refreshAheadTime);
+    }
+
+    /**
+     * Returns the chain id of the network. It is fetched from the node only once.
+     * @return String
+     * @throws IOException
+     */
+    public String getChainId() throws IOException {
+        String cached = this.chainId;
+        if(cached == null) {
+            synchronized(this) {
+                cached = this.chainId;
+                if(cached == null) {
+                    cached = getResult(klay.getChainID().send());
+                    this.chainId = cached;
+                }
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Returns the gas price of the network.<p>
+     * If the cached gas price is expired, it is fetched from the node.
+     * If it expires within the refresh-ahead time, the cached gas price is returned and a refresh is started in background.
+     * @return String
+     * @throws IOException
+     */
+    public String getGasPrice() throws IOException {
+        CachedGasPrice cached = this.gasPrice;
+        if(cached == null || cached.isExpired(gasPriceTtl)) {
+            synchronized(this) {
+                cached = this.gasPrice;
+                if(cached == null || cached.isExpired(gasPriceTtl)) {
+                    cached = new CachedGasPrice(getResult(klay.getGasPrice().send()));
+                    this.gasPrice = cached;
+                }
+            }
+            return cached.value;
+        }
+
+        if(refreshAheadTime > 0 && cached.isExpired(gasPriceTtl - refreshAheadTime) && refreshing.compareAndSet(false, true)) {
+            klay.getGasPrice().sendAsync().whenComplete((response, throwable) -> {
+                if(throwable == null && !response.hasError()) {
+                    this.gasPrice = new CachedGasPrice(response.getResult());
+                }
+                refreshing.set(false);
+            });
+        }
+        return cached.value;
+    }
+
+    /**
+     * Removes the cached gas price. The chain id is kept because it does not change.
+     */
+    public void invalidate() {
+        this.gasPrice = null;
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    private String getResult(Quantity response) throws IOException {
+        if(response.hasError()) {
+            throw new IOException(response.getError().getMessage());
+        }
+        return response.getResult();
+    }
+
+    private static class CachedGasPrice {
+        final String value;
+        final long fetchedAt;
+
+        CachedGasPrice(String value) {
+            this.value = value;
+            this.fetchedAt = System.nanoTime();
+        }
+
+        boolean isExpired(long ttl) {
+            return System.nanoTime() - fetchedAt >= ttl;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.klaytn.caver.rpc;
 
 import com.klaytn.caver.account.IAccountKey;
+import com.klaytn.caver.kct.kip13.InterfaceDetector;
 import com.klaytn.caver.methods.request.CallObject;
 import com.klaytn.caver.methods.request.KlayFilter;
 import com.klaytn.caver.methods.request.KlayLogFilter;
@@ -24,12 +25,21 @@ import com.klaytn.caver.methods.response.Boolean;
 import com.klaytn.caver.methods.response.*;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
 import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.NonceManager;
 import com.klaytn.caver.utils.Utils;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.*;
+import org.web3j.utils.Numeric;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class Klay {
 
@@ -38,6 +48,26 @@ public class Klay {
      */
     protected final Web3jService web3jService;
 
+    /**
+     * The NonceManager used to fill the nonce of a transaction. If it is null, the nonce is fetched from the node.
+     */
+    private volatile NonceManager nonceManager = null;
+
+    /**
+     * The ChainDataCache used to fill the chain id and the gas price of a transaction. If it is null, they are fetched from the node.
+     */
+    private volatile ChainDataCache chainDataCache = null;
+
+    /**
+     * The InterfaceDetector shared by the KCT classes. It is created on the first use.
+     */
+    private volatile InterfaceDetector interfaceDetector = null;
+
+    /**
+     * The CallCache which `ContractMethod.call` reads through. If it is null, every call is sent to the node.
+     */
+    private volatile CallCache callCache = null;
+
     /**
      * Creates a Klay instance
      * @param web3jService JSON-RPC service instance.
@@ -446,6 +476,24 @@ public class Klay {
                 Block.class);
     }
 
+    /**
+     * Returns information about a block by block number, parsing the response by streaming.<p>
+     * Each transaction of the block is handed to the consumer as a CompactTransaction while the response is read,
+     * so the transactions of a busy block are not kept in memory at once.
+     * The result of the response is the header of the block.
+     * @param defaultBlockParameter The block number, or the string "latest", "earliest" or "pending"
+     * @param consumer The consumer of the transactions. It is called in the thread which sends the request.
+     * @return StreamedBlock
+     */
+    public Request<?, StreamedBlock> getBlockByNumber(DefaultBlockParameter defaultBlockParameter, Consumer<CompactTransaction> consumer) {
+        return new StreamingRequest<>(
+                "klay_getBlockByNumber",
+                Arrays.asList(defaultBlockParameter, true),
+                web3jService,
+                StreamedBlock.class,
+                consumer);
+    }
+
     /**
      * Returns information about a block by block number.
      * It set "isFullTransaction" param to true.
@@ -1002,6 +1050,16 @@ public class Klay {
     public Request<?, Bytes32> sendRawTransaction(AbstractTransaction transaction) {
         String rawTransaction = transaction.getRLPEncoding();
 
+        NonceManager nonceManager = this.nonceManager;
+        if(nonceManager != null) {
+            return new NonceTrackingRequest(
+                    rawTransaction,
+                    web3jService,
+                    nonceManager,
+                    transaction.getFrom(),
+                    Numeric.toBigInt(transaction.getNonce()));
+        }
+
         return new Request<>(
                 "klay_sendRawTransaction",
                 Arrays.asList(rawTransaction),
@@ -1248,6 +1306,23 @@ public class Klay {
                 KlayLogs.class);
     }
 
+    /**
+     * Returns all logs matching a given filter object, parsing the response by streaming.<p>
+     * Each log is handed to the consumer as a CompactLog while the response is read,
+     * so the logs are not kept in memory at once. The result of the response is the number of the logs.
+     * @param filterOption The filter options
+     * @param consumer The consumer of the logs. It is called in the thread which sends the request.
+     * @return StreamedLogs
+     */
+    public Request<?, StreamedLogs> getLogs(KlayLogFilter filterOption, Consumer<CompactLog> consumer) {
+        return new StreamingRequest<>(
+                "klay_getLogs",
+                Arrays.asList(filterOption),
+                web3jService,
+                StreamedLogs.class,
+                consumer);
+    }
+
     /**
      * Creates a filter in the node, to notify when a new block arrives.
      * To check if the state has changed, call klay_getFilterChanges.
@@ -1315,4 +1390,154 @@ public class Klay {
                 web3jService,
                 Bytes.class);
     }
+
+    /**
+     * Creates a KlayBatch instance to send requests of this Klay instance in JSON-RPC batch requests.
+     * @return KlayBatch
+     */
+    public KlayBatch newBatch() {
+        return new KlayBatch(this);
+    }
+
+    /**
+     * Creates a KlayBatch instance to send requests of this Klay instance in JSON-RPC batch requests.
+     * @param maxBatchSize The maximum number of requests in a single batch request.
+     * @return KlayBatch
+     */
+    public KlayBatch newBatch(int maxBatchSize) {
+        return new KlayBatch(this, maxBatchSize);
+    }
+
+    /**
+     * Getter function for nonceManager
+     * @return NonceManager
+     */
+    public NonceManager getNonceManager() {
+        return nonceManager;
+    }
+
+    /**
+     * Setter function for nonceManager.<p>
+     * If it is set, `fillTransaction` of a transaction which has this Klay instance allocates the nonce with it,
+     * and the result of `sendRawTransaction(AbstractTransaction)` is reported to it.
+     * A `klay_sendRawTransaction` request sent through a {@link KlayBatch} or a web3j BatchRequest is not reported,
+     * so the nonce of its transaction must be confirmed or released by the caller.
+     * @param nonceManager The NonceManager instance. Set null to fetch the nonce from the node.
+     */
+    public void setNonceManager(NonceManager nonceManager) {
+        this.nonceManager = nonceManager;
+    }
+
+    /**
+     * Getter function for chainDataCache
+     * @return ChainDataCache
+     */
+    public ChainDataCache getChainDataCache() {
+        return chainDataCache;
+    }
+
+    /**
+     * Setter function for chainDataCache.<p>
+     * If it is set, `fillTransaction` of a transaction which has this Klay instance takes the chain id and the gas price from it.
+     * @param chainDataCache The ChainDataCache instance. Set null to fetch the values from the node.
+     */
+    public void setChainDataCache(ChainDataCache chainDataCache) {
+        this.chainDataCache = chainDataCache;
+    }
+
+    /**
+     * Getter function for callCache
+     * @return CallCache
+     */
+    public CallCache getCallCache() {
+        return callCache;
+    }
+
+    /**
+     * Setter function for callCache.<p>
+     * If it is set, `ContractMethod.call` of a contract which has this Klay instance (including the getters of KCT) reads through it.
+     * @param callCache The CallCache instance. Set null to send every call to the node.
+     */
+    public void setCallCache(CallCache callCache) {
+        this.callCache = callCache;
+    }
+
+    /**
+     * Returns the InterfaceDetector which detects the KIP-13 interfaces of contracts with this Klay instance.<p>
+     * It is shared by `KIP7.detectInterface`, `KIP17.detectInterface` and `KIP37.detectInterface`,
+     * so the results cached by the code hash are reused across the calls. It is created on the first call.
+     * @return InterfaceDetector
+     */
+    public InterfaceDetector getInterfaceDetector() {
+        InterfaceDetector detector = interfaceDetector;
+        if(detector == null) {
+            synchronized(this) {
+                if(interfaceDetector == null) {
+                    interfaceDetector = new InterfaceDetector(this, InterfaceDetector.DEFAULT_CHUNK_SIZE);
+                }
+                detector = interfaceDetector;
+            }
+        }
+        return detector;
+    }
+
+    /**
+     * A `klay_sendRawTransaction` request which reports its result to a NonceManager.
+     * If the connection to the node could not be made, the transaction was not sent and the nonce is released.
+     * If sending a request fails with another IOException, it is unknown whether the node received the transaction,
+     * so the nonce is marked unknown and the NonceManager resyncs the address before handing out the next nonce.<p>
+     * Only `send` and `sendAsync` report the result. The request is not tracked when it is sent in a batch request.
+     */
+    static class NonceTrackingRequest extends Request<String, Bytes32> {
+        private final NonceManager nonceManager;
+        private final String from;
+        private final BigInteger nonce;
+
+        NonceTrackingRequest(String rawTransaction, Web3jService web3jService, NonceManager nonceManager, String from, BigInteger nonce) {
+            super("klay_sendRawTransaction", Arrays.asList(rawTransaction), web3jService, Bytes32.class);
+            this.nonceManager = nonceManager;
+            this.from = from;
+            this.nonce = nonce;
+        }
+
+        @Override
+        public Bytes32 send() throws IOException {
+            try {
+                Bytes32 response = super.send();
+                nonceManager.handleResponse(from, nonce, response);
+                return response;
+            } catch(IOException e) {
+                handleFailure(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public CompletableFuture<Bytes32> sendAsync() {
+            return super.sendAsync().whenComplete((response, throwable) -> {
+                if(throwable != null) {
+                    handleFailure(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                } else {
+                    nonceManager.handleResponse(from, nonce, response);
+                }
+            });
+        }
+
+        private void handleFailure(Throwable cause) {
+            if(isNotSent(cause)) {
+                nonceManager.release(from, nonce);
+            } else {
+                nonceManager.markUnknown(from, nonce);
+            }
+        }
+
+        /**
+         * Returns true if a request which failed with the given cause was not sent to the node.
+         * @param cause The cause of the failure.
+         * @return boolean
+         */
+        static boolean isNotSent(Throwable cause) {
+            return cause instanceof ConnectException || cause instanceof UnknownHostException;
+        }
+    }
 }
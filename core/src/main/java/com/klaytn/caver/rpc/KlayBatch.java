@@ -0,0 +1,349 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.*;
+import org.web3j.protocol.core.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Collects requests of a Klay instance and sends them as JSON-RPC batch requests.<p>
+ * Each added request returns an {@link Entry} which holds its own response or error after the batch is sent.
+ * If more requests are added than the max batch size, they are split into several batch requests.
+ * <pre>
+ * KlayBatch batch = caver.rpc.getKlay().newBatch();
+ * KlayBatch.Entry&lt;Quantity&gt; balance = batch.getBalance(address);
+ * KlayBatch.Entry&lt;TransactionReceipt&gt; receipt = batch.add(caver.rpc.getKlay().getTransactionReceipt(txHash));
+ * batch.send();
+ *
+ * BigInteger value = balance.getResponse().getValue();
+ * </pre>
+ */
+public class KlayBatch {
+
+    /**
+     * The default maximum number of requests in a single batch request.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    /**
+     * Klay RPC instance used to create requests.
+     */
+    private final Klay klay;
+
+    /**
+     * The maximum number of requests in a single batch request.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The entries added to this batch.
+     */
+    private final List<Entry<?>> entries = new ArrayList<>();
+
+    /**
+     * Creates a KlayBatch instance with the default max batch size.
+     * @param klay Klay RPC instance.
+     */
+    public KlayBatch(Klay klay) {
+        this(klay, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a KlayBatch instance.
+     * @param klay Klay RPC instance.
+     * @param maxBatchSize The maximum number of requests in a single batch request.
+     */
+    public KlayBatch(Klay klay, int maxBatchSize) {
+        if(maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Invalid max batch size : " + maxBatchSize);
+        }
+
+        this.klay = klay;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds a request to this batch.
+     * @param request The request created by Klay instance.
+     * @param <T> The response type of the request.
+     * @return Entry
+     */
+    public <T extends Response<?>> Entry<T> add(Request<?, T> request) {
+        Entry<T> entry = new Entry<>(request);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Adds a `klay_getBalance` request with "LATEST" block tag.
+     * @param address The account address.
+     * @return Entry
+     */
+    public Entry<Quantity> getBalance(String address) {
+        return add(klay.getBalance(address));
+    }
+
+    /**
+     * Adds a `klay_getBalance` request.
+     * @param address The account address.
+     * @param blockTag The string "latest", "earliest" or "pending"
+     * @return Entry
+     */
+    public Entry<Quantity> getBalance(String address, DefaultBlockParameter blockTag) {
+        return add(klay.getBalance(address, blockTag));
+    }
+
+    /**
+     * Adds a `klay_getAccountKey` request with "LATEST" block tag.
+     * @param address The account address.
+     * @return Entry
+     */
+    public Entry<AccountKey> getAccountKey(String address) {
+        return add(klay.getAccountKey(address));
+    }
+
+    /**
+     * Adds a `klay_getTransactionCount` request with "LATEST" block tag.
+     * @param address The account address.
+     * @return Entry
+     */
+    public Entry<Quantity> getTransactionCount(String address) {
+        return add(klay.getTransactionCount(address));
+    }
+
+    /**
+     * Adds a `klay_getBlockByNumber` request.
+     * @param blockNumber The block number.
+     * @param isFullTransaction If true it returns the full transaction objects, if false only the hashes of the transactions.
+     * @return Entry
+     */
+    public Entry<Block> getBlockByNumber(long blockNumber, boolean isFullTransaction) {
+        return add(klay.getBlockByNumber(blockNumber, isFullTransaction));
+    }
+
+    /**
+     * Adds a `klay_getTransactionReceipt` request.
+     * @param transactionHash The transaction hash.
+     * @return Entry
+     */
+    public Entry<TransactionReceipt> getTransactionReceipt(String transactionHash) {
+        return add(klay.getTransactionReceipt(transactionHash));
+    }
+
+    /**
+     * Adds a `klay_call` request with "LATEST" block tag.
+     * @param callObject The transaction call object.
+     * @return Entry
+     */
+    public Entry<Bytes> call(CallObject callObject) {
+        return add(klay.call(callObject));
+    }
+
+    /**
+     * Adds a `klay_call` request.
+     * @param callObject The transaction call object.
+     * @param blockTag The string "latest", "earliest" or "pending"
+     * @return Entry
+     */
+    public Entry<Bytes> call(CallObject callObject, DefaultBlockParameter blockTag) {
+        return add(klay.call(callObject, blockTag));
+    }
+
+    /**
+     * Sends all added requests.<p>
+     * Requests are sent in batch requests of at most max batch size.
+     * If sending a batch request fails, the entries in it hold the exception and the remaining batch requests are still sent.
+     * @throws IOException If every batch request failed.
+     */
+    public void send() throws IOException {
+        IOException lastException = null;
+        int failed = 0;
+
+        List<List<Entry<?>>> chunks = split();
+        for(List<Entry<?>> chunk : chunks) {
+            try {
+                complete(chunk, newBatchRequest(chunk).send());
+            } catch(IOException | RuntimeException e) {
+                lastException = fail(chunk, e);
+                failed++;
+            }
+        }
+
+        if(failed != 0 && failed == chunks.size()) {
+            throw lastException;
+        }
+    }
+
+    /**
+     * Sends all added requests asynchronously. The batch requests are sent concurrently.
+     * The returned future completes when all batch requests are finished.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Void> sendAsync() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for(List<Entry<?>> chunk : split()) {
+            futures.add(newBatchRequest(chunk).sendAsync()
+                    .whenComplete((response, throwable) -> {
+                        if(throwable != null) {
+                            fail(chunk, throwable);
+                        } else {
+                            complete(chunk, response);
+                        }
+                    })
+                    .exceptionally(throwable -> null));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Returns the entries added to this batch.
+     * @return List
+     */
+    public List<Entry<?>> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the number of the added requests.
+     * @return int
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Getter function for maxBatchSize
+     * @return int
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    private List<List<Entry<?>>> split() {
+        List<List<Entry<?>>> chunks = new ArrayList<>();
+        for(int i = 0; i < entries.size(); i += maxBatchSize) {
+            chunks.add(entries.subList(i, Math.min(i + maxBatchSize, entries.size())));
+        }
+        return chunks;
+    }
+
+    private BatchRequest newBatchRequest(List<Entry<?>> chunk) {
+        BatchRequest batchRequest = new BatchRequest(klay.web3jService);
+        for(Entry<?> entry : chunk) {
+            batchRequest.add(entry.request);
+        }
+        return batchRequest;
+    }
+
+    private void complete(List<Entry<?>> chunk, BatchResponse batchResponse) {
+        List<? extends Response<?>> responses = batchResponse.getResponses();
+        if(responses.size() != chunk.size()) {
+            fail(chunk, new IOException("The number of responses(" + responses.size() + ") is different with the number of requests(" + chunk.size() + ")."));
+            return;
+        }
+
+        for(int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).complete(responses.get(i));
+        }
+    }
+
+    private IOException fail(List<Entry<?>> chunk, Throwable throwable) {
+        if(throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        IOException exception = throwable instanceof IOException ? (IOException)throwable : new IOException(throwable.getMessage(), throwable);
+
+        for(Entry<?> entry : chunk) {
+            entry.exception = exception;
+        }
+        return exception;
+    }
+
+    /**
+     * An entry of a batch which holds the request and its response.
+     * @param <T> The response type of the request.
+     */
+    public static class Entry<T extends Response<?>> {
+        private final Request<?, T> request;
+        private volatile T response;
+        private volatile IOException exception;
+
+        Entry(Request<?, T> request) {
+            this.request = request;
+        }
+
+        private void complete(Response<?> response) {
+            this.response = request.getResponseType().cast(response);
+        }
+
+        /**
+         * Returns the response of the request.
+         * @return T
+         * @throws IOException If the batch request which contains this entry failed.
+         */
+        public T getResponse() throws IOException {
+            if(exception != null) {
+                throw exception;
+            }
+            if(response == null) {
+                throw new RuntimeException("The batch is not sent yet.");
+            }
+            return response;
+        }
+
+        /**
+         * Returns true if the response has a JSON-RPC error or the batch request which contains this entry failed.
+         * @return boolean
+         */
+        public boolean hasError() {
+            return exception != null || (response != null && response.hasError());
+        }
+
+        /**
+         * Returns the JSON-RPC error of the response. It returns null if the response has no error.
+         * @return Response.Error
+         */
+        public Response.Error getError() {
+            return response == null ? null : response.getError();
+        }
+
+        /**
+         * Returns the exception thrown while sending the batch request which contains this entry.
+         * @return IOException
+         */
+        public IOException getException() {
+            return exception;
+        }
+
+        /**
+         * Getter function for request
+         * @return Request
+         */
+        public Request<?, T> getRequest() {
+            return request;
+        }
+    }
+}
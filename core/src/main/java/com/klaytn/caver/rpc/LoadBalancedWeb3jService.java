@@ -0,0 +1,666 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.methods.response.StreamingRequest;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A Web3jService which spreads requests over several endpoints of Klaytn nodes and fails over between them.<p>
+ * Read requests are sent to the healthy endpoint chosen by the {@link Strategy}. If a read is not answered within
+ * the hedge delay, it is sent to another endpoint as well and the first answer is used.<p>
+ * Requests which depend on the state of a node are sent to a sticky endpoint:
+ * transactions, the pending transaction count and the requests using the keystore of the node are sent to the primary endpoint,
+ * and a filter is polled on the endpoint which created it.
+ * If a request fails with IOException, the endpoint counts an error and the request is sent to another endpoint.
+ * An endpoint is ejected for the eject period when it fails maxErrors times in a row,
+ * or when it lags more than maxBlockLag blocks behind the highest endpoint in a health check.
+ * If every endpoint is ejected, all of them are used.<p>
+ * A {@link StreamingRequest} hands parsed items to its consumer in the calling thread, so it is sent in the calling thread
+ * without hedging. If an endpoint fails while the response is parsed, the items handed so far are handed again by the next endpoint.<p>
+ * It can be used in place of a single Web3jService, so everything above RPC works as it is.
+ * <pre>
+ * LoadBalancedWeb3jService service = new LoadBalancedWeb3jService(Arrays.asList(new HttpService(url1), new HttpService(url2)));
+ * service.startHealthCheck(5, TimeUnit.SECONDS);
+ * Caver caver = new Caver(service);
+ * </pre>
+ */
+public class LoadBalancedWeb3jService implements Web3jService {
+
+    /**
+     * The default number of errors in a row after which an endpoint is ejected.
+     */
+    public static final int DEFAULT_MAX_ERRORS = 3;
+
+    /**
+     * The default time an endpoint stays ejected in milliseconds.
+     */
+    public static final long DEFAULT_EJECT_PERIOD = 30_000;
+
+    /**
+     * The default number of blocks an endpoint can lag behind the highest endpoint.
+     */
+    public static final long DEFAULT_MAX_BLOCK_LAG = 5;
+
+    /**
+     * The weight of the latest latency in the latency EWMA.
+     */
+    static final double EWMA_ALPHA = 0.3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancedWeb3jService.class);
+
+    /**
+     * The methods which are sent to the primary endpoint.
+     */
+    private static final Set<String> STICKY_METHODS = new HashSet<>(Arrays.asList(
+            "klay_accounts",
+            "klay_sign",
+            "klay_sendRawTransaction",
+            "klay_sendTransaction",
+            "klay_sendTransactionAsFeePayer",
+            "klay_signTransaction",
+            "klay_signTransactionAsFeePayer",
+            "klay_newFilter",
+            "klay_newBlockFilter",
+            "klay_newPendingTransactionFilter",
+            "klay_subscribe",
+            "klay_unsubscribe"
+    ));
+
+    /**
+     * The methods which take a filter id as the first parameter.
+     */
+    private static final Set<String> FILTER_METHODS = new HashSet<>(Arrays.asList(
+            "klay_getFilterChanges",
+            "klay_getFilterLogs",
+            "klay_uninstallFilter"
+    ));
+
+    /**
+     * The strategy to choose an endpoint for a read request.
+     */
+    public enum Strategy {
+        /**
+         * Chooses the endpoint with the least requests in flight.
+         */
+        LEAST_IN_FLIGHT,
+        /**
+         * Chooses the endpoint with the lowest latency EWMA multiplied by the requests in flight.
+         */
+        LATENCY_EWMA
+    }
+
+    private final List<Endpoint> endpoints;
+    private final Strategy strategy;
+    private final ExecutorService executor;
+
+    /**
+     * The filter id and the endpoint which created the filter.
+     */
+    private final Map<String, Endpoint> filters = new ConcurrentHashMap<>();
+
+    /**
+     * The endpoint which the sticky requests are sent to.
+     */
+    private final AtomicReference<Endpoint> primary;
+
+    private volatile int maxErrors = DEFAULT_MAX_ERRORS;
+    private volatile long ejectPeriod = DEFAULT_EJECT_PERIOD;
+    private volatile long maxBlockLag = DEFAULT_MAX_BLOCK_LAG;
+    private volatile long hedgeDelay = 0;
+
+    private ScheduledExecutorService healthCheckScheduler;
+
+    /**
+     * Creates a LoadBalancedWeb3jService instance with the LATENCY_EWMA strategy.
+     * @param services The Web3jServices of the endpoints. The first one is the primary endpoint.
+     */
+    public LoadBalancedWeb3jService(List<? extends Web3jService> services) {
+        this(services, Strategy.LATENCY_EWMA);
+    }
+
+    /**
+     * Creates a LoadBalancedWeb3jService instance.
+     * @param services The Web3jServices of the endpoints. The first one is the primary endpoint.
+     * @param strategy The strategy to choose an endpoint for a read request.
+     */
+    public LoadBalancedWeb3jService(List<? extends Web3jService> services, Strategy strategy) {
+        if(services == null || services.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required.");
+        }
+
+        List<Endpoint> list = new ArrayList<>(services.size());
+        for(int i = 0; i < services.size(); i++) {
+            list.add(new Endpoint(i, services.get(i)));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.strategy = strategy;
+        this.primary = new AtomicReference<>(list.get(0));
+        this.executor = AsyncKlay.createDefaultExecutor();
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String method = request.getMethod();
+
+        if(FILTER_METHODS.contains(method)) {
+            Endpoint endpoint = filters.get(getFilterId(request));
+            if(endpoint != null) {
+                T response = endpoint.send(request, responseType);
+                if("klay_uninstallFilter".equals(method)) {
+                    filters.remove(getFilterId(request));
+                }
+                return response;
+            }
+            return sendSticky(request, responseType);
+        }
+
+        if(isSticky(request)) {
+            return sendSticky(request, responseType);
+        }
+
+        if(request instanceof StreamingRequest) {
+            return sendSequential(request, responseType, orderForRead());
+        }
+
+        return sendRead(request, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        boolean sticky = false;
+        for(Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            sticky |= isSticky(request) || FILTER_METHODS.contains(request.getMethod());
+        }
+
+        IOException exception = null;
+        for(Endpoint endpoint : sticky ? orderForSticky() : orderForRead()) {
+            try {
+                return endpoint.sendBatch(batchRequest);
+            } catch(IOException e) {
+                exception = e;
+            }
+        }
+        throw exception;
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return primary.get().service.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    /**
+     * Checks the block number of every endpoint, and ejects the endpoints which fail or lag behind.
+     * An ejected endpoint which catches up is restored.
+     */
+    public void checkHealth() {
+        Map<Endpoint, Future<BigInteger>> futures = new LinkedHashMap<>();
+        for(Endpoint endpoint : endpoints) {
+            futures.put(endpoint, executor.submit(() -> {
+                Request<?, Quantity> request = new Request<>("klay_blockNumber", Collections.emptyList(), endpoint.service, Quantity.class);
+                Quantity response = endpoint.service.send(request, Quantity.class);
+                if(response.hasError()) {
+                    throw new IOException(response.getError().getMessage());
+                }
+                return Numeric.decodeQuantity(response.getResult());
+            }));
+        }
+
+        BigInteger highest = BigInteger.ZERO;
+        Map<Endpoint, BigInteger> blockNumbers = new HashMap<>();
+        for(Map.Entry<Endpoint, Future<BigInteger>> entry : futures.entrySet()) {
+            try {
+                BigInteger blockNumber = entry.getValue().get();
+                blockNumbers.put(entry.getKey(), blockNumber);
+                highest = highest.max(blockNumber);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch(ExecutionException e) {
+                entry.getKey().onError();
+            }
+        }
+
+        for(Map.Entry<Endpoint, BigInteger> entry : blockNumbers.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            if(highest.subtract(entry.getValue()).longValue() > maxBlockLag) {
+                LOGGER.warn("Eject the endpoint {} lagging behind at block {}.", endpoint.index, entry.getValue());
+                endpoint.eject();
+            } else if(endpoint.lagging) {
+                endpoint.restore();
+            }
+        }
+        updatePrimary();
+    }
+
+    /**
+     * Starts checking the health of the endpoints periodically.
+     * @param period The period of the health check.
+     * @param unit The time unit of the period.
+     */
+    public synchronized void startHealthCheck(long period, TimeUnit unit) {
+        if(healthCheckScheduler != null) {
+            healthCheckScheduler.shutdownNow();
+        }
+        healthCheckScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "caver-load-balancer-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheckScheduler.scheduleWithFixedDelay(this::checkHealth, 0, period, unit);
+    }
+
+    /**
+     * Stops the health check, and closes the Web3jServices of all endpoints.
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if(healthCheckScheduler != null) {
+            healthCheckScheduler.shutdownNow();
+        }
+        executor.shutdown();
+
+        IOException exception = null;
+        for(Endpoint endpoint : endpoints) {
+            try {
+                endpoint.service.close();
+            } catch(IOException e) {
+                exception = e;
+            }
+        }
+        if(exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns true if the endpoint at the index is not ejected.
+     * @param index The index of the endpoint.
+     * @return boolean
+     */
+    public boolean isHealthy(int index) {
+        return endpoints.get(index).isHealthy(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of requests in flight of the endpoint at the index.
+     * @param index The index of the endpoint.
+     * @return int
+     */
+    public int getInFlightCount(int index) {
+        return endpoints.get(index).inFlight.get();
+    }
+
+    /**
+     * Returns the latency EWMA of the endpoint at the index in milliseconds.
+     * @param index The index of the endpoint.
+     * @return double
+     */
+    public double getLatency(int index) {
+        return endpoints.get(index).latency / 1_000_000d;
+    }
+
+    /**
+     * Returns the index of the endpoint which the sticky requests are sent to.
+     * @return int
+     */
+    public int getPrimaryIndex() {
+        return primary.get().index;
+    }
+
+    /**
+     * Returns the number of endpoints.
+     * @return int
+     */
+    public int getEndpointCount() {
+        return endpoints.size();
+    }
+
+    /**
+     * Getter function for strategy
+     * @return Strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Setter function for maxErrors
+     * @param maxErrors The number of errors in a row after which an endpoint is ejected.
+     */
+    public void setMaxErrors(int maxErrors) {
+        if(maxErrors <= 0) {
+            throw new IllegalArgumentException("Invalid max errors : " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Setter function for ejectPeriod
+     * @param ejectPeriod The time an endpoint stays ejected in milliseconds.
+     */
+    public void setEjectPeriod(long ejectPeriod) {
+        this.ejectPeriod = ejectPeriod;
+    }
+
+    /**
+     * Setter function for maxBlockLag
+     * @param maxBlockLag The number of blocks an endpoint can lag behind the highest endpoint.
+     */
+    public void setMaxBlockLag(long maxBlockLag) {
+        this.maxBlockLag = maxBlockLag;
+    }
+
+    /**
+     * Setter function for hedgeDelay
+     * @param hedgeDelay The time in milliseconds after which a read request is sent to another endpoint as well. 0 disables hedging.
+     */
+    public void setHedgeDelay(long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    private <T extends Response> T sendSticky(Request request, Class<T> responseType) throws IOException {
+        IOException exception = null;
+        for(Endpoint endpoint : orderForSticky()) {
+            try {
+                T response = endpoint.send(request, responseType);
+                if(request.getMethod().endsWith("Filter") && !response.hasError() && response.getResult() instanceof String) {
+                    filters.put((String)response.getResult(), endpoint);
+                }
+                return response;
+            } catch(IOException e) {
+                exception = e;
+                updatePrimary();
+            }
+        }
+        throw exception;
+    }
+
+    private <T extends Response> T sendRead(Request request, Class<T> responseType) throws IOException {
+        List<Endpoint> order = orderForRead();
+        if(hedgeDelay <= 0 || order.size() == 1) {
+            return sendSequential(request, responseType, order);
+        }
+
+        return sendHedged(request, responseType, order);
+    }
+
+    /**
+     * Sends the request to the endpoints in the given order in the calling thread until one of them answers.
+     */
+    private <T extends Response> T sendSequential(Request request, Class<T> responseType, List<Endpoint> order) throws IOException {
+        IOException exception = null;
+        for(Endpoint endpoint : order) {
+            try {
+                return endpoint.send(request, responseType);
+            } catch(IOException e) {
+                exception = e;
+            }
+        }
+        throw exception;
+    }
+
+    /**
+     * Sends the request to the first endpoint, and to the next endpoint when the hedge delay passes or the previous one fails.
+     * The first response is returned.
+     */
+    private <T extends Response> T sendHedged(Request request, Class<T> responseType, List<Endpoint> order) throws IOException {
+        CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(order.size());
+        IOException exception = null;
+
+        try {
+            int next = 0;
+            int pending = 0;
+            futures.add(submit(completionService, order.get(next++), request, responseType));
+            pending++;
+
+            while(pending > 0) {
+                Future<T> done = next < order.size()
+                        ? completionService.poll(hedgeDelay, TimeUnit.MILLISECONDS)
+                        : completionService.take();
+                if(done == null) {
+                    // The hedge delay passed, so the request is sent to the next endpoint as well.
+                    futures.add(submit(completionService, order.get(next++), request, responseType));
+                    pending++;
+                    continue;
+                }
+
+                pending--;
+                try {
+                    return done.get();
+                } catch(ExecutionException e) {
+                    if(e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException)e.getCause();
+                    }
+                    exception = e.getCause() instanceof IOException ? (IOException)e.getCause() : new IOException(e.getCause());
+                    if(next < order.size()) {
+                        futures.add(submit(completionService, order.get(next++), request, responseType));
+                        pending++;
+                    }
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending the request.", e);
+        } finally {
+            for(Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        throw exception;
+    }
+
+    private <T extends Response> Future<T> submit(CompletionService<T> completionService, Endpoint endpoint, Request request, Class<T> responseType) {
+        return completionService.submit(() -> endpoint.send(request, responseType));
+    }
+
+    /**
+     * Returns the endpoints in the order to try a read request. The best healthy endpoint comes first.
+     */
+    private List<Endpoint> orderForRead() {
+        long now = System.nanoTime();
+        List<Endpoint> healthy = new ArrayList<>(endpoints.size());
+        List<Endpoint> ejected = new ArrayList<>();
+        for(Endpoint endpoint : endpoints) {
+            (endpoint.isHealthy(now) ? healthy : ejected).add(endpoint);
+        }
+
+        Comparator<Endpoint> comparator = strategy == Strategy.LEAST_IN_FLIGHT
+                ? Comparator.comparingInt(endpoint -> endpoint.inFlight.get())
+                : Comparator.comparingDouble(endpoint -> endpoint.latency * (endpoint.inFlight.get() + 1));
+        healthy.sort(comparator.thenComparingInt(endpoint -> endpoint.index));
+        healthy.addAll(ejected);
+        return healthy;
+    }
+
+    /**
+     * Returns the endpoints in the order to try a sticky request. The primary endpoint comes first.
+     */
+    private List<Endpoint> orderForSticky() {
+        Endpoint current = primary.get();
+        List<Endpoint> order = new ArrayList<>(endpoints.size());
+        order.add(current);
+        long now = System.nanoTime();
+        for(Endpoint endpoint : endpoints) {
+            if(endpoint != current && endpoint.isHealthy(now)) {
+                order.add(endpoint);
+            }
+        }
+        for(Endpoint endpoint : endpoints) {
+            if(endpoint != current && !endpoint.isHealthy(now)) {
+                order.add(endpoint);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Moves the primary endpoint to the first healthy endpoint if the current one is ejected.
+     */
+    private void updatePrimary() {
+        Endpoint current = primary.get();
+        long now = System.nanoTime();
+        if(current.isHealthy(now)) {
+            return;
+        }
+        for(Endpoint endpoint : endpoints) {
+            if(endpoint.isHealthy(now)) {
+                if(primary.compareAndSet(current, endpoint)) {
+                    LOGGER.warn("The primary endpoint is changed from {} to {}.", current.index, endpoint.index);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the request has to be sent to the primary endpoint.
+     * `klay_getTransactionCount` is sticky only for the pending block, whose result depends on the tx pool of the node.
+     */
+    private static boolean isSticky(Request<?, ?> request) {
+        String method = request.getMethod();
+        if("klay_getTransactionCount".equals(method)) {
+            List<?> params = request.getParams();
+            return params.size() > 1 && DefaultBlockParameterName.PENDING.getValue().equals(String.valueOf(params.get(1)));
+        }
+        return STICKY_METHODS.contains(method);
+    }
+
+    private static String getFilterId(Request request) {
+        List<?> params = request.getParams();
+        return params.isEmpty() ? null : String.valueOf(params.get(0));
+    }
+
+    /**
+     * The state of an endpoint.
+     */
+    private class Endpoint {
+        final int index;
+        final Web3jService service;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+
+        /**
+         * The latency EWMA in nanoseconds.
+         */
+        volatile double latency = 0;
+        volatile long ejectedUntil = 0;
+        volatile boolean ejected = false;
+        volatile boolean lagging = false;
+
+        Endpoint(int index, Web3jService service) {
+            this.index = index;
+            this.service = service;
+        }
+
+        <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+            long start = onStart();
+            try {
+                T response = service.send(request, responseType);
+                onSuccess(start);
+                return response;
+            } catch(IOException e) {
+                onError();
+                throw e;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+            long start = onStart();
+            try {
+                BatchResponse response = service.sendBatch(batchRequest);
+                onSuccess(start);
+                return response;
+            } catch(IOException e) {
+                onError();
+                throw e;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        boolean isHealthy(long now) {
+            return !ejected || (!lagging && now - ejectedUntil >= 0);
+        }
+
+        private long onStart() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        private synchronized void onSuccess(long start) {
+            long elapsed = System.nanoTime() - start;
+            latency = latency == 0 ? elapsed : EWMA_ALPHA * elapsed + (1 - EWMA_ALPHA) * latency;
+            errors.set(0);
+            if(!lagging) {
+                ejected = false;
+            }
+        }
+
+        void onError() {
+            if(errors.incrementAndGet() >= maxErrors) {
+                LOGGER.warn("Eject the endpoint {} after {} errors.", index, errors.get());
+                ejectedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ejectPeriod);
+                ejected = true;
+                errors.set(0);
+            }
+        }
+
+        void eject() {
+            lagging = true;
+            ejected = true;
+        }
+
+        void restore() {
+            lagging = false;
+            ejected = false;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Fetches the logs of a block range with many `klay_getLogs` requests, and returns them in block order.<p>
+ * The range of the filter is split into chunks, and up to `parallelism` chunks are fetched at the same time.
+ * The size of a chunk adapts to the number of logs: it grows while chunks have few logs and shrinks when they have many.
+ * If the node rejects a chunk because of too many results, or the request fails with IOException (e.g. timeout),
+ * the chunk is split in half and fetched again.<p>
+ * Logs are fetched lazily while they are consumed, so a range of any size can be scanned with bounded memory.
+ * <pre>
+ * try(LogScanner scanner = new LogScanner(caver.rpc.getKlay())) {
+ *     KlayLogFilter filter = new KlayLogFilter(new DefaultBlockParameterNumber(0), DefaultBlockParameterName.LATEST, contractAddress, null);
+ *     scanner.flowable(filter).blockingForEach(log -&gt; index(log));
+ * }
+ * </pre>
+ */
+public class LogScanner implements Closeable {
+
+    /**
+     * The default number of chunks fetched at the same time.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The default number of blocks in the first chunk.
+     */
+    public static final long DEFAULT_INITIAL_BLOCK_RANGE = 1000;
+
+    /**
+     * The default maximum number of blocks in a chunk.
+     */
+    public static final long DEFAULT_MAX_BLOCK_RANGE = 100000;
+
+    /**
+     * The default number of logs per chunk the chunk size adapts to.
+     */
+    public static final int DEFAULT_TARGET_RESULTS = 2000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogScanner.class);
+
+    /**
+     * Klay RPC instance used to send requests.
+     */
+    private final Klay klay;
+
+    /**
+     * The executor which sends requests.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * True if the executor is created by this instance and has to be shut down in `close`.
+     */
+    private final boolean ownExecutor;
+
+    private final int parallelism;
+    private final long initialBlockRange;
+    private final long maxBlockRange;
+    private final int targetResults;
+
+    /**
+     * Creates a LogScanner instance with the default executor and options.
+     * @param klay Klay RPC instance.
+     */
+    public LogScanner(Klay klay) {
+        this(klay, AsyncKlay.createDefaultExecutor(), true, DEFAULT_PARALLELISM, DEFAULT_INITIAL_BLOCK_RANGE, DEFAULT_MAX_BLOCK_RANGE, DEFAULT_TARGET_RESULTS);
+    }
+
+    /**
+     * Creates a LogScanner instance. The given executor is not shut down by `close`.
+     * @param klay Klay RPC instance.
+     * @param executor The executor which sends requests.
+     * @param parallelism The number of chunks fetched at the same time.
+     * @param initialBlockRange The number of blocks in the first chunk.
+     * @param maxBlockRange The maximum number of blocks in a chunk.
+     * @param targetResults The number of logs per chunk the chunk size adapts to.
+     */
+    public LogScanner(Klay klay, ExecutorService executor, int parallelism, long initialBlockRange, long maxBlockRange, int targetResults) {
+        this(klay, executor, false, parallelism, initialBlockRange, maxBlockRange, targetResults);
+    }
+
+    private LogScanner(Klay klay, ExecutorService executor, boolean ownExecutor, int parallelism, long initialBlockRange, long maxBlockRange, int targetResults) {
+        if(parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism : " + parallelism);
+        }
+        if(initialBlockRange <= 0 || maxBlockRange < initialBlockRange) {
+            throw new IllegalArgumentException("Invalid block range : initial " + initialBlockRange + ", max " + maxBlockRange);
+        }
+
+        this.klay = klay;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.parallelism = parallelism;
+        this.initialBlockRange = initialBlockRange;
+        this.maxBlockRange = maxBlockRange;
+        this.targetResults = targetResults;
+    }
+
+    /**
+     * Scans the logs matched with the filter.<p>
+     * The fromBlock and toBlock of the filter must be a block number, "earliest" or "latest".
+     * "latest" (or a missing block) is resolved to the current block number when this method is called.
+     * The filter with a blockHash is not supported because it has only a single block.
+     * @param filter The filter. Its address and topics are used for every chunk.
+     * @return LogIterator. It throws UncheckedIOException if a chunk cannot be fetched.
+     * @throws IOException
+     */
+    public LogIterator scan(KlayLogFilter filter) throws IOException {
+        if(filter.getBlockHash() != null) {
+            throw new IllegalArgumentException("The filter with a blockHash cannot be scanned. Use klay_getLogs instead.");
+        }
+
+        long fromBlock = toBlockNumber(filter.getFromBlock(), 0);
+        long toBlock = toBlockNumber(filter.getToBlock(), -1);
+        if(toBlock < 0) {
+            toBlock = klay.getBlockNumber().send().getValue().longValueExact();
+        }
+
+        return new LogIterator(filter, fromBlock, toBlock);
+    }
+
+    /**
+     * Scans the logs matched with the filter as a Flowable.<p>
+     * The scan starts when the Flowable is subscribed, and the chunks are fetched as the subscriber requests logs.
+     * @param filter The filter. See {@link #scan(KlayLogFilter)}.
+     * @return Flowable
+     */
+    public Flowable<KlayLogs.Log> flowable(KlayLogFilter filter) {
+        return Flowable.using(
+                () -> scan(filter),
+                iterator -> Flowable.fromIterable(() -> iterator),
+                LogIterator::close);
+    }
+
+    /**
+     * Returns true if the error means that the range of the request has to be smaller.
+     * @param error The error of a `klay_getLogs` response.
+     * @return boolean
+     */
+    public static boolean isTooManyResults(Response.Error error) {
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase();
+        return message.contains("more than")
+                || message.contains("too many")
+                || message.contains("limit exceeded")
+                || message.contains("size exceeded")
+                || message.contains("block range")
+                || message.contains("timeout")
+                || message.contains("timed out");
+    }
+
+    /**
+     * Getter function for parallelism
+     * @return int
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    /**
+     * Shuts down the executor if it was created by this instance.
+     */
+    @Override
+    public void close() {
+        if(ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static long toBlockNumber(DefaultBlockParameter blockParameter, long defaultValue) {
+        if(blockParameter == null || blockParameter == DefaultBlockParameterName.LATEST) {
+            return defaultValue;
+        }
+        if(blockParameter == DefaultBlockParameterName.EARLIEST) {
+            return 0;
+        }
+        if(blockParameter instanceof DefaultBlockParameterNumber) {
+            return ((DefaultBlockParameterNumber)blockParameter).getBlockNumber().longValueExact();
+        }
+        throw new IllegalArgumentException("The block parameter " + blockParameter.getValue() + " cannot be scanned.");
+    }
+
+    /**
+     * Iterates the logs of the scanned range in block order.
+     * Close it to cancel the requests in flight when the logs are not consumed to the end.
+     */
+    public class LogIterator implements Iterator<KlayLogs.Log>, Closeable {
+        private final KlayLogFilter filter;
+        private final long toBlock;
+
+        /**
+         * The first block which is not requested yet.
+         */
+        private long nextBlock;
+
+        /**
+         * The number of blocks in the next chunk.
+         */
+        private long blockRange = initialBlockRange;
+
+        /**
+         * The chunks which are requested but not consumed yet, in block order.
+         */
+        private final Deque<Chunk> chunks = new ArrayDeque<>();
+
+        private Iterator<KlayLogs.Log> current = Collections.emptyIterator();
+
+        LogIterator(KlayLogFilter filter, long fromBlock, long toBlock) {
+            this.filter = filter;
+            this.nextBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while(!current.hasNext()) {
+                request();
+                if(chunks.isEmpty()) {
+                    return false;
+                }
+
+                try {
+                    current = take().iterator();
+                } catch(IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public KlayLogs.Log next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        /**
+         * Cancels the requests in flight.
+         */
+        @Override
+        public void close() {
+            for(Chunk chunk : chunks) {
+                chunk.future.cancel(true);
+            }
+            chunks.clear();
+            nextBlock = toBlock + 1;
+        }
+
+        /**
+         * Returns the number of blocks in the next chunk.
+         * @return long
+         */
+        public long getBlockRange() {
+            return blockRange;
+        }
+
+        /**
+         * Requests chunks until `parallelism` chunks are in flight.
+         */
+        private void request() {
+            while(chunks.size() < parallelism && nextBlock <= toBlock) {
+                long to = Math.min(toBlock, nextBlock + blockRange - 1);
+                chunks.addLast(new Chunk(nextBlock, to));
+                nextBlock = to + 1;
+            }
+        }
+
+        /**
+         * Waits for the first chunk and returns its logs.
+         * If the chunk has to be smaller, it is replaced with two halves and returns an empty list.
+         * @return List
+         * @throws IOException
+         */
+        private List<KlayLogs.Log> take() throws IOException {
+            Chunk chunk = chunks.peekFirst();
+
+            KlayLogs response;
+            try {
+                response = chunk.future.get();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while fetching logs.", e);
+            } catch(ExecutionException e) {
+                IOException cause = e.getCause() instanceof IOException ? (IOException)e.getCause() : new IOException(e.getCause());
+                if(!split(chunk)) {
+                    throw cause;
+                }
+                LOGGER.debug("Failed to fetch logs of blocks {} ~ {}. The range is split.", chunk.from, chunk.to, cause);
+                return Collections.emptyList();
+            }
+
+            if(response.hasError()) {
+                if(!isTooManyResults(response.getError()) || !split(chunk)) {
+                    throw new IOException("Failed to fetch logs of blocks " + chunk.from + " ~ " + chunk.to + " : " + response.getError().getMessage());
+                }
+                return Collections.emptyList();
+            }
+
+            chunks.pollFirst();
+            List<KlayLogs.LogResult> results = response.getLogs() == null ? Collections.emptyList() : response.getLogs();
+            adapt(chunk.size(), results.size());
+
+            List<KlayLogs.Log> logs = new ArrayList<>(results.size());
+            for(KlayLogs.LogResult result : results) {
+                logs.add((KlayLogs.Log)result.get());
+            }
+            return logs;
+        }
+
+        /**
+         * Replaces the first chunk with two halves, and makes the following chunks smaller.
+         * @param chunk The first chunk.
+         * @return boolean It returns false if the chunk has a single block.
+         */
+        private boolean split(Chunk chunk) {
+            if(chunk.size() <= 1) {
+                return false;
+            }
+
+            long middle = chunk.from + chunk.size() / 2 - 1;
+            chunks.pollFirst();
+            chunks.addFirst(new Chunk(middle + 1, chunk.to));
+            chunks.addFirst(new Chunk(chunk.from, middle));
+            blockRange = Math.max(1, Math.min(blockRange, chunk.size() / 2));
+            return true;
+        }
+
+        private void adapt(long size, int results) {
+            if(results > targetResults) {
+                blockRange = Math.max(1, Math.min(blockRange, size) / 2);
+            } else if(results < targetResults / 4 && size >= blockRange) {
+                blockRange = Math.min(maxBlockRange, blockRange * 2);
+            }
+        }
+
+        /**
+         * A range of blocks and its `klay_getLogs` request.
+         */
+        private class Chunk {
+            final long from;
+            final long to;
+            final Future<KlayLogs> future;
+
+            Chunk(long from, long to) {
+                this.from = from;
+                this.to = to;
+
+                KlayLogFilter chunkFilter = new KlayLogFilter(new DefaultBlockParameterNumber(from), new DefaultBlockParameterNumber(to), filter.getAddress(), null);
+                chunkFilter.getTopics().addAll(filter.getTopics());
+                this.future = executor.submit(() -> klay.getLogs(chunkFilter).send());
+            }
+
+            long size() {
+                return to - from + 1;
+            }
+        }
+    }
+}
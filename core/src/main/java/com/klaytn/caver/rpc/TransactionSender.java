@@ -0,0 +1,503 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rpc;
+
+import com.klaytn.caver.methods.response.Bytes32;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.NonceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends signed transactions with `klay_sendRawTransaction` keeping a window of requests in flight.<p>
+ * `send` returns a CompletableFuture of the transaction hash without waiting for the node, and blocks only when
+ * the number of transactions in flight reaches maxInFlight. A transaction stays in the window while it is retried.<p>
+ * An error returned by the node is classified by {@link #classify(Response.Error)} into one of {@link ErrorType},
+ * and handled with the {@link Action} of the type:
+ * <ul>
+ *     <li>A known transaction is already in the tx pool, so the future completes with the transaction hash.</li>
+ *     <li>If the tx pool is full, or the request failed with IOException, the same raw transaction is sent again after a backoff.</li>
+ *     <li>If the nonce is too low, the NonceManager of the Klay instance is made to resync the sender and the future fails.</li>
+ *     <li>An underpriced transaction invalidates the ChainDataCache of the Klay instance, and the future fails.</li>
+ * </ul>
+ * The result of each transaction is reported to the NonceManager of the Klay instance if it is set.
+ * The nonce of a transaction which failed without reaching the node is released, and if it is unknown whether
+ * the node received a failed transaction, the NonceManager resyncs the sender before handing out the next nonce.
+ * A TransactionSender sends to the endpoint of its Klay instance, so create one per endpoint to keep a window per endpoint.
+ * <pre>
+ * TransactionSender sender = new TransactionSender(caver.rpc.getKlay(), 256);
+ * CompletableFuture&lt;String&gt; transactionHash = sender.send(signedTransaction);
+ * </pre>
+ */
+public class TransactionSender implements Closeable {
+
+    /**
+     * The default maximum number of transactions in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 128;
+
+    /**
+     * The default maximum number of retries of a transaction.
+     */
+    public static final int DEFAULT_MAX_RETRIES = 5;
+
+    /**
+     * The default delay before the first retry in milliseconds. It doubles on each retry.
+     */
+    public static final long DEFAULT_RETRY_DELAY = 200;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionSender.class);
+
+    /**
+     * The type of an error returned by `klay_sendRawTransaction`.
+     */
+    public enum ErrorType {
+        NONCE_TOO_LOW(Action.RESYNC),
+        KNOWN_TRANSACTION(Action.ACCEPT),
+        UNDERPRICED(Action.DROP),
+        TXPOOL_FULL(Action.RETRY),
+        UNKNOWN(Action.DROP);
+
+        private final Action action;
+
+        ErrorType(Action action) {
+            this.action = action;
+        }
+
+        /**
+         * Returns the action taken for the error.
+         * @return Action
+         */
+        public Action getAction() {
+            return action;
+        }
+    }
+
+    /**
+     * The action taken for an error of a transaction.
+     */
+    public enum Action {
+        /**
+         * The transaction is regarded as sent.
+         */
+        ACCEPT,
+        /**
+         * The transaction is sent again after a backoff.
+         */
+        RETRY,
+        /**
+         * The nonce of the sender is synchronized with the node, and the transaction fails.
+         */
+        RESYNC,
+        /**
+         * The transaction fails.
+         */
+        DROP
+    }
+
+    /**
+     * Klay RPC instance used to send transactions.
+     */
+    private final Klay klay;
+
+    /**
+     * The executor which sends requests.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * True if the executor is created by this instance and has to be shut down in `close`.
+     */
+    private final boolean ownExecutor;
+
+    /**
+     * The scheduler which delays retries.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    private final int maxInFlight;
+    private final int maxRetries;
+    private final long retryDelay;
+
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * The attempts waiting in the scheduler for a retry. They are failed in `close`.
+     */
+    private final Set<Attempt> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a TransactionSender instance with the default executor and window.
+     * @param klay Klay RPC instance.
+     */
+    public TransactionSender(Klay klay) {
+        this(klay, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a TransactionSender instance with the default executor.
+     * @param klay Klay RPC instance.
+     * @param maxInFlight The maximum number of transactions in flight.
+     */
+    public TransactionSender(Klay klay, int maxInFlight) {
+        this(klay, AsyncKlay.createDefaultExecutor(), true, maxInFlight, DEFAULT_MAX_RETRIES, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Creates a TransactionSender instance. The given executor is not shut down by `close`.
+     * @param klay Klay RPC instance.
+     * @param executor The executor which sends requests.
+     * @param maxInFlight The maximum number of transactions in flight.
+     * @param maxRetries The maximum number of retries of a transaction.
+     * @param retryDelay The delay before the first retry in milliseconds. It doubles on each retry.
+     */
+    public TransactionSender(Klay klay, ExecutorService executor, int maxInFlight, int maxRetries, long retryDelay) {
+        this(klay, executor, false, maxInFlight, maxRetries, retryDelay);
+    }
+
+    private TransactionSender(Klay klay, ExecutorService executor, boolean ownExecutor, int maxInFlight, int maxRetries, long retryDelay) {
+        if(maxInFlight <= 0) {
+            throw new IllegalArgumentException("Invalid max in-flight : " + maxInFlight);
+        }
+        if(maxRetries < 0) {
+            throw new IllegalArgumentException("Invalid max retries : " + maxRetries);
+        }
+
+        this.klay = klay;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+        this.permits = new Semaphore(maxInFlight);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "caver-transaction-sender-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends a signed transaction.<p>
+     * If the number of transactions in flight reaches maxInFlight, it blocks until one of them is finished.
+     * @param transaction A signed transaction instance.
+     * @return CompletableFuture of the transaction hash. It fails with {@link SendException} if the node rejects the transaction,
+     * and with the thrown exception if the raw transaction cannot be made from the given transaction.
+     */
+    public CompletableFuture<String> send(AbstractTransaction transaction) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        // The raw transaction is made before taking a permit, so an unsigned or incomplete transaction cannot leak one.
+        String rawTransaction;
+        try {
+            rawTransaction = transaction.getRawTransaction();
+        } catch(RuntimeException e) {
+            releaseNonce(transaction);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        try {
+            permits.acquire();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseNonce(transaction);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        inFlight.incrementAndGet();
+        execute(new Attempt(transaction, rawTransaction, future));
+        return future;
+    }
+
+    /**
+     * Sends signed transactions in the given order.
+     * @param transactions Signed transaction instances.
+     * @return List of CompletableFuture of the transaction hashes in the order of the given transactions.
+     */
+    public List<CompletableFuture<String>> sendAll(List<? extends AbstractTransaction> transactions) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(transactions.size());
+        for(AbstractTransaction transaction : transactions) {
+            futures.add(send(transaction));
+        }
+        return futures;
+    }
+
+    /**
+     * Classifies an error returned by `klay_sendRawTransaction`.
+     * @param error The error of the response.
+     * @return ErrorType
+     */
+    public static ErrorType classify(Response.Error error) {
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase();
+
+        if(message.contains("nonce too low")) {
+            return ErrorType.NONCE_TOO_LOW;
+        }
+        if(message.contains("known transaction") || message.contains("already known")) {
+            return ErrorType.KNOWN_TRANSACTION;
+        }
+        if(message.contains("underpriced") || message.contains("invalid unit price")) {
+            return ErrorType.UNDERPRICED;
+        }
+        if(message.contains("txpool is full") || message.contains("tx pool is full")) {
+            return ErrorType.TXPOOL_FULL;
+        }
+        return ErrorType.UNKNOWN;
+    }
+
+    /**
+     * Returns the number of transactions in flight.
+     * @return int
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Getter function for maxInFlight
+     * @return int
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Getter function for maxRetries
+     * @return int
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    /**
+     * Stops retrying, and shuts down the executor if it was created by this instance.<p>
+     * The futures of transactions waiting for a retry fail with IOException.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for(Attempt attempt : pendingRetries) {
+            if(pendingRetries.remove(attempt)) {
+                attempt.fail(new IOException("TransactionSender is closed before retrying the transaction."), null);
+            }
+        }
+        if(ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Releases the nonce of a transaction which is not sent, if it is allocated by the NonceManager.
+     * @param transaction The transaction which is not sent.
+     */
+    private void releaseNonce(AbstractTransaction transaction) {
+        NonceManager nonceManager = klay.getNonceManager();
+        if(nonceManager != null && !transaction.getNonce().equals("0x")) {
+            nonceManager.release(transaction.getFrom(), Numeric.toBigInt(transaction.getNonce()));
+        }
+    }
+
+    private void execute(Attempt attempt) {
+        try {
+            executor.execute(attempt);
+        } catch(RejectedExecutionException e) {
+            attempt.fail(e, null);
+        }
+    }
+
+    /**
+     * The state of a transaction which is being sent.
+     */
+    private class Attempt implements Runnable {
+        private final AbstractTransaction transaction;
+        private final String rawTransaction;
+        private final CompletableFuture<String> future;
+        private int retries = 0;
+
+        /**
+         * True if a request failed after it may have reached the node.
+         */
+        private boolean maybeReceived = false;
+
+        Attempt(AbstractTransaction transaction, String rawTransaction, CompletableFuture<String> future) {
+            this.transaction = transaction;
+            this.rawTransaction = rawTransaction;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            Bytes32 response;
+            try {
+                response = klay.sendRawTransaction(rawTransaction).send();
+            } catch(IOException e) {
+                if(!Klay.NonceTrackingRequest.isNotSent(e)) {
+                    maybeReceived = true;
+                }
+                if(!retry()) {
+                    fail(e, null);
+                }
+                return;
+            } catch(RuntimeException e) {
+                maybeReceived = true;
+                fail(e, null);
+                return;
+            }
+
+            if(!response.hasError()) {
+                complete(response.getResult());
+                return;
+            }
+
+            Response.Error error = response.getError();
+            ErrorType type = classify(error);
+            switch(type.getAction()) {
+                case ACCEPT:
+                    complete(transaction.getTransactionHash());
+                    break;
+                case RETRY:
+                    if(!retry()) {
+                        fail(new SendException(type, error), error);
+                    }
+                    break;
+                default:
+                    if(type == ErrorType.UNDERPRICED && klay.getChainDataCache() != null) {
+                        klay.getChainDataCache().invalidate();
+                    }
+                    fail(new SendException(type, error), error);
+            }
+        }
+
+        /**
+         * Schedules sending the transaction again.
+         * @return boolean It returns false if the transaction cannot be retried.
+         */
+        private boolean retry() {
+            if(retries >= maxRetries) {
+                return false;
+            }
+
+            long delay = retryDelay << Math.min(retries, 16);
+            retries++;
+            LOGGER.debug("Retry sending the transaction(nonce : {}) of {} after {}ms.", transaction.getNonce(), transaction.getFrom(), delay);
+            // Whoever removes the attempt from pendingRetries first, the scheduled task or `close`, owns it.
+            pendingRetries.add(this);
+            try {
+                scheduler.schedule(() -> {
+                    if(pendingRetries.remove(this)) {
+                        execute(this);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+                return true;
+            } catch(RejectedExecutionException e) {
+                return !pendingRetries.remove(this);
+            }
+        }
+
+        private void complete(String transactionHash) {
+            NonceManager nonceManager = klay.getNonceManager();
+            if(nonceManager != null) {
+                nonceManager.confirm(transaction.getFrom(), getNonce());
+            }
+            finish();
+            future.complete(transactionHash);
+        }
+
+        /**
+         * Fails the transaction.<p>
+         * If no error is returned by the node, the nonce is released when no request may have reached the node,
+         * and marked unknown otherwise.
+         * @param cause The cause of the failure.
+         * @param error The error returned by the node. It is null if the node did not return an error.
+         */
+        private void fail(Throwable cause, Response.Error error) {
+            NonceManager nonceManager = klay.getNonceManager();
+            if(nonceManager != null) {
+                if(error != null) {
+                    nonceManager.handleError(transaction.getFrom(), getNonce(), error);
+                } else if(maybeReceived) {
+                    nonceManager.markUnknown(transaction.getFrom(), getNonce());
+                } else {
+                    nonceManager.release(transaction.getFrom(), getNonce());
+                }
+            }
+            finish();
+            future.completeExceptionally(cause);
+        }
+
+        private void finish() {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+
+        private BigInteger getNonce() {
+            return Numeric.toBigInt(transaction.getNonce());
+        }
+    }
+
+    /**
+     * An exception thrown when the node rejects a transaction.
+     */
+    public static class SendException extends IOException {
+        private final ErrorType errorType;
+        private final Response.Error error;
+
+        public SendException(ErrorType errorType, Response.Error error) {
+            super(error.getMessage());
+            this.errorType = errorType;
+            this.error = error;
+        }
+
+        /**
+         * Getter function for errorType
+         * @return ErrorType
+         */
+        public ErrorType getErrorType() {
+            return errorType;
+        }
+
+        /**
+         * Getter function for error
+         * @return Response.Error
+         */
+        public Response.Error getError() {
+            return error;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.klaytn.caver.transaction;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.klaytn.caver.rpc.Klay;
 import com.klaytn.caver.account.AccountKeyRoleBased;
+import com.klaytn.caver.utils.HexCodec;
 import com.klaytn.caver.utils.Utils;
 import com.klaytn.caver.wallet.keyring.AbstractKeyring;
 import com.klaytn.caver.wallet.keyring.KeyringFactory;
@@ -148,7 +149,14 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
      * @throws IOException
      */
     public AbstractFeeDelegatedTransaction signAsFeePayer(AbstractKeyring keyring) throws IOException {
-        return signAsFeePayer(keyring, TransactionHasher::getHashForFeePayerSignature);
+        int role = prepareSignAsFeePayer(keyring);
+
+        byte[] hash = TransactionHasher.getHashForFeePayerSignatureAsByteArray(this);
+        List<SignatureData> sigList = keyring.sign(hash, Numeric.toBigInt(this.getChainId()).intValue(), role);
+
+        this.appendFeePayerSignatures(sigList);
+
+        return this;
     }
 
     /**
@@ -159,7 +167,14 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
      * @throws IOException
      */
     public AbstractFeeDelegatedTransaction signAsFeePayer(AbstractKeyring keyring, int index) throws IOException {
-        return signAsFeePayer(keyring, index, TransactionHasher::getHashForFeePayerSignature);
+        int role = prepareSignAsFeePayer(keyring);
+
+        byte[] hash = TransactionHasher.getHashForFeePayerSignatureAsByteArray(this);
+        SignatureData signatureData = keyring.sign(hash, Numeric.toBigInt(this.getChainId()).intValue(), role, index);
+
+        this.appendFeePayerSignatures(signatureData);
+
+        return this;
     }
 
     /**
@@ -170,16 +185,7 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
      * @throws IOException
      */
     public AbstractFeeDelegatedTransaction signAsFeePayer(AbstractKeyring keyring, Function<AbstractFeeDelegatedTransaction, String> hasher) throws IOException {
-        if(this.getFeePayer().equals("0x") || this.getFeePayer().equals(Utils.DEFAULT_ZERO_ADDRESS)) {
-            this.setFeePayer(keyring.getAddress());
-        }
-
-        if(!this.getFeePayer().toLowerCase().equals(keyring.getAddress().toLowerCase())) {
-            throw new IllegalArgumentException("The feePayer address of the transaction is different with the address of the keyring to use.");
-        }
-
-        this.fillTransaction();
-        int role = AccountKeyRoleBased.RoleGroup.FEE_PAYER.getIndex();
+        int role = prepareSignAsFeePayer(keyring);
 
         String hash = hasher.apply(this);
         List<SignatureData> sigList = keyring.sign(hash, Numeric.toBigInt(this.getChainId()).intValue(), role);
@@ -198,6 +204,23 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
      * @throws IOException
      */
     public AbstractFeeDelegatedTransaction signAsFeePayer(AbstractKeyring keyring, int index, Function<AbstractFeeDelegatedTransaction, String> hasher) throws IOException {
+        int role = prepareSignAsFeePayer(keyring);
+
+        String hash = hasher.apply(this);
+        SignatureData sigList = keyring.sign(hash, Numeric.toBigInt(this.getChainId()).intValue(), role, index);
+
+        this.appendFeePayerSignatures(sigList);
+
+        return this;
+    }
+
+    /**
+     * Checks that the keyring can sign this transaction as a fee payer, fills the optional values and returns the role of the key to use.
+     * @param keyring The Keyring instance.
+     * @return int
+     * @throws IOException
+     */
+    private int prepareSignAsFeePayer(AbstractKeyring keyring) throws IOException {
         if(this.getFeePayer().equals("0x") || this.getFeePayer().equals(Utils.DEFAULT_ZERO_ADDRESS)) {
             this.setFeePayer(keyring.getAddress());
         }
@@ -207,14 +230,7 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
         }
 
         this.fillTransaction();
-        int role = AccountKeyRoleBased.RoleGroup.FEE_PAYER.getIndex();
-
-        String hash = hasher.apply(this);
-        SignatureData sigList = keyring.sign(hash, Numeric.toBigInt(this.getChainId()).intValue(), role, index);
-
-        this.appendFeePayerSignatures(sigList);
-
-        return this;
+        return AccountKeyRoleBased.RoleGroup.FEE_PAYER.getIndex();
     }
 
     /**
@@ -237,63 +253,29 @@ abstract public class AbstractFeeDelegatedTransaction extends AbstractTransactio
     }
 
     /**
-     * Combines signatures and feePayerSignatures to the transaction from RLP-encoded transaction strings and returns a single transaction with all signatures combined.
-     * When combining the signatures into a transaction instance,
-     * an error is thrown if the decoded transaction contains different value except signatures.
-     * @param rlpEncoded A List of RLP-encoded transaction strings.
+     * Returns a RLP-encoded transaction string for making fee payer's signature.
      * @return String
      */
-    public String combineSignedRawTransactions(List<String> rlpEncoded) {
-        boolean fillVariable = false;
-
-        // If the signatures are empty, there may be an undefined member variable.
-        // In this case, the empty information is filled with the decoded result.
-        // At initial state of AbstractFeeDelegateTx Object, feePayerSignature field has one empty signature.
-        if((Utils.isEmptySig(this.getFeePayerSignatures())) || Utils.isEmptySig(this.getSignatures())) fillVariable = true;
-
-        for(String encodedStr : rlpEncoded) {
-            AbstractFeeDelegatedTransaction txObj = (AbstractFeeDelegatedTransaction) TransactionDecoder.decode(encodedStr);
-
-            if(fillVariable) {
-                if(this.getNonce().equals("0x")) this.setNonce(txObj.getNonce());
-                if(this.getGasPrice().equals("0x")) this.setGasPrice(txObj.getGasPrice());
-                if(this.getFeePayer().equals("0x") || this.getFeePayer().equals(Utils.DEFAULT_ZERO_ADDRESS)) {
-                    if(!txObj.getFeePayer().equals("0x") && !txObj.getFeePayer().equals(Utils.DEFAULT_ZERO_ADDRESS)) {
-                        this.setFeePayer(txObj.getFeePayer());
-                        fillVariable = false;
-                    }
-                }
-            }
-
-            // Signatures can only be combined for the same transaction.
-            // Therefore, compare whether the decoded transaction is the same as this.
-            if(!this.compareTxField(txObj, false)) {
-                throw new RuntimeException("Transactions containing different information cannot be combined.");
-            }
-
-            this.appendSignatures(txObj.getSignatures());
-            this.appendFeePayerSignatures(txObj.getFeePayerSignatures());
-        }
-
-        return this.getRLPEncoding();
+    @JsonIgnore
+    public String getRLPEncodingForFeePayerSignature() {
+        return Numeric.toHexString(getRLPEncodingForFeePayerSignatureAsByteArray());
     }
 
     /**
-     * Returns a RLP-encoded transaction string for making fee payer's signature.
-     * @return String
+     * Returns a RLP-encoded transaction byte array for making fee payer's signature.
+     * @return byte[]
      */
     @JsonIgnore
-    public String getRLPEncodingForFeePayerSignature() {
-        byte[] txRLP = Numeric.hexStringToByteArray(getCommonRLPEncodingForSignature());
+    public byte[] getRLPEncodingForFeePayerSignatureAsByteArray() {
+        byte[] txRLP = getCommonRLPEncodingForSignatureAsByteArray();
 
         List<RlpType> rlpTypeList = new ArrayList<>();
         rlpTypeList.add(RlpString.create(txRLP));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFeePayer())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFeePayer())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getChainId())));
         rlpTypeList.add(RlpString.create(0));
         rlpTypeList.add(RlpString.create(0));
-        byte[] encoded = RlpEncoder.encode(new RlpList(rlpTypeList));
-        return Numeric.toHexString(encoded);
+        return RlpEncoder.encode(new RlpList(rlpTypeList));
     }
 
     /**
@@ -19,6 +19,7 @@ package com.klaytn.caver.transaction;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.klaytn.caver.rpc.ChainDataCache;
 import com.klaytn.caver.rpc.Klay;
 import com.klaytn.caver.account.AccountKeyRoleBased;
 import com.klaytn.caver.transaction.type.LegacyTransaction;
@@ -208,19 +209,45 @@ abstract public class AbstractTransaction {
         setSignatures(signatures);
     }
 
+    /**
+     * Returns the RLP-encoded byte array of this transaction (i.e., rawTransaction).<p>
+     * By default it decodes `getRLPEncoding`. The built-in transaction types override it to encode without a hex string.
+     * A transaction type must override either this or `getRLPEncoding`.
+     * @return byte[]
+     */
+    @JsonIgnore
+    public byte[] getRLPEncodingAsByteArray() {
+        return Numeric.hexStringToByteArray(getRLPEncoding());
+    }
+
+    /**
+     * Returns the RLP-encoded byte array to make the signature of this transaction.<p>
+     * By default it decodes `getCommonRLPEncodingForSignature`. The built-in transaction types override it to encode without a hex string.
+     * A transaction type must override either this or `getCommonRLPEncodingForSignature`.
+     * @return byte[]
+     */
+    @JsonIgnore
+    public byte[] getCommonRLPEncodingForSignatureAsByteArray() {
+        return Numeric.hexStringToByteArray(getCommonRLPEncodingForSignature());
+    }
+
     /**
      * Returns the RLP-encoded string of this transaction (i.e., rawTransaction).
      * @return String
      */
     @JsonIgnore
-    public abstract String getRLPEncoding();
+    public String getRLPEncoding() {
+        return Numeric.toHexString(getRLPEncodingAsByteArray());
+    }
 
     /**
      * Returns the RLP-encoded string to make the signature of this transaction.
      * @return String
      */
     @JsonIgnore
-    public abstract String getCommonRLPEncodingForSignature();
+    public String getCommonRLPEncodingForSignature() {
+        return Numeric.toHexString(getCommonRLPEncodingForSignatureAsByteArray());
+    }
 
     /**
      * Signs to the transaction with a single private key.
@@ -256,7 +283,14 @@ abstract public class AbstractTransaction {
      * @throws IOException
      */
     public AbstractTransaction sign(AbstractKeyring keyring) throws IOException  {
-        return this.sign(keyring, TransactionHasher::getHashForSignature);
+        int role = prepareSign(keyring);
+
+        byte[] hash = TransactionHasher.getHashForSignatureAsByteArray(this);
+        List<SignatureData> sigList = keyring.sign(hash, Numeric.toBigInt(this.chainId).intValue(), role);
+
+        this.appendSignatures(sigList);
+
+        return this;
     }
 
     /**
@@ -267,20 +301,7 @@ abstract public class AbstractTransaction {
      * @throws IOException
      */
     public AbstractTransaction sign(AbstractKeyring keyring, Function<AbstractTransaction, String> signer) throws IOException  {
-        if(this.getType().equals(TransactionType.TxTypeLegacyTransaction.toString()) && keyring.isDecoupled()) {
-            throw new IllegalArgumentException("A legacy transaction cannot be signed with a decoupled keyring.");
-        }
-
-        if(this.from.equals("0x") || this.from.equals(Utils.DEFAULT_ZERO_ADDRESS)){
-            this.from = keyring.getAddress();
-        }
-
-        if(!this.from.toLowerCase().equals(keyring.getAddress().toLowerCase())) {
-            throw new IllegalArgumentException("The from address of the transaction is different with the address of the keyring to use");
-        }
-
-        this.fillTransaction();
-        int role = this.type.contains("AccountUpdate") ? AccountKeyRoleBased.RoleGroup.ACCOUNT_UPDATE.getIndex() : AccountKeyRoleBased.RoleGroup.TRANSACTION.getIndex();
+        int role = prepareSign(keyring);
 
         String hash = signer.apply(this);
         List<SignatureData> sigList = keyring.sign(hash, Numeric.toBigInt(this.chainId).intValue(), role);
@@ -299,7 +320,14 @@ abstract public class AbstractTransaction {
      * @throws IOException
      */
     public AbstractTransaction sign(AbstractKeyring keyring, int index) throws IOException {
-        return this.sign(keyring, index, TransactionHasher::getHashForSignature);
+        int role = prepareSign(keyring);
+
+        byte[] hash = TransactionHasher.getHashForSignatureAsByteArray(this);
+        SignatureData sig = keyring.sign(hash, Numeric.toBigInt(this.chainId).intValue(), role, index);
+
+        this.appendSignatures(sig);
+
+        return this;
     }
 
     /**
@@ -311,6 +339,23 @@ abstract public class AbstractTransaction {
      * @throws IOException
      */
     public AbstractTransaction sign(AbstractKeyring keyring, int index, Function<AbstractTransaction, String> signer) throws IOException {
+        int role = prepareSign(keyring);
+
+        String hash = signer.apply(this);
+        SignatureData sig = keyring.sign(hash, Numeric.toBigInt(this.chainId).intValue(), role, index);
+
+        this.appendSignatures(sig);
+
+        return this;
+    }
+
+    /**
+     * Checks that the keyring can sign this transaction, fills the optional values and returns the role of the key to use.
+     * @param keyring The Keyring instance.
+     * @return int
+     * @throws IOException
+     */
+    private int prepareSign(AbstractKeyring keyring) throws IOException {
         if(this.getType().equals(TransactionType.TxTypeLegacyTransaction.toString()) && keyring.isDecoupled()) {
             throw new IllegalArgumentException("A legacy transaction cannot be signed with a decoupled keyring.");
         }
@@ -324,14 +369,7 @@ abstract public class AbstractTransaction {
         }
 
         this.fillTransaction();
-        int role = this.type.contains("AccountUpdate") ? AccountKeyRoleBased.RoleGroup.ACCOUNT_UPDATE.getIndex() : AccountKeyRoleBased.RoleGroup.TRANSACTION.getIndex();
-
-        String hash = signer.apply(this);
-        SignatureData sig = keyring.sign(hash, Numeric.toBigInt(this.chainId).intValue(), role, index);
-
-        this.appendSignatures(sig);
-
-        return this;
+        return this.type.contains("AccountUpdate") ? AccountKeyRoleBased.RoleGroup.ACCOUNT_UPDATE.getIndex() : AccountKeyRoleBased.RoleGroup.TRANSACTION.getIndex();
     }
 
     /**
@@ -357,35 +395,16 @@ abstract public class AbstractTransaction {
      * Combines signatures to the transaction from RLP-encoded transaction strings and returns a single transaction with all signatures combined.
      * When combining the signatures into a transaction instance,
      * an error is thrown if the decoded transaction contains different value except signatures.
+     * If the transaction is a fee delegated transaction, the feePayerSignatures are combined as well.
+     * To combine signatures as they arrive, use {@link SignatureCombiner}.
      * @param rlpEncoded A List of RLP-encoded transaction strings.
      * @return String
      */
     public String combineSignedRawTransactions(List<String> rlpEncoded) {
-        boolean fillVariable = false;
-
-        // If the signatures are empty, there may be an undefined member variable.
-        // In this case, the empty information is filled with the decoded result.
-        if(Utils.isEmptySig(this.getSignatures())) fillVariable = true;
-
-        for(String encodedStr : rlpEncoded) {
-            AbstractTransaction txObj = TransactionDecoder.decode(encodedStr);
-
-            if(fillVariable) {
-                if(this.getNonce().equals("0x")) this.setNonce(txObj.getNonce());
-                if(this.getGasPrice().equals("0x")) this.setGasPrice(txObj.getGasPrice());
-                fillVariable = false;
-            }
+        SignatureCombiner combiner = new SignatureCombiner(this);
+        combiner.addAll(rlpEncoded);
 
-            // Signatures can only be combined for the same transaction.
-            // Therefore, compare whether the decoded transaction is the same as this.
-            if(!this.compareTxField(txObj, false)) {
-                throw new RuntimeException("Transactions containing different information cannot be combined.");
-            }
-
-            this.appendSignatures(txObj.getSignatures());
-        }
-
-        return this.getRLPEncoding();
+        return combiner.getRawTransaction();
     }
 
     /**
@@ -403,7 +422,7 @@ abstract public class AbstractTransaction {
      */
     @JsonIgnore
     public String getTransactionHash() {
-        return Hash.sha3(this.getRLPEncoding());
+        return Numeric.toHexString(Hash.sha3(this.getRLPEncodingAsByteArray()));
     }
 
     /**
@@ -421,35 +440,60 @@ abstract public class AbstractTransaction {
      */
     @JsonIgnore
     public String getRLPEncodingForSignature() {
-        byte[] txRLP = Numeric.hexStringToByteArray(getCommonRLPEncodingForSignature());
+        return Numeric.toHexString(getRLPEncodingForSignatureAsByteArray());
+    }
+
+    /**
+     * Returns an RLP-encoded transaction byte array for making signature.
+     * @return byte[]
+     */
+    @JsonIgnore
+    public byte[] getRLPEncodingForSignatureAsByteArray() {
+        byte[] txRLP = getCommonRLPEncodingForSignatureAsByteArray();
 
         List<RlpType> rlpTypeList = new ArrayList<>();
         rlpTypeList.add(RlpString.create(txRLP));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getChainId())));
         rlpTypeList.add(RlpString.create(0));
         rlpTypeList.add(RlpString.create(0));
-        byte[] encoded = RlpEncoder.encode(new RlpList(rlpTypeList));
-        return Numeric.toHexString(encoded);
+        return RlpEncoder.encode(new RlpList(rlpTypeList));
     }
 
     /**
      * Fills empty optional transaction field.(nonce, gasPrice, chainId)
+     * If a NonceManager is set to `klaytnCall`, the nonce is allocated by the NonceManager after the other fields are filled.
+     * If a ChainDataCache is set to `klaytnCall`, the chainId and the gasPrice are taken from the ChainDataCache.
      * @throws IOException
      */
     public void fillTransaction() throws IOException{
         if(klaytnCall != null) {
-            if(this.nonce.equals("0x")) {
-                this.nonce = klaytnCall.getTransactionCount(this.from, DefaultBlockParameterName.PENDING).send().getResult();
-            }
-
+            ChainDataCache chainDataCache = klaytnCall.getChainDataCache();
             if(this.chainId.equals("0x")) {
-                this.chainId = klaytnCall.getChainID().send().getResult();
+                if(chainDataCache != null) {
+                    this.chainId = chainDataCache.getChainId();
+                } else {
+                    this.chainId = klaytnCall.getChainID().send().getResult();
+                }
             }
 
             if(this.gasPrice.equals("0x")) {
-                this.gasPrice = klaytnCall.getGasPrice().send().getResult();
+                if(chainDataCache != null) {
+                    this.gasPrice = chainDataCache.getGasPrice();
+                } else {
+                    this.gasPrice = klaytnCall.getGasPrice().send().getResult();
+                }
             }
 
+            // The nonce is filled last, so a failed lookup of the chainId or the gasPrice does not leave
+            // a nonce allocated by the NonceManager in flight.
+            if(this.nonce.equals("0x")) {
+                NonceManager nonceManager = klaytnCall.getNonceManager();
+                if(nonceManager != null) {
+                    this.nonce = Numeric.toHexStringWithPrefix(nonceManager.getNonce(this.from));
+                } else {
+                    this.nonce = klaytnCall.getTransactionCount(this.from, DefaultBlockParameterName.PENDING).send().getResult();
+                }
+            }
         }
 
         if(this.nonce.equals("0x") || this.chainId.equals("0x") || this.gasPrice.equals("0x")) {
@@ -516,16 +560,16 @@ abstract public class AbstractTransaction {
         boolean isLegacy = this.getType().equals(TransactionType.TxTypeLegacyTransaction.toString());
         SignatureData emptySig = SignatureData.getEmptySignature();
 
-        List<SignatureData> refinedList = new ArrayList<>();
+        Set<SignatureData> refinedSet = new LinkedHashSet<>();
 
         for(SignatureData signData : signatureDataList) {
             if(!Utils.isEmptySig(signData)) {
-                if(!refinedList.contains(signData)) {
-                    refinedList.add(signData);
-                }
+                refinedSet.add(signData);
             }
         }
 
+        List<SignatureData> refinedList = new ArrayList<>(refinedSet);
+
         if(refinedList.size() == 0) {
             refinedList.add(emptySig);
         }
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.transaction;
+
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.rpc.ChainDataCache;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.KlayBatch;
+import com.klaytn.caver.wallet.IWallet;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Signs many transactions in parallel and returns the signed raw transactions in the order they are given.<p>
+ * The transactions are processed in chunks. For each chunk, the missing nonces, chain id and gas price are filled first
+ * with a single JSON-RPC batch (or with the NonceManager and ChainDataCache set to the Klay instance),
+ * and then the transactions are hashed, signed and RLP-encoded by the executor.<p>
+ * If the nonce of a transaction is missing, the nonce is allocated in submission order per sender,
+ * starting from the pending transaction count of the sender which is fetched once per call of `signAll`.
+ * If a chunk fails to be filled or signed, the nonces allocated by the NonceManager for the chunk are released.
+ * <pre>
+ * BulkTransactionSigner signer = new BulkTransactionSigner(caver.wallet, caver.rpc.getKlay());
+ * List&lt;String&gt; rawTransactions = signer.signAll(transactions);
+ * </pre>
+ */
+public class BulkTransactionSigner {
+
+    /**
+     * The default number of transactions filled and signed at once.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * The wallet which has the keys of the senders or the fee payer.
+     */
+    private final IWallet wallet;
+
+    /**
+     * Klay RPC instance used to fill the missing fields. If it is null, the transactions must have all fields.
+     */
+    private final Klay klay;
+
+    /**
+     * The executor which signs the transactions.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The number of transactions filled and signed at once.
+     */
+    private final int chunkSize;
+
+    /**
+     * Creates a BulkTransactionSigner instance which signs with the common ForkJoinPool.
+     * @param wallet The wallet which has the keys of the senders or the fee payer.
+     * @param klay Klay RPC instance used to fill the missing fields.
+     */
+    public BulkTransactionSigner(IWallet wallet, Klay klay) {
+        this(wallet, klay, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a BulkTransactionSigner instance.
+     * @param wallet The wallet which has the keys of the senders or the fee payer.
+     * @param klay Klay RPC instance used to fill the missing fields. If it is null, the transactions must have all fields.
+     * @param executor The executor which signs the transactions. It is not shut down by this instance.
+     * @param chunkSize The number of transactions filled and signed at once.
+     */
+    public BulkTransactionSigner(IWallet wallet, Klay klay, ExecutorService executor, int chunkSize) {
+        if(chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size : " + chunkSize);
+        }
+
+        this.wallet = wallet;
+        this.klay = klay;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Signs the transactions with the keys of their senders in the wallet.
+     * @param transactions The transactions to sign. The `from` field of each transaction must be set.
+     * @return List of the signed raw transactions in the order of the given transactions.
+     * @throws IOException
+     */
+    public List<String> signAll(List<? extends AbstractTransaction> transactions) throws IOException {
+        List<String> rawTransactions = new ArrayList<>(transactions.size());
+        signAll(transactions.iterator(), rawTransactions::add);
+        return rawTransactions;
+    }
+
+    /**
+     * Signs the transactions with the keys of their senders in the wallet.<p>
+     * The transactions are read from the iterator a chunk at a time, so it can sign more transactions than fit in memory.
+     * The consumer is called in the calling thread in the order of the given transactions.
+     * @param transactions The transactions to sign. The `from` field of each transaction must be set.
+     * @param consumer The consumer of the signed raw transactions.
+     * @throws IOException
+     */
+    public void signAll(Iterator<? extends AbstractTransaction> transactions, Consumer<String> consumer) throws IOException {
+        process(transactions, consumer, transaction -> wallet.sign(transaction.getFrom(), transaction));
+    }
+
+    /**
+     * Signs the fee delegated transactions as a fee payer with the keys of the fee payer in the wallet.
+     * @param feePayer The address of the fee payer.
+     * @param transactions The transactions to sign.
+     * @return List of the signed raw transactions in the order of the given transactions.
+     * @throws IOException
+     */
+    public List<String> signAllAsFeePayer(String feePayer, List<? extends AbstractFeeDelegatedTransaction> transactions) throws IOException {
+        List<String> rawTransactions = new ArrayList<>(transactions.size());
+        signAllAsFeePayer(feePayer, transactions.iterator(), rawTransactions::add);
+        return rawTransactions;
+    }
+
+    /**
+     * Signs the fee delegated transactions as a fee payer with the keys of the fee payer in the wallet.<p>
+     * The consumer is called in the calling thread in the order of the given transactions.
+     * @param feePayer The address of the fee payer.
+     * @param transactions The transactions to sign.
+     * @param consumer The consumer of the signed raw transactions.
+     * @throws IOException
+     */
+    public void signAllAsFeePayer(String feePayer, Iterator<? extends AbstractFeeDelegatedTransaction> transactions, Consumer<String> consumer) throws IOException {
+        process(transactions, consumer, transaction -> wallet.signAsFeePayer(feePayer, (AbstractFeeDelegatedTransaction)transaction));
+    }
+
+    /**
+     * Getter function for wallet
+     * @return IWallet
+     */
+    public IWallet getWallet() {
+        return wallet;
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    /**
+     * Getter function for chunkSize
+     * @return int
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private void process(Iterator<? extends AbstractTransaction> transactions, Consumer<String> consumer, SignFunction signFunction) throws IOException {
+        Map<String, BigInteger> nextNonces = new HashMap<>();
+        List<AbstractTransaction> chunk = new ArrayList<>(chunkSize);
+
+        while(transactions.hasNext()) {
+            chunk.add(transactions.next());
+            if(chunk.size() == chunkSize || !transactions.hasNext()) {
+                List<AbstractTransaction> allocated = new ArrayList<>();
+                List<String> rawTransactions;
+                try {
+                    fill(chunk, nextNonces, allocated);
+                    rawTransactions = sign(chunk, signFunction);
+                } catch(IOException | RuntimeException e) {
+                    release(allocated);
+                    throw e;
+                }
+                for(String rawTransaction : rawTransactions) {
+                    consumer.accept(rawTransaction);
+                }
+                chunk.clear();
+            }
+        }
+    }
+
+    /**
+     * Fills the missing nonce, chain id and gas price of the transactions.
+     * @param chunk The transactions to fill.
+     * @param nextNonces The next nonce of each sender which is allocated by this signer.
+     * @param allocated The list to which the transactions whose nonce is allocated by the NonceManager are added.
+     * @throws IOException
+     */
+    private void fill(List<AbstractTransaction> chunk, Map<String, BigInteger> nextNonces, List<AbstractTransaction> allocated) throws IOException {
+        if(klay == null) {
+            return;
+        }
+
+        NonceManager nonceManager = klay.getNonceManager();
+        ChainDataCache chainDataCache = klay.getChainDataCache();
+
+        boolean needChainId = false;
+        boolean needGasPrice = false;
+        Set<String> needNonces = new LinkedHashSet<>();
+        for(AbstractTransaction transaction : chunk) {
+            needChainId |= transaction.getChainId().equals("0x");
+            needGasPrice |= transaction.getGasPrice().equals("0x");
+            if(nonceManager == null && transaction.getNonce().equals("0x")) {
+                String from = transaction.getFrom().toLowerCase();
+                if(!nextNonces.containsKey(from)) {
+                    needNonces.add(from);
+                }
+            }
+        }
+
+        String chainId = null;
+        String gasPrice = null;
+        if(chainDataCache != null) {
+            chainId = needChainId ? chainDataCache.getChainId() : null;
+            gasPrice = needGasPrice ? chainDataCache.getGasPrice() : null;
+            needChainId = needGasPrice = false;
+        }
+
+        if(needChainId || needGasPrice || !needNonces.isEmpty()) {
+            KlayBatch batch = klay.newBatch(KlayBatch.DEFAULT_MAX_BATCH_SIZE);
+            KlayBatch.Entry<Quantity> chainIdEntry = needChainId ? batch.add(klay.getChainID()) : null;
+            KlayBatch.Entry<Quantity> gasPriceEntry = needGasPrice ? batch.add(klay.getGasPrice()) : null;
+            Map<String, KlayBatch.Entry<Quantity>> nonceEntries = new HashMap<>();
+            for(String from : needNonces) {
+                nonceEntries.put(from, batch.add(klay.getTransactionCount(from, DefaultBlockParameterName.PENDING)));
+            }
+            batch.send();
+
+            if(chainIdEntry != null) {
+                chainId = getResult(chainIdEntry);
+            }
+            if(gasPriceEntry != null) {
+                gasPrice = getResult(gasPriceEntry);
+            }
+            for(Map.Entry<String, KlayBatch.Entry<Quantity>> entry : nonceEntries.entrySet()) {
+                nextNonces.put(entry.getKey(), Numeric.toBigInt(getResult(entry.getValue())));
+            }
+        }
+
+        for(AbstractTransaction transaction : chunk) {
+            if(transaction.getChainId().equals("0x")) {
+                transaction.setChainId(chainId);
+            }
+            if(transaction.getGasPrice().equals("0x")) {
+                transaction.setGasPrice(gasPrice);
+            }
+            if(transaction.getNonce().equals("0x")) {
+                if(nonceManager != null) {
+                    transaction.setNonce(nonceManager.getNonce(transaction.getFrom()));
+                    allocated.add(transaction);
+                } else {
+                    String from = transaction.getFrom().toLowerCase();
+                    BigInteger nonce = nextNonces.get(from);
+                    transaction.setNonce(nonce);
+                    nextNonces.put(from, nonce.add(BigInteger.ONE));
+                }
+            }
+        }
+    }
+
+    /**
+     * Signs the transactions with the executor and returns the raw transactions in the same order.
+     * The transactions are split into a few tasks per thread, so the cost of scheduling is shared by many transactions.
+     * @param chunk The transactions to sign.
+     * @param signFunction The function to sign a transaction.
+     * @return List
+     * @throws IOException
+     */
+    private List<String> sign(List<AbstractTransaction> chunk, SignFunction signFunction) throws IOException {
+        int taskCount = Math.min(chunk.size(), Runtime.getRuntime().availableProcessors() * 4);
+        int taskSize = (chunk.size() + taskCount - 1) / taskCount;
+
+        String[] rawTransactions = new String[chunk.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for(int start = 0; start < chunk.size(); start += taskSize) {
+            int from = start;
+            int to = Math.min(start + taskSize, chunk.size());
+            tasks.add(() -> {
+                for(int i = from; i < to; i++) {
+                    rawTransactions[i] = signFunction.sign(chunk.get(i)).getRawTransaction();
+                }
+                return null;
+            });
+        }
+
+        try {
+            for(Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while signing transactions.", e);
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+
+        return Arrays.asList(rawTransactions);
+    }
+
+    /**
+     * Returns the nonces allocated by the NonceManager to the NonceManager, and clears them from the transactions.
+     * @param allocated The transactions whose nonce is allocated by the NonceManager.
+     */
+    private void release(List<AbstractTransaction> allocated) {
+        NonceManager nonceManager = klay.getNonceManager();
+        for(AbstractTransaction transaction : allocated) {
+            nonceManager.release(transaction.getFrom(), Numeric.toBigInt(transaction.getNonce()));
+            transaction.setNonce("0x");
+        }
+    }
+
+    private static String getResult(KlayBatch.Entry<Quantity> entry) throws IOException {
+        Quantity response = entry.getResponse();
+        if(response.hasError()) {
+            Response.Error error = response.getError();
+            throw new IOException(error.getMessage());
+        }
+        return response.getResult();
+    }
+
+    @FunctionalInterface
+    private interface SignFunction {
+        AbstractTransaction sign(AbstractTransaction transaction) throws IOException;
+    }
+}
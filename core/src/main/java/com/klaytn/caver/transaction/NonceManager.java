@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.transaction;
+
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.utils.Utils;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Allocates the nonce of sender accounts locally.<p>
+ * When a NonceManager is set to a Klay instance, `fillTransaction` takes the nonce from it instead of sending
+ * a `klay_getTransactionCount` request for every transaction. The pending transaction count is fetched from the node
+ * only once per address, and again when the node rejects a transaction with "nonce too low".<p>
+ * Nonces are handed out without locking, so it can be shared by many threads sending transactions from the same account.
+ * A nonce of a transaction which was rejected by the node is handed out again before a new one,
+ * so that a rejected transaction does not leave a gap which blocks the following transactions.
+ * If it is unknown whether the node received a transaction, the address is resynced by the next `getNonce`,
+ * and the nonce is handed out again if it is not below the pending transaction count of the node.
+ * <pre>
+ * caver.rpc.getKlay().setNonceManager(new NonceManager(caver.rpc.getKlay()));
+ * </pre>
+ */
+public class NonceManager {
+
+    /**
+     * Klay RPC instance used to fetch the pending transaction count.
+     */
+    private final Klay klay;
+
+    /**
+     * The nonce state of each address. The key is a lower-cased address.
+     */
+    private final ConcurrentHashMap<String, AccountNonce> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a NonceManager instance.
+     * @param klay Klay RPC instance used to fetch the pending transaction count.
+     */
+    public NonceManager(Klay klay) {
+        this.klay = klay;
+    }
+
+    /**
+     * Allocates a nonce for the given address.<p>
+     * A nonce released by `release` or by a rejected transaction is returned first.
+     * Otherwise it returns the next nonce of the address.
+     * @param address The address of the sender.
+     * @return BigInteger
+     * @throws IOException
+     */
+    public BigInteger getNonce(String address) throws IOException {
+        AccountNonce account = getAccount(address);
+        if(account.needSync) {
+            sync(account);
+        }
+
+        // A released nonce is moved to the in-flight set under the lock of the address,
+        // so it cannot be lost between the two sets.
+        if(!account.released.isEmpty()) {
+            synchronized(account) {
+                Long released = account.released.pollFirst();
+                if(released != null) {
+                    account.inFlight.add(released);
+                    return BigInteger.valueOf(released);
+                }
+            }
+        }
+
+        // A nonce is added to the in-flight set before the counter passes it,
+        // so the counter never points below a nonce that is not tracked yet.
+        while(true) {
+            long nonce = account.next.get();
+            if(!account.inFlight.add(nonce)) {
+                continue;
+            }
+
+            if(account.next.compareAndSet(nonce, nonce + 1)) {
+                return BigInteger.valueOf(nonce);
+            }
+            account.inFlight.remove(nonce);
+        }
+    }
+
+    /**
+     * Marks the nonce as used. Call it when the transaction with the nonce is accepted by the node.
+     * @param address The address of the sender.
+     * @param nonce The nonce of the transaction.
+     */
+    public void confirm(String address, BigInteger nonce) {
+        AccountNonce account = getAccount(address);
+        account.inFlight.remove(nonce.longValue());
+        account.unknown.remove(nonce.longValue());
+    }
+
+    /**
+     * Returns the nonce to be handed out again. Call it when the transaction with the nonce will not be sent.
+     * @param address The address of the sender.
+     * @param nonce The nonce of the transaction.
+     */
+    public void release(String address, BigInteger nonce) {
+        AccountNonce account = getAccount(address);
+        synchronized(account) {
+            if(account.inFlight.remove(nonce.longValue())) {
+                account.released.add(nonce.longValue());
+            }
+        }
+    }
+
+    /**
+     * Marks that it is unknown whether the node received the transaction with the nonce.
+     * Call it when sending the transaction failed after the request may have reached the node.<p>
+     * The next `getNonce` resyncs the address with the node, and the nonce is handed out again
+     * if it is not below the pending transaction count of the node.
+     * @param address The address of the sender.
+     * @param nonce The nonce of the transaction.
+     */
+    public void markUnknown(String address, BigInteger nonce) {
+        AccountNonce account = getAccount(address);
+        synchronized(account) {
+            if(account.inFlight.remove(nonce.longValue())) {
+                account.unknown.add(nonce.longValue());
+                account.needSync = true;
+            }
+        }
+    }
+
+    /**
+     * Updates the state of the nonce with an error returned by `klay_sendRawTransaction`.<p>
+     * "nonce too low" makes the next `getNonce` resync the address with the node.
+     * A known transaction or another transaction with the same nonce in the tx pool means the nonce is used,
+     * and any other error releases the nonce to be handed out again.
+     * It does nothing if the nonce was not allocated by this NonceManager.
+     * @param address The address of the sender.
+     * @param nonce The nonce of the transaction.
+     * @param error The error of the response.
+     */
+    public void handleError(String address, BigInteger nonce, Response.Error error) {
+        AccountNonce account = getAccount(address);
+        synchronized(account) {
+            if(!account.inFlight.remove(nonce.longValue())) {
+                return;
+            }
+
+            String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase();
+            if(message.contains("nonce too low")) {
+                account.needSync = true;
+            } else if(!message.contains("known transaction") && !message.contains("same nonce")) {
+                account.released.add(nonce.longValue());
+            }
+        }
+    }
+
+    /**
+     * Updates the state of the nonce with a response of `klay_sendRawTransaction`.
+     * @param address The address of the sender.
+     * @param nonce The nonce of the transaction.
+     * @param response The response of `klay_sendRawTransaction`.
+     */
+    public void handleResponse(String address, BigInteger nonce, Response<?> response) {
+        if(response.hasError()) {
+            handleError(address, nonce, response.getError());
+        } else {
+            confirm(address, nonce);
+        }
+    }
+
+    /**
+     * Synchronizes the nonce state of the address with the pending transaction count of the node.<p>
+     * Nonces below the pending transaction count are no longer tracked, and the next nonce does not go below it.
+     * A nonce marked by `markUnknown` which is not below the pending transaction count was lost by the node,
+     * so it is handed out again with the released nonces. A confirmed nonce is never handed out again,
+     * because the count of a node may lag behind the transactions already accepted by another node.
+     * @param address The address of the sender.
+     * @throws IOException
+     */
+    public void resync(String address) throws IOException {
+        AccountNonce account = getAccount(address);
+        account.needSync = true;
+        sync(account);
+    }
+
+    /**
+     * Removes the nonce state of the address. The next `getNonce` fetches the pending transaction count from the node.
+     * @param address The address of the sender.
+     */
+    public void reset(String address) {
+        accounts.remove(normalize(address));
+    }
+
+    /**
+     * Removes the nonce state of all addresses.
+     */
+    public void reset() {
+        accounts.clear();
+    }
+
+    /**
+     * Returns the nonces which are allocated but not confirmed or released yet.
+     * @param address The address of the sender.
+     * @return List
+     */
+    public List<BigInteger> getInFlightNonces(String address) {
+        return getAccount(address).inFlight.stream()
+                .map(BigInteger::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the nonces which will be handed out again before a new nonce.
+     * @param address The address of the sender.
+     * @return List
+     */
+    public List<BigInteger> getReleasedNonces(String address) {
+        return getAccount(address).released.stream()
+                .map(BigInteger::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Getter function for klay
+     * @return Klay
+     */
+    public Klay getKlay() {
+        return klay;
+    }
+
+    private AccountNonce getAccount(String address) {
+        return accounts.computeIfAbsent(normalize(address), AccountNonce::new);
+    }
+
+    private void sync(AccountNonce account) throws IOException {
+        synchronized(account) {
+            if(!account.needSync) {
+                return;
+            }
+
+            Quantity response = klay.getTransactionCount(account.address, DefaultBlockParameterName.PENDING).send();
+            if(response.hasError()) {
+                throw new IOException(response.getError().getMessage());
+            }
+            long pending = response.getValue().longValue();
+
+            account.released.headSet(pending).clear();
+            account.inFlight.headSet(pending).clear();
+            account.unknown.headSet(pending).clear();
+            account.released.addAll(account.unknown);
+            account.unknown.clear();
+            account.next.accumulateAndGet(pending, Math::max);
+            account.needSync = false;
+        }
+    }
+
+    private String normalize(String address) {
+        return Utils.addHexPrefix(address).toLowerCase();
+    }
+
+    /**
+     * The nonce state of an address.
+     */
+    private static class AccountNonce {
+        final String address;
+        final AtomicLong next = new AtomicLong();
+        final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        final ConcurrentSkipListSet<Long> released = new ConcurrentSkipListSet<>();
+
+        /**
+         * The nonces whose transaction may or may not have been received by the node. They are checked in `sync`.
+         */
+        final ConcurrentSkipListSet<Long> unknown = new ConcurrentSkipListSet<>();
+        volatile boolean needSync = true;
+
+        AccountNonce(String address) {
+            this.address = address;
+        }
+    }
+}
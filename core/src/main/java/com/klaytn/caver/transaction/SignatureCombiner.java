@@ -0,0 +1,344 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.transaction;
+
+import com.klaytn.caver.transaction.type.TransactionType;
+import com.klaytn.caver.utils.HexCodec;
+import com.klaytn.caver.utils.Utils;
+import com.klaytn.caver.wallet.keyring.SignatureData;
+import org.web3j.rlp.RlpDecoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
+import org.web3j.utils.Numeric;
+
+import java.util.*;
+
+/**
+ * Combines the signatures of RLP-encoded transactions into a transaction, in time linear to the number of signatures.<p>
+ * Instead of decoding each RLP-encoded transaction into a transaction instance and comparing it field by field,
+ * the bytes of the signed fields are compared with those of the transaction as they are, and only the signatures
+ * (and the fee payer) are decoded. The signatures already combined are kept in hash sets,
+ * so a signature which is combined again is dropped in constant time.<p>
+ * RLP-encoded transactions can be added as they arrive, and the combined transaction is built when it is requested.
+ * <pre>
+ * SignatureCombiner combiner = new SignatureCombiner(transaction);
+ * combiner.add(rawTransactionFromSigner1);
+ * combiner.add(rawTransactionFromSigner2);
+ * String rawTransaction = combiner.getRawTransaction();
+ * </pre>
+ */
+public class SignatureCombiner {
+
+    /**
+     * The number of the fields which follow the signed fields in a legacy transaction. (v, r, s)
+     */
+    static final int LEGACY_SIGNATURE_FIELDS = 3;
+
+    /**
+     * The number of the fields which follow the signed fields in a fee delegated transaction. (txSignatures, feePayer, feePayerSignatures)
+     */
+    static final int FEE_DELEGATED_SIGNATURE_FIELDS = 3;
+
+    private final AbstractTransaction transaction;
+    private final boolean legacy;
+    private final boolean feeDelegated;
+
+    /**
+     * The RLP-encoded signed fields of the transaction. It is encoded when the first RLP-encoded transaction is added.
+     */
+    private byte[] signedFields;
+
+    private final Set<SignatureData> signatures = new HashSet<>();
+    private final Set<SignatureData> feePayerSignatures = new HashSet<>();
+
+    /**
+     * The signatures which are combined but not appended to the transaction yet.
+     */
+    private final List<SignatureData> pendingSignatures = new ArrayList<>();
+    private final List<SignatureData> pendingFeePayerSignatures = new ArrayList<>();
+
+    /**
+     * Creates a SignatureCombiner instance.
+     * @param transaction The transaction to combine the signatures into.
+     */
+    public SignatureCombiner(AbstractTransaction transaction) {
+        this.transaction = transaction;
+        this.legacy = transaction.getType().equals(TransactionType.TxTypeLegacyTransaction.toString());
+        this.feeDelegated = transaction instanceof AbstractFeeDelegatedTransaction;
+
+        addAll(transaction.getSignatures(), signatures, null);
+        if(feeDelegated) {
+            addAll(((AbstractFeeDelegatedTransaction)transaction).getFeePayerSignatures(), feePayerSignatures, null);
+        }
+    }
+
+    /**
+     * Combines the signatures of the RLP-encoded transactions.
+     * @param rlpEncoded A List of RLP-encoded transaction strings.
+     * @return int The number of the signatures newly combined.
+     */
+    public int addAll(List<String> rlpEncoded) {
+        int count = 0;
+        for(String encoded : rlpEncoded) {
+            count += add(encoded);
+        }
+        return count;
+    }
+
+    /**
+     * Combines the signatures of the RLP-encoded transaction.<p>
+     * An error is thrown if the RLP-encoded transaction contains different value except signatures.
+     * @param rlpEncoded An RLP-encoded transaction string.
+     * @return int The number of the signatures newly combined.
+     */
+    public int add(String rlpEncoded) {
+        byte[] encoded = HexCodec.toBytes(rlpEncoded);
+        if(signedFields == null) {
+            init(rlpEncoded);
+        }
+
+        // A typed transaction is the type followed by the RLP-encoded list, and the list is compared with the type.
+        int start = legacy ? 0 : 1;
+        if(!legacy && (encoded.length == 0 || encoded[0] != signedFields[0])) {
+            throw new RuntimeException("Transactions containing different information cannot be combined.");
+        }
+
+        List<Integer> offsets = getFieldOffsets(encoded, start);
+        int signatureFields = legacy ? LEGACY_SIGNATURE_FIELDS : (feeDelegated ? FEE_DELEGATED_SIGNATURE_FIELDS : 1);
+        int signatureIndex = offsets.size() - 1 - signatureFields;
+        if(signatureIndex < 1) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction : " + rlpEncoded);
+        }
+
+        int fieldsStart = offsets.get(0);
+        int fieldsEnd = offsets.get(signatureIndex);
+        if(!isSignedFields(encoded, fieldsStart, fieldsEnd)) {
+            throw new RuntimeException("Transactions containing different information cannot be combined.");
+        }
+
+        if(legacy) {
+            SignatureData signatureData = new SignatureData(
+                    decodeString(encoded, offsets.get(signatureIndex), offsets.get(signatureIndex + 1)),
+                    decodeString(encoded, offsets.get(signatureIndex + 1), offsets.get(signatureIndex + 2)),
+                    decodeString(encoded, offsets.get(signatureIndex + 2), offsets.get(signatureIndex + 3)));
+            // A legacy transaction has only one signature, so it is left to the transaction to reject another one.
+            signatures.add(signatureData);
+            pendingSignatures.add(signatureData);
+            return 1;
+        }
+
+        int count = addAll(decodeSignatures(encoded, offsets.get(signatureIndex), offsets.get(signatureIndex + 1)), signatures, pendingSignatures);
+        if(feeDelegated) {
+            String feePayer = Numeric.toHexString(decodeString(encoded, offsets.get(signatureIndex + 1), offsets.get(signatureIndex + 2)));
+            List<SignatureData> decoded = decodeSignatures(encoded, offsets.get(signatureIndex + 2), offsets.get(signatureIndex + 3));
+            checkFeePayer(feePayer, !Utils.isEmptySig(decoded));
+            count += addAll(decoded, feePayerSignatures, pendingFeePayerSignatures);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the transaction with all signatures combined.
+     * @return AbstractTransaction
+     */
+    public AbstractTransaction getTransaction() {
+        if(!pendingSignatures.isEmpty()) {
+            transaction.appendSignatures(new ArrayList<>(pendingSignatures));
+            pendingSignatures.clear();
+        }
+        if(!pendingFeePayerSignatures.isEmpty()) {
+            ((AbstractFeeDelegatedTransaction)transaction).appendFeePayerSignatures(new ArrayList<>(pendingFeePayerSignatures));
+            pendingFeePayerSignatures.clear();
+        }
+        return transaction;
+    }
+
+    /**
+     * Returns the RLP-encoded transaction string with all signatures combined.
+     * @return String
+     */
+    public String getRawTransaction() {
+        return getTransaction().getRLPEncoding();
+    }
+
+    /**
+     * Returns the number of the sender's signatures combined.
+     * @return int
+     */
+    public int getSignatureCount() {
+        return signatures.size();
+    }
+
+    /**
+     * Returns the number of the fee payer's signatures combined.
+     * @return int
+     */
+    public int getFeePayerSignatureCount() {
+        return feePayerSignatures.size();
+    }
+
+    /**
+     * Encodes the signed fields of the transaction.
+     * If the nonce or the gasPrice of the transaction is not defined, they are filled with the decoded result of the RLP-encoded transaction.
+     */
+    private void init(String rlpEncoded) {
+        if(transaction.getNonce().equals("0x") || transaction.getGasPrice().equals("0x")) {
+            AbstractTransaction txObj = TransactionDecoder.decode(rlpEncoded);
+            if(transaction.getNonce().equals("0x")) transaction.setNonce(txObj.getNonce());
+            if(transaction.getGasPrice().equals("0x")) transaction.setGasPrice(txObj.getGasPrice());
+        }
+
+        byte[] encoded = transaction.getRLPEncodingAsByteArray();
+        int start = legacy ? 0 : 1;
+        List<Integer> offsets = getFieldOffsets(encoded, start);
+        int signatureFields = legacy ? LEGACY_SIGNATURE_FIELDS : (feeDelegated ? FEE_DELEGATED_SIGNATURE_FIELDS : 1);
+        int fieldsEnd = offsets.get(offsets.size() - 1 - signatureFields);
+
+        // The type of a typed transaction is kept at the first byte.
+        signedFields = new byte[start + fieldsEnd - offsets.get(0)];
+        System.arraycopy(encoded, 0, signedFields, 0, start);
+        System.arraycopy(encoded, offsets.get(0), signedFields, start, fieldsEnd - offsets.get(0));
+    }
+
+    private boolean isSignedFields(byte[] encoded, int from, int to) {
+        int start = legacy ? 0 : 1;
+        if(to - from != signedFields.length - start) {
+            return false;
+        }
+        for(int i = from; i < to; i++) {
+            if(encoded[i] != signedFields[start + i - from]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkFeePayer(String feePayer, boolean hasSignatures) {
+        AbstractFeeDelegatedTransaction feeDelegatedTransaction = (AbstractFeeDelegatedTransaction)transaction;
+        boolean isEmpty = isEmptyAddress(feePayer);
+
+        if(isEmptyAddress(feeDelegatedTransaction.getFeePayer())) {
+            if(!isEmpty) {
+                feeDelegatedTransaction.setFeePayer(feePayer);
+            }
+        } else if(isEmpty ? hasSignatures : !feePayer.equalsIgnoreCase(feeDelegatedTransaction.getFeePayer())) {
+            // The sender's signatures do not cover the fee payer, so only the fee payer of the signed ones is compared.
+            throw new RuntimeException("Transactions containing different information cannot be combined.");
+        }
+    }
+
+    private static boolean isEmptyAddress(String address) {
+        return address == null || address.equals("0x") || address.equals(Utils.DEFAULT_ZERO_ADDRESS);
+    }
+
+    private static int addAll(List<SignatureData> signatureDataList, Set<SignatureData> combined, List<SignatureData> pending) {
+        int count = 0;
+        for(SignatureData signatureData : signatureDataList) {
+            if(!Utils.isEmptySig(signatureData) && combined.add(signatureData)) {
+                if(pending != null) {
+                    pending.add(signatureData);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<SignatureData> decodeSignatures(byte[] encoded, int from, int to) {
+        RlpList decoded = RlpDecoder.decode(Arrays.copyOfRange(encoded, from, to));
+        return SignatureData.decodeSignatures(((RlpList)decoded.getValues().get(0)).getValues());
+    }
+
+    private static byte[] decodeString(byte[] encoded, int from, int to) {
+        RlpList decoded = RlpDecoder.decode(Arrays.copyOfRange(encoded, from, to));
+        return ((RlpString)decoded.getValues().get(0)).getBytes();
+    }
+
+    /**
+     * Returns the offsets of the fields in the RLP-encoded list at the start, and the end offset of the list as the last element.
+     * Only the headers of the fields are read.
+     */
+    static List<Integer> getFieldOffsets(byte[] encoded, int start) {
+        if(start >= encoded.length || (encoded[start] & 0xff) < 0xc0) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction.");
+        }
+
+        int offset = start + getHeaderLength(encoded, start);
+        int end = start + getItemLength(encoded, start);
+        if(end != encoded.length) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction.");
+        }
+
+        List<Integer> offsets = new ArrayList<>();
+        while(offset < end) {
+            offsets.add(offset);
+            offset += getItemLength(encoded, offset);
+        }
+        if(offset != end) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction.");
+        }
+        offsets.add(end);
+        return offsets;
+    }
+
+    private static int getHeaderLength(byte[] encoded, int offset) {
+        int prefix = encoded[offset] & 0xff;
+        if(prefix < 0x80) {
+            return 0;
+        } else if(prefix <= 0xb7) {
+            return 1;
+        } else if(prefix < 0xc0) {
+            return 1 + prefix - 0xb7;
+        } else if(prefix <= 0xf7) {
+            return 1;
+        }
+        return 1 + prefix - 0xf7;
+    }
+
+    private static int getItemLength(byte[] encoded, int offset) {
+        int prefix = encoded[offset] & 0xff;
+        long length;
+        if(prefix < 0x80) {
+            length = 1;
+        } else if(prefix <= 0xb7) {
+            length = 1 + prefix - 0x80;
+        } else if(prefix < 0xc0) {
+            length = 1 + (prefix - 0xb7) + readLength(encoded, offset + 1, prefix - 0xb7);
+        } else if(prefix <= 0xf7) {
+            length = 1 + prefix - 0xc0;
+        } else {
+            length = 1 + (prefix - 0xf7) + readLength(encoded, offset + 1, prefix - 0xf7);
+        }
+
+        if(offset + length > encoded.length) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction.");
+        }
+        return (int)length;
+    }
+
+    private static long readLength(byte[] encoded, int offset, int size) {
+        if(size > 4 || offset + size > encoded.length) {
+            throw new IllegalArgumentException("Invalid RLP-encoded transaction.");
+        }
+
+        long length = 0;
+        for(int i = 0; i < size; i++) {
+            length = (length << 8) | (encoded[offset + i] & 0xff);
+        }
+        return length;
+    }
+}
@@ -17,7 +17,7 @@
 package com.klaytn.caver.transaction;
 
 import com.klaytn.caver.transaction.type.*;
-import org.web3j.utils.Numeric;
+import com.klaytn.caver.utils.HexCodec;
 
 public class TransactionDecoder {
     /**
@@ -26,7 +26,7 @@ public class TransactionDecoder {
      * @return AbstractTransaction
      */
     public static AbstractTransaction decode(String rlpEncoded) {
-        byte[] rlpBytes = Numeric.hexStringToByteArray(rlpEncoded);
+        byte[] rlpBytes = HexCodec.toBytes(rlpEncoded);
 
         if(rlpBytes[0] == TransactionType.TxTypeValueTransfer.getType()) {
             return ValueTransfer.decode(rlpBytes);
@@ -17,16 +17,25 @@
 package com.klaytn.caver.transaction;
 
 import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
 
 public class TransactionHasher {
 
     public static String getHashForSignature(AbstractTransaction transaction) {
-        String rlpEncoded = transaction.getRLPEncodingForSignature();
+        return Numeric.toHexString(getHashForSignatureAsByteArray(transaction));
+    }
+
+    public static byte[] getHashForSignatureAsByteArray(AbstractTransaction transaction) {
+        byte[] rlpEncoded = transaction.getRLPEncodingForSignatureAsByteArray();
         return Hash.sha3(rlpEncoded);
     }
 
     public static String getHashForFeePayerSignature(AbstractFeeDelegatedTransaction transaction) {
-        String rlpEncoded = transaction.getRLPEncodingForFeePayerSignature();
+        return Numeric.toHexString(getHashForFeePayerSignatureAsByteArray(transaction));
+    }
+
+    public static byte[] getHashForFeePayerSignatureAsByteArray(AbstractFeeDelegatedTransaction transaction) {
+        byte[] rlpEncoded = transaction.getRLPEncodingForFeePayerSignatureAsByteArray();
         return Hash.sha3(rlpEncoded);
     }
 }
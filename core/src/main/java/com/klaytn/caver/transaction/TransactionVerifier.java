@@ -0,0 +1,424 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.transaction;
+
+import com.klaytn.caver.account.*;
+import com.klaytn.caver.methods.response.AccountKey;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.KlayBatch;
+import com.klaytn.caver.utils.AccountKeyPublicUtils;
+import com.klaytn.caver.utils.HexCodec;
+import com.klaytn.caver.utils.Utils;
+import com.klaytn.caver.wallet.keyring.SignatureData;
+import org.web3j.crypto.ECDSASignature;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Verifies the signatures of transactions against the account keys of the senders and fee payers.<p>
+ * The public keys are recovered from every signature of a transaction, and evaluated with the account key:
+ * <ul>
+ *     <li>AccountKeyLegacy : one of the public keys is of the address.</li>
+ *     <li>AccountKeyPublic : one of the public keys is the key.</li>
+ *     <li>AccountKeyWeightedMultiSig : the sum of the weights of the keys which signed reaches the threshold.</li>
+ *     <li>AccountKeyRoleBased : the key of the role is evaluated. The role is RoleAccountUpdate for account update transactions,
+ *     RoleFeePayer for the fee payer signatures and RoleTransaction otherwise. A role which is not set falls back to RoleTransaction.</li>
+ *     <li>AccountKeyFail and AccountKeyNil : never satisfied.</li>
+ * </ul>
+ * A recovered public key is cached by the hash and the signature, so a signature is recovered once
+ * even if the same transaction is verified again. `verifyAll` verifies transactions in parallel with the executor.
+ * <pre>
+ * TransactionVerifier verifier = new TransactionVerifier();
+ * List&lt;Boolean&gt; valid = verifier.verifyAll(transactions, caver.rpc.getKlay());
+ * </pre>
+ */
+public class TransactionVerifier {
+
+    /**
+     * The default max number of the recovered public keys in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 65536;
+
+    /**
+     * The executor which verifies transactions in `verifyAll`.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The recovered public keys by the hash and the signature in the least recently used order. It is guarded by itself.
+     */
+    private final Map<String, BigInteger> publicKeys;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a TransactionVerifier instance which verifies with the common ForkJoinPool.
+     */
+    public TransactionVerifier() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a TransactionVerifier instance.
+     * @param executor The executor which verifies transactions in `verifyAll`. It is not shut down by this instance.
+     * @param cacheSize The max number of the recovered public keys in the cache. If it is 0, they are not cached.
+     */
+    public TransactionVerifier(ExecutorService executor, int cacheSize) {
+        if(cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size : " + cacheSize);
+        }
+
+        this.executor = executor;
+        this.publicKeys = new LinkedHashMap<String, BigInteger>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BigInteger> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Recovers the public keys from the signatures of the sender.
+     * @param transaction A signed transaction.
+     * @return List The uncompressed public keys with "0x" prefix.
+     * @throws SignatureException If a public key cannot be recovered from a signature.
+     */
+    public List<String> recoverPublicKeys(AbstractTransaction transaction) throws SignatureException {
+        return toHexStrings(recover(TransactionHasher.getHashForSignatureAsByteArray(transaction), transaction.getSignatures()));
+    }
+
+    /**
+     * Recovers the public keys from the signatures of the fee payer.
+     * @param transaction A signed fee delegated transaction.
+     * @return List The uncompressed public keys with "0x" prefix.
+     * @throws SignatureException If a public key cannot be recovered from a signature.
+     */
+    public List<String> recoverFeePayerPublicKeys(AbstractFeeDelegatedTransaction transaction) throws SignatureException {
+        return toHexStrings(recover(TransactionHasher.getHashForFeePayerSignatureAsByteArray(transaction), transaction.getFeePayerSignatures()));
+    }
+
+    /**
+     * Verifies the signatures of the sender with the account key of the sender.
+     * @param transaction A signed transaction.
+     * @param accountKey The account key of the sender.
+     * @return boolean
+     */
+    public boolean verify(AbstractTransaction transaction, IAccountKey accountKey) {
+        if(Utils.isEmptySig(transaction.getSignatures())) {
+            return false;
+        }
+
+        try {
+            Set<BigInteger> keys = recover(TransactionHasher.getHashForSignatureAsByteArray(transaction), transaction.getSignatures());
+            return isSatisfied(accountKey, getRole(transaction), transaction.getFrom(), keys);
+        } catch(SignatureException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the signatures of the fee payer with the account key of the fee payer.
+     * @param transaction A signed fee delegated transaction.
+     * @param accountKey The account key of the fee payer.
+     * @return boolean
+     */
+    public boolean verifyFeePayer(AbstractFeeDelegatedTransaction transaction, IAccountKey accountKey) {
+        if(Utils.isEmptySig(transaction.getFeePayerSignatures())) {
+            return false;
+        }
+
+        try {
+            Set<BigInteger> keys = recover(TransactionHasher.getHashForFeePayerSignatureAsByteArray(transaction), transaction.getFeePayerSignatures());
+            return isSatisfied(accountKey, AccountKeyRoleBased.RoleGroup.FEE_PAYER, transaction.getFeePayer(), keys);
+        } catch(SignatureException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the transactions in parallel with the account keys fetched from the node.<p>
+     * The account keys of all senders and fee payers are fetched with JSON-RPC batches.
+     * @param transactions Signed transactions.
+     * @param klay Klay RPC instance used to fetch the account keys.
+     * @return List Whether each transaction is valid, in the order of the given transactions.
+     * @throws IOException
+     */
+    public List<Boolean> verifyAll(List<? extends AbstractTransaction> transactions, Klay klay) throws IOException {
+        Set<String> addresses = new LinkedHashSet<>();
+        for(AbstractTransaction transaction : transactions) {
+            addresses.add(transaction.getFrom().toLowerCase());
+            if(transaction instanceof AbstractFeeDelegatedTransaction && hasFeePayerSignatures((AbstractFeeDelegatedTransaction)transaction)) {
+                addresses.add(((AbstractFeeDelegatedTransaction)transaction).getFeePayer().toLowerCase());
+            }
+        }
+
+        KlayBatch batch = klay.newBatch(KlayBatch.DEFAULT_MAX_BATCH_SIZE);
+        Map<String, KlayBatch.Entry<AccountKey>> entries = new HashMap<>();
+        for(String address : addresses) {
+            entries.put(address, batch.add(klay.getAccountKey(address)));
+        }
+        batch.send();
+
+        Map<String, IAccountKey> accountKeys = new HashMap<>();
+        for(Map.Entry<String, KlayBatch.Entry<AccountKey>> entry : entries.entrySet()) {
+            AccountKey response = entry.getValue().getResponse();
+            if(response.hasError()) {
+                throw new IOException(response.getError().getMessage());
+            }
+            // An account which does not exist yet is regarded as having AccountKeyLegacy.
+            accountKeys.put(entry.getKey(), response.getResult() == null ? new AccountKeyLegacy() : response.getResult().getAccountKey());
+        }
+
+        return verifyAll(transactions, address -> accountKeys.get(address.toLowerCase()));
+    }
+
+    /**
+     * Verifies the transactions in parallel.<p>
+     * A transaction is valid if the signatures of the sender satisfy the account key of the sender,
+     * and the signatures of the fee payer (if the transaction has them) satisfy the account key of the fee payer.
+     * @param transactions Signed transactions.
+     * @param accountKeys The function which returns the account key of an address.
+     * @return List Whether each transaction is valid, in the order of the given transactions.
+     * @throws IOException
+     */
+    public List<Boolean> verifyAll(List<? extends AbstractTransaction> transactions, Function<String, IAccountKey> accountKeys) throws IOException {
+        if(transactions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int taskCount = Math.min(transactions.size(), Runtime.getRuntime().availableProcessors() * 4);
+        int taskSize = (transactions.size() + taskCount - 1) / taskCount;
+
+        Boolean[] results = new Boolean[transactions.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for(int start = 0; start < transactions.size(); start += taskSize) {
+            int from = start;
+            int to = Math.min(start + taskSize, transactions.size());
+            tasks.add(() -> {
+                for(int i = from; i < to; i++) {
+                    results[i] = verifyWithKeys(transactions.get(i), accountKeys);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for(Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while verifying transactions.", e);
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Returns true if the public keys satisfy the account key for the role.
+     * @param accountKey The account key.
+     * @param role The role which the signatures are for.
+     * @param address The address of the account. It is used for AccountKeyLegacy.
+     * @param publicKeys The recovered public keys with "0x" prefix. Compressed or uncompressed.
+     * @return boolean
+     */
+    public static boolean isSatisfied(IAccountKey accountKey, AccountKeyRoleBased.RoleGroup role, String address, Collection<String> publicKeys) {
+        Set<BigInteger> keys = new HashSet<>();
+        for(String publicKey : publicKeys) {
+            keys.add(toBigInteger(publicKey));
+        }
+        return isSatisfied(accountKey, role, address, keys);
+    }
+
+    /**
+     * Removes all recovered public keys in the cache.
+     */
+    public void invalidateAll() {
+        synchronized(publicKeys) {
+            publicKeys.clear();
+        }
+    }
+
+    /**
+     * Returns the number of signatures whose public key is found in the cache.
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of signatures recovered.
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private boolean verifyWithKeys(AbstractTransaction transaction, Function<String, IAccountKey> accountKeys) {
+        IAccountKey senderKey = accountKeys.apply(transaction.getFrom());
+        if(senderKey == null || !verify(transaction, senderKey)) {
+            return false;
+        }
+
+        if(transaction instanceof AbstractFeeDelegatedTransaction) {
+            AbstractFeeDelegatedTransaction feeDelegated = (AbstractFeeDelegatedTransaction)transaction;
+            if(hasFeePayerSignatures(feeDelegated)) {
+                IAccountKey feePayerKey = accountKeys.apply(feeDelegated.getFeePayer());
+                return feePayerKey != null && verifyFeePayer(feeDelegated, feePayerKey);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSatisfied(IAccountKey accountKey, AccountKeyRoleBased.RoleGroup role, String address, Set<BigInteger> keys) {
+        if(accountKey instanceof AccountKeyRoleBased) {
+            List<IAccountKey> roleKeys = ((AccountKeyRoleBased)accountKey).getAccountKeys();
+            IAccountKey roleKey = role.getIndex() < roleKeys.size() ? roleKeys.get(role.getIndex()) : null;
+            if(roleKey == null || roleKey instanceof AccountKeyNil) {
+                roleKey = roleKeys.get(AccountKeyRoleBased.RoleGroup.TRANSACTION.getIndex());
+            }
+            return isSatisfied(roleKey, role, address, keys);
+        }
+
+        if(accountKey instanceof AccountKeyLegacy) {
+            for(BigInteger key : keys) {
+                if(Numeric.prependHexPrefix(Keys.getAddress(key)).equalsIgnoreCase(address)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if(accountKey instanceof AccountKeyPublic) {
+            return keys.contains(toBigInteger(((AccountKeyPublic)accountKey).getPublicKey()));
+        }
+
+        if(accountKey instanceof AccountKeyWeightedMultiSig) {
+            AccountKeyWeightedMultiSig multiSig = (AccountKeyWeightedMultiSig)accountKey;
+            BigInteger weight = BigInteger.ZERO;
+            for(WeightedPublicKey weightedPublicKey : multiSig.getWeightedPublicKeys()) {
+                if(keys.contains(toBigInteger(weightedPublicKey.getPublicKey()))) {
+                    weight = weight.add(weightedPublicKey.getWeight());
+                }
+            }
+            return weight.compareTo(multiSig.getThreshold()) >= 0;
+        }
+
+        return false;
+    }
+
+    /**
+     * Recovers the public keys from the signatures. The same public key is counted once.
+     */
+    private Set<BigInteger> recover(byte[] hash, List<SignatureData> signatures) throws SignatureException {
+        String hashHex = HexCodec.toHexStringNoPrefix(hash);
+        Set<BigInteger> keys = new LinkedHashSet<>();
+        for(SignatureData signature : signatures) {
+            if(Utils.isEmptySig(signature)) {
+                continue;
+            }
+
+            String cacheKey = hashHex + signature.getV() + signature.getR() + signature.getS();
+            BigInteger key;
+            synchronized(publicKeys) {
+                key = publicKeys.get(cacheKey);
+            }
+
+            if(key != null) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+                key = recover(hash, signature);
+                synchronized(publicKeys) {
+                    publicKeys.put(cacheKey, key);
+                }
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static BigInteger recover(byte[] hash, SignatureData signature) throws SignatureException {
+        byte[] r = HexCodec.toBytes(signature.getR());
+        byte[] s = HexCodec.toBytes(signature.getS());
+        if(r.length > 32 || s.length > 32) {
+            throw new SignatureException("Invalid signature length.");
+        }
+
+        BigInteger v = Numeric.toBigInt(signature.getV());
+        int recId;
+        if(v.compareTo(BigInteger.valueOf(35)) >= 0) {
+            // v = chainId * 2 + 35 + recId
+            recId = v.subtract(BigInteger.valueOf(35)).testBit(0) ? 1 : 0;
+        } else if(v.intValue() >= 27) {
+            recId = v.intValue() - 27;
+        } else {
+            recId = v.intValue();
+        }
+        if(recId < 0 || recId > 3) {
+            throw new SignatureException("Invalid v : " + signature.getV());
+        }
+
+        BigInteger key = Sign.recoverFromSignature(recId, new ECDSASignature(new BigInteger(1, r), new BigInteger(1, s)), hash);
+        if(key == null) {
+            throw new SignatureException("Could not recover public key from signature");
+        }
+        return key;
+    }
+
+    private static AccountKeyRoleBased.RoleGroup getRole(AbstractTransaction transaction) {
+        return transaction.getType().contains("AccountUpdate") ? AccountKeyRoleBased.RoleGroup.ACCOUNT_UPDATE : AccountKeyRoleBased.RoleGroup.TRANSACTION;
+    }
+
+    private static boolean hasFeePayerSignatures(AbstractFeeDelegatedTransaction transaction) {
+        return !Utils.isEmptySig(transaction.getFeePayerSignatures());
+    }
+
+    private static BigInteger toBigInteger(String publicKey) {
+        String key = AccountKeyPublicUtils.isCompressedPublicKey(publicKey) ? Utils.decompressPublicKey(publicKey) : publicKey;
+        key = Numeric.cleanHexPrefix(key);
+        if(key.length() == 130 && key.startsWith("04")) {
+            key = key.substring(2);
+        }
+        return new BigInteger(key, 16);
+    }
+
+    private static List<String> toHexStrings(Set<BigInteger> keys) {
+        List<String> result = new ArrayList<>(keys.size());
+        for(BigInteger key : keys) {
+            result.add(Numeric.toHexStringWithPrefixZeroPadded(key, 128));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.transaction.response;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.methods.response.Block;
+import com.klaytn.caver.methods.response.BlockTransactionReceipts;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.rpc.KlayBatch;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.Numeric;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Transaction receipt processor that fetches the receipts per block instead of per transaction hash.<p>
+ * It watches new blocks, by a `newHeads` subscription if the provider is a WebSocketService or by polling `klay_blockNumber` otherwise.
+ * Every new block is fetched with a single `klay_getBlockByNumber` request, and for a block which includes pending transactions,
+ * all receipts of the block are fetched with a single `klay_getBlockReceipts` request and the pending transactions in the block are completed.
+ * The transaction hashes of the last {@value #RECENT_BLOCKS} blocks are kept, so a transaction included in a block before it is registered
+ * is completed without waiting for the following blocks. If receipts are not found within the given number of blocks,
+ * they are requested by the transaction hashes in a single batch request before giving up.
+ */
+public class BlockTransactionReceiptProcessor extends TransactionReceiptProcessor implements Closeable {
+    public static final long DEFAULT_POLLING_FREQUENCY = 1000;
+    public static final int DEFAULT_BLOCK_ATTEMPTS = 60;
+
+    /**
+     * The number of the processed blocks whose transaction hashes are kept to match transactions registered later.
+     */
+    public static final int RECENT_BLOCKS = 16;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockTransactionReceiptProcessor.class);
+
+    private final Caver caver;
+    private final int blockAttempts;
+    private final ScheduledExecutorService executor;
+    private final Map<String, PendingReceipt> pendingTransactions = new ConcurrentHashMap<>();
+
+    /**
+     * The hash and the transaction hashes of the recently processed blocks. It is accessed only in the executor.
+     */
+    private final Deque<RecentBlock> recentBlocks = new ArrayDeque<>();
+
+    private Disposable subscription;
+    private long lastProcessedBlock = -1;
+
+    public BlockTransactionReceiptProcessor(Caver caver) {
+        this(caver, DEFAULT_POLLING_FREQUENCY, DEFAULT_BLOCK_ATTEMPTS);
+    }
+
+    public BlockTransactionReceiptProcessor(Caver caver, long pollingFrequency, int blockAttempts) {
+        super(caver);
+        this.caver = caver;
+        this.blockAttempts = blockAttempts;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "caver-block-receipt-processor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Web3jService service = caver.rpc.getWeb3jService();
+        if(service instanceof WebSocketService) {
+            Request<?, EthSubscribe> subscribeRequest = new Request<>(
+                    "klay_subscribe",
+                    Arrays.asList("newHeads"),
+                    service,
+                    EthSubscribe.class
+            );
+            this.subscription = service.subscribe(subscribeRequest, "klay_unsubscribe", NewHeadsNotification.class)
+                    .subscribe(
+                            notification -> {
+                                long blockNumber = Numeric.toBigInt(notification.getParams().getResult().getNumber()).longValue();
+                                executor.execute(() -> processBlocks(blockNumber));
+                            },
+                            throwable -> LOGGER.error("The newHeads subscription is failed.", throwable));
+        } else {
+            executor.scheduleWithFixedDelay(this::pollBlockNumber, pollingFrequency, pollingFrequency, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public TransactionReceipt.TransactionReceiptData waitForTransactionReceipt(String transactionHash) throws IOException, TransactionException {
+        try {
+            return waitForTransactionReceiptAsync(transactionHash).get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if(cause instanceof TransactionException) {
+                throw (TransactionException)cause;
+            }
+            throw new TransactionException(cause);
+        }
+    }
+
+    /**
+     * Returns a future which completes with the receipt of the transaction.
+     * @param transactionHash The transaction hash.
+     * @return CompletableFuture
+     */
+    public CompletableFuture<TransactionReceipt.TransactionReceiptData> waitForTransactionReceiptAsync(String transactionHash) {
+        String key = transactionHash.toLowerCase();
+        PendingReceipt created = new PendingReceipt();
+        PendingReceipt pending = pendingTransactions.putIfAbsent(key, created);
+        if(pending != null) {
+            return pending.future;
+        }
+
+        try {
+            executor.execute(() -> matchRecentBlocks(key, created));
+        } catch(RejectedExecutionException e) {
+            pendingTransactions.remove(key, created);
+            created.future.completeExceptionally(new TransactionException("The receipt processor is closed.", key));
+        }
+        return created.future;
+    }
+
+    /**
+     * Returns the number of transactions waiting for the receipt.
+     * @return int
+     */
+    public int getPendingCount() {
+        return pendingTransactions.size();
+    }
+
+    /**
+     * Stops watching new blocks. The pending transactions complete exceptionally.
+     */
+    @Override
+    public void close() {
+        if(subscription != null) {
+            subscription.dispose();
+        }
+        executor.shutdownNow();
+
+        for(Map.Entry<String, PendingReceipt> entry : pendingTransactions.entrySet()) {
+            entry.getValue().future.completeExceptionally(new TransactionException("The receipt processor is closed.", entry.getKey()));
+        }
+        pendingTransactions.clear();
+    }
+
+    private void pollBlockNumber() {
+        try {
+            Quantity blockNumber = caver.rpc.klay.getBlockNumber().send();
+            if(blockNumber.hasError()) {
+                throw new IOException(blockNumber.getError().getMessage());
+            }
+            processBlocks(blockNumber.getValue().longValue());
+        } catch(IOException | RuntimeException e) {
+            LOGGER.warn("Failed to get the block number.", e);
+        }
+    }
+
+    private void processBlocks(long latestBlock) {
+        if(lastProcessedBlock < 0) {
+            lastProcessedBlock = latestBlock - 1;
+        }
+
+        try {
+            while(lastProcessedBlock < latestBlock) {
+                processBlock(lastProcessedBlock + 1);
+                lastProcessedBlock++;
+            }
+        } catch(IOException | RuntimeException e) {
+            LOGGER.warn("Failed to process the block " + (lastProcessedBlock + 1) + ". It will be retried.", e);
+        }
+    }
+
+    private void processBlock(long blockNumber) throws IOException {
+        Block block = caver.rpc.klay.getBlockByNumber(blockNumber, false).send();
+        if(block.hasError()) {
+            throw new IOException(block.getError().getMessage());
+        }
+        if(block.getResult() == null) {
+            throw new IOException("The block " + blockNumber + " is not found.");
+        }
+
+        Block.BlockData<?> blockData = block.getResult();
+        RecentBlock recentBlock = new RecentBlock(blockData.getHash());
+        for(Object transactionHash : blockData.getTransactions()) {
+            recentBlock.transactionHashes.add(transactionHash.toString().toLowerCase());
+        }
+        // The block is kept before matching the pending transactions,
+        // so a transaction registered during the matching is found by `matchRecentBlocks`.
+        recentBlocks.addLast(recentBlock);
+        if(recentBlocks.size() > RECENT_BLOCKS) {
+            recentBlocks.removeFirst();
+        }
+
+        if(!pendingTransactions.isEmpty()) {
+            for(String transactionHash : recentBlock.transactionHashes) {
+                if(pendingTransactions.containsKey(transactionHash)) {
+                    completeBlockReceipts(recentBlock.hash);
+                    break;
+                }
+            }
+        }
+
+        expirePendingTransactions();
+    }
+
+    /**
+     * Completes a newly registered transaction if it is included in one of the recently processed blocks.
+     * It runs in the executor, so it does not race with the block processing.
+     */
+    private void matchRecentBlocks(String transactionHash, PendingReceipt pending) {
+        if(pendingTransactions.get(transactionHash) != pending) {
+            return;
+        }
+
+        for(RecentBlock recentBlock : recentBlocks) {
+            if(recentBlock.transactionHashes.contains(transactionHash)) {
+                try {
+                    completeBlockReceipts(recentBlock.hash);
+                } catch(IOException | RuntimeException e) {
+                    LOGGER.warn("Failed to get the receipts of the block " + recentBlock.hash + ". The receipt of " + transactionHash + " will be requested after "
+                            + blockAttempts + " blocks.", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void completeBlockReceipts(String blockHash) throws IOException {
+        BlockTransactionReceipts receipts = caver.rpc.klay.getBlockReceipts(blockHash).send();
+        if(receipts.hasError()) {
+            throw new IOException(receipts.getError().getMessage());
+        }
+
+        for(TransactionReceipt.TransactionReceiptData receipt : receipts.getResult()) {
+            PendingReceipt pending = pendingTransactions.remove(receipt.getTransactionHash().toLowerCase());
+            if(pending != null) {
+                pending.future.complete(receipt);
+            }
+        }
+    }
+
+    private void expirePendingTransactions() {
+        List<Map.Entry<String, PendingReceipt>> expired = new ArrayList<>();
+        for(Map.Entry<String, PendingReceipt> entry : pendingTransactions.entrySet()) {
+            if(++entry.getValue().blocksWaited >= blockAttempts) {
+                expired.add(entry);
+            }
+        }
+        if(expired.isEmpty()) {
+            return;
+        }
+
+        // The transactions may have been included in a block processed before they were registered,
+        // so their receipts are requested together in a batch request.
+        KlayBatch batch = caver.rpc.klay.newBatch();
+        List<KlayBatch.Entry<TransactionReceipt>> receipts = new ArrayList<>(expired.size());
+        for(Map.Entry<String, PendingReceipt> entry : expired) {
+            receipts.add(batch.getTransactionReceipt(entry.getKey()));
+        }
+        try {
+            batch.send();
+        } catch(IOException e) {
+            // Each entry holds the exception.
+        }
+
+        for(int i = 0; i < expired.size(); i++) {
+            String transactionHash = expired.get(i).getKey();
+            PendingReceipt pending = expired.get(i).getValue();
+            if(!pendingTransactions.remove(transactionHash, pending)) {
+                continue;
+            }
+
+            try {
+                TransactionReceipt receipt = receipts.get(i).getResponse();
+                if(receipt.hasError()) {
+                    pending.future.completeExceptionally(new TransactionException("Error processing request: " + receipt.getError().getMessage()));
+                } else if(receipt.getResult() != null) {
+                    pending.future.complete(receipt.getResult());
+                } else {
+                    pending.future.completeExceptionally(new TransactionException("Transaction receipt was not generated after "
+                            + blockAttempts + " blocks for transaction: " + transactionHash, transactionHash));
+                }
+            } catch(IOException e) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class RecentBlock {
+        final String hash;
+        final Set<String> transactionHashes = new HashSet<>();
+
+        RecentBlock(String hash) {
+            this.hash = hash;
+        }
+    }
+
+    private static class PendingReceipt {
+        final CompletableFuture<TransactionReceipt.TransactionReceiptData> future = new CompletableFuture<>();
+        int blocksWaited = 0;
+    }
+}
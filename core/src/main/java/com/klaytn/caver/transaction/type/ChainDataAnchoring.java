@@ -19,6 +19,7 @@ package com.klaytn.caver.transaction.type;
 import com.klaytn.caver.rpc.Klay;
 import com.klaytn.caver.transaction.AbstractTransaction;
 import com.klaytn.caver.utils.BytesUtils;
+import com.klaytn.caver.utils.HexCodec;
 import com.klaytn.caver.utils.Utils;
 import com.klaytn.caver.wallet.keyring.SignatureData;
 import org.web3j.rlp.*;
@@ -90,7 +91,7 @@ public class ChainDataAnchoring extends AbstractTransaction {
      * @return ChainDataAnchoring
      */
     public static ChainDataAnchoring decode(String rlpEncoded) {
-        return decode(Numeric.hexStringToByteArray(rlpEncoded));
+        return decode(HexCodec.toBytes(rlpEncoded));
     }
 
     /**
@@ -132,11 +133,11 @@ public class ChainDataAnchoring extends AbstractTransaction {
     }
 
     /**
-     * Returns the RLP-encoded string of this transaction (i.e., rawTransaction).
-     * @return String
+     * Returns the RLP-encoded byte array of this transaction (i.e., rawTransaction).
+     * @return byte[]
      */
     @Override
-    public String getRLPEncoding() {
+    public byte[] getRLPEncodingAsByteArray() {
         // TxHashRLP = type + encode([nonce, gasPrice, gas, from, anchoredData, txSignatures])
         this.validateOptionalValues(false);
 
@@ -151,23 +152,23 @@ public class ChainDataAnchoring extends AbstractTransaction {
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
 
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getInput())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getInput())));
         rlpTypeList.add(new RlpList(signatureRLPList));
 
         byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
         byte[] type = new byte[] { (byte)TransactionType.TxTypeChainDataAnchoring.getType() };
         byte[] rawTx = BytesUtils.concat(type, encodedTransaction);
 
-        return Numeric.toHexString(rawTx);
+        return rawTx;
     }
 
     /**
-     * Returns the RLP-encoded string to make the signature of this transaction.
-     * @return String
+     * Returns the RLP-encoded byte array to make the signature of this transaction.
+     * @return byte[]
      */
     @Override
-    public String getCommonRLPEncodingForSignature() {
+    public byte[] getCommonRLPEncodingForSignatureAsByteArray() {
         // SigRLP = encode([encode([type, nonce, gasPrice, gas, from, anchoredData]), chainid, 0, 0])
         // encode([type, nonce, gasPrice, gas, from, anchoredData])
         this.validateOptionalValues(true);
@@ -179,13 +180,12 @@ public class ChainDataAnchoring extends AbstractTransaction {
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getInput())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getInput())));
 
         byte[] encoded = RlpEncoder.encode(new RlpList(rlpTypeList));
-        String encodedStr = Numeric.toHexString(encoded);
 
-        return encodedStr;
+        return encoded;
     }
 
     /**
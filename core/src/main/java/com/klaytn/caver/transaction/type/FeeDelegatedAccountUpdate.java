@@ -20,6 +20,7 @@ import com.klaytn.caver.rpc.Klay;
 import com.klaytn.caver.account.Account;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
 import com.klaytn.caver.utils.BytesUtils;
+import com.klaytn.caver.utils.HexCodec;
 import com.klaytn.caver.wallet.keyring.SignatureData;
 import org.web3j.crypto.Hash;
 import org.web3j.rlp.*;
@@ -105,7 +106,7 @@ public class FeeDelegatedAccountUpdate extends AbstractFeeDelegatedTransaction {
      * @return FeeDelegatedAccountUpdate
      */
     public static FeeDelegatedAccountUpdate decode(String rlpEncoded) {
-        return decode(Numeric.hexStringToByteArray(rlpEncoded));
+        return decode(HexCodec.toBytes(rlpEncoded));
     }
 
     /**
@@ -154,11 +155,11 @@ public class FeeDelegatedAccountUpdate extends AbstractFeeDelegatedTransaction {
     }
 
     /**
-     * Returns the RLP-encoded string of this transaction (i.e., rawTransaction).
-     * @return String
+     * Returns the RLP-encoded byte array of this transaction (i.e., rawTransaction).
+     * @return byte[]
      */
     @Override
-    public String getRLPEncoding() {
+    public byte[] getRLPEncodingAsByteArray() {
         // TxHashRLP = type + encode([nonce, gasPrice, gas, from, rlpEncodedKey, txSignatures, feePayer, feePayerSignatures])
         this.validateOptionalValues(false);
 
@@ -177,25 +178,25 @@ public class FeeDelegatedAccountUpdate extends AbstractFeeDelegatedTransaction {
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
         rlpTypeList.add(new RlpList(senderSignatureRLPList));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFeePayer())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFeePayer())));
         rlpTypeList.add(new RlpList(feePayerSignatureRLPList));
 
         byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
         byte[] type = new byte[] { (byte)TransactionType.TxTypeFeeDelegatedAccountUpdate.getType() };
         byte[] rawTx = BytesUtils.concat(type, encodedTransaction);
 
-        return Numeric.toHexString(rawTx);
+        return rawTx;
     }
 
     /**
-     * Returns the RLP-encoded string to make the signature of this transaction.
-     * @return String
+     * Returns the RLP-encoded byte array to make the signature of this transaction.
+     * @return byte[]
      */
     @Override
-    public String getCommonRLPEncodingForSignature() {
+    public byte[] getCommonRLPEncodingForSignatureAsByteArray() {
         //SigRLP = encode([encode([type, nonce, gasPrice, gas, from, rlpEncodedKey]), chainid, 0, 0])
         //encode([type, nonce, gasPrice, gas, from, rlpEncodedKey])
         this.validateOptionalValues(true);
@@ -207,13 +208,12 @@ public class FeeDelegatedAccountUpdate extends AbstractFeeDelegatedTransaction {
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
 
         byte[] encoded = RlpEncoder.encode(new RlpList(rlpTypeList));
-        String encodedStr = Numeric.toHexString(encoded);
 
-        return encodedStr;
+        return encoded;
     }
 
     /**
@@ -236,8 +236,8 @@ public class FeeDelegatedAccountUpdate extends AbstractFeeDelegatedTransaction {
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
         rlpTypeList.add(new RlpList(signatureRLPList));
 
         byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
@@ -20,6 +20,7 @@ import com.klaytn.caver.rpc.Klay;
 import com.klaytn.caver.account.Account;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedWithRatioTransaction;
 import com.klaytn.caver.utils.BytesUtils;
+import com.klaytn.caver.utils.HexCodec;
 import com.klaytn.caver.wallet.keyring.SignatureData;
 import org.web3j.crypto.Hash;
 import org.web3j.rlp.*;
@@ -107,7 +108,7 @@ public class FeeDelegatedAccountUpdateWithRatio extends AbstractFeeDelegatedWith
      * @return FeeDelegatedAccountUpdateWithRatio
      */
     public static FeeDelegatedAccountUpdateWithRatio decode(String rlpEncoded) {
-        return decode(Numeric.hexStringToByteArray(rlpEncoded));
+        return decode(HexCodec.toBytes(rlpEncoded));
     }
 
     /**
@@ -158,11 +159,11 @@ public class FeeDelegatedAccountUpdateWithRatio extends AbstractFeeDelegatedWith
     }
 
     /**
-     * Returns the RLP-encoded string of this transaction (i.e., rawTransaction).
-     * @return String
+     * Returns the RLP-encoded byte array of this transaction (i.e., rawTransaction).
+     * @return byte[]
      */
     @Override
-    public String getRLPEncoding() {
+    public byte[] getRLPEncodingAsByteArray() {
         // type + encode([nonce, gasPrice, gas, from, rlpEncodedKey, feeRatio, txSignatures, feePayer, feePayerSignatures])
         this.validateOptionalValues(false);
 
@@ -181,26 +182,26 @@ public class FeeDelegatedAccountUpdateWithRatio extends AbstractFeeDelegatedWith
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getFeeRatio())));
         rlpTypeList.add(new RlpList(senderSignatureRLPList));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFeePayer())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFeePayer())));
         rlpTypeList.add(new RlpList(feePayerSignatureRLPList));
 
         byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
         byte[] type = new byte[] { (byte)TransactionType.TxTypeFeeDelegatedAccountUpdateWithRatio.getType() };
         byte[] rawTx = BytesUtils.concat(type, encodedTransaction);
 
-        return Numeric.toHexString(rawTx);
+        return rawTx;
     }
 
     /**
-     * Returns the RLP-encoded string to make the signature of this transaction.
-     * @return String
+     * Returns the RLP-encoded byte array to make the signature of this transaction.
+     * @return byte[]
      */
     @Override
-    public String getCommonRLPEncodingForSignature() {
+    public byte[] getCommonRLPEncodingForSignatureAsByteArray() {
         // SigFeePayerRLP = encode([encode([type, nonce, gasPrice, gas, from, rlpEncodedKey, feeRatio]), feePayer, chainid, 0, 0])
         // encode([type, nonce, gasPrice, gas, from, rlpEncodedKey, feeRatio])
         this.validateOptionalValues(true);
@@ -212,14 +213,13 @@ public class FeeDelegatedAccountUpdateWithRatio extends AbstractFeeDelegatedWith
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getFeeRatio())));
 
         byte[] encoded = RlpEncoder.encode(new RlpList(rlpTypeList));
-        String encodedStr = Numeric.toHexString(encoded);
 
-        return encodedStr;
+        return encoded;
     }
 
     /**
@@ -241,8 +241,8 @@ public class FeeDelegatedAccountUpdateWithRatio extends AbstractFeeDelegatedWith
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getNonce())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGasPrice())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getGas())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(this.getFrom())));
-        rlpTypeList.add(RlpString.create(Numeric.hexStringToByteArray(account.getRLPEncodingAccountKey())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(this.getFrom())));
+        rlpTypeList.add(RlpString.create(HexCodec.toBytes(account.getRLPEncodingAccountKey())));
         rlpTypeList.add(RlpString.create(Numeric.toBigInt(this.getFeeRatio())));
         rlpTypeList.add(new RlpList(signatureRLPList));
 
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.utils;
+
+import org.web3j.crypto.Hash;
+
+/**
+ * Table-driven hex string, address and checksum functions.<p>
+ * The validation functions scan the string once with a lookup table instead of matching regular expressions,
+ * and do not allocate. Checksums are computed from the hash of the address without building intermediate strings.
+ */
+public class HexCodec {
+
+    /**
+     * The length of an address string without "0x" prefix.
+     */
+    public static final int ADDRESS_LENGTH_IN_HEX = 40;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The value of a hex digit by the character, or -1 if the character is not a hex digit.
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        for(int i = 0; i < HEX_VALUES.length; i++) {
+            HEX_VALUES[i] = -1;
+        }
+        for(int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte)i;
+        }
+        for(int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte)(10 + i);
+            HEX_VALUES['A' + i] = (byte)(10 + i);
+        }
+    }
+
+    private HexCodec() {
+    }
+
+    /**
+     * Returns the value of the hex digit.
+     * @param c A character.
+     * @return int The value of the hex digit, or -1 if the character is not a hex digit.
+     */
+    public static int digit(char c) {
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * Check if string has hex format. The "0x" or "-0x" prefix is optional.
+     * @param input A hex string
+     * @return boolean
+     */
+    public static boolean isHex(String input) {
+        int start = 0;
+        if(input.startsWith("-0x")) {
+            start = 3;
+        } else if(input.startsWith("0x")) {
+            start = 2;
+        }
+        return isHexDigits(input, start, input.length());
+    }
+
+    /**
+     * Check if string has hex format with "0x" prefix. The "-" sign is optional.
+     * @param input A hex string
+     * @return boolean
+     */
+    public static boolean isHexStrict(String input) {
+        int start = input.startsWith("-") ? 1 : 0;
+        if(!input.startsWith("0x", start)) {
+            return false;
+        }
+        return isHexDigits(input, start + 2, input.length());
+    }
+
+    /**
+     * Check if string has address format.<p>
+     * An address in all lower case or all upper case is valid, and an address in mixed case is valid only if it has a valid checksum.
+     * @param address An address string.
+     * @return boolean
+     */
+    public static boolean isAddress(String address) {
+        int start = getAddressStart(address);
+        if(start < 0) {
+            return false;
+        }
+
+        boolean hasLowerCase = false;
+        boolean hasUpperCase = false;
+        for(int i = start; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if(digit(c) < 0) {
+                return false;
+            }
+            if(c >= 'a') {
+                hasLowerCase = true;
+            } else if(c >= 'A') {
+                hasUpperCase = true;
+            }
+        }
+
+        if(!hasLowerCase || !hasUpperCase) {
+            return true;
+        }
+        return isChecksumMatched(address, start);
+    }
+
+    /**
+     * Check if address has valid checksum.
+     * @param address An address
+     * @return boolean
+     */
+    public static boolean isChecksumAddress(String address) {
+        int start = getAddressStart(address);
+        if(start < 0 || !isHexDigits(address, start, address.length())) {
+            return false;
+        }
+        return isChecksumMatched(address, start);
+    }
+
+    /**
+     * Converts an address to the checksum address.
+     * @param address An address
+     * @return String The checksum address with "0x" prefix.
+     */
+    public static String toChecksumAddress(String address) {
+        int start = getAddressStart(address);
+        if(start < 0 || !isHexDigits(address, start, address.length())) {
+            throw new IllegalArgumentException("Invalid address : " + address);
+        }
+
+        byte[] hash = hashLowerCase(address, start);
+        char[] result = new char[2 + ADDRESS_LENGTH_IN_HEX];
+        result[0] = '0';
+        result[1] = 'x';
+        for(int i = 0; i < ADDRESS_LENGTH_IN_HEX; i++) {
+            char c = Character.toLowerCase(address.charAt(start + i));
+            result[2 + i] = c >= 'a' && isUpperCaseInChecksum(hash, i) ? Character.toUpperCase(c) : c;
+        }
+        return new String(result);
+    }
+
+    /**
+     * Returns true if the address is a lower case hex string of 20 bytes with "0x" prefix.
+     * @param address An address.
+     * @return boolean
+     */
+    public static boolean isLowerCaseAddress(String address) {
+        if(address == null || address.length() != 2 + ADDRESS_LENGTH_IN_HEX || !address.startsWith("0x")) {
+            return false;
+        }
+
+        for(int i = 2; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if(digit(c) < 0 || (c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates the address and converts it to the lower case with "0x" prefix.
+     * The address already in the lower case with "0x" prefix is returned as it is.
+     * @param address An address.
+     * @return String It returns null if the address is not valid.
+     */
+    public static String normalizeAddress(String address) {
+        if(isLowerCaseAddress(address)) {
+            return address;
+        }
+        if(address == null || !isAddress(address)) {
+            return null;
+        }
+
+        int start = getAddressStart(address);
+        char[] result = new char[2 + ADDRESS_LENGTH_IN_HEX];
+        result[0] = '0';
+        result[1] = 'x';
+        for(int i = 0; i < ADDRESS_LENGTH_IN_HEX; i++) {
+            result[2 + i] = Character.toLowerCase(address.charAt(start + i));
+        }
+        return new String(result);
+    }
+
+    /**
+     * Converts a hex string to a byte array. The "0x" prefix is optional, and a hex string of odd length is padded with a leading zero.
+     * @param hex A hex string.
+     * @return byte[]
+     */
+    public static byte[] toBytes(String hex) {
+        int start = hex.startsWith("0x") ? 2 : 0;
+        int length = hex.length() - start;
+        byte[] result = new byte[(length + 1) / 2];
+
+        int i = start;
+        int j = 0;
+        if(length % 2 != 0) {
+            result[j++] = (byte)checkedDigit(hex, i++);
+        }
+        while(i < hex.length()) {
+            result[j++] = (byte)((checkedDigit(hex, i) << 4) | checkedDigit(hex, i + 1));
+            i += 2;
+        }
+        return result;
+    }
+
+    /**
+     * Converts a byte array to a hex string with "0x" prefix.
+     * @param bytes A byte array.
+     * @return String
+     */
+    public static String toHexString(byte[] bytes) {
+        return toHexString(bytes, 0, bytes.length, true);
+    }
+
+    /**
+     * Converts a byte array to a hex string without "0x" prefix.
+     * @param bytes A byte array.
+     * @return String
+     */
+    public static String toHexStringNoPrefix(byte[] bytes) {
+        return toHexString(bytes, 0, bytes.length, false);
+    }
+
+    /**
+     * Converts a part of a byte array to a hex string.
+     * @param bytes A byte array.
+     * @param offset The offset of the part.
+     * @param length The length of the part.
+     * @param withPrefix If true, "0x" prefix is prepended.
+     * @return String
+     */
+    public static String toHexString(byte[] bytes, int offset, int length, boolean withPrefix) {
+        int start = withPrefix ? 2 : 0;
+        char[] result = new char[start + length * 2];
+        if(withPrefix) {
+            result[0] = '0';
+            result[1] = 'x';
+        }
+        for(int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            result[start + i * 2] = HEX_DIGITS[b >>> 4];
+            result[start + i * 2 + 1] = HEX_DIGITS[b & 0x0f];
+        }
+        return new String(result);
+    }
+
+    /**
+     * Returns the index where the hex digits of the address start, or -1 if the length or the prefix is not of an address.
+     */
+    private static int getAddressStart(String address) {
+        if(address.length() == ADDRESS_LENGTH_IN_HEX) {
+            return 0;
+        }
+        if(address.length() == 2 + ADDRESS_LENGTH_IN_HEX && address.charAt(0) == '0' && (address.charAt(1) == 'x' || address.charAt(1) == 'X')) {
+            return 2;
+        }
+        return -1;
+    }
+
+    private static boolean isHexDigits(String input, int from, int to) {
+        for(int i = from; i < to; i++) {
+            if(digit(input.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checkedDigit(String hex, int index) {
+        int value = digit(hex.charAt(index));
+        if(value < 0) {
+            throw new IllegalArgumentException("Invalid hex string : " + hex);
+        }
+        return value;
+    }
+
+    private static boolean isChecksumMatched(String address, int start) {
+        byte[] hash = hashLowerCase(address, start);
+        for(int i = 0; i < ADDRESS_LENGTH_IN_HEX; i++) {
+            char c = address.charAt(start + i);
+            if(c >= 'a' && isUpperCaseInChecksum(hash, i)) {
+                return false;
+            }
+            if(c >= 'A' && c <= 'F' && !isUpperCaseInChecksum(hash, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the keccak256 hash of the lower case hex digits of the address, as the checksum is defined with.
+     */
+    private static byte[] hashLowerCase(String address, int start) {
+        byte[] ascii = new byte[ADDRESS_LENGTH_IN_HEX];
+        for(int i = 0; i < ADDRESS_LENGTH_IN_HEX; i++) {
+            ascii[i] = (byte)Character.toLowerCase(address.charAt(start + i));
+        }
+        return Hash.sha3(ascii);
+    }
+
+    /**
+     * Returns true if the i-th digit of the address is in upper case in the checksum address, that is, the i-th nibble of the hash is 8 or more.
+     */
+    private static boolean isUpperCaseInChecksum(byte[] hash, int i) {
+        int nibble = (i % 2 == 0) ? (hash[i / 2] >>> 4) & 0x0f : hash[i / 2] & 0x0f;
+        return nibble >= 8;
+    }
+}
@@ -31,7 +31,6 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.SignatureException;
 import java.util.List;
-import java.util.regex.Pattern;
 
 public class Utils {
     public static final int LENGTH_ADDRESS_STRING = 40;
@@ -45,22 +44,7 @@ public class Utils {
      * @return boolean
      */
     public static boolean isAddress(String address) {
-        Pattern baseAddrPattern = Pattern.compile("^(0x)?[0-9a-f]{40}$", Pattern.CASE_INSENSITIVE);
-        Pattern lowerCase = Pattern.compile("^(0x|0X)?[0-9a-f]{40}$");
-        Pattern upperCase = Pattern.compile("^(0x|0X)?[0-9A-F]{40}$");
-
-        //check if it has the basic requirements of an address.
-        if(!baseAddrPattern.matcher(address).matches()) {
-            return false;
-        }
-
-        //check if it's ALL lowercase or ALL upppercase
-        if(lowerCase.matcher(address).matches() || upperCase.matcher(address).matches()) {
-            return true;
-        }
-
-        //check checksum address
-        return checkAddressChecksum(address);
+        return HexCodec.isAddress(address);
     }
 
     /**
@@ -69,8 +53,7 @@ public class Utils {
      * @return boolean
      */
     public static boolean checkAddressChecksum(String address) {
-        address = address.replaceFirst("0X", "0x");
-        return (Keys.toChecksumAddress(address).equals(Utils.addHexPrefix(address)));
+        return HexCodec.isChecksumAddress(address);
     }
 
     /**
@@ -243,8 +226,7 @@ public class Utils {
      * @return boolean
      */
     public static boolean isHex(String input) {
-        Pattern pattern = Pattern.compile("^(-0x|0x)?[0-9A-Fa-f]*$");
-        return pattern.matcher(input).matches();
+        return HexCodec.isHex(input);
     }
 
     /**
@@ -253,8 +235,7 @@ public class Utils {
      * @return boolean
      */
     public static boolean isHexStrict(String input) {
-        Pattern pattern = Pattern.compile("^(-)?0x[0-9A-Fa-f]*$");
-        return pattern.matcher(input).matches();
+        return HexCodec.isHexStrict(input);
     }
 
     /**
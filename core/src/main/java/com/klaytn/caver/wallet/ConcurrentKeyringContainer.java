@@ -0,0 +1,283 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.wallet;
+
+import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.utils.HexCodec;
+import com.klaytn.caver.wallet.keyring.AbstractKeyring;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.MessageSigned;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Represents a thread-safe Keyring container which can be shared by many signing threads.<p>
+ * Keyrings are kept in a ConcurrentHashMap, so looking up a keyring to sign a transaction never takes a lock.
+ * The address of a keyring is validated and normalized to the lower case with "0x" prefix once when it is added,
+ * and an address passed to look up a keyring is validated only when it is not in the normalized form.<p>
+ * It can be used in place of the KeyringContainer, e.g. `caver.wallet = new ConcurrentKeyringContainer()`.
+ * <pre>
+ * ConcurrentKeyringContainer container = new ConcurrentKeyringContainer();
+ * container.addAll(keyrings);
+ *
+ * // Can be called from many threads.
+ * container.sign(address, transaction);
+ * </pre>
+ */
+public class ConcurrentKeyringContainer extends KeyringContainer {
+
+    /**
+     * The map where the normalized address and keyring are mapped.
+     */
+    private final ConcurrentHashMap<String, AbstractKeyring> keyrings;
+
+    /**
+     * Creates ConcurrentKeyringContainer instance
+     */
+    public ConcurrentKeyringContainer() {
+        this(16);
+    }
+
+    /**
+     * Creates ConcurrentKeyringContainer instance
+     * @param initialCapacity The number of keyrings expected to be added, to avoid resizing while loading them.
+     */
+    public ConcurrentKeyringContainer(int initialCapacity) {
+        super();
+        this.keyrings = new ConcurrentHashMap<>(initialCapacity);
+        this.addressKeyringMap = keyrings;
+    }
+
+    /**
+     * Creates ConcurrentKeyringContainer instance.<p>
+     * The keyrings are added without being copied. See {@link #addAll(Collection)}.
+     * @param keyrings An list of keyring
+     */
+    public ConcurrentKeyringContainer(List<AbstractKeyring> keyrings) {
+        this(keyrings.size());
+        addAll(keyrings);
+    }
+
+    /**
+     * Generates keyrings in the keyring container with randomly generated key pairs.
+     * @param num The number of keyring to create.
+     * @param entropy A random string to increase entropy.
+     * @return List of address generated Keyring instances
+     */
+    @Override
+    public List<String> generate(int num, String entropy) {
+        List<AbstractKeyring> generated = new ArrayList<>(num);
+        List<String> addressList = new ArrayList<>(num);
+        for(int i=0; i<num; i++) {
+            AbstractKeyring keyring = KeyringFactory.generate(entropy);
+            generated.add(keyring);
+            addressList.add(keyring.getAddress());
+        }
+        addAll(generated);
+
+        return addressList;
+    }
+
+    /**
+     * Updates the keyring inside the keyringContainer.
+     * Query the keyring to be updated from keyringContainer with the keyring's address,
+     * and an error occurs when the keyring is not found in the keyringContainer.
+     * @param keyring The keyring with new key
+     * @return Keyring
+     */
+    @Override
+    public AbstractKeyring updateKeyring(AbstractKeyring keyring) {
+        String key = toKey(keyring.getAddress());
+        AbstractKeyring updated = keyring.copy();
+
+        if(keyrings.replace(key, updated) == null) {
+            throw new IllegalArgumentException("Failed to find keyring to update.");
+        }
+
+        return updated;
+    }
+
+    /**
+     * Get the keyring in container corresponding to the address.
+     * @param address The address of keyring to query
+     * @return Keyring
+     */
+    @Override
+    public AbstractKeyring getKeyring(String address) {
+        return keyrings.get(toKey(address));
+    }
+
+    /**
+     * Adds a copy of the keyring to the keyringContainer.
+     * @param keyring Keyring instance to be added.
+     * @return Keyring
+     */
+    @Override
+    public AbstractKeyring add(AbstractKeyring keyring) {
+        AbstractKeyring added = keyring.copy();
+        if(keyrings.putIfAbsent(toKey(keyring.getAddress()), added) != null) {
+            throw new IllegalArgumentException("Duplicated Account. Please use updateKeyring() instead");
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds keyrings to the keyringContainer.<p>
+     * Unlike {@link #add(AbstractKeyring)}, the keyrings are added without being copied,
+     * so the given keyring instances must not be modified after they are added.
+     * If any of the keyrings is already in the container, none of them is added.
+     * @param keyrings Keyring instances to be added.
+     */
+    public void addAll(Collection<? extends AbstractKeyring> keyrings) {
+        List<AbstractKeyring> list = new ArrayList<>(keyrings);
+        String[] keys = new String[list.size()];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = toKey(list.get(i).getAddress());
+        }
+
+        for(int i = 0; i < keys.length; i++) {
+            if(this.keyrings.putIfAbsent(keys[i], list.get(i)) != null) {
+                // Roll back the keyrings added by this call.
+                for(int j = 0; j < i; j++) {
+                    this.keyrings.remove(keys[j], list.get(j));
+                }
+                throw new IllegalArgumentException("Duplicated Account(" + list.get(i).getAddress() + "). Please use updateKeyring() instead");
+            }
+        }
+    }
+
+    /**
+     * Deletes the keyring that associates with the given address from keyringContainer.
+     * @param address An address of the keyring to be deleted in keyringContainer
+     * @return boolean
+     */
+    @Override
+    public boolean remove(String address) {
+        String key = HexCodec.normalizeAddress(address);
+        if(key == null) {
+            throw new IllegalArgumentException("To remove keyring, the first parameter should be an address string");
+        }
+
+        return keyrings.remove(key) != null;
+    }
+
+    /**
+     * Signs with data and returns MessageSigned instance that includes 'signature', 'message', 'messageHash'
+     * @param address An address of keyring in keyringContainer
+     * @param data The data string to sign.
+     * @param role A number indication the role of the key.
+     * @param index An index of key to use for signing.
+     * @return MessageSigned
+     */
+    @Override
+    public MessageSigned signMessage(String address, String data, int role, int index) {
+        return findKeyring(address).signMessage(data, role, index);
+    }
+
+    /**
+     * Signs the transaction using all keys in the Keyring instance corresponding to the address.
+     * @param address An address of keyring in KeyringContainer.
+     * @param transaction An AbstractTransaction instance to sign.
+     * @param hasher A function to return hash of transaction.
+     * @return AbstractTransaction
+     * @throws IOException
+     */
+    @Override
+    public AbstractTransaction sign(String address, AbstractTransaction transaction, Function<AbstractTransaction, String> hasher) throws IOException {
+        return transaction.sign(findKeyring(address), hasher);
+    }
+
+    /**
+     * Signs the transaction using one key in the keyring instance corresponding to the address.
+     * @param address An address of keyring in KeyringContainer.
+     * @param transaction An AbstractTransaction instance to sign.
+     * @param index An index of key to use for signing.
+     * @param hasher A function to return hash of transaction.
+     * @return AbstractTransaction
+     * @throws IOException
+     */
+    @Override
+    public AbstractTransaction sign(String address, AbstractTransaction transaction, int index, Function<AbstractTransaction, String> hasher) throws IOException {
+        return transaction.sign(findKeyring(address), index, hasher);
+    }
+
+    /**
+     * Signs the FeeDelegatedTransaction using all keys in the keyring instance corresponding to the address.
+     * @param address An address of keyring in KeyringContainer.
+     * @param transaction An AbstractFeeDelegatedTransaction instance to sign.
+     * @param hasher A function to return hash of transaction.
+     * @return AbstractFeeDelegatedTransaction
+     * @throws IOException
+     */
+    @Override
+    public AbstractFeeDelegatedTransaction signAsFeePayer(String address, AbstractFeeDelegatedTransaction transaction, Function<AbstractFeeDelegatedTransaction, String> hasher) throws IOException {
+        return transaction.signAsFeePayer(findKeyring(address), hasher);
+    }
+
+    /**
+     * Signs the FeeDelegatedTransaction using one key in the keyring corresponding to the address.
+     * @param address An address of keyring in KeyringContainer.
+     * @param transaction An AbstractFeeDelegatedTransaction instance to sign.
+     * @param index An index of key to user for signing
+     * @param hasher A function to return hash of transaction.
+     * @return AbstractFeeDelegatedTransaction
+     * @throws IOException
+     */
+    @Override
+    public AbstractFeeDelegatedTransaction signAsFeePayer(String address, AbstractFeeDelegatedTransaction transaction, int index, Function<AbstractFeeDelegatedTransaction, String> hasher) throws IOException {
+        return transaction.signAsFeePayer(findKeyring(address), index, hasher);
+    }
+
+    /**
+     * Check whether there is a keyring corresponding to the address passed as a parameter in the wallet.
+     * @param address An address to find keyring in wallet.
+     * @return boolean
+     */
+    @Override
+    public boolean isExisted(String address) {
+        return getKeyring(address) != null;
+    }
+
+    private AbstractKeyring findKeyring(String address) {
+        AbstractKeyring keyring = getKeyring(address);
+        if(keyring == null) {
+            throw new NullPointerException("Failed to find keyring from wallet with address");
+        }
+        return keyring;
+    }
+
+    /**
+     * Returns the key of the address in the map.
+     * An address which is not in the normalized form is validated before it is normalized.
+     * @param address An address.
+     * @return String
+     */
+    private static String toKey(String address) {
+        String key = HexCodec.normalizeAddress(address);
+        if(key == null) {
+            throw new IllegalArgumentException("Invalid address. To get keyring from wallet, you need to pass a valid address string as a parameter.");
+        }
+        return key;
+    }
+}
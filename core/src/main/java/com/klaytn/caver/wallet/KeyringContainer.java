@@ -19,7 +19,7 @@ package com.klaytn.caver.wallet;
 import com.klaytn.caver.transaction.AbstractFeeDelegatedTransaction;
 import com.klaytn.caver.transaction.AbstractTransaction;
 import com.klaytn.caver.transaction.TransactionHasher;
-import com.klaytn.caver.utils.Utils;
+import com.klaytn.caver.utils.HexCodec;
 import com.klaytn.caver.wallet.keyring.AbstractKeyring;
 import com.klaytn.caver.wallet.keyring.KeyringFactory;
 import com.klaytn.caver.wallet.keyring.wrapper.KeyringFactoryWrapper;
@@ -162,11 +162,12 @@ public class KeyringContainer implements IWallet{
      * @return Keyring
      */
     public AbstractKeyring getKeyring(String address) {
-        if(!Utils.isAddress(address)) {
+        String key = HexCodec.normalizeAddress(address);
+        if(key == null) {
             throw new IllegalArgumentException("Invalid address. To get keyring from wallet, you need to pass a valid address string as a parameter.");
         }
 
-        AbstractKeyring found = this.addressKeyringMap.get(address.toLowerCase());
+        AbstractKeyring found = this.addressKeyringMap.get(key);
         return found;
     }
 
@@ -181,7 +182,7 @@ public class KeyringContainer implements IWallet{
         }
 
         AbstractKeyring added = keyring.copy();
-        this.addressKeyringMap.put(keyring.getAddress().toLowerCase(), added);
+        this.addressKeyringMap.put(HexCodec.normalizeAddress(keyring.getAddress()), added);
 
         return added;
     }
@@ -193,7 +194,8 @@ public class KeyringContainer implements IWallet{
      */
     @Override
     public boolean remove(String address) {
-        if(!Utils.isAddress(address)) {
+        String key = HexCodec.normalizeAddress(address);
+        if(key == null) {
             throw new IllegalArgumentException("To remove keyring, the first parameter should be an address string");
         }
 
@@ -201,7 +203,7 @@ public class KeyringContainer implements IWallet{
             return false;
         }
         //deallocate keyring object created for keyringContainer.
-        AbstractKeyring removed = this.addressKeyringMap.remove(address.toLowerCase());
+        AbstractKeyring removed = this.addressKeyringMap.remove(key);
         removed = null;
 
         return true;
@@ -113,6 +113,33 @@ abstract public class AbstractKeyring {
         return sign(txHash, Numeric.toBigInt(chainId).intValue(), role, index);
     }
 
+    /**
+     * Signs a transaction hash with all private keys in specific role group and return signature list.<p>
+     * It converts the hash to a hex string and calls `sign(String, int, int)`. The keyrings of caver-java override it
+     * to sign the byte array directly.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @return List
+     */
+    public List<SignatureData> sign(byte[] txHash, int chainId, int role) {
+        return sign(Numeric.toHexString(txHash), chainId, role);
+    }
+
+    /**
+     * Signs a transaction hash with a private key in specific role group and return signature.<p>
+     * It converts the hash to a hex string and calls `sign(String, int, int, int)`. The keyrings of caver-java override it
+     * to sign the byte array directly.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @param index The index of the key to be used in the specific role group.
+     * @return SignatureData
+     */
+    public SignatureData sign(byte[] txHash, int chainId, int role, int index) {
+        return sign(Numeric.toHexString(txHash), chainId, role, index);
+    }
+
     /**
      * Encrypts a keyring and returns a KeyStore.(according to KeyStore V4)
      * This function automatically operates SCRYPT KDF Function
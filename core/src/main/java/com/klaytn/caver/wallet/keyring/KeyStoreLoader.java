@@ -0,0 +1,298 @@
+/*
+ * Copyright 2021 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.wallet.keyring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.wallet.KeyringContainer;
+import org.web3j.crypto.CipherException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads many keystore files into a keyring container, deriving the keys across all cores.<p>
+ * The keys of all keystore files (and all keys of a keystore v4) are decrypted as separate tasks with the executor,
+ * so a directory of keystores is loaded in about the time of the slowest key divided by the number of cores.
+ * Because a scrypt derivation allocates about 128 * n * r bytes, the total memory of the derivations running at the same time
+ * is bounded by the memory budget. A derivation which needs more than the budget runs alone.<p>
+ * A keystore file which cannot be read or decrypted does not stop the others. Its error is reported in its {@link Result}.
+ * <pre>
+ * KeyStoreLoader loader = new KeyStoreLoader();
+ * List&lt;KeyStoreLoader.Result&gt; results = loader.load(Paths.get("keystore"), password, caver.wallet);
+ * </pre>
+ */
+public class KeyStoreLoader {
+
+    /**
+     * The default memory budget of scrypt derivations running at the same time. (256MB)
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService executor;
+
+    /**
+     * The memory budget in KB. A permit is a KB of memory.
+     */
+    private final Semaphore memory;
+    private final int memoryPermits;
+
+    /**
+     * Creates a KeyStoreLoader instance which derives keys with the common ForkJoinPool and the default memory budget.
+     */
+    public KeyStoreLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Creates a KeyStoreLoader instance.
+     * @param executor The executor to derive keys with. It is not shut down by this instance.
+     * @param memoryBudget The max bytes of memory used by the scrypt derivations running at the same time.
+     */
+    public KeyStoreLoader(ExecutorService executor, long memoryBudget) {
+        if(memoryBudget < 1024) {
+            throw new IllegalArgumentException("Invalid memory budget : " + memoryBudget);
+        }
+
+        this.executor = executor;
+        this.memoryPermits = (int)Math.min(Integer.MAX_VALUE, memoryBudget / 1024);
+        this.memory = new Semaphore(memoryPermits, true);
+    }
+
+    /**
+     * Loads all keystore files in the directory, and adds the keyrings decrypted to the container.
+     * The sub directories are not searched.
+     * @param directory A directory which has keystore files.
+     * @param password The password of the keystore files.
+     * @param container The container to add the keyrings to.
+     * @return List The results of the files in the order of the file name.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public List<Result> load(Path directory, String password, KeyringContainer container) throws IOException {
+        List<Path> files;
+        try(Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        return load(files, password, container);
+    }
+
+    /**
+     * Loads the keystore files, and adds the keyrings decrypted to the container.
+     * @param files Keystore files.
+     * @param password The password of the keystore files.
+     * @param container The container to add the keyrings to.
+     * @return List The results of the files in the given order.
+     */
+    public List<Result> load(List<Path> files, String password, KeyringContainer container) {
+        List<Result> results = new ArrayList<>(files.size());
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for(Path file : files) {
+            Result result = new Result(file);
+            results.add(result);
+
+            long start = System.nanoTime();
+            try {
+                result.keystore = objectMapper.readValue(Files.readAllBytes(file), KeyStore.class);
+                result.cryptoList = KeyringFactory.getCryptoList(result.keystore);
+            } catch(IOException | RuntimeException e) {
+                result.error = e;
+                continue;
+            } finally {
+                result.readNanos = System.nanoTime() - start;
+            }
+
+            result.privateKeys = new ArrayList<>();
+            for(List<KeyStore.Crypto> role : result.cryptoList) {
+                String[] privateKeyArr = new String[role.size()];
+                result.privateKeys.add(privateKeyArr);
+                for(int i = 0; i < role.size(); i++) {
+                    tasks.add(new DecryptTask(result, role.get(i), password, privateKeyArr, i));
+                }
+            }
+        }
+
+        try {
+            for(Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading keystores.", e);
+        } catch(ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        for(Result result : results) {
+            if(result.error == null) {
+                try {
+                    result.keyring = container.add(KeyringFactory.createFromDecryptedKeys(result.keystore, result.privateKeys));
+                } catch(RuntimeException e) {
+                    result.error = e;
+                }
+            }
+            result.keystore = null;
+            result.cryptoList = null;
+            result.privateKeys = null;
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of the KB permits a derivation of the crypto needs.
+     */
+    int getMemoryPermits(KeyStore.Crypto crypto) {
+        if(!(crypto.getKdfparams() instanceof KeyStore.ScryptKdfParams)) {
+            return 0;
+        }
+
+        KeyStore.ScryptKdfParams params = (KeyStore.ScryptKdfParams)crypto.getKdfparams();
+        long bytes = 128L * params.getR() * ((long)params.getN() + params.getP());
+        return (int)Math.min(memoryPermits, bytes / 1024 + 1);
+    }
+
+    /**
+     * A task which decrypts a key of a keystore.
+     */
+    private class DecryptTask implements Callable<Void> {
+        final Result result;
+        final KeyStore.Crypto crypto;
+        final String password;
+        final String[] privateKeyArr;
+        final int index;
+
+        DecryptTask(Result result, KeyStore.Crypto crypto, String password, String[] privateKeyArr, int index) {
+            this.result = result;
+            this.crypto = crypto;
+            this.password = password;
+            this.privateKeyArr = privateKeyArr;
+            this.index = index;
+        }
+
+        @Override
+        public Void call() throws InterruptedException {
+            // A key of a keystore which already failed is not derived.
+            if(result.error != null) {
+                return null;
+            }
+
+            int permits = getMemoryPermits(crypto);
+            memory.acquire(permits);
+            long start = System.nanoTime();
+            try {
+                privateKeyArr[index] = KeyStore.Crypto.decryptCrypto(crypto, password);
+            } catch(CipherException | RuntimeException e) {
+                result.error = e;
+            } finally {
+                long end = System.nanoTime();
+                memory.release(permits);
+                result.decryptNanos.addAndGet(end - start);
+                result.firstStart.accumulateAndGet(start, Math::min);
+                result.lastEnd.accumulateAndGet(end, Math::max);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Representing the result of loading a keystore file.
+     */
+    public static class Result {
+        private final Path path;
+        private volatile AbstractKeyring keyring;
+        private volatile Exception error;
+        private long readNanos;
+
+        private final AtomicLong decryptNanos = new AtomicLong();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        private KeyStore keystore;
+        private List<List<KeyStore.Crypto>> cryptoList;
+        private List<String[]> privateKeys;
+
+        Result(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Returns true if the keyring is decrypted and added to the container.
+         * @return boolean
+         */
+        public boolean isSuccess() {
+            return keyring != null;
+        }
+
+        /**
+         * Getter function for path
+         * @return Path
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the keyring added to the container.
+         * @return AbstractKeyring It returns null if the file failed to load.
+         */
+        public AbstractKeyring getKeyring() {
+            return keyring;
+        }
+
+        /**
+         * Returns the error while loading the file.
+         * It is a CipherException if the password is wrong, an IOException if the file cannot be read or parsed,
+         * or an IllegalArgumentException if the keystore is invalid or its address is already in the container.
+         * @return Exception It returns null if the file is loaded.
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * Returns the time taken to read and parse the file.
+         * @return long The time in nanoseconds.
+         */
+        public long getReadNanos() {
+            return readNanos;
+        }
+
+        /**
+         * Returns the sum of the time taken to derive and decrypt the keys of the file.
+         * @return long The time in nanoseconds.
+         */
+        public long getDecryptNanos() {
+            return decryptNanos.get();
+        }
+
+        /**
+         * Returns the time from when the first key of the file started decryption until the last key finished.
+         * @return long The time in nanoseconds. It returns 0 if no key was decrypted.
+         */
+        public long getElapsedNanos() {
+            long start = firstStart.get();
+            return start == Long.MAX_VALUE ? 0 : lastEnd.get() - start;
+        }
+    }
+}
@@ -25,7 +25,9 @@ import org.web3j.crypto.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 
@@ -271,6 +273,67 @@ public class KeyringFactory {
      * @throws CipherException It throws when cipher operation has failed.
      */
     public static AbstractKeyring decrypt(KeyStore keystore, String password) throws CipherException{
+        List<List<KeyStore.Crypto>> cryptoList = getCryptoList(keystore);
+
+        List<String[]> privateKeyList = new ArrayList<>();
+        for(List<KeyStore.Crypto> role : cryptoList) {
+            String[] privateKeyArr = new String[role.size()];
+            for(int i=0; i<role.size(); i++) {
+                privateKeyArr[i] = KeyStore.Crypto.decryptCrypto(role.get(i), password);
+            }
+            privateKeyList.add(privateKeyArr);
+        }
+
+        return createFromDecryptedKeys(keystore, privateKeyList);
+    }
+
+    /**
+     * Decrypts a keystore v3 or v4 and returns a keyring instance.
+     * The keys in the keystore are decrypted in parallel with the executor, which is useful for a keystore which has many keys.
+     * @param keystore The encrypted keystore to decrypt.
+     * @param password The password to use for decryption.
+     * @param executor The executor to decrypt the keys with.
+     * @return AbstractKeyring
+     * @throws CipherException It throws when cipher operation has failed.
+     */
+    public static AbstractKeyring decrypt(KeyStore keystore, String password, ExecutorService executor) throws CipherException {
+        List<List<KeyStore.Crypto>> cryptoList = getCryptoList(keystore);
+
+        List<Callable<String>> tasks = new ArrayList<>();
+        for(List<KeyStore.Crypto> role : cryptoList) {
+            for(KeyStore.Crypto crypto : role) {
+                tasks.add(() -> KeyStore.Crypto.decryptCrypto(crypto, password));
+            }
+        }
+
+        List<Future<String>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Interrupted while decrypting keystore", e);
+        }
+
+        List<String[]> privateKeyList = new ArrayList<>();
+        int index = 0;
+        for(List<KeyStore.Crypto> role : cryptoList) {
+            String[] privateKeyArr = new String[role.size()];
+            for(int i=0; i<role.size(); i++) {
+                privateKeyArr[i] = getDecrypted(futures.get(index++));
+            }
+            privateKeyList.add(privateKeyArr);
+        }
+
+        return createFromDecryptedKeys(keystore, privateKeyList);
+    }
+
+    /**
+     * Validates the format of the keystore and returns the encrypted keys of it by role.
+     * A keystore v3 or a keystore v4 of a single or multiple keyring has only one role.
+     * @param keystore The encrypted keystore.
+     * @return List
+     */
+    static List<List<KeyStore.Crypto>> getCryptoList(KeyStore keystore) {
         if(keystore.getVersion() == KeyStore.KEY_STORE_VERSION_V3 && keystore.getCrypto() == null) {
             throw new IllegalArgumentException("Invalid keystore V3 format: 'crypto' is not defined.");
         } else if(keystore.getVersion() == KeyStore.KEY_STORE_VERSION_V4 && keystore.getKeyring() == null) {
@@ -283,33 +346,31 @@ public class KeyringFactory {
             }
         }
 
-        String address = Utils.addHexPrefix(keystore.getAddress());
+        List<List<KeyStore.Crypto>> cryptoList = new ArrayList<>();
         if(keystore.getVersion() == KeyStore.KEY_STORE_VERSION_V3) {
-            KeyStore.Crypto crypto = keystore.getCrypto();
-            String privateKey = KeyStore.Crypto.decryptCrypto(crypto, password);
-            return KeyringFactory.create(address, privateKey);
+            cryptoList.add(Collections.singletonList(keystore.getCrypto()));
+            return cryptoList;
         }
 
         List keyring = keystore.getKeyring();
-        List<String[]> privateKeyList = new ArrayList<>();
         if(keyring.get(0) instanceof KeyStore.Crypto) {
-            String[] privateKeyArr = new String[keyring.size()];
-            for(int i=0; i<keyring.size(); i++) {
-                KeyStore.Crypto crypto = (KeyStore.Crypto)keyring.get(i);
-                String privateKey = KeyStore.Crypto.decryptCrypto(crypto, password);
-                privateKeyArr[i] = privateKey;
-            }
-            privateKeyList.add(privateKeyArr);
+            cryptoList.add((List<KeyStore.Crypto>)keyring);
         } else {
-            for(List<KeyStore.Crypto> multiKeying : (List<List<KeyStore.Crypto>>)keyring) {
-                String[] privateKeyArr = new String[multiKeying.size()];
-                for(int i=0; i<multiKeying.size(); i++) {
-                    KeyStore.Crypto crypto = multiKeying.get(i);
-                    String privateKey = KeyStore.Crypto.decryptCrypto(crypto, password);
-                    privateKeyArr[i] = privateKey;
-                }
-                privateKeyList.add(privateKeyArr);
-            }
+            cryptoList.addAll((List<List<KeyStore.Crypto>>)keyring);
+        }
+        return cryptoList;
+    }
+
+    /**
+     * Creates a keyring instance with the keys decrypted from the keystore.
+     * @param keystore The encrypted keystore.
+     * @param privateKeyList The decrypted keys in the order of {@link #getCryptoList(KeyStore)}.
+     * @return AbstractKeyring
+     */
+    static AbstractKeyring createFromDecryptedKeys(KeyStore keystore, List<String[]> privateKeyList) {
+        String address = Utils.addHexPrefix(keystore.getAddress());
+        if(keystore.getVersion() == KeyStore.KEY_STORE_VERSION_V3) {
+            return KeyringFactory.create(address, privateKeyList.get(0)[0]);
         }
 
         boolean isRoleBased = privateKeyList.stream().skip(1).anyMatch(array -> array.length > 0);
@@ -325,6 +386,23 @@ public class KeyringFactory {
         }
     }
 
+    private static String getDecrypted(Future<String> future) throws CipherException {
+        try {
+            return future.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Interrupted while decrypting keystore", e);
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof CipherException) {
+                throw (CipherException)cause;
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new CipherException(cause);
+        }
+    }
+
 
 
 
@@ -21,6 +21,7 @@ import com.klaytn.caver.account.AccountKeyRoleBased;
 import com.klaytn.caver.account.WeightedMultiSigOptions;
 import com.klaytn.caver.utils.Utils;
 import org.web3j.crypto.CipherException;
+import org.web3j.utils.Numeric;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -56,6 +57,18 @@ public class MultipleKeyring extends AbstractKeyring{
      */
     @Override
     public List<SignatureData> sign(String txHash, int chainId, int role) {
+        return sign(Numeric.hexStringToByteArray(txHash), chainId, role);
+    }
+
+    /**
+     * Signs a transaction hash with all keys in specific role group and return signature list.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @return List
+     */
+    @Override
+    public List<SignatureData> sign(byte[] txHash, int chainId, int role) {
         PrivateKey[] keyArr = getKeyByRole(role);
 
         return Arrays.stream(keyArr)
@@ -74,6 +87,19 @@ public class MultipleKeyring extends AbstractKeyring{
      */
     @Override
     public SignatureData sign(String txHash, int chainId, int role, int index) {
+        return sign(Numeric.hexStringToByteArray(txHash), chainId, role, index);
+    }
+
+    /**
+     * Signs a transaction hash with key in specific role group and return signature.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @param index The index of the key to be used in the specific role group.
+     * @return SignatureData
+     */
+    @Override
+    public SignatureData sign(byte[] txHash, int chainId, int role, int index) {
         validatedIndexWithKeys(index, this.keys.length);
 
         PrivateKey key = getKeyByRole(role)[index];
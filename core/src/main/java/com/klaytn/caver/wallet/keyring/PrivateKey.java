@@ -24,8 +24,6 @@ import org.web3j.crypto.Keys;
 import org.web3j.crypto.Sign;
 import org.web3j.utils.Numeric;
 
-import java.math.BigInteger;
-
 /**
  * Represents a PrivateKey class that includes private key string
  */
@@ -37,6 +35,27 @@ public class PrivateKey {
      */
     private String privateKey;
 
+    /**
+     * The key pair derived from the private key.
+     * It is derived lazily at first use and reused for every signature.
+     */
+    private volatile ECKeyPair keyPair;
+
+    /**
+     * The uncompressed public key string(without hex prefix) derived from the private key.
+     */
+    private volatile String publicKey;
+
+    /**
+     * The compressed public key string derived from the private key.
+     */
+    private volatile String compressedPublicKey;
+
+    /**
+     * The address derived from the private key.
+     */
+    private volatile String derivedAddress;
+
     /**
      * Creates a PrivateKey instance
      * @param privateKey The private key string.
@@ -86,10 +105,17 @@ public class PrivateKey {
      * @return SignatureData
      */
     public SignatureData sign(String sigHash, int chainId) {
-        ECKeyPair keyPair = ECKeyPair.create(Numeric.toBigInt(privateKey));
-        Sign.SignatureData signatureData = Sign.signMessage(Numeric.hexStringToByteArray(sigHash), keyPair, false);
+        return sign(Numeric.hexStringToByteArray(sigHash), chainId);
+    }
 
-        SignatureData signData = new SignatureData(signatureData.getV(), signatureData.getR(), signatureData.getS());
+    /**
+     * Signs with transactionHash with key and returns signature
+     * @param sigHash The hash of transaction as a byte array.
+     * @param chainId The chainId or network
+     * @return SignatureData
+     */
+    public SignatureData sign(byte[] sigHash, int chainId) {
+        SignatureData signData = signMessage(sigHash);
         signData.makeEIP155Signature(chainId);
 
         return signData;
@@ -101,11 +127,18 @@ public class PrivateKey {
      * @return SignatureData
      */
     public SignatureData signMessage(String messageHash) {
-        ECKeyPair keyPair = ECKeyPair.create(Numeric.toBigInt(privateKey));
-        Sign.SignatureData signatureData = Sign.signMessage(Numeric.hexStringToByteArray(messageHash), keyPair, false);
+        return signMessage(Numeric.hexStringToByteArray(messageHash));
+    }
 
-        SignatureData signData = new SignatureData(signatureData.getV(), signatureData.getR(), signatureData.getS());
-        return signData;
+    /**
+     * Signs with hashed data and returns signature
+     * @param messageHash The hash of data to sign as a byte array.
+     * @return SignatureData
+     */
+    public SignatureData signMessage(byte[] messageHash) {
+        Sign.SignatureData signatureData = Sign.signMessage(messageHash, getKeyPair(), false);
+
+        return new SignatureData(signatureData.getV(), signatureData.getR(), signatureData.getS());
     }
 
     /**
@@ -114,13 +147,18 @@ public class PrivateKey {
      * @return String
      */
     public String getPublicKey(boolean compressed) {
-        BigInteger publicKey = Sign.publicKeyFromPrivate(Numeric.toBigInt(privateKey));
+        if(publicKey == null) {
+            publicKey = Numeric.toHexStringNoPrefixZeroPadded(getKeyPair().getPublicKey(), LEN_UNCOMPRESSED_PUBLIC_KEY_STRING);
+        }
 
         if(compressed) {
-            return Utils.compressPublicKey(Numeric.toHexStringWithPrefixZeroPadded(publicKey, LEN_UNCOMPRESSED_PUBLIC_KEY_STRING));
+            if(compressedPublicKey == null) {
+                compressedPublicKey = Utils.compressPublicKey(Numeric.prependHexPrefix(publicKey));
+            }
+            return compressedPublicKey;
         }
 
-        return Numeric.toHexStringNoPrefixZeroPadded(publicKey, LEN_UNCOMPRESSED_PUBLIC_KEY_STRING);
+        return publicKey;
     }
 
     /**
@@ -128,8 +166,24 @@ public class PrivateKey {
      * @return String
      */
     public String getDerivedAddress() {
-        BigInteger publicKey = Sign.publicKeyFromPrivate(Numeric.toBigInt(privateKey));
-        return Numeric.prependHexPrefix(Keys.getAddress(publicKey));
+        if(derivedAddress == null) {
+            derivedAddress = Numeric.prependHexPrefix(Keys.getAddress(getKeyPair().getPublicKey()));
+        }
+        return derivedAddress;
+    }
+
+    /**
+     * Returns the ECKeyPair derived from the private key.<p>
+     * The key pair is derived at first call and the same instance is returned afterwards.
+     * @return ECKeyPair
+     */
+    public ECKeyPair getKeyPair() {
+        ECKeyPair pair = keyPair;
+        if(pair == null) {
+            pair = ECKeyPair.create(Numeric.toBigInt(privateKey));
+            keyPair = pair;
+        }
+        return pair;
     }
 
     /**
@@ -20,6 +20,7 @@ import com.klaytn.caver.account.Account;
 import com.klaytn.caver.account.AccountKeyRoleBased;
 import com.klaytn.caver.utils.Utils;
 import org.web3j.crypto.CipherException;
+import org.web3j.utils.Numeric;
 
 import java.util.Arrays;
 import java.util.List;
@@ -54,6 +55,18 @@ public class SingleKeyring extends AbstractKeyring{
      */
     @Override
     public List<SignatureData> sign(String txHash, int chainId, int role) {
+        return sign(Numeric.hexStringToByteArray(txHash), chainId, role);
+    }
+
+    /**
+     * Signs a transaction hash with all keys in specific role group and return signature list.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @return List
+     */
+    @Override
+    public List<SignatureData> sign(byte[] txHash, int chainId, int role) {
         PrivateKey key = getKeyByRole(role);
         SignatureData data = key.sign(txHash, chainId);
 
@@ -70,6 +83,19 @@ public class SingleKeyring extends AbstractKeyring{
      */
     @Override
     public SignatureData sign(String txHash, int chainId, int role, int index) {
+        return sign(Numeric.hexStringToByteArray(txHash), chainId, role, index);
+    }
+
+    /**
+     * Signs a transaction hash with key in specific role group and return signature.
+     * @param txHash The hash of transaction as a byte array.
+     * @param chainId The chainId specific to the network.
+     * @param role A number indicating the role of the key.
+     * @param index The index of the key to be used in the specific role group.
+     * @return SignatureData
+     */
+    @Override
+    public SignatureData sign(byte[] txHash, int chainId, int role, int index) {
         validatedIndexWithKeys(index, 1);
 
         PrivateKey key = getKeyByRole(role);
@@ -0,0 +1,190 @@
+; Multicall - the assembly listing of Multicall.BINARY.
+;
+; It implements a single function compatible with Multicall2 and Multicall3:
+;
+;   struct Call { address target; bytes callData; }
+;   struct Result { bool success; bytes returnData; }
+;   function tryAggregate(bool requireSuccess, Call[] calldata calls) external payable returns (Result[] memory returnData);
+;
+; The return value is built in memory from offset 0 in the ABI encoding of `Result[]`:
+;
+;   0x00           0x20, the offset of the array
+;   0x20           n, the length of the array
+;   0x40 + 32 * i  the offset of the i-th Result, relative to 0x40
+;   ptr            the i-th Result: success, 0x40 (the offset of returnData), the length of returnData,
+;                  and returnData padded to 32 bytes
+;
+; The call data of each call is copied to the place of its returnData (ptr + 0x60) and sent from there,
+; so no other memory is needed. If requireSuccess is true, the first failed call makes the contract revert
+; with the revert data of the call.
+;
+; Format: `<offset> <opcode> [<immediate>]`, followed by a comment. The offsets are in hex and relative to the start of
+; each section, and jump destinations are relative to the start of the runtime code.
+; MulticallTest assembles this listing and checks that it is equal to Multicall.BINARY.
+
+; ---- creation code: copies the runtime code to memory and returns it ----
+0000 PUSH1 0xc5          ; runtime code size
+0002 DUP1                ; size, size
+0003 PUSH1 0x0b          ; size, size, runtime code offset
+0005 PUSH1 0x00          ; size, size, 0x0b, 0
+0007 CODECOPY            ; memory[0:size] = code[0x0b:0x0b+size]
+0008 PUSH1 0x00          ; size, 0
+000a RETURN              ; return memory[0:size]
+
+; ---- runtime code ----
+; function dispatch
+0000 PUSH1 0x00
+0002 CALLDATALOAD
+0003 PUSH1 0xe0
+0005 SHR                 ; selector
+0006 PUSH4 0xbce38bd7    ; tryAggregate(bool,(address,bytes)[])
+000b EQ
+000c PUSH2 0x0014
+000f JUMPI
+0010 PUSH1 0x00
+0012 DUP1
+0013 REVERT              ; unknown function
+
+; decode the arguments
+0014 JUMPDEST
+0015 PUSH1 0x04
+0017 CALLDATALOAD        ; rs = requireSuccess
+0018 PUSH1 0x24
+001a CALLDATALOAD        ; rs, offset of calls
+001b PUSH1 0x04
+001d ADD                 ; rs, pos = position of calls.length
+001e DUP1
+001f CALLDATALOAD        ; rs, pos, n
+0020 SWAP1               ; rs, n, pos
+0021 PUSH1 0x20
+0023 ADD                 ; rs, n, base = position of the element offsets
+0024 SWAP1               ; rs, base, n
+0025 PUSH1 0x20
+0027 PUSH1 0x00
+0029 MSTORE              ; memory[0x00] = 0x20
+002a DUP1
+002b PUSH1 0x20
+002d MSTORE              ; memory[0x20] = n
+002e PUSH1 0x00          ; rs, base, n, i = 0
+0030 DUP2
+0031 PUSH1 0x05
+0033 SHL
+0034 PUSH1 0x40
+0036 ADD                 ; rs, base, n, i, ptr = 0x40 + 32 * n
+
+; loop over the calls
+0037 JUMPDEST            ; rs, base, n, i, ptr
+0038 DUP3
+0039 DUP3
+003a LT                  ; i < n
+003b ISZERO
+003c PUSH2 0x00b7
+003f JUMPI               ; if i >= n, goto return
+0040 PUSH1 0x40
+0042 DUP2
+0043 SUB                 ; rs, base, n, i, ptr, ptr - 0x40
+0044 DUP3
+0045 PUSH1 0x05
+0047 SHL
+0048 PUSH1 0x40
+004a ADD
+004b MSTORE              ; memory[0x40 + 32 * i] = ptr - 0x40
+004c DUP2
+004d PUSH1 0x05
+004f SHL
+0050 DUP5
+0051 ADD
+0052 CALLDATALOAD        ; rs, base, n, i, ptr, offset of calls[i]
+0053 DUP5
+0054 ADD                 ; rs, base, n, i, ptr, e = position of calls[i]
+0055 DUP1
+0056 PUSH1 0x20
+0058 ADD
+0059 CALLDATALOAD        ; ..., ptr, e, offset of callData
+005a DUP2
+005b ADD                 ; ..., ptr, e, b = position of callData.length
+005c DUP1
+005d CALLDATALOAD        ; ..., ptr, e, b, len
+005e DUP1
+005f DUP3
+0060 PUSH1 0x20
+0062 ADD
+0063 DUP6
+0064 PUSH1 0x60
+0066 ADD
+0067 CALLDATACOPY        ; memory[ptr+0x60 : ptr+0x60+len] = callData
+0068 PUSH1 0x00          ; retSize
+006a PUSH1 0x00          ; retOffset
+006c DUP3                ; argsSize = len
+006d DUP7
+006e PUSH1 0x60
+0070 ADD                 ; argsOffset = ptr + 0x60
+0071 PUSH1 0x00          ; value
+0073 DUP8
+0074 CALLDATALOAD        ; target
+0075 GAS
+0076 CALL                ; ..., ptr, e, b, len, success
+0077 DUP1
+0078 ISZERO
+0079 DUP10
+007a AND
+007b PUSH2 0x00bb
+007e JUMPI               ; if !success && rs, goto revert
+007f DUP5
+0080 MSTORE              ; memory[ptr] = success
+0081 POP
+0082 POP
+0083 POP                 ; rs, base, n, i, ptr
+0084 PUSH1 0x40
+0086 DUP2
+0087 PUSH1 0x20
+0089 ADD
+008a MSTORE              ; memory[ptr+0x20] = 0x40
+008b RETURNDATASIZE
+008c DUP2
+008d PUSH1 0x40
+008f ADD
+0090 MSTORE              ; memory[ptr+0x40] = returndatasize
+0091 RETURNDATASIZE
+0092 PUSH1 0x00
+0094 DUP3
+0095 PUSH1 0x60
+0097 ADD
+0098 RETURNDATACOPY      ; memory[ptr+0x60 : ptr+0x60+returndatasize] = returndata
+0099 PUSH1 0x00
+009b RETURNDATASIZE
+009c DUP3
+009d PUSH1 0x60
+009f ADD
+00a0 ADD
+00a1 MSTORE              ; clear the padding and the rest of the call data after returndata
+00a2 PUSH1 0x1f
+00a4 RETURNDATASIZE
+00a5 ADD
+00a6 PUSH1 0x1f
+00a8 NOT
+00a9 AND                 ; returndatasize rounded up to 32 bytes
+00aa PUSH1 0x60
+00ac ADD
+00ad ADD                 ; rs, base, n, i, ptr = ptr + 0x60 + padded returndatasize
+00ae SWAP1
+00af PUSH1 0x01
+00b1 ADD
+00b2 SWAP1               ; rs, base, n, i + 1, ptr
+00b3 PUSH2 0x0037
+00b6 JUMP
+
+; return memory[0:ptr]
+00b7 JUMPDEST
+00b8 PUSH1 0x00
+00ba RETURN
+
+; revert with the revert data of the failed call
+00bb JUMPDEST
+00bc RETURNDATASIZE
+00bd PUSH1 0x00
+00bf DUP1
+00c0 RETURNDATACOPY
+00c1 RETURNDATASIZE
+00c2 PUSH1 0x00
+00c4 REVERT
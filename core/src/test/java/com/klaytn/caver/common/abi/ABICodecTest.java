@@ -0,0 +1,136 @@
+package com.klaytn.caver.common.abi;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.ABICodec;
+import com.klaytn.caver.abi.EventValues;
+import com.klaytn.caver.abi.datatypes.*;
+import com.klaytn.caver.abi.datatypes.generated.Bytes32;
+import com.klaytn.caver.abi.datatypes.generated.Bytes4;
+import com.klaytn.caver.abi.datatypes.generated.Int8;
+import com.klaytn.caver.abi.datatypes.generated.Uint256;
+import com.klaytn.caver.contract.Contract;
+import com.klaytn.caver.contract.ContractEvent;
+import com.klaytn.caver.contract.ContractIOType;
+import com.klaytn.caver.contract.ContractMethod;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(Enclosed.class)
+public class ABICodecTest {
+    static Caver caver = new Caver(Caver.DEFAULT_URL);
+
+    static final List<String> TYPES = Arrays.asList("address", "bool", "int8", "uint256", "bytes4", "bytes", "string", "uint256[]", "string[]", "tuple(uint256,string)", "uint8[2]");
+    static final List<Object> VALUES = Arrays.asList(
+            "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a",
+            true,
+            -1,
+            BigInteger.valueOf(100_000).multiply(BigInteger.TEN.pow(18)),
+            "0x06fdde03",
+            new byte[] {1, 2, 3},
+            "caver-java",
+            Arrays.asList(1, 2, 3),
+            Arrays.asList("a", "bb"),
+            Arrays.asList(7, "struct"),
+            Arrays.asList(8, 9)
+    );
+
+    public static class encode {
+        @Test
+        public void encodeSameAsABI() throws Exception {
+            ABICodec codec = ABICodec.compile(TYPES);
+
+            assertEquals(ABI.encodeParameters(TYPES, VALUES), codec.encode(VALUES));
+        }
+
+        @Test
+        public void instantiateTypes() throws Exception {
+            List<Type> types = ABICodec.compile(Arrays.asList("int8", "bytes4", "uint256[]")).instantiate(Arrays.asList(-1, "0x06fdde03", Collections.emptyList()));
+
+            assertEquals(new Int8(BigInteger.ONE.negate()), types.get(0));
+            assertEquals(new Bytes4(new byte[] {0x06, (byte)0xfd, (byte)0xde, 0x03}), types.get(1));
+            assertEquals(new DynamicArray<>(Uint256.class, Collections.emptyList()), types.get(2));
+        }
+    }
+
+    public static class decode {
+        @Rule
+        public ExpectedException expectedException = ExpectedException.none();
+
+        @Test
+        public void decodeSameAsABI() throws Exception {
+            ABICodec codec = ABICodec.compile(TYPES);
+            String encoded = codec.encode(VALUES);
+
+            assertEquals(ABI.decodeParameters(TYPES, encoded), codec.decode(encoded));
+        }
+
+        @Test
+        public void decodeEmptyResult() throws Exception {
+            assertTrue(ABICodec.compile(Arrays.asList("uint256")).decode("0x").isEmpty());
+        }
+
+        @Test
+        public void throwException_notMatchedValueCount() throws Exception {
+            expectedException.expect(IllegalArgumentException.class);
+            expectedException.expectMessage("The number of values does not match the number of types. Expected 2 but 1");
+
+            ABICodec.compile(Arrays.asList("uint256", "bool")).encode(Arrays.asList(1));
+        }
+    }
+
+    public static class contract {
+        static final String ABI_JSON = "[{\"constant\":true,\"inputs\":[{\"name\":\"owner\",\"type\":\"address\"}],\"name\":\"balanceOf\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256\"}],\"payable\":false,\"stateMutability\":\"view\",\"type\":\"function\"}," +
+                "{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\",\"type\":\"address\"},{\"indexed\":true,\"name\":\"memo\",\"type\":\"string\"},{\"indexed\":false,\"name\":\"value\",\"type\":\"uint256\"}],\"name\":\"Memo\",\"type\":\"event\"}]";
+
+        @Test
+        public void encodeFunctionCall() throws Exception {
+            Contract contract = caver.contract.create(ABI_JSON);
+            ContractMethod method = contract.getMethod("balanceOf");
+
+            assertEquals("0x70a08231", method.getFunctionSelector());
+            assertEquals("0x70a082310000000000000000000000002c8ad0ea2e0781db8b8c9242e07de3a5beabb71a",
+                    method.encodeABI(Arrays.asList("0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a")));
+        }
+
+        @Test
+        public void getFunctionSelectorFromSignature() {
+            List<ContractIOType> inputs = Arrays.asList(new ContractIOType("owner", "address", false));
+            ContractMethod withSignature = new ContractMethod(caver, "function", "balanceOf", inputs, Collections.emptyList(), "0x70a08231", null);
+            ContractMethod withoutSignature = new ContractMethod(caver, "function", "balanceOf", inputs, Collections.emptyList(), null, null);
+
+            assertEquals(withSignature.getSignature(), withSignature.getFunctionSelector());
+            assertEquals("0x70a08231", withoutSignature.getFunctionSelector());
+        }
+
+        @Test
+        public void decodeLog() throws Exception {
+            Contract contract = caver.contract.create(ABI_JSON);
+            ContractEvent event = contract.getEvent("Memo");
+
+            List<String> topics = Arrays.asList(
+                    event.getSignature(),
+                    "0x0000000000000000000000002c8ad0ea2e0781db8b8c9242e07de3a5beabb71a",
+                    "0xb3cb6dd8e2bda8e0ab5c21b1bfcaa2bf5b0d6dba4c68b7c85ed3a0ea3d6b2e0b"
+            );
+            String data = "0x000000000000000000000000000000000000000000000000000000000000000a";
+
+            EventValues eventValues = caver.abi.decodeLog(event, data, topics);
+
+            assertEquals(new Address("0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a"), eventValues.getIndexedValues().get(0));
+            assertTrue(eventValues.getIndexedValues().get(1) instanceof Bytes32);
+            assertEquals(BigInteger.TEN, eventValues.getNonIndexedValues().get(0).getValue());
+            assertEquals(ABI.decodeLog(event.getInputs(), data, topics).getIndexedValues(), eventValues.getIndexedValues());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.klaytn.caver.common.contract;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.abi.datatypes.Address;
+import com.klaytn.caver.abi.datatypes.generated.Uint256;
+import com.klaytn.caver.contract.ABIIndex;
+import com.klaytn.caver.kct.kip17.KIP17;
+import com.klaytn.caver.kct.kip7.KIP7;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ABIIndexTest {
+    static final String TRANSFER_TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    static final String FROM = String.format("0x%040x", 1);
+    static final String TO = String.format("0x%040x", 2);
+
+    KIP7 kip7;
+    KIP17 kip17;
+    ABIIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        Caver caver = new Caver(Caver.DEFAULT_URL);
+        kip7 = new KIP7(caver);
+        kip17 = new KIP17(caver);
+        index = new ABIIndex(Arrays.asList(kip7, kip17));
+    }
+
+    @Test
+    public void decodeFunctionCall() throws Exception {
+        String input = kip7.encodeABI("transfer", TO, BigInteger.TEN);
+
+        ABIIndex.DecodedFunctionCall call = index.decodeFunctionCall(input);
+        assertEquals("transfer", call.getMethod().getName());
+        assertEquals(new Address(TO), call.getParameters().get(0));
+        assertEquals(new Uint256(BigInteger.TEN), call.getParameters().get(1));
+
+        assertSame(call.getMethod(), kip7.decodeFunctionCall(input).getMethod());
+        assertNull(index.decodeFunctionCall("0xdeadbeef"));
+        assertNull(index.decodeFunctionCall("0x"));
+    }
+
+    @Test
+    public void decodeFunctionCallOfOverloadedMethod() throws Exception {
+        String input = kip17.getMethod("safeTransferFrom").encodeABI(Arrays.asList(FROM, TO, BigInteger.ONE, "0x01"));
+
+        ABIIndex.DecodedFunctionCall call = index.decodeFunctionCall(input);
+        assertEquals("safeTransferFrom", call.getMethod().getName());
+        assertEquals(4, call.getParameters().size());
+    }
+
+    @Test
+    public void decodeLogBySignatureAndTopicCount() throws Exception {
+        String fromTopic = "0x" + String.format("%064x", 1);
+        String toTopic = "0x" + String.format("%064x", 2);
+        String value = "0x" + String.format("%064x", 10);
+
+        ABIIndex.DecodedLog kip7Log = index.decodeLog(value, Arrays.asList(TRANSFER_TOPIC, fromTopic, toTopic));
+        assertEquals("Transfer", kip7Log.getEvent().getName());
+        assertEquals(2, kip7Log.getValues().getIndexedValues().size());
+        assertEquals(new Uint256(BigInteger.TEN), kip7Log.getValues().getNonIndexedValues().get(0));
+
+        ABIIndex.DecodedLog kip17Log = index.decodeLog("0x", Arrays.asList(TRANSFER_TOPIC, fromTopic, toTopic, value));
+        assertEquals(3, kip17Log.getValues().getIndexedValues().size());
+        assertEquals(new Uint256(BigInteger.TEN), kip17Log.getValues().getIndexedValues().get(2));
+
+        assertNull(index.decodeLog("0x", Arrays.asList(TRANSFER_TOPIC)));
+        assertNull(index.decodeLog("0x", Arrays.asList(toTopic)));
+    }
+}
@@ -0,0 +1,162 @@
+package com.klaytn.caver.common.contract;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.abi.ABI;
+import com.klaytn.caver.abi.ABICodec;
+import com.klaytn.caver.abi.datatypes.DynamicArray;
+import com.klaytn.caver.abi.datatypes.DynamicBytes;
+import com.klaytn.caver.abi.datatypes.DynamicStruct;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.contract.Contract;
+import com.klaytn.caver.contract.ContractCallBatch;
+import com.klaytn.caver.contract.Multicall;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ContractCallBatchTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    static final String ABI_JSON = "[{\"constant\":true,\"inputs\":[{\"name\":\"owner\",\"type\":\"address\"}],\"name\":\"balanceOf\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256\"}],\"payable\":false,\"stateMutability\":\"view\",\"type\":\"function\"}]";
+    static final String TOKEN = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+    static final String MULTICALL = "0x3e3b0a14d0e0b5c0b2ad4bd01e4e6cba4ea1f0c8";
+    static final String OWNER_1 = "0x0000000000000000000000000000000000000001";
+    static final String OWNER_2 = "0x0000000000000000000000000000000000000002";
+    static final String REVERT_OWNER = "0x00000000000000000000000000000000000000ff";
+
+    MockWeb3jService service;
+    Caver caver;
+    Contract token;
+
+    static String balance(long value) {
+        return String.format("0x%064x", value);
+    }
+
+    static String balanceOf(String data) {
+        String owner = "0x" + data.substring(data.length() - 40);
+        return owner.equals(REVERT_OWNER) ? null : balance(Long.decode(owner));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        service = new MockWeb3jService()
+                .on("klay_call", params -> {
+                    String to = params.get(0).get("to").asText();
+                    String data = params.get(0).get("data").asText();
+                    if(to.equals(TOKEN)) {
+                        String result = balanceOf(data);
+                        return result == null ? new Response.Error(-32000, "evm: execution reverted") : result;
+                    }
+
+                    try {
+                        assertTrue(data.startsWith("0xbce38bd7"));
+                        DynamicArray<DynamicStruct> calls = (DynamicArray<DynamicStruct>)ABI.decodeParameters(Arrays.asList("bool", "tuple(address,bytes)[]"), data.substring(10)).get(1);
+                        List<Object> results = new ArrayList<>();
+                        for(DynamicStruct call : calls.getValue()) {
+                            String result = balanceOf(Numeric.toHexString(((DynamicBytes)call.getValue().get(1)).getValue()));
+                            results.add(result == null ? Arrays.asList(false, "0x") : Arrays.asList(true, result));
+                        }
+                        return "0x" + ABICodec.compile(Collections.singletonList("tuple(bool,bytes)[]")).encode(Collections.singletonList(results));
+                    } catch(Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+        caver = new Caver(service);
+        token = caver.contract.create(ABI_JSON, TOKEN);
+    }
+
+    @Test
+    public void aggregateCalls() throws Exception {
+        Multicall multicall = new Multicall(caver, MULTICALL);
+        ContractCallBatch batch = multicall.newBatch();
+        ContractCallBatch.Entry first = batch.add(token, "balanceOf", OWNER_1);
+        ContractCallBatch.Entry second = batch.add(token, "balanceOf", OWNER_2);
+        ContractCallBatch.Entry reverted = batch.add(token, "balanceOf", REVERT_OWNER);
+        batch.call();
+
+        assertEquals(BigInteger.ONE, first.getResult().get(0).getValue());
+        assertEquals(BigInteger.valueOf(2), second.getResult().get(0).getValue());
+        assertTrue(reverted.hasError());
+        assertEquals(1, service.getCallCount("klay_call"));
+        assertEquals(1, service.getIOCount());
+    }
+
+    @Test
+    public void splitCallsByMaxCallsPerRequest() throws Exception {
+        ContractCallBatch batch = new Multicall(caver, MULTICALL).newBatch(2);
+        List<ContractCallBatch.Entry> entries = new ArrayList<>();
+        for(int i = 1; i <= 5; i++) {
+            entries.add(batch.add(token, "balanceOf", String.format("0x%040x", i)));
+        }
+        batch.call();
+
+        for(int i = 0; i < 5; i++) {
+            assertEquals(BigInteger.valueOf(i + 1), entries.get(i).getResult().get(0).getValue());
+        }
+        assertEquals(3, service.getIOCount());
+    }
+
+    @Test
+    public void fallbackToBatch_aggregateFailed() throws Exception {
+        service.on("klay_call", params -> {
+            String to = params.get(0).get("to").asText();
+            if(!to.equals(TOKEN)) {
+                return "0x";
+            }
+            return balanceOf(params.get(0).get("data").asText());
+        });
+
+        ContractCallBatch batch = new Multicall(caver, MULTICALL).newBatch();
+        ContractCallBatch.Entry first = batch.add(token, "balanceOf", OWNER_1);
+        ContractCallBatch.Entry second = batch.add(token, "balanceOf", OWNER_2);
+        batch.call();
+
+        assertEquals(BigInteger.ONE, first.getResult().get(0).getValue());
+        assertEquals(BigInteger.valueOf(2), second.getResult().get(0).getValue());
+        assertEquals(2, service.getIOCount());
+    }
+
+    @Test
+    public void sendBatchWithoutMulticall() throws Exception {
+        ContractCallBatch batch = new ContractCallBatch(caver);
+        ContractCallBatch.Entry first = batch.add(token, "balanceOf", OWNER_1);
+        ContractCallBatch.Entry reverted = batch.add(token, "balanceOf", REVERT_OWNER);
+        batch.call();
+
+        assertEquals(BigInteger.ONE, first.getResult().get(0).getValue());
+        assertEquals(1, service.getIOCount());
+
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("evm: execution reverted");
+        reverted.getResult();
+    }
+
+    @Test
+    public void throwException_notCalled() throws Exception {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("The batch is not called yet.");
+
+        new ContractCallBatch(caver).add(token, "balanceOf", OWNER_1).getResult();
+    }
+
+    @Test
+    public void throwException_invalidMaxCallsPerRequest() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Invalid max calls per request : 0");
+
+        new ContractCallBatch(caver, null, 0);
+    }
+}
@@ -0,0 +1,408 @@
+package com.klaytn.caver.common.contract;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.abi.ABICodec;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.contract.Contract;
+import com.klaytn.caver.contract.ContractCallBatch;
+import com.klaytn.caver.contract.ContractMethod;
+import com.klaytn.caver.contract.Multicall;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs Multicall.BINARY on a minimal EVM which implements only the opcodes used by the contract.
+ */
+public class MulticallTest {
+    static final String ABI_JSON = "[{\"constant\":true,\"inputs\":[{\"name\":\"owner\",\"type\":\"address\"}],\"name\":\"balanceOf\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256\"}],\"payable\":false,\"stateMutability\":\"view\",\"type\":\"function\"}]";
+    static final String TOKEN = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+    static final String REVERTER = "0x00000000000000000000000000000000000000aa";
+    static final String ECHO = "0x00000000000000000000000000000000000000bb";
+    static final String MULTICALL = "0x3e3b0a14d0e0b5c0b2ad4bd01e4e6cba4ea1f0c8";
+    static final String REVERT_OWNER = "0x00000000000000000000000000000000000000ff";
+
+    // Error(string) with the reason "no balance"
+    static final String REVERT_DATA = "0x08c379a0" +
+            "0000000000000000000000000000000000000000000000000000000000000020" +
+            "000000000000000000000000000000000000000000000000000000000000000a" +
+            "6e6f2062616c616e636500000000000000000000000000000000000000000000";
+
+    Evm evm;
+    byte[] runtime;
+    Caver caver;
+    Multicall multicall;
+    ContractMethod tryAggregate;
+
+    @Before
+    public void setUp() throws Exception {
+        evm = new Evm();
+        evm.accounts.put(new BigInteger(TOKEN.substring(2), 16), input -> {
+            String owner = "0x" + Numeric.toHexString(input).substring(Numeric.toHexString(input).length() - 40);
+            if(owner.equals(REVERT_OWNER)) {
+                return new Evm.Result(false, Numeric.hexStringToByteArray(REVERT_DATA));
+            }
+            return new Evm.Result(true, Numeric.toBytesPadded(Numeric.toBigInt(owner), 32));
+        });
+        evm.accounts.put(new BigInteger(REVERTER.substring(2), 16), input -> new Evm.Result(false, Numeric.hexStringToByteArray(REVERT_DATA)));
+        evm.accounts.put(new BigInteger(ECHO.substring(2), 16), input -> new Evm.Result(true, input));
+
+        Evm.Result deployed = evm.execute(Numeric.hexStringToByteArray(Multicall.BINARY), new byte[0]);
+        assertTrue(deployed.success);
+        runtime = deployed.data;
+
+        MockWeb3jService service = new MockWeb3jService().on("klay_call", params -> {
+            String to = params.get(0).get("to").asText();
+            if(!to.equals(MULTICALL)) {
+                return new Response.Error(-32000, "unexpected call to " + to);
+            }
+            Evm.Result result = evm.execute(runtime, Numeric.hexStringToByteArray(params.get(0).get("data").asText()));
+            return result.success ? Numeric.toHexString(result.data) : new Response.Error(-32000, "evm: execution reverted");
+        });
+        caver = new Caver(service);
+        multicall = new Multicall(caver, MULTICALL);
+        tryAggregate = multicall.getMethod(Multicall.FUNCTION_TRY_AGGREGATE);
+    }
+
+    Evm.Result tryAggregate(boolean requireSuccess, List<Object> calls) throws Exception {
+        String data = tryAggregate.getFunctionSelector() + tryAggregate.getInputCodec().encode(Arrays.asList(requireSuccess, calls));
+        return evm.execute(runtime, Numeric.hexStringToByteArray(data));
+    }
+
+    @Test
+    public void listingAssemblesToBinary() throws Exception {
+        assertEquals(Multicall.BINARY, Numeric.toHexStringNoPrefix(assemble("/com/klaytn/caver/contract/Multicall.asm")));
+    }
+
+    @Test
+    public void encodeResultsInABIFormat() throws Exception {
+        // The return data of 0, 32 and 33 bytes checks the length and the padding of the bytes.
+        List<Object> calls = Arrays.asList(
+                Arrays.asList(ECHO, "0x"),
+                Arrays.asList(REVERTER, "0x12345678"),
+                Arrays.asList(ECHO, "0x" + String.join("", Collections.nCopies(32, "ab"))),
+                Arrays.asList(ECHO, "0x" + String.join("", Collections.nCopies(33, "cd"))));
+
+        Evm.Result result = tryAggregate(false, calls);
+        assertTrue(result.success);
+
+        List<Object> expected = Arrays.asList(
+                Arrays.asList(true, "0x"),
+                Arrays.asList(false, REVERT_DATA),
+                Arrays.asList(true, "0x" + String.join("", Collections.nCopies(32, "ab"))),
+                Arrays.asList(true, "0x" + String.join("", Collections.nCopies(33, "cd"))));
+        String encoded = ABICodec.compile(Collections.singletonList("tuple(bool,bytes)[]")).encode(Collections.singletonList(expected));
+        assertEquals(encoded, Numeric.toHexStringNoPrefix(result.data));
+        assertEquals(4, evm.callCount);
+    }
+
+    @Test
+    public void encodeEmptyCalls() throws Exception {
+        Evm.Result result = tryAggregate(false, Collections.emptyList());
+
+        assertTrue(result.success);
+        assertEquals(ABICodec.compile(Collections.singletonList("tuple(bool,bytes)[]")).encode(Collections.singletonList(Collections.emptyList())),
+                Numeric.toHexStringNoPrefix(result.data));
+    }
+
+    @Test
+    public void revertWithRequireSuccess() throws Exception {
+        List<Object> calls = Arrays.asList(
+                Arrays.asList(ECHO, "0x01"),
+                Arrays.asList(REVERTER, "0x"),
+                Arrays.asList(ECHO, "0x02"));
+
+        Evm.Result result = tryAggregate(true, calls);
+
+        assertFalse(result.success);
+        assertEquals(REVERT_DATA, Numeric.toHexString(result.data));
+        // The calls after the failed one are not executed.
+        assertEquals(2, evm.callCount);
+    }
+
+    @Test
+    public void succeedWithRequireSuccess() throws Exception {
+        Evm.Result result = tryAggregate(true, Arrays.asList(Arrays.asList(ECHO, "0x01"), Arrays.asList(ECHO, "0x02")));
+
+        assertTrue(result.success);
+        assertEquals(ABICodec.compile(Collections.singletonList("tuple(bool,bytes)[]")).encode(Collections.singletonList(
+                Arrays.asList(Arrays.asList(true, "0x01"), Arrays.asList(true, "0x02")))), Numeric.toHexStringNoPrefix(result.data));
+    }
+
+    @Test
+    public void rejectUnknownFunction() {
+        Evm.Result result = evm.execute(runtime, Numeric.hexStringToByteArray("0x70a08231"));
+        assertFalse(result.success);
+    }
+
+    @Test
+    public void aggregateContractCallBatch() throws Exception {
+        Contract token = caver.contract.create(ABI_JSON, TOKEN);
+        ContractCallBatch batch = multicall.newBatch();
+        ContractCallBatch.Entry first = batch.add(token, "balanceOf", "0x0000000000000000000000000000000000000001");
+        ContractCallBatch.Entry reverted = batch.add(token, "balanceOf", REVERT_OWNER);
+        ContractCallBatch.Entry second = batch.add(token, "balanceOf", "0x0000000000000000000000000000000000000002");
+        batch.call();
+
+        assertEquals(BigInteger.ONE, first.getResult().get(0).getValue());
+        assertEquals(BigInteger.valueOf(2), second.getResult().get(0).getValue());
+        assertTrue(reverted.hasError());
+        assertEquals("execution reverted: no balance", reverted.getException().getMessage());
+        assertEquals(3, evm.callCount);
+    }
+
+    /**
+     * Assembles the listing in the format of Multicall.asm.
+     */
+    static byte[] assemble(String resource) throws Exception {
+        Map<String, Integer> opcodes = new HashMap<>();
+        String[] names = {"STOP", "ADD", "SUB", "LT", "EQ", "ISZERO", "AND", "NOT", "SHL", "SHR", "CALLDATALOAD", "CALLDATACOPY", "CODECOPY",
+                "RETURNDATASIZE", "RETURNDATACOPY", "POP", "MSTORE", "JUMP", "JUMPI", "GAS", "JUMPDEST", "CALL", "RETURN", "REVERT"};
+        int[] codes = {0x00, 0x01, 0x03, 0x10, 0x14, 0x15, 0x16, 0x19, 0x1b, 0x1c, 0x35, 0x37, 0x39,
+                0x3d, 0x3e, 0x50, 0x52, 0x56, 0x57, 0x5a, 0x5b, 0xf1, 0xf3, 0xfd};
+        for(int i = 0; i < names.length; i++) {
+            opcodes.put(names[i], codes[i]);
+        }
+        for(int i = 1; i <= 16; i++) {
+            opcodes.put("DUP" + i, 0x7f + i);
+            opcodes.put("SWAP" + i, 0x8f + i);
+        }
+
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        int sectionStart = 0;
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(MulticallTest.class.getResourceAsStream(resource), StandardCharsets.UTF_8))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                int comment = line.indexOf(';');
+                String[] parts = (comment < 0 ? line : line.substring(0, comment)).trim().split("\\s+");
+                if(parts[0].isEmpty()) {
+                    continue;
+                }
+
+                int offset = Integer.parseInt(parts[0], 16);
+                if(offset == 0) {
+                    sectionStart = code.size();
+                }
+                assertEquals("The offset of " + line, offset, code.size() - sectionStart);
+
+                if(parts[1].startsWith("PUSH")) {
+                    byte[] immediate = Numeric.hexStringToByteArray(parts[2]);
+                    assertEquals(Integer.parseInt(parts[1].substring(4)), immediate.length);
+                    code.write(0x5f + immediate.length);
+                    code.write(immediate);
+                } else {
+                    assertTrue("Unknown opcode : " + parts[1], opcodes.containsKey(parts[1]));
+                    code.write(opcodes.get(parts[1]));
+                }
+            }
+        }
+        return code.toByteArray();
+    }
+
+    /**
+     * A minimal EVM which implements only the opcodes used by Multicall.
+     * The accounts called by CALL are Java functions which take the input and return the result.
+     */
+    static class Evm {
+        static final BigInteger WORD = BigInteger.ONE.shiftLeft(256);
+        static final BigInteger MASK = WORD.subtract(BigInteger.ONE);
+        static final BigInteger ADDRESS_MASK = BigInteger.ONE.shiftLeft(160).subtract(BigInteger.ONE);
+
+        final Map<BigInteger, Function<byte[], Result>> accounts = new HashMap<>();
+        int callCount = 0;
+
+        static class Result {
+            final boolean success;
+            final byte[] data;
+
+            Result(boolean success, byte[] data) {
+                this.success = success;
+                this.data = data;
+            }
+        }
+
+        Result execute(byte[] code, byte[] callData) {
+            Deque<BigInteger> stack = new ArrayDeque<>();
+            byte[][] memory = {new byte[0]};
+            byte[] returnData = new byte[0];
+            int pc = 0;
+
+            while(pc < code.length) {
+                int op = code[pc] & 0xff;
+                pc++;
+
+                if(op >= 0x60 && op <= 0x7f) {
+                    int size = op - 0x5f;
+                    stack.push(new BigInteger(1, Arrays.copyOfRange(code, pc, pc + size)));
+                    pc += size;
+                    continue;
+                }
+                if(op >= 0x80 && op <= 0x8f) {
+                    stack.push(new ArrayList<>(stack).get(op - 0x80));
+                    continue;
+                }
+                if(op >= 0x90 && op <= 0x9f) {
+                    List<BigInteger> items = new ArrayList<>(stack);
+                    Collections.swap(items, 0, op - 0x8f);
+                    stack.clear();
+                    for(int i = items.size() - 1; i >= 0; i--) {
+                        stack.push(items.get(i));
+                    }
+                    continue;
+                }
+
+                switch(op) {
+                    case 0x00:
+                        return new Result(true, new byte[0]);
+                    case 0x01:
+                        stack.push(stack.pop().add(stack.pop()).and(MASK));
+                        break;
+                    case 0x03:
+                        stack.push(stack.pop().subtract(stack.pop()).mod(WORD));
+                        break;
+                    case 0x10:
+                        stack.push(stack.pop().compareTo(stack.pop()) < 0 ? BigInteger.ONE : BigInteger.ZERO);
+                        break;
+                    case 0x14:
+                        stack.push(stack.pop().equals(stack.pop()) ? BigInteger.ONE : BigInteger.ZERO);
+                        break;
+                    case 0x15:
+                        stack.push(stack.pop().signum() == 0 ? BigInteger.ONE : BigInteger.ZERO);
+                        break;
+                    case 0x16:
+                        stack.push(stack.pop().and(stack.pop()));
+                        break;
+                    case 0x19:
+                        stack.push(stack.pop().xor(MASK));
+                        break;
+                    case 0x1b: {
+                        int shift = stack.pop().intValueExact();
+                        stack.push(stack.pop().shiftLeft(shift).and(MASK));
+                        break;
+                    }
+                    case 0x1c: {
+                        int shift = stack.pop().intValueExact();
+                        stack.push(stack.pop().shiftRight(shift));
+                        break;
+                    }
+                    case 0x35:
+                        stack.push(new BigInteger(1, slice(callData, stack.pop().intValueExact(), 32)));
+                        break;
+                    case 0x37:
+                    case 0x39:
+                    case 0x3e: {
+                        int destination = stack.pop().intValueExact();
+                        int offset = stack.pop().intValueExact();
+                        int size = stack.pop().intValueExact();
+                        if(op == 0x3e && offset + size > returnData.length) {
+                            return new Result(false, new byte[0]);
+                        }
+                        byte[] source = op == 0x37 ? callData : op == 0x39 ? code : returnData;
+                        write(memory, destination, slice(source, offset, size));
+                        break;
+                    }
+                    case 0x3d:
+                        stack.push(BigInteger.valueOf(returnData.length));
+                        break;
+                    case 0x50:
+                        stack.pop();
+                        break;
+                    case 0x52: {
+                        int offset = stack.pop().intValueExact();
+                        write(memory, offset, Numeric.toBytesPadded(stack.pop(), 32));
+                        break;
+                    }
+                    case 0x56:
+                        pc = jump(code, stack.pop());
+                        break;
+                    case 0x57: {
+                        BigInteger destination = stack.pop();
+                        if(stack.pop().signum() != 0) {
+                            pc = jump(code, destination);
+                        }
+                        break;
+                    }
+                    case 0x5a:
+                        stack.push(BigInteger.valueOf(1_000_000));
+                        break;
+                    case 0x5b:
+                        break;
+                    case 0xf1: {
+                        stack.pop();
+                        BigInteger address = stack.pop().and(ADDRESS_MASK);
+                        BigInteger value = stack.pop();
+                        int argsOffset = stack.pop().intValueExact();
+                        int argsSize = stack.pop().intValueExact();
+                        int retOffset = stack.pop().intValueExact();
+                        int retSize = stack.pop().intValueExact();
+                        assertEquals(BigInteger.ZERO, value);
+
+                        callCount++;
+                        byte[] input = read(memory, argsOffset, argsSize);
+                        Function<byte[], Result> account = accounts.get(address);
+                        Result result = account == null ? new Result(true, new byte[0]) : account.apply(input);
+                        returnData = result.data;
+                        write(memory, retOffset, slice(returnData, 0, Math.min(retSize, returnData.length)));
+                        stack.push(result.success ? BigInteger.ONE : BigInteger.ZERO);
+                        break;
+                    }
+                    case 0xf3:
+                    case 0xfd: {
+                        int offset = stack.pop().intValueExact();
+                        int size = stack.pop().intValueExact();
+                        return new Result(op == 0xf3, read(memory, offset, size));
+                    }
+                    default:
+                        throw new IllegalStateException(String.format("Unsupported opcode 0x%02x at %d", op, pc - 1));
+                }
+            }
+            return new Result(true, new byte[0]);
+        }
+
+        static int jump(byte[] code, BigInteger destination) {
+            int pc = destination.intValueExact();
+            if(pc >= code.length || (code[pc] & 0xff) != 0x5b) {
+                throw new IllegalStateException("Invalid jump destination : " + pc);
+            }
+            return pc;
+        }
+
+        /**
+         * Returns the bytes of the source from the offset, padded with zeros.
+         */
+        static byte[] slice(byte[] source, int offset, int size) {
+            byte[] result = new byte[size];
+            if(offset < source.length) {
+                System.arraycopy(source, offset, result, 0, Math.min(size, source.length - offset));
+            }
+            return result;
+        }
+
+        static byte[] read(byte[][] memory, int offset, int size) {
+            expand(memory, offset + size);
+            return Arrays.copyOfRange(memory[0], offset, offset + size);
+        }
+
+        static void write(byte[][] memory, int offset, byte[] data) {
+            expand(memory, offset + data.length);
+            System.arraycopy(data, 0, memory[0], offset, data.length);
+        }
+
+        static void expand(byte[][] memory, int size) {
+            if(size > memory[0].length) {
+                memory[0] = Arrays.copyOf(memory[0], (size + 31) / 32 * 32);
+            }
+        }
+    }
+}
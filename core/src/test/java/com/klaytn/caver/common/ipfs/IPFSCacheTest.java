@@ -0,0 +1,105 @@
+package com.klaytn.caver.common.ipfs;
+
+import com.klaytn.caver.ipfs.IPFS;
+import com.klaytn.caver.ipfs.IPFSCache;
+import io.ipfs.multihash.Multihash;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.web3j.crypto.Hash;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IPFSCacheTest {
+    static final String HASH = "QmYtUc4iTCbbfVSDNKvtQqrfyezPPnFvE33wFmutw9PBBk";
+    static final byte[] CONTENT = "This is IPFS test.".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void putAndGet() throws Exception {
+        IPFSCache cache = new IPFSCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+        assertFalse(cache.contains(HASH));
+        assertNull(cache.get(HASH));
+        assertNull(cache.open(HASH));
+
+        cache.put(HASH, new ByteArrayInputStream(CONTENT));
+        assertTrue(cache.contains(HASH));
+        assertArrayEquals(CONTENT, cache.get(HASH));
+        try(InputStream inputStream = cache.open(HASH)) {
+            assertEquals(CONTENT[0], inputStream.read());
+        }
+
+        // No temporary file is left.
+        assertEquals(1, Files.list(cache.getPath(HASH).getParent()).count());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        assertTrue(cache.remove(HASH));
+        assertFalse(cache.contains(HASH));
+    }
+
+    static String hashOf(byte[] content) {
+        return new Multihash(Multihash.Type.sha2_256, Hash.sha256(content)).toBase58();
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedFiles() throws Exception {
+        IPFSCache cache = new IPFSCache(temporaryFolder.getRoot().toPath(), 3 * CONTENT.length);
+        List<String> hashes = new ArrayList<>();
+        for(int i = 0; i < 4; i++) {
+            byte[] content = Arrays.copyOf(CONTENT, CONTENT.length);
+            content[0] = (byte)i;
+            hashes.add(hashOf(content));
+        }
+
+        cache.put(hashes.get(0), CONTENT);
+        cache.put(hashes.get(1), CONTENT);
+        cache.put(hashes.get(2), CONTENT);
+        assertNotNull(cache.get(hashes.get(0)));
+
+        cache.put(hashes.get(3), CONTENT);
+        assertTrue(cache.contains(hashes.get(0)));
+        assertFalse(cache.contains(hashes.get(1)));
+        assertTrue(cache.contains(hashes.get(2)));
+        assertTrue(cache.contains(hashes.get(3)));
+        assertEquals(3 * CONTENT.length, cache.getSize());
+
+        // The files left on the disk are counted by a new instance.
+        assertEquals(3 * CONTENT.length, new IPFSCache(temporaryFolder.getRoot().toPath()).getSize());
+    }
+
+    @Test
+    public void keepStoredFileLargerThanMaxSize() throws Exception {
+        IPFSCache cache = new IPFSCache(temporaryFolder.getRoot().toPath(), 1);
+        cache.put(HASH, CONTENT);
+
+        assertArrayEquals(CONTENT, cache.get(HASH));
+    }
+
+    @Test
+    public void getFromCacheWithoutNode() throws Exception {
+        IPFSCache cache = new IPFSCache(temporaryFolder.getRoot().toPath());
+        cache.put(HASH, CONTENT);
+
+        IPFS ipfs = new IPFS();
+        ipfs.setCache(cache);
+
+        assertArrayEquals(CONTENT, ipfs.get(HASH));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(CONTENT.length, ipfs.get(HASH, out));
+        assertArrayEquals(CONTENT, out.toByteArray());
+        assertEquals(2, cache.getHitCount());
+    }
+}
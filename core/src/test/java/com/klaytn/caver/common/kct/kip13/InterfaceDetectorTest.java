@@ -0,0 +1,107 @@
+package com.klaytn.caver.common.kct.kip13;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.kct.kip13.InterfaceDetector;
+import com.klaytn.caver.kct.kip7.KIP7;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class InterfaceDetectorTest {
+    static final String TOKEN = String.format("0x%040x", 1);
+    static final String NOT_KIP13 = String.format("0x%040x", 2);
+    static final String MISSING = String.format("0x%040x", 3);
+
+    MockWeb3jService service;
+    Map<String, String> codeHashes = new HashMap<>();
+    Set<String> supported = new HashSet<>(Arrays.asList("01ffc9a7", "65787371", "a219a025"));
+    Caver caver;
+
+    @Before
+    public void setUp() {
+        codeHashes.put(TOKEN, "0x01");
+        codeHashes.put(NOT_KIP13, "0x02");
+
+        service = new MockWeb3jService()
+                .on("klay_getAccount", params -> {
+                    String codeHash = codeHashes.get(params.get(0).asText());
+                    if(codeHash == null) {
+                        return null;
+                    }
+                    Map<String, Object> account = new HashMap<>();
+                    account.put("codeHash", codeHash);
+                    account.put("balance", "0x0");
+                    account.put("nonce", "0x1");
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("accType", 2);
+                    result.put("account", account);
+                    return result;
+                })
+                .on("klay_call", this::supportsInterface);
+        caver = new Caver(service);
+    }
+
+    Object supportsInterface(JsonNode params) {
+        String to = params.get(0).get("to").asText();
+        String id = params.get(0).get("data").asText().substring(10, 18);
+        boolean result = to.equals(TOKEN) && supported.contains(id);
+        return String.format("0x%064x", result ? 1 : 0);
+    }
+
+    @Test
+    public void detectInSingleRoundTrip() {
+        Map<String, Boolean> result = KIP7.detectInterface(caver, TOKEN);
+
+        assertEquals(KIP7.INTERFACE.values().length, result.size());
+        assertTrue(result.get(KIP7.INTERFACE.IKIP7.getName()));
+        assertTrue(result.get(KIP7.INTERFACE.IKIP7_METADATA.getName()));
+        assertFalse(result.get(KIP7.INTERFACE.IKIP7_MINTABLE.getName()));
+        assertEquals(1, service.getIOCount());
+        assertEquals(KIP7.INTERFACE.values().length + 2, service.getCallCount("klay_call"));
+    }
+
+    @Test
+    public void detectAllAndCacheByCodeHash() throws IOException {
+        InterfaceDetector detector = new InterfaceDetector(caver);
+
+        Map<String, Map<String, Boolean>> results = KIP7.detectInterfaces(detector, Arrays.asList(TOKEN, NOT_KIP13, MISSING));
+        assertEquals(Arrays.asList(TOKEN, NOT_KIP13, MISSING), new ArrayList<>(results.keySet()));
+        assertTrue(results.get(TOKEN).get(KIP7.INTERFACE.IKIP7.getName()));
+        assertNull(results.get(NOT_KIP13));
+        assertNull(results.get(MISSING));
+        int calls = service.getCallCount("klay_call");
+
+        results = KIP7.detectInterfaces(detector, Arrays.asList(TOKEN, NOT_KIP13));
+        assertTrue(results.get(TOKEN).get(KIP7.INTERFACE.IKIP7.getName()));
+        assertNull(results.get(NOT_KIP13));
+        assertEquals(calls, service.getCallCount("klay_call"));
+
+        supported.remove("65787371");
+        codeHashes.put(TOKEN, "0x03");
+        results = KIP7.detectInterfaces(detector, Collections.singletonList(TOKEN));
+        assertFalse(results.get(TOKEN).get(KIP7.INTERFACE.IKIP7.getName()));
+        assertEquals(calls + KIP7.INTERFACE.values().length + 2, service.getCallCount("klay_call"));
+    }
+
+    @Test
+    public void shareDetectorPerCaver() {
+        KIP7.detectInterface(caver, TOKEN);
+        int calls = service.getCallCount("klay_call");
+
+        assertTrue(KIP7.detectInterface(caver, TOKEN).get(KIP7.INTERFACE.IKIP7.getName()));
+        assertSame(caver.rpc.getKlay().getInterfaceDetector(), caver.rpc.getKlay().getInterfaceDetector());
+        assertEquals(calls, service.getCallCount("klay_call"));
+        assertEquals(2, service.getCallCount("klay_getAccount"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void throwIfNotKIP13() {
+        KIP7.detectInterface(caver, NOT_KIP13);
+    }
+}
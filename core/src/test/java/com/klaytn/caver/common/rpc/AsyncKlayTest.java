@@ -0,0 +1,105 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.rpc.AsyncKlay;
+import com.klaytn.caver.rpc.Klay;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class AsyncKlayTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    CountDownLatch latch = new CountDownLatch(1);
+    MockWeb3jService service;
+    Klay klay;
+    AsyncKlay asyncKlay;
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_getBalance", params -> "0xa")
+                .on("klay_blockNumber", params -> {
+                    try {
+                        latch.await();
+                    } catch(InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "0x64";
+                });
+        klay = new Klay(service);
+        asyncKlay = new AsyncKlay(klay, 2);
+    }
+
+    @After
+    public void tearDown() {
+        latch.countDown();
+        asyncKlay.close();
+    }
+
+    @Test
+    public void sendRequest() throws Exception {
+        CompletableFuture<Quantity> future = asyncKlay.getBalance("0x7b65b75d204abed71587c9e519a89277766ee1d0", DefaultBlockParameterName.LATEST);
+
+        assertEquals(BigInteger.TEN, future.get(5, TimeUnit.SECONDS).getValue());
+        assertEquals(0, asyncKlay.getInFlightCount());
+    }
+
+    @Test
+    public void limitInFlightRequests() throws Exception {
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        futures.add(asyncKlay.getBlockNumber());
+        futures.add(asyncKlay.send(klay.getBlockNumber()));
+
+        assertEquals(2, asyncKlay.getInFlightCount());
+        assertNull(asyncKlay.trySend(klay.getBlockNumber()));
+
+        latch.countDown();
+        for(CompletableFuture<Quantity> future : futures) {
+            assertEquals(BigInteger.valueOf(100), future.get(5, TimeUnit.SECONDS).getValue());
+        }
+
+        CompletableFuture<Quantity> next = asyncKlay.trySend(klay.getBlockNumber());
+        assertNotNull(next);
+        assertEquals(BigInteger.valueOf(100), next.get(5, TimeUnit.SECONDS).getValue());
+    }
+
+    @Test
+    public void useGivenExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AsyncKlay withExecutor = new AsyncKlay(klay, executor, 1);
+
+        assertEquals(BigInteger.TEN, withExecutor.send(klay.getBalance("0x7b65b75d204abed71587c9e519a89277766ee1d0")).get(5, TimeUnit.SECONDS).getValue());
+
+        withExecutor.close();
+        assertFalse(executor.isShutdown());
+        executor.shutdown();
+    }
+
+    @Test
+    public void completeExceptionally() throws Exception {
+        expectedException.expectCause(org.hamcrest.CoreMatchers.instanceOf(IOException.class));
+
+        asyncKlay.send(klay.getChainID()).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void throwException_invalidMaxInFlight() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Invalid max in-flight : 0");
+
+        new AsyncKlay(klay, 0);
+    }
+}
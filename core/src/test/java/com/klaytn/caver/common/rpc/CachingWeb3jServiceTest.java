@@ -0,0 +1,107 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.methods.response.Bytes;
+import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.rpc.CachingWeb3jService;
+import com.klaytn.caver.rpc.Klay;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CachingWeb3jServiceTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    static final String HASH = "0x" + String.join("", Collections.nCopies(32, "ab"));
+    static final String ADDRESS = "0x" + String.join("", Collections.nCopies(20, "cd"));
+
+    MockWeb3jService service;
+    AtomicReference<Object> receipt = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_chainID", params -> "0x2710")
+                .on("klay_getTransactionReceipt", params -> receipt.get())
+                .on("klay_getCode", params -> "0x6080");
+    }
+
+    @Test
+    public void cacheChainId() throws IOException {
+        CachingWeb3jService cachingService = new CachingWeb3jService(service);
+        Klay klay = new Klay(cachingService);
+
+        assertEquals("0x2710", klay.getChainID().send().getResult());
+        assertEquals("0x2710", klay.getChainID().send().getResult());
+        assertEquals(1, service.getCallCount("klay_chainID"));
+        assertEquals(1, cachingService.getHitCount());
+        assertEquals(1, cachingService.getMissCount());
+    }
+
+    @Test
+    public void cacheReceiptOnceMined() throws IOException {
+        CachingWeb3jService cachingService = new CachingWeb3jService(service);
+        Klay klay = new Klay(cachingService);
+
+        assertNull(klay.getTransactionReceipt(HASH).send().getResult());
+        receipt.set(Collections.singletonMap("transactionHash", HASH));
+
+        TransactionReceipt first = klay.getTransactionReceipt(HASH).send();
+        TransactionReceipt second = klay.getTransactionReceipt(HASH).send();
+        assertEquals(HASH, first.getResult().getTransactionHash());
+        assertEquals(HASH, second.getResult().getTransactionHash());
+        assertNotSame(first.getResult(), second.getResult());
+        assertEquals(2, service.getCallCount("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void notCacheLatestBlockOrError() throws IOException {
+        service.on("klay_getTransactionReceipt", params -> new Response.Error(-32000, "unavailable"));
+        CachingWeb3jService cachingService = new CachingWeb3jService(service);
+        Klay klay = new Klay(cachingService);
+
+        klay.getCode(ADDRESS, DefaultBlockParameterName.LATEST).send();
+        klay.getCode(ADDRESS, DefaultBlockParameterName.LATEST).send();
+        assertEquals(2, service.getCallCount("klay_getCode"));
+
+        klay.getCode(ADDRESS, 10).send();
+        Bytes code = klay.getCode(ADDRESS, 10).send();
+        assertEquals("0x6080", code.getResult());
+        assertEquals(3, service.getCallCount("klay_getCode"));
+
+        TransactionReceipt response = klay.getTransactionReceipt(HASH).send();
+        assertTrue(response.hasError());
+        assertEquals("unavailable", response.getError().getMessage());
+        klay.getTransactionReceipt(HASH).send();
+        assertEquals(2, service.getCallCount("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void evictByWeightAndReadFromDisk() throws IOException {
+        CachingWeb3jService cachingService = new CachingWeb3jService(service, 10, temporaryFolder.getRoot().toPath());
+        Klay klay = new Klay(cachingService);
+
+        klay.getChainID().send();
+        klay.getCode(ADDRESS, 10).send();
+        assertEquals(1, cachingService.getEvictionCount());
+        assertEquals(1, cachingService.getSize());
+        assertEquals("\"0x6080\"".length(), cachingService.getWeight());
+
+        assertEquals("0x2710", klay.getChainID().send().getResult());
+        assertEquals(1, service.getCallCount("klay_chainID"));
+        assertEquals(1, cachingService.getDiskHitCount());
+
+        CachingWeb3jService restarted = new CachingWeb3jService(service, 1024, temporaryFolder.getRoot().toPath());
+        assertEquals("0x6080", new Klay(restarted).getCode(ADDRESS, 10).send().getResult());
+        assertEquals(1, service.getCallCount("klay_getCode"));
+    }
+}
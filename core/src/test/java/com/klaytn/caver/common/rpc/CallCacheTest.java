@@ -0,0 +1,92 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.kct.kip7.KIP7;
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.rpc.CallCache;
+import com.klaytn.caver.rpc.Klay;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CallCacheTest {
+    static final String CONTRACT = "0x" + String.format("%040x", 0x7);
+    static final String ACCOUNT = "0x" + String.format("%040x", 0x8);
+
+    MockWeb3jService service;
+    AtomicReference<String> lastBlock = new AtomicReference<>();
+    Caver caver;
+    Klay klay;
+    CallCache callCache;
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_blockNumber", params -> "0x64")
+                .on("klay_call", params -> {
+                    lastBlock.set(params.get(1).asText());
+                    return String.format("0x%064x", 18);
+                });
+        caver = new Caver(service);
+        klay = caver.rpc.getKlay();
+        callCache = new CallCache(klay, 1, TimeUnit.HOURS, 100);
+        klay.setCallCache(callCache);
+    }
+
+    @Test
+    public void cacheConstantPermanently() throws Exception {
+        KIP7 kip7 = new KIP7(caver, CONTRACT);
+
+        assertEquals(18, kip7.decimals());
+        callCache.setHead(BigInteger.valueOf(101));
+        assertEquals(18, kip7.decimals());
+        assertEquals(1, service.getCallCount("klay_call"));
+    }
+
+    @Test
+    public void cacheLatestUntilNewBlock() throws Exception {
+        KIP7 kip7 = new KIP7(caver, CONTRACT);
+
+        assertEquals(BigInteger.valueOf(18), kip7.balanceOf(ACCOUNT));
+        assertEquals(BigInteger.valueOf(18), kip7.balanceOf(ACCOUNT));
+        assertEquals(1, service.getCallCount("klay_call"));
+        assertEquals(1, service.getCallCount("klay_blockNumber"));
+        assertEquals("0x64", lastBlock.get());
+
+        callCache.setHead(BigInteger.valueOf(101));
+        kip7.balanceOf(ACCOUNT);
+        assertEquals(2, service.getCallCount("klay_call"));
+        assertEquals("0x65", lastBlock.get());
+        assertEquals(1, callCache.getHitCount());
+    }
+
+    @Test
+    public void cachePinnedBlockAndNotErrors() throws IOException {
+        CallObject callObject = CallObject.createCallObject(null, CONTRACT, null, null, null, "0x70a08231");
+        DefaultBlockParameterNumber block = new DefaultBlockParameterNumber(5);
+
+        callCache.call(callObject, block);
+        callCache.call(callObject, block);
+        assertEquals(1, service.getCallCount("klay_call"));
+
+        service.on("klay_call", params -> new Response.Error(-32000, "execution reverted"));
+        CallObject reverted = CallObject.createCallObject(null, CONTRACT, null, null, null, "0x18160ddd");
+        for(int i = 0; i < 2; i++) {
+            try {
+                callCache.call(reverted);
+                fail();
+            } catch(IOException e) {
+                assertEquals("execution reverted", e.getMessage());
+            }
+        }
+        assertEquals(3, service.getCallCount("klay_call"));
+    }
+}
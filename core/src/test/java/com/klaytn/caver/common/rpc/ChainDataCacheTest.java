@@ -0,0 +1,136 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.rpc.ChainDataCache;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@RunWith(Enclosed.class)
+public class ChainDataCacheTest {
+
+    public static class getValueTest {
+        @Rule
+        public ExpectedException expectedException = ExpectedException.none();
+
+        MockWeb3jService service;
+        AtomicReference<String> gasPrice = new AtomicReference<>("0x5d21dba00");
+        Klay klay;
+
+        @Before
+        public void setUp() {
+            service = new MockWeb3jService()
+                    .on("klay_chainID", params -> "0x2710")
+                    .on("klay_gasPrice", params -> gasPrice.get());
+            klay = new Klay(service);
+        }
+
+        @Test
+        public void fetchChainIdOnce() throws IOException {
+            ChainDataCache cache = new ChainDataCache(klay);
+
+            assertEquals("0x2710", cache.getChainId());
+            assertEquals("0x2710", cache.getChainId());
+            assertEquals(1, service.getCallCount("klay_chainID"));
+        }
+
+        @Test
+        public void keepGasPriceWithinTtl() throws IOException {
+            ChainDataCache cache = new ChainDataCache(klay, 1, 0, TimeUnit.HOURS);
+
+            assertEquals("0x5d21dba00", cache.getGasPrice());
+            gasPrice.set("0xba43b7400");
+            assertEquals("0x5d21dba00", cache.getGasPrice());
+            assertEquals(1, service.getCallCount("klay_gasPrice"));
+
+            cache.invalidate();
+            assertEquals("0xba43b7400", cache.getGasPrice());
+            assertEquals(2, service.getCallCount("klay_gasPrice"));
+        }
+
+        @Test
+        public void fetchGasPriceWithoutTtl() throws IOException {
+            ChainDataCache cache = new ChainDataCache(klay, 0, 0, TimeUnit.MILLISECONDS);
+
+            cache.getGasPrice();
+            cache.getGasPrice();
+            assertEquals(2, service.getCallCount("klay_gasPrice"));
+        }
+
+        @Test
+        public void refreshGasPriceAhead() throws Exception {
+            ChainDataCache cache = new ChainDataCache(klay, 1, 1, TimeUnit.HOURS);
+
+            assertEquals("0x5d21dba00", cache.getGasPrice());
+            gasPrice.set("0xba43b7400");
+
+            // The cached value is returned while it is refreshed in background.
+            assertEquals("0x5d21dba00", cache.getGasPrice());
+            for(int i = 0; i < 100 && !cache.getGasPrice().equals("0xba43b7400"); i++) {
+                Thread.sleep(20);
+            }
+            assertEquals("0xba43b7400", cache.getGasPrice());
+        }
+
+        @Test
+        public void throwException_errorResponse() throws IOException {
+            expectedException.expect(IOException.class);
+            expectedException.expectMessage("method not found");
+
+            service.on("klay_chainID", params -> new Response.Error(-32601, "method not found"));
+            new ChainDataCache(klay).getChainId();
+        }
+
+        @Test
+        public void throwException_invalidTime() {
+            expectedException.expect(IllegalArgumentException.class);
+            expectedException.expectMessage("refreshAheadTime must not be greater than gasPriceTtl.");
+
+            new ChainDataCache(klay, 1, 2, TimeUnit.SECONDS);
+        }
+    }
+
+    public static class fillTransactionTest {
+        SingleKeyring keyring = KeyringFactory.createFromPrivateKey("0x45a915e4d060149eb4365960e6a7a45f334393093061116b197e3240065ff2d8");
+
+        @Test
+        public void fillChainIdAndGasPrice() throws IOException {
+            MockWeb3jService service = new MockWeb3jService()
+                    .on("klay_chainID", params -> "0x2710")
+                    .on("klay_gasPrice", params -> "0x5d21dba00");
+            Klay klay = new Klay(service);
+            klay.setChainDataCache(new ChainDataCache(klay));
+
+            for(int i = 0; i < 3; i++) {
+                ValueTransfer valueTransfer = new ValueTransfer.Builder()
+                        .setKlaytnCall(klay)
+                        .setFrom(keyring.getAddress())
+                        .setTo("0x7b65b75d204abed71587c9e519a89277766ee1d0")
+                        .setValue("0xa")
+                        .setGas("0xf4240")
+                        .setNonce("0x" + i)
+                        .build();
+                valueTransfer.sign(keyring);
+
+                assertEquals("0x2710", valueTransfer.getChainId());
+                assertEquals("0x5d21dba00", valueTransfer.getGasPrice());
+            }
+
+            assertEquals(1, service.getCallCount("klay_chainID"));
+            assertEquals(1, service.getCallCount("klay_gasPrice"));
+        }
+    }
+}
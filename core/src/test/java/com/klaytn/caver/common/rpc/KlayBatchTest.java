@@ -0,0 +1,120 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.methods.request.CallObject;
+import com.klaytn.caver.methods.response.Bytes;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.KlayBatch;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KlayBatchTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    MockWeb3jService service;
+    Klay klay;
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_getBalance", params -> {
+                    String address = params.get(0).asText();
+                    if(address.equals("0x0000000000000000000000000000000000000000")) {
+                        return new Response.Error(-32602, "invalid address");
+                    }
+                    return "0x" + address.substring(address.length() - 2);
+                })
+                .on("klay_call", params -> "0x000000000000000000000000000000000000000000000000000000000000000a")
+                .on("klay_getTransactionReceipt", params -> null);
+        klay = new Klay(service);
+    }
+
+    @Test
+    public void sendTypedEntries() throws IOException {
+        KlayBatch batch = klay.newBatch();
+        KlayBatch.Entry<Quantity> balance = batch.getBalance("0x7b65b75d204abed71587c9e519a89277766ee1d0");
+        KlayBatch.Entry<Bytes> call = batch.call(CallObject.createCallObject(null, "0x7b65b75d204abed71587c9e519a89277766ee1d0", null, null, null, "0x06fdde03"));
+        KlayBatch.Entry<TransactionReceipt> receipt = batch.add(klay.getTransactionReceipt("0xe9a11d9ef95fb437f75d07ce768d43e74f158dd54b106e7d3746ce29d545b550"));
+
+        batch.send();
+
+        assertEquals(1, service.getIOCount());
+        assertEquals(BigInteger.valueOf(0xd0), balance.getResponse().getValue());
+        assertEquals("0x000000000000000000000000000000000000000000000000000000000000000a", call.getResponse().getResult());
+        assertNull(receipt.getResponse().getResult());
+        assertFalse(receipt.hasError());
+    }
+
+    @Test
+    public void keepErrorPerEntry() throws IOException {
+        KlayBatch batch = klay.newBatch();
+        KlayBatch.Entry<Quantity> valid = batch.getBalance("0x7b65b75d204abed71587c9e519a89277766ee1d0");
+        KlayBatch.Entry<Quantity> invalid = batch.getBalance("0x0000000000000000000000000000000000000000");
+
+        batch.send();
+
+        assertFalse(valid.hasError());
+        assertTrue(invalid.hasError());
+        assertEquals("invalid address", invalid.getError().getMessage());
+    }
+
+    @Test
+    public void splitByMaxBatchSize() throws Exception {
+        KlayBatch batch = klay.newBatch(10);
+        List<KlayBatch.Entry<Quantity>> entries = new ArrayList<>();
+        for(int i = 0; i < 25; i++) {
+            entries.add(batch.getBalance(String.format("0x%040x", i + 1)));
+        }
+
+        batch.sendAsync().get();
+
+        assertEquals(3, service.getIOCount());
+        assertEquals(25, service.getCallCount("klay_getBalance"));
+        for(int i = 0; i < 25; i++) {
+            assertEquals(BigInteger.valueOf(i + 1), entries.get(i).getResponse().getValue());
+        }
+    }
+
+    @Test
+    public void throwException_failedBatch() throws IOException {
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("No handler for klay_blockNumber");
+
+        KlayBatch batch = klay.newBatch();
+        KlayBatch.Entry<Quantity> blockNumber = batch.add(klay.getBlockNumber());
+        try {
+            batch.send();
+        } finally {
+            assertTrue(blockNumber.hasError());
+            assertNotNull(blockNumber.getException());
+        }
+    }
+
+    @Test
+    public void throwException_notSent() throws IOException {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("The batch is not sent yet.");
+
+        klay.newBatch().getBalance("0x7b65b75d204abed71587c9e519a89277766ee1d0").getResponse();
+    }
+
+    @Test
+    public void throwException_invalidMaxBatchSize() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Invalid max batch size : 0");
+
+        klay.newBatch(0);
+    }
+}
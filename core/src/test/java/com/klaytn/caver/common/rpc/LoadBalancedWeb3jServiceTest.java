@@ -0,0 +1,151 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.CompactLog;
+import com.klaytn.caver.methods.response.StreamedLogs;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.LoadBalancedWeb3jService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LoadBalancedWeb3jServiceTest {
+    static final String RAW_TRANSACTION = "0x08f87f";
+    static final String HASH = "0x" + String.join("", Collections.nCopies(32, "ab"));
+
+    MockWeb3jService first;
+    MockWeb3jService second;
+    LoadBalancedWeb3jService service;
+    Klay klay;
+
+    @Before
+    public void setUp() {
+        first = new MockWeb3jService()
+                .on("klay_blockNumber", params -> "0x64")
+                .on("klay_sendRawTransaction", params -> HASH)
+                .on("klay_newBlockFilter", params -> "0x1")
+                .on("klay_getFilterChanges", params -> Collections.emptyList());
+        second = new MockWeb3jService()
+                .on("klay_blockNumber", params -> "0x64")
+                .on("klay_sendRawTransaction", params -> HASH)
+                .on("klay_newBlockFilter", params -> "0x1")
+                .on("klay_getFilterChanges", params -> Collections.emptyList());
+        service = new LoadBalancedWeb3jService(Arrays.asList(first, second), LoadBalancedWeb3jService.Strategy.LEAST_IN_FLIGHT);
+        klay = new Klay(service);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    public void sendStickyRequestsToPrimary() throws IOException {
+        for(int i = 0; i < 3; i++) {
+            klay.sendRawTransaction(RAW_TRANSACTION).send();
+        }
+        assertEquals(3, first.getCallCount("klay_sendRawTransaction"));
+        assertEquals(0, second.getCallCount("klay_sendRawTransaction"));
+
+        String filterId = klay.newBlockFilter().send().getResult();
+        klay.getFilterChanges(filterId).send();
+        assertEquals(1, first.getCallCount("klay_getFilterChanges"));
+        assertEquals(0, second.getCallCount("klay_getFilterChanges"));
+    }
+
+    @Test
+    public void sendPendingTransactionCountToPrimary() throws IOException {
+        first.on("klay_getTransactionCount", params -> "0x5");
+        second.on("klay_getTransactionCount", params -> "0x3");
+        first.on("klay_accounts", params -> Collections.emptyList());
+        second.on("klay_accounts", params -> Collections.emptyList());
+
+        for(int i = 0; i < 3; i++) {
+            assertEquals(BigInteger.valueOf(5), klay.getTransactionCount(StreamingResponseTest.ADDRESS, DefaultBlockParameterName.PENDING).send().getValue());
+            klay.getAccounts().send();
+        }
+        assertEquals(3, first.getCallCount("klay_getTransactionCount"));
+        assertEquals(0, second.getCallCount("klay_getTransactionCount"));
+        assertEquals(0, second.getCallCount("klay_accounts"));
+
+        // The transaction count at the latest block is a read request, which can be sent to any endpoint.
+        klay.getTransactionCount(StreamingResponseTest.ADDRESS, DefaultBlockParameterName.LATEST).send();
+        assertEquals(4, first.getCallCount("klay_getTransactionCount") + second.getCallCount("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void streamLogsInCallingThread() throws IOException {
+        first.on("klay_getLogs", params -> Arrays.asList(StreamingResponseTest.log(0), StreamingResponseTest.log(1)));
+        second.on("klay_getLogs", params -> Arrays.asList(StreamingResponseTest.log(0), StreamingResponseTest.log(1)));
+        service.setHedgeDelay(1);
+
+        List<CompactLog> logs = new ArrayList<>();
+        StreamedLogs response = klay.getLogs(new KlayLogFilter(), logs::add).send();
+
+        assertEquals(2, response.getCount());
+        assertEquals(2, logs.size());
+        assertEquals(1, first.getCallCount("klay_getLogs") + second.getCallCount("klay_getLogs"));
+    }
+
+    @Test
+    public void failOverAndEject() throws IOException {
+        service.close();
+        MockWeb3jService broken = new MockWeb3jService();
+        service = new LoadBalancedWeb3jService(Arrays.asList(broken, second), LoadBalancedWeb3jService.Strategy.LEAST_IN_FLIGHT);
+        service.setMaxErrors(2);
+        klay = new Klay(service);
+
+        assertEquals(HASH, klay.sendRawTransaction(RAW_TRANSACTION).send().getResult());
+        assertEquals(HASH, klay.sendRawTransaction(RAW_TRANSACTION).send().getResult());
+        assertFalse(service.isHealthy(0));
+        assertEquals(1, service.getPrimaryIndex());
+
+        assertEquals(new BigInteger("100"), klay.getBlockNumber().send().getValue());
+        assertEquals(1, second.getCallCount("klay_blockNumber"));
+        assertEquals(2, broken.getCallCount("klay_sendRawTransaction"));
+    }
+
+    @Test
+    public void ejectLaggingEndpoint() {
+        second.on("klay_blockNumber", params -> "0x10");
+        service.checkHealth();
+        assertTrue(service.isHealthy(0));
+        assertFalse(service.isHealthy(1));
+
+        second.on("klay_blockNumber", params -> "0x64");
+        service.checkHealth();
+        assertTrue(service.isHealthy(1));
+    }
+
+    @Test
+    public void hedgeSlowRead() throws IOException {
+        CountDownLatch release = new CountDownLatch(1);
+        first.on("klay_blockNumber", params -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "0x64";
+        });
+        service.setHedgeDelay(50);
+
+        long start = System.nanoTime();
+        assertEquals(new BigInteger("100"), klay.getBlockNumber().send().getValue());
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertEquals(1, second.getCallCount("klay_blockNumber"));
+        release.countDown();
+    }
+}
@@ -0,0 +1,117 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.contract.Contract;
+import com.klaytn.caver.contract.EventValuesWithLog;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.rpc.LogScanner;
+import org.junit.After;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class LogScannerTest {
+    static final String ADDRESS = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+    static final String TRANSFER_ABI = "[{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\",\"type\":\"address\"},{\"indexed\":true,\"name\":\"to\",\"type\":\"address\"},{\"indexed\":false,\"name\":\"value\",\"type\":\"uint256\"}],\"name\":\"Transfer\",\"type\":\"event\"}]";
+    static final String TRANSFER_SIGNATURE = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    /**
+     * Answers klay_getLogs with a log in every third block, and rejects a range of more than maxRange blocks.
+     */
+    static MockWeb3jService service(long maxRange) {
+        return new MockWeb3jService()
+                .on("klay_blockNumber", params -> "0x3e8")
+                .on("klay_getLogs", params -> {
+                    long from = Long.decode(params.get(0).get("fromBlock").asText());
+                    long to = Long.decode(params.get(0).get("toBlock").asText());
+                    if(to - from + 1 > maxRange) {
+                        return new Response.Error(-32000, "query returned more than 10000 results");
+                    }
+
+                    List<Map<String, Object>> logs = new ArrayList<>();
+                    for(long block = from; block <= to; block++) {
+                        if(block % 3 != 0) {
+                            continue;
+                        }
+                        Map<String, Object> log = new HashMap<>();
+                        log.put("address", ADDRESS);
+                        log.put("blockNumber", "0x" + Long.toHexString(block));
+                        log.put("logIndex", "0x0");
+                        log.put("topics", Arrays.asList(
+                                TRANSFER_SIGNATURE,
+                                "0x0000000000000000000000000000000000000000000000000000000000000001",
+                                "0x0000000000000000000000000000000000000000000000000000000000000002"));
+                        log.put("data", String.format("0x%064x", block));
+                        logs.add(log);
+                    }
+                    return logs;
+                });
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void scanInBlockOrder() throws Exception {
+        MockWeb3jService service = service(Long.MAX_VALUE);
+        LogScanner scanner = new LogScanner(new Caver(service).rpc.getKlay(), executor, 4, 10, 1000, 100);
+        KlayLogFilter filter = new KlayLogFilter(new DefaultBlockParameterNumber(1), DefaultBlockParameterName.LATEST, ADDRESS, null);
+
+        List<KlayLogs.Log> logs = scanner.flowable(filter).toList().blockingGet();
+
+        assertEquals(333, logs.size());
+        for(int i = 0; i < logs.size(); i++) {
+            assertEquals(BigInteger.valueOf(3 * (i + 1)), logs.get(i).getBlockNumber());
+        }
+        // The chunk grows while it has few logs.
+        assertTrue(service.getCallCount("klay_getLogs") < 100);
+    }
+
+    @Test
+    public void splitChunkWithTooManyResults() throws Exception {
+        MockWeb3jService service = service(50);
+        LogScanner scanner = new LogScanner(new Caver(service).rpc.getKlay(), executor, 4, 400, 1000, 100);
+        KlayLogFilter filter = new KlayLogFilter(new DefaultBlockParameterNumber(0), new DefaultBlockParameterNumber(999), ADDRESS, null);
+
+        Iterator<KlayLogs.Log> iterator = scanner.scan(filter);
+        long previous = -1;
+        int count = 0;
+        while(iterator.hasNext()) {
+            long block = iterator.next().getBlockNumber().longValue();
+            assertTrue(block > previous);
+            previous = block;
+            count++;
+        }
+
+        assertEquals(334, count);
+        assertEquals(0, service.getCallCount("klay_blockNumber"));
+    }
+
+    @Test
+    public void scanPastEvent() throws Exception {
+        Caver caver = new Caver(service(Long.MAX_VALUE));
+        Contract contract = caver.contract.create(TRANSFER_ABI, ADDRESS);
+        LogScanner scanner = new LogScanner(caver.rpc.getKlay(), executor, 2, 100, 1000, 100);
+        KlayLogFilter filter = new KlayLogFilter(new DefaultBlockParameterNumber(0), new DefaultBlockParameterNumber(10), ADDRESS, null);
+
+        List<EventValuesWithLog> events = contract.scanPastEvent("Transfer", filter, scanner).toList().blockingGet();
+
+        assertEquals(4, events.size());
+        assertEquals("0x0000000000000000000000000000000000000001", events.get(1).getIndexedValues().get(0).getValue());
+        assertEquals(BigInteger.valueOf(3), events.get(1).getNonIndexedValues().get(0).getValue());
+        assertEquals(BigInteger.valueOf(3), events.get(1).getLog().getBlockNumber());
+    }
+}
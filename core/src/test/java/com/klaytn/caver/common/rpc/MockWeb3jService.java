@@ -0,0 +1,91 @@
+package com.klaytn.caver.common.rpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A Web3jService which answers JSON-RPC requests with registered handlers instead of a Klaytn node.
+ * A handler receives the params of a request and returns the result, or a Response.Error to make an error response.
+ */
+public class MockWeb3jService extends Service {
+    private final Map<String, Function<JsonNode, Object>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger ioCount = new AtomicInteger();
+
+    public MockWeb3jService() {
+        super(false);
+    }
+
+    public MockWeb3jService on(String method, Function<JsonNode, Object> handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    public int getCallCount(String method) {
+        AtomicInteger count = callCounts.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getIOCount() {
+        return ioCount.get();
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        ioCount.incrementAndGet();
+        JsonNode request = objectMapper.readTree(payload);
+
+        JsonNode response;
+        if(request.isArray()) {
+            ArrayNode responses = objectMapper.createArrayNode();
+            for(JsonNode entry : request) {
+                responses.add(handle(entry));
+            }
+            response = responses;
+        } else {
+            response = handle(request);
+        }
+
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(response));
+    }
+
+    private ObjectNode handle(JsonNode request) throws IOException {
+        String method = request.get("method").asText();
+        callCounts.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+
+        Function<JsonNode, Object> handler = handlers.get(method);
+        if(handler == null) {
+            throw new IOException("No handler for " + method);
+        }
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+
+        Object result = handler.apply(request.get("params"));
+        if(result instanceof IOException) {
+            throw (IOException)result;
+        }
+        if(result instanceof Response.Error) {
+            response.set("error", objectMapper.valueToTree(result));
+        } else {
+            response.set("result", objectMapper.valueToTree(result));
+        }
+        return response;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,136 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.*;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class StreamingResponseTest {
+    static final String BLOCK_HASH = "0x4584bea6b8b2abe7f024d1e63dd0571cfd28cd5157b4f6cb2ac4160a7b0057e0";
+    static final String ADDRESS = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+
+    static Map<String, Object> transaction(int index) {
+        Map<String, Object> transaction = new LinkedHashMap<>();
+        transaction.put("blockHash", BLOCK_HASH);
+        transaction.put("blockNumber", "0x65");
+        transaction.put("from", ADDRESS);
+        transaction.put("gas", "0x15f90");
+        transaction.put("gasPrice", "0x5d21dba00");
+        transaction.put("hash", String.format("0x%064x", index));
+        transaction.put("input", "0x");
+        transaction.put("nonce", "0x" + Integer.toHexString(index));
+        transaction.put("signatures", Collections.singletonList(Collections.singletonMap("V", "0xfea")));
+        transaction.put("to", index == 0 ? null : ADDRESS);
+        transaction.put("transactionIndex", "0x" + Integer.toHexString(index));
+        transaction.put("typeInt", 8);
+        transaction.put("value", "0xde0b6b3a7640000");
+        return transaction;
+    }
+
+    static Map<String, Object> log(int index) {
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("address", ADDRESS);
+        log.put("blockHash", BLOCK_HASH);
+        log.put("blockNumber", "0x65");
+        log.put("data", "0x000000000000000000000000000000000000000000000000000000000000000a");
+        log.put("logIndex", "0x" + Integer.toHexString(index));
+        log.put("topics", Arrays.asList("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef", String.format("0x%064x", index)));
+        log.put("transactionHash", String.format("0x%064x", index));
+        log.put("transactionIndex", "0x0");
+        return log;
+    }
+
+    @Test
+    public void streamBlockTransactions() throws Exception {
+        MockWeb3jService service = new MockWeb3jService().on("klay_getBlockByNumber", params -> {
+            Map<String, Object> block = new LinkedHashMap<>();
+            block.put("gasUsed", "0x5208");
+            block.put("hash", BLOCK_HASH);
+            block.put("number", "0x65");
+            block.put("timestamp", "0x5f5e100");
+            List<Object> transactions = new ArrayList<>();
+            for(int i = 0; i < 3; i++) {
+                transactions.add(transaction(i));
+            }
+            block.put("transactions", transactions);
+            block.put("voteData", "0x");
+            return block;
+        });
+
+        List<CompactTransaction> transactions = new ArrayList<>();
+        StreamedBlock response = new Caver(service).rpc.klay.getBlockByNumber(new DefaultBlockParameterNumber(101), transactions::add).send();
+
+        CompactBlock block = response.getResult();
+        assertEquals(101, block.getNumber());
+        assertArrayEquals(Numeric.hexStringToByteArray(BLOCK_HASH), block.getHash());
+        assertEquals(100000000, block.getTimestamp());
+        assertEquals(3, block.getTransactionCount());
+
+        assertEquals(3, transactions.size());
+        CompactTransaction transaction = transactions.get(1);
+        assertArrayEquals(Numeric.hexStringToByteArray(String.format("0x%064x", 1)), transaction.getHash());
+        assertArrayEquals(Numeric.hexStringToByteArray(ADDRESS), transaction.getTo());
+        assertEquals(BigInteger.TEN.pow(18), transaction.getValue());
+        assertEquals(1, transaction.getNonce());
+        assertEquals(90000, transaction.getGas());
+        assertEquals(8, transaction.getType());
+        assertEquals(0, transaction.getInput().length);
+        assertNull(transactions.get(0).getTo());
+    }
+
+    @Test
+    public void streamLogs() throws Exception {
+        MockWeb3jService service = new MockWeb3jService().on("klay_getLogs", params -> {
+            List<Object> logs = new ArrayList<>();
+            for(int i = 0; i < 5; i++) {
+                logs.add(log(i));
+            }
+            return logs;
+        });
+        Caver caver = new Caver(service);
+
+        List<CompactLog> logs = new ArrayList<>();
+        StreamedLogs response = caver.rpc.klay.getLogs(new KlayLogFilter(), logs::add).send();
+        KlayLogs expected = caver.rpc.klay.getLogs(new KlayLogFilter()).send();
+
+        assertEquals(5, response.getCount());
+        for(int i = 0; i < 5; i++) {
+            assertEquals(i, logs.get(i).getLogIndex());
+            assertEquals(expected.getLogs().get(i).get(), logs.get(i).toLog());
+        }
+    }
+
+    @Test
+    public void failWithoutConsumer() throws Exception {
+        MockWeb3jService service = new MockWeb3jService().on("klay_getLogs", params -> Collections.singletonList(log(0)));
+
+        // A plain request is not bound to a consumer, like a response parsed in another thread.
+        Request<?, StreamedLogs> request = new Request<>("klay_getLogs", Collections.singletonList(new KlayLogFilter()), service, StreamedLogs.class);
+        try {
+            request.send();
+            fail();
+        } catch(IOException e) {
+            assertTrue(e.getMessage().contains("No consumer"));
+        }
+    }
+
+    @Test
+    public void errorResponse() throws Exception {
+        MockWeb3jService service = new MockWeb3jService().on("klay_getLogs", params -> new Response.Error(-32000, "query timeout exceeded"));
+
+        StreamedLogs response = new Caver(service).rpc.klay.getLogs(new KlayLogFilter(), log -> fail()).send();
+
+        assertTrue(response.hasError());
+        assertEquals(0, response.getCount());
+    }
+}
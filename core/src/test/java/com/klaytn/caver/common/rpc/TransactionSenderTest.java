@@ -0,0 +1,283 @@
+package com.klaytn.caver.common.rpc;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.rpc.TransactionSender;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.NonceManager;
+import com.klaytn.caver.transaction.TransactionDecoder;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.junit.After;
+import org.junit.Test;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class TransactionSenderTest {
+    static SingleKeyring keyring = KeyringFactory.generate();
+
+    MockWeb3jService service;
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    TransactionSender sender;
+
+    static AbstractTransaction signedTransaction(long nonce) throws Exception {
+        ValueTransfer transaction = new ValueTransfer.Builder()
+                .setFrom(keyring.getAddress())
+                .setTo(keyring.getAddress())
+                .setValue("0x1")
+                .setNonce(BigInteger.valueOf(nonce))
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .setChainId("0x7e3")
+                .build();
+        return transaction.sign(keyring);
+    }
+
+    void setUp(Function<AbstractTransaction, Object> handler) {
+        service = new MockWeb3jService().on("klay_sendRawTransaction", params -> {
+            String rawTransaction = params.get(0).asText();
+            return handler.apply(TransactionDecoder.decode(rawTransaction));
+        });
+        sender = new TransactionSender(new Caver(service).rpc.getKlay(), executor, 8, 3, 10);
+    }
+
+    NonceManager useNonceManager() {
+        service.on("klay_getTransactionCount", params -> "0x0");
+        Klay klay = sender.getKlay();
+        klay.setNonceManager(new NonceManager(klay));
+        return klay.getNonceManager();
+    }
+
+    static AbstractTransaction signedTransaction(NonceManager nonceManager) throws Exception {
+        return signedTransaction(nonceManager.getNonce(keyring.getAddress()).longValue());
+    }
+
+    @After
+    public void tearDown() {
+        if(sender != null) {
+            sender.close();
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void sendAll() throws Exception {
+        setUp(AbstractTransaction::getTransactionHash);
+
+        List<AbstractTransaction> transactions = new ArrayList<>();
+        for(int i = 0; i < 32; i++) {
+            transactions.add(signedTransaction(i));
+        }
+        List<CompletableFuture<String>> futures = sender.sendAll(transactions);
+
+        for(int i = 0; i < 32; i++) {
+            assertEquals(transactions.get(i).getTransactionHash(), futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void retryTxPoolFull() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        setUp(transaction -> count.incrementAndGet() <= 2 ? new Response.Error(-32000, "txpool is full: 4096") : transaction.getTransactionHash());
+
+        AbstractTransaction transaction = signedTransaction(0);
+        assertEquals(transaction.getTransactionHash(), sender.send(transaction).get(5, TimeUnit.SECONDS));
+        assertEquals(3, service.getCallCount("klay_sendRawTransaction"));
+    }
+
+    @Test
+    public void acceptKnownTransaction() throws Exception {
+        setUp(transaction -> new Response.Error(-32000, "known transaction: 0x1234"));
+
+        AbstractTransaction transaction = signedTransaction(0);
+        assertEquals(transaction.getTransactionHash(), sender.send(transaction).get(5, TimeUnit.SECONDS));
+        assertEquals(1, service.getCallCount("klay_sendRawTransaction"));
+    }
+
+    @Test
+    public void failNonceTooLow() throws Exception {
+        setUp(transaction -> new Response.Error(-32000, "nonce too low"));
+
+        try {
+            sender.send(signedTransaction(0)).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionSender.SendException);
+            assertEquals(TransactionSender.ErrorType.NONCE_TOO_LOW, ((TransactionSender.SendException)e.getCause()).getErrorType());
+        }
+        assertEquals(1, service.getCallCount("klay_sendRawTransaction"));
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void failIncompleteTransactionWithoutLeakingPermit() throws Exception {
+        setUp(AbstractTransaction::getTransactionHash);
+
+        // The nonce is missing, so the raw transaction cannot be made.
+        ValueTransfer transaction = new ValueTransfer.Builder()
+                .setFrom(keyring.getAddress())
+                .setTo(keyring.getAddress())
+                .setValue("0x1")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .setChainId("0x7e3")
+                .build();
+
+        for(int i = 0; i <= sender.getMaxInFlight(); i++) {
+            CompletableFuture<String> future = sender.send(transaction);
+            assertTrue(future.isCompletedExceptionally());
+        }
+        assertEquals(0, sender.getInFlightCount());
+
+        AbstractTransaction signed = signedTransaction(0);
+        assertEquals(signed.getTransactionHash(), sender.send(signed).get(5, TimeUnit.SECONDS));
+        assertEquals(1, service.getCallCount("klay_sendRawTransaction"));
+    }
+
+    @Test
+    public void closeFailsPendingRetries() throws Exception {
+        setUp(transaction -> new Response.Error(-32000, "txpool is full: 4096"));
+        sender.close();
+        sender = new TransactionSender(new Caver(service).rpc.getKlay(), executor, 8, 3, TimeUnit.MINUTES.toMillis(1));
+
+        CompletableFuture<String> future = sender.send(signedTransaction(0));
+        while(service.getCallCount("klay_sendRawTransaction") == 0) {
+            Thread.sleep(10);
+        }
+        // Wait for the retry to be scheduled.
+        Thread.sleep(200);
+        sender.close();
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void releaseNonceOnClose() throws Exception {
+        setUp(transaction -> new Response.Error(-32000, "txpool is full: 4096"));
+        sender.close();
+        sender = new TransactionSender(new Caver(service).rpc.getKlay(), executor, 8, 3, TimeUnit.MINUTES.toMillis(1));
+        NonceManager nonceManager = useNonceManager();
+
+        AbstractTransaction transaction = signedTransaction(nonceManager);
+        CompletableFuture<String> future = sender.send(transaction);
+        while(service.getCallCount("klay_sendRawTransaction") == 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        sender.close();
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertEquals(Numeric.toBigInt(transaction.getNonce()), nonceManager.getNonce(keyring.getAddress()));
+        }
+    }
+
+    @Test
+    public void releaseNonceOnRejectedExecution() throws Exception {
+        setUp(AbstractTransaction::getTransactionHash);
+        NonceManager nonceManager = useNonceManager();
+        executor.shutdown();
+
+        AbstractTransaction transaction = signedTransaction(nonceManager);
+        try {
+            sender.send(transaction).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+            assertEquals(Numeric.toBigInt(transaction.getNonce()), nonceManager.getNonce(keyring.getAddress()));
+        }
+        assertEquals(0, service.getCallCount("klay_sendRawTransaction"));
+    }
+
+    @Test
+    public void releaseNonceOnPreSendFailure() throws Exception {
+        setUp(AbstractTransaction::getTransactionHash);
+        NonceManager nonceManager = useNonceManager();
+
+        // The gas price is missing, so the raw transaction cannot be made.
+        BigInteger nonce = nonceManager.getNonce(keyring.getAddress());
+        ValueTransfer transaction = new ValueTransfer.Builder()
+                .setFrom(keyring.getAddress())
+                .setTo(keyring.getAddress())
+                .setValue("0x1")
+                .setNonce(nonce)
+                .setGas("0x15f90")
+                .setChainId("0x7e3")
+                .build();
+
+        assertTrue(sender.send(transaction).isCompletedExceptionally());
+        assertEquals(nonce, nonceManager.getNonce(keyring.getAddress()));
+    }
+
+    @Test
+    public void releaseNonceWhenNotConnected() throws Exception {
+        setUp(transaction -> new ConnectException("Connection refused"));
+        NonceManager nonceManager = useNonceManager();
+
+        AbstractTransaction transaction = signedTransaction(nonceManager);
+        try {
+            sender.send(transaction).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConnectException);
+            assertEquals(Numeric.toBigInt(transaction.getNonce()), nonceManager.getNonce(keyring.getAddress()));
+        }
+        assertEquals(4, service.getCallCount("klay_sendRawTransaction"));
+        assertEquals(1, service.getCallCount("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void resyncWhenSendResultIsUnknown() throws Exception {
+        setUp(transaction -> new SocketTimeoutException("Read timed out"));
+        NonceManager nonceManager = useNonceManager();
+
+        AbstractTransaction transaction = signedTransaction(nonceManager);
+        try {
+            sender.send(transaction).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof SocketTimeoutException);
+            assertTrue(nonceManager.getReleasedNonces(keyring.getAddress()).isEmpty());
+        }
+
+        // The node did not receive the transaction, so the nonce is handed out again after the resync.
+        assertEquals(Numeric.toBigInt(transaction.getNonce()), nonceManager.getNonce(keyring.getAddress()));
+        assertEquals(2, service.getCallCount("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void classify() {
+        assertEquals(TransactionSender.ErrorType.NONCE_TOO_LOW, TransactionSender.classify(new Response.Error(-32000, "nonce too low")));
+        assertEquals(TransactionSender.ErrorType.KNOWN_TRANSACTION, TransactionSender.classify(new Response.Error(-32000, "known transaction: 0x12")));
+        assertEquals(TransactionSender.ErrorType.UNDERPRICED, TransactionSender.classify(new Response.Error(-32000, "replacement transaction underpriced")));
+        assertEquals(TransactionSender.ErrorType.TXPOOL_FULL, TransactionSender.classify(new Response.Error(-32000, "txpool is full: 4096")));
+        assertEquals(TransactionSender.ErrorType.UNKNOWN, TransactionSender.classify(new Response.Error(-32000, "insufficient funds")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.klaytn.caver.common.transaction;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.methods.response.TransactionReceipt;
+import com.klaytn.caver.transaction.response.BlockTransactionReceiptProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class BlockTransactionReceiptProcessorTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    static final String TX_HASH_1 = "0xe9a11d9ef95fb437f75d07ce768d43e74f158dd54b106e7d3746ce29d545b550";
+    static final String TX_HASH_2 = "0x2ef4c2a7e57a23b1d96b90e0a79a5e47bd35e5a1ccf7e83e1dbb7e6de8bf0a46";
+    static final String TX_HASH_OTHER = "0x3c5a9b3e1f0e4d5c6b7a8f9e0d1c2b3a4f5e6d7c8b9a0f1e2d3c4b5a69788796";
+
+    AtomicLong blockNumber = new AtomicLong(100);
+    Map<Long, List<String>> blocks = Collections.synchronizedMap(new HashMap<>());
+    MockWeb3jService service;
+    BlockTransactionReceiptProcessor processor;
+
+    static String blockHash(long number) {
+        return String.format("0x%064x", number);
+    }
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_blockNumber", params -> "0x" + Long.toHexString(blockNumber.get()))
+                .on("klay_getBlockByNumber", params -> {
+                    long number = Long.decode(params.get(0).asText());
+                    Map<String, Object> block = new HashMap<>();
+                    block.put("number", params.get(0).asText());
+                    block.put("hash", blockHash(number));
+                    block.put("transactions", blocks.getOrDefault(number, Collections.emptyList()));
+                    return block;
+                })
+                .on("klay_getBlockReceipts", params -> {
+                    long number = Long.decode(params.get(0).asText());
+                    List<Map<String, Object>> receipts = new ArrayList<>();
+                    for(String hash : blocks.getOrDefault(number, Collections.emptyList())) {
+                        Map<String, Object> receipt = new HashMap<>();
+                        receipt.put("transactionHash", hash);
+                        receipt.put("blockNumber", "0x" + Long.toHexString(number));
+                        receipt.put("status", "0x1");
+                        receipts.add(receipt);
+                    }
+                    return receipts;
+                })
+                .on("klay_getTransactionReceipt", params -> null);
+        processor = new BlockTransactionReceiptProcessor(new Caver(service), 20, 5);
+    }
+
+    @After
+    public void tearDown() {
+        processor.close();
+    }
+
+    void mineBlock(String... transactionHashes) {
+        blocks.put(blockNumber.get() + 1, Arrays.asList(transactionHashes));
+        blockNumber.incrementAndGet();
+    }
+
+    @Test
+    public void completeReceiptsPerBlock() throws Exception {
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> first = processor.waitForTransactionReceiptAsync(TX_HASH_1);
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> second = processor.waitForTransactionReceiptAsync(TX_HASH_2);
+        Thread.sleep(100);
+
+        mineBlock(TX_HASH_OTHER, TX_HASH_1, TX_HASH_2);
+
+        assertEquals(TX_HASH_1, first.get(5, TimeUnit.SECONDS).getTransactionHash());
+        assertEquals(TX_HASH_2, second.get(5, TimeUnit.SECONDS).getTransactionHash());
+        assertEquals(1, service.getCallCount("klay_getBlockReceipts"));
+        assertEquals(0, service.getCallCount("klay_getTransactionReceipt"));
+        assertEquals(0, processor.getPendingCount());
+    }
+
+    @Test
+    public void skipReceiptsOfBlockWithoutPendingTransaction() throws Exception {
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> future = processor.waitForTransactionReceiptAsync(TX_HASH_1);
+        Thread.sleep(100);
+
+        mineBlock(TX_HASH_OTHER);
+        mineBlock();
+        mineBlock(TX_HASH_1);
+
+        assertEquals(TX_HASH_1, processor.waitForTransactionReceipt(TX_HASH_1).getTransactionHash());
+        assertTrue(future.isDone());
+        assertEquals(1, service.getCallCount("klay_getBlockReceipts"));
+    }
+
+    @Test
+    public void throwException_notIncluded() throws Exception {
+        expectedException.expect(ExecutionException.class);
+        expectedException.expectCause(org.hamcrest.CoreMatchers.instanceOf(TransactionException.class));
+
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> future = processor.waitForTransactionReceiptAsync(TX_HASH_1);
+        Thread.sleep(100);
+        for(int i = 0; i < 5; i++) {
+            mineBlock();
+            Thread.sleep(50);
+        }
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } finally {
+            assertEquals(1, service.getCallCount("klay_getTransactionReceipt"));
+        }
+    }
+
+    @Test
+    public void requestExpiredReceiptsInBatch() throws Exception {
+        // Requests in a single batch request are handled in the same IO.
+        Set<Integer> receiptIOs = Collections.synchronizedSet(new HashSet<>());
+        service.on("klay_getTransactionReceipt", params -> {
+            receiptIOs.add(service.getIOCount());
+            return null;
+        });
+
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> first = processor.waitForTransactionReceiptAsync(TX_HASH_1);
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> second = processor.waitForTransactionReceiptAsync(TX_HASH_2);
+        Thread.sleep(100);
+
+        mineBlock();
+        mineBlock();
+        mineBlock();
+        mineBlock();
+        mineBlock();
+
+        for(CompletableFuture<TransactionReceipt.TransactionReceiptData> future : Arrays.asList(first, second)) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch(ExecutionException e) {
+                assertTrue(e.getCause() instanceof TransactionException);
+            }
+        }
+        assertEquals(2, service.getCallCount("klay_getTransactionReceipt"));
+        assertEquals(1, receiptIOs.size());
+    }
+
+    @Test
+    public void completeTransactionIncludedBeforeRegistration() throws Exception {
+        Thread.sleep(100);
+        mineBlock(TX_HASH_1);
+        mineBlock();
+        Thread.sleep(100);
+
+        CompletableFuture<TransactionReceipt.TransactionReceiptData> future = processor.waitForTransactionReceiptAsync(TX_HASH_1);
+        assertEquals(TX_HASH_1, future.get(1, TimeUnit.SECONDS).getTransactionHash());
+        assertEquals(1, service.getCallCount("klay_getBlockReceipts"));
+        assertEquals(0, service.getCallCount("klay_getTransactionReceipt"));
+        assertEquals(0, processor.getPendingCount());
+    }
+}
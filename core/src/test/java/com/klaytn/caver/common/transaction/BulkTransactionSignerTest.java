@@ -0,0 +1,143 @@
+package com.klaytn.caver.common.transaction;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.BulkTransactionSigner;
+import com.klaytn.caver.transaction.NonceManager;
+import com.klaytn.caver.transaction.TransactionDecoder;
+import com.klaytn.caver.transaction.type.FeeDelegatedValueTransfer;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.KeyringContainer;
+import com.klaytn.caver.wallet.keyring.AbstractKeyring;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class BulkTransactionSignerTest {
+    static final String TO = "0x7b65b75d204abed71587c9e519a89277766ee1d0";
+
+    MockWeb3jService service;
+    Caver caver;
+    KeyringContainer wallet;
+    List<AbstractKeyring> senders;
+    AbstractKeyring feePayer;
+
+    @Before
+    public void setUp() {
+        service = new MockWeb3jService()
+                .on("klay_chainID", params -> "0x7e3")
+                .on("klay_gasPrice", params -> "0x5d21dba00")
+                .on("klay_getTransactionCount", params -> params.get(0).asText().equals(senders.get(0).getAddress()) ? "0x5" : "0x0");
+        caver = new Caver(service);
+        wallet = new KeyringContainer();
+        senders = Arrays.asList(wallet.add(KeyringFactory.generate()), wallet.add(KeyringFactory.generate()));
+        feePayer = wallet.add(KeyringFactory.generate());
+    }
+
+    ValueTransfer valueTransfer(String from) {
+        return new ValueTransfer.Builder()
+                .setKlaytnCall(caver.rpc.getKlay())
+                .setFrom(from)
+                .setTo(TO)
+                .setValue("0x1")
+                .setGas("0x15f90")
+                .build();
+    }
+
+    @Test
+    public void signAllInSubmissionOrder() throws Exception {
+        List<ValueTransfer> transactions = new ArrayList<>();
+        for(int i = 0; i < 50; i++) {
+            transactions.add(valueTransfer(senders.get(i % 2).getAddress()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> rawTransactions = new BulkTransactionSigner(wallet, caver.rpc.getKlay(), executor, 16).signAll(transactions);
+
+            // The nonces of both senders are fetched in the batch of the first chunk only.
+            assertEquals(2, service.getCallCount("klay_getTransactionCount"));
+            assertEquals(4, service.getIOCount());
+
+            assertEquals(50, rawTransactions.size());
+            for(int i = 0; i < 50; i++) {
+                AbstractTransaction decoded = TransactionDecoder.decode(rawTransactions.get(i));
+                assertEquals(senders.get(i % 2).getAddress(), decoded.getFrom());
+                assertEquals("0x" + Integer.toHexString((i % 2 == 0 ? 5 : 0) + i / 2), decoded.getNonce());
+
+                ValueTransfer expected = valueTransfer(decoded.getFrom());
+                expected.setNonce(decoded.getNonce());
+                assertEquals(wallet.sign(decoded.getFrom(), expected).getRawTransaction(), rawTransactions.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void signAllAsFeePayer() throws Exception {
+        List<FeeDelegatedValueTransfer> transactions = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            FeeDelegatedValueTransfer transaction = new FeeDelegatedValueTransfer.Builder()
+                    .setKlaytnCall(caver.rpc.getKlay())
+                    .setFrom(senders.get(0).getAddress())
+                    .setTo(TO)
+                    .setValue("0x1")
+                    .setGas("0x15f90")
+                    .setNonce(BigInteger.valueOf(i))
+                    .build();
+            wallet.sign(transaction.getFrom(), transaction);
+            transactions.add(transaction);
+        }
+
+        List<String> rawTransactions = new BulkTransactionSigner(wallet, caver.rpc.getKlay()).signAllAsFeePayer(feePayer.getAddress(), transactions);
+
+        for(int i = 0; i < 10; i++) {
+            FeeDelegatedValueTransfer decoded = (FeeDelegatedValueTransfer)TransactionDecoder.decode(rawTransactions.get(i));
+            assertEquals(feePayer.getAddress(), decoded.getFeePayer());
+            assertEquals(transactions.get(i).getNonce(), decoded.getNonce());
+            assertEquals(1, decoded.getFeePayerSignatures().size());
+        }
+        assertEquals(0, service.getCallCount("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void releaseAllocatedNoncesOnFailure() throws Exception {
+        NonceManager nonceManager = new NonceManager(caver.rpc.getKlay());
+        caver.rpc.getKlay().setNonceManager(nonceManager);
+        String unknown = KeyringFactory.generate().getAddress();
+
+        List<ValueTransfer> transactions = Arrays.asList(
+                valueTransfer(senders.get(0).getAddress()),
+                valueTransfer(senders.get(0).getAddress()),
+                valueTransfer(unknown));
+
+        try {
+            new BulkTransactionSigner(wallet, caver.rpc.getKlay()).signAll(transactions);
+            fail();
+        } catch(NullPointerException e) {
+            // The wallet has no keyring of the unknown sender.
+        }
+
+        assertTrue(nonceManager.getInFlightNonces(senders.get(0).getAddress()).isEmpty());
+        assertTrue(nonceManager.getInFlightNonces(unknown).isEmpty());
+        assertEquals(Arrays.asList(BigInteger.valueOf(5), BigInteger.valueOf(6)), nonceManager.getReleasedNonces(senders.get(0).getAddress()));
+        assertEquals("0x", transactions.get(0).getNonce());
+        assertEquals(BigInteger.valueOf(5), nonceManager.getNonce(senders.get(0).getAddress()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwException_invalidChunkSize() {
+        new BulkTransactionSigner(wallet, caver.rpc.getKlay(), Executors.newSingleThreadExecutor(), 0);
+    }
+}
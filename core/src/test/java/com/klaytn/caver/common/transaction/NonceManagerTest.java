@@ -0,0 +1,308 @@
+package com.klaytn.caver.common.transaction;
+
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.methods.response.Bytes32;
+import com.klaytn.caver.rpc.Klay;
+import com.klaytn.caver.transaction.NonceManager;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@RunWith(Enclosed.class)
+public class NonceManagerTest {
+    static final String ADDRESS = "0xa94f5374Fce5edBC8E2a8697C15331677e6EbF0B";
+
+    public static class getNonceTest {
+        MockWeb3jService service;
+        AtomicReference<String> pendingNonce = new AtomicReference<>("0x5");
+        NonceManager nonceManager;
+
+        @Before
+        public void setUp() {
+            service = new MockWeb3jService().on("klay_getTransactionCount", params -> pendingNonce.get());
+            nonceManager = new NonceManager(new Klay(service));
+        }
+
+        @Test
+        public void fetchPendingCountOnce() throws IOException {
+            assertEquals(BigInteger.valueOf(5), nonceManager.getNonce(ADDRESS));
+            assertEquals(BigInteger.valueOf(6), nonceManager.getNonce(ADDRESS));
+            assertEquals(BigInteger.valueOf(7), nonceManager.getNonce(ADDRESS.toLowerCase()));
+            assertEquals(1, service.getCallCount("klay_getTransactionCount"));
+            assertEquals(3, nonceManager.getInFlightNonces(ADDRESS).size());
+        }
+
+        @Test
+        public void allocateUniqueNoncesConcurrently() throws Exception {
+            int threads = 8;
+            int perThread = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            Set<BigInteger> nonces = ConcurrentHashMap.newKeySet();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for(int j = 0; j < perThread; j++) {
+                        nonces.add(nonceManager.getNonce(ADDRESS));
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertEquals(threads * perThread, nonces.size());
+            assertEquals(BigInteger.valueOf(5), Collections.min(nonces));
+            assertEquals(BigInteger.valueOf(5 + threads * perThread - 1), Collections.max(nonces));
+            assertEquals(1, service.getCallCount("klay_getTransactionCount"));
+        }
+
+        @Test
+        public void reuseReleasedNonce() throws IOException {
+            nonceManager.getNonce(ADDRESS);
+            BigInteger second = nonceManager.getNonce(ADDRESS);
+            nonceManager.getNonce(ADDRESS);
+
+            nonceManager.release(ADDRESS, second);
+            assertEquals(Arrays.asList(second), nonceManager.getReleasedNonces(ADDRESS));
+
+            assertEquals(second, nonceManager.getNonce(ADDRESS));
+            assertEquals(BigInteger.valueOf(8), nonceManager.getNonce(ADDRESS));
+        }
+
+        @Test
+        public void resyncAfterNonceTooLow() throws IOException {
+            BigInteger nonce = nonceManager.getNonce(ADDRESS);
+
+            pendingNonce.set("0xa");
+            nonceManager.handleError(ADDRESS, nonce, new Response.Error(-32000, "nonce too low"));
+
+            assertEquals(BigInteger.valueOf(10), nonceManager.getNonce(ADDRESS));
+            assertEquals(2, service.getCallCount("klay_getTransactionCount"));
+        }
+
+        @Test
+        public void keepUsedNonceOnKnownTransaction() throws IOException {
+            BigInteger nonce = nonceManager.getNonce(ADDRESS);
+            nonceManager.handleError(ADDRESS, nonce, new Response.Error(-32000, "known transaction"));
+
+            assertTrue(nonceManager.getReleasedNonces(ADDRESS).isEmpty());
+            assertEquals(BigInteger.valueOf(6), nonceManager.getNonce(ADDRESS));
+        }
+
+        @Test
+        public void releaseNonceOnOtherError() throws IOException {
+            BigInteger nonce = nonceManager.getNonce(ADDRESS);
+            nonceManager.handleError(ADDRESS, nonce, new Response.Error(-32000, "insufficient funds of the sender for value"));
+
+            assertEquals(nonce, nonceManager.getNonce(ADDRESS));
+        }
+
+        @Test
+        public void ignoreNonceNotAllocated() throws IOException {
+            nonceManager.getNonce(ADDRESS);
+            nonceManager.handleError(ADDRESS, BigInteger.valueOf(100), new Response.Error(-32000, "invalid unit price"));
+
+            assertTrue(nonceManager.getReleasedNonces(ADDRESS).isEmpty());
+        }
+
+        @Test
+        public void keepConfirmedNoncesOnLaggingResync() throws IOException {
+            for(int i = 0; i < 3; i++) {
+                nonceManager.confirm(ADDRESS, nonceManager.getNonce(ADDRESS));
+            }
+            BigInteger inFlight = nonceManager.getNonce(ADDRESS);
+
+            // The node has not seen the accepted transactions with nonce 6 and 7 yet.
+            pendingNonce.set("0x6");
+            nonceManager.resync(ADDRESS);
+
+            assertTrue(nonceManager.getReleasedNonces(ADDRESS).isEmpty());
+            assertEquals(Arrays.asList(inFlight), nonceManager.getInFlightNonces(ADDRESS));
+            assertEquals(BigInteger.valueOf(9), nonceManager.getNonce(ADDRESS));
+        }
+
+        @Test
+        public void detectGapOnResync() throws IOException {
+            nonceManager.getNonce(ADDRESS);
+            BigInteger second = nonceManager.getNonce(ADDRESS);
+            BigInteger third = nonceManager.getNonce(ADDRESS);
+
+            // It is unknown whether the node received the transactions with nonce 6 and 7, and it did not.
+            nonceManager.markUnknown(ADDRESS, second);
+            nonceManager.markUnknown(ADDRESS, third);
+            pendingNonce.set("0x6");
+
+            assertEquals(second, nonceManager.getNonce(ADDRESS));
+            assertEquals(third, nonceManager.getNonce(ADDRESS));
+            assertEquals(BigInteger.valueOf(8), nonceManager.getNonce(ADDRESS));
+            assertEquals(2, service.getCallCount("klay_getTransactionCount"));
+        }
+
+        @Test
+        public void dropUnknownNonceReceivedByNode() throws IOException {
+            BigInteger nonce = nonceManager.getNonce(ADDRESS);
+            nonceManager.markUnknown(ADDRESS, nonce);
+            pendingNonce.set("0x6");
+
+            assertEquals(BigInteger.valueOf(6), nonceManager.getNonce(ADDRESS));
+            assertTrue(nonceManager.getReleasedNonces(ADDRESS).isEmpty());
+        }
+
+        @Test
+        public void keepReleasedNoncesOnResync() throws IOException {
+            nonceManager.getNonce(ADDRESS);
+            BigInteger released = nonceManager.getNonce(ADDRESS);
+            nonceManager.release(ADDRESS, released);
+
+            pendingNonce.set("0x5");
+            nonceManager.resync(ADDRESS);
+
+            assertEquals(Arrays.asList(released), nonceManager.getReleasedNonces(ADDRESS));
+            assertEquals(released, nonceManager.getNonce(ADDRESS));
+        }
+
+        @Test
+        public void throwIOExceptionOnErrorResponse() {
+            service.on("klay_getTransactionCount", params -> new Response.Error(-32000, "unknown account"));
+
+            try {
+                nonceManager.getNonce(ADDRESS);
+                fail();
+            } catch(IOException e) {
+                assertEquals("unknown account", e.getMessage());
+            }
+        }
+    }
+
+    public static class fillTransactionTest {
+        SingleKeyring keyring = KeyringFactory.createFromPrivateKey("0x45a915e4d060149eb4365960e6a7a45f334393093061116b197e3240065ff2d8");
+        MockWeb3jService service;
+        Klay klay;
+
+        @Before
+        public void setUp() {
+            service = new MockWeb3jService().on("klay_getTransactionCount", params -> "0x5");
+            klay = new Klay(service);
+            klay.setNonceManager(new NonceManager(klay));
+        }
+
+        ValueTransfer createTransaction() {
+            return new ValueTransfer.Builder()
+                    .setKlaytnCall(klay)
+                    .setFrom(keyring.getAddress())
+                    .setTo("0x7b65b75d204abed71587c9e519a89277766ee1d0")
+                    .setValue("0xa")
+                    .setGas("0xf4240")
+                    .setGasPrice("0x19")
+                    .setChainId("0x2710")
+                    .build();
+        }
+
+        @Test
+        public void fillNonceWithNonceManager() throws IOException {
+            ValueTransfer first = createTransaction();
+            ValueTransfer second = createTransaction();
+            first.sign(keyring);
+            second.sign(keyring);
+
+            assertEquals("0x5", first.getNonce());
+            assertEquals("0x6", second.getNonce());
+            assertEquals(1, service.getCallCount("klay_getTransactionCount"));
+        }
+
+        @Test
+        public void notAllocateNonceWhenChainIdLookupFails() {
+            service.on("klay_chainID", params -> new IOException("connection reset"));
+
+            ValueTransfer transaction = new ValueTransfer.Builder()
+                    .setKlaytnCall(klay)
+                    .setFrom(keyring.getAddress())
+                    .setTo("0x7b65b75d204abed71587c9e519a89277766ee1d0")
+                    .setValue("0xa")
+                    .setGas("0xf4240")
+                    .setGasPrice("0x19")
+                    .build();
+            try {
+                transaction.fillTransaction();
+                fail();
+            } catch(IOException e) {
+                assertEquals("0x", transaction.getNonce());
+                assertEquals(0, service.getCallCount("klay_getTransactionCount"));
+            }
+        }
+
+        @Test
+        public void releaseNonceWhenNotConnected() throws IOException {
+            service.on("klay_sendRawTransaction", params -> new ConnectException("Connection refused"));
+
+            ValueTransfer transaction = createTransaction();
+            transaction.sign(keyring);
+            try {
+                klay.sendRawTransaction(transaction).send();
+                fail();
+            } catch(ConnectException e) {
+                assertEquals(Arrays.asList(BigInteger.valueOf(5)), klay.getNonceManager().getReleasedNonces(keyring.getAddress()));
+            }
+        }
+
+        @Test
+        public void resyncWhenSendResultIsUnknown() throws IOException {
+            service.on("klay_sendRawTransaction", params -> new SocketTimeoutException("Read timed out"));
+
+            ValueTransfer transaction = createTransaction();
+            transaction.sign(keyring);
+            try {
+                klay.sendRawTransaction(transaction).send();
+                fail();
+            } catch(SocketTimeoutException e) {
+                assertTrue(klay.getNonceManager().getInFlightNonces(keyring.getAddress()).isEmpty());
+                assertTrue(klay.getNonceManager().getReleasedNonces(keyring.getAddress()).isEmpty());
+            }
+
+            // The node did not receive the transaction, so the nonce is handed out again after the resync.
+            ValueTransfer retried = createTransaction();
+            retried.sign(keyring);
+
+            assertEquals("0x5", retried.getNonce());
+            assertEquals(2, service.getCallCount("klay_getTransactionCount"));
+        }
+
+        @Test
+        public void reportSendRawTransactionResult() throws IOException {
+            service.on("klay_sendRawTransaction", params -> new Response.Error(-32000, "invalid unit price"));
+
+            ValueTransfer transaction = createTransaction();
+            transaction.sign(keyring);
+            Bytes32 response = klay.sendRawTransaction(transaction).send();
+
+            assertTrue(response.hasError());
+            assertEquals(Arrays.asList(BigInteger.valueOf(5)), klay.getNonceManager().getReleasedNonces(keyring.getAddress()));
+
+            service.on("klay_sendRawTransaction", params -> transaction.getTransactionHash());
+            ValueTransfer retried = createTransaction();
+            retried.sign(keyring);
+            klay.sendRawTransaction(retried).send();
+
+            assertEquals("0x5", retried.getNonce());
+            assertTrue(klay.getNonceManager().getInFlightNonces(keyring.getAddress()).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.klaytn.caver.common.transaction;
+
+import com.klaytn.caver.transaction.SignatureCombiner;
+import com.klaytn.caver.transaction.TransactionDecoder;
+import com.klaytn.caver.transaction.type.FeeDelegatedValueTransfer;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.MultipleKeyring;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SignatureCombinerTest {
+    static final String TO = "0x7b65b75d204abed71587c9e519a89277766ee1d0";
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    static ValueTransfer valueTransfer(String from, String value) {
+        return new ValueTransfer.Builder()
+                .setFrom(from)
+                .setTo(TO)
+                .setValue(value)
+                .setChainId("0x7e3")
+                .setNonce("0x0")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .build();
+    }
+
+    static FeeDelegatedValueTransfer feeDelegatedValueTransfer(String from) {
+        return new FeeDelegatedValueTransfer.Builder()
+                .setFrom(from)
+                .setTo(TO)
+                .setValue("0x1")
+                .setChainId("0x7e3")
+                .setNonce("0x0")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .build();
+    }
+
+    @Test
+    public void combineIncrementally() throws Exception {
+        MultipleKeyring keyring = KeyringFactory.createWithMultipleKey(KeyringFactory.generate().getAddress(), KeyringFactory.generateMultipleKeys(10));
+
+        List<String> rawTransactions = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            rawTransactions.add(valueTransfer(keyring.getAddress(), "0x1").sign(keyring, i).getRawTransaction());
+        }
+
+        SignatureCombiner combiner = new SignatureCombiner(valueTransfer(keyring.getAddress(), "0x1"));
+        assertEquals(5, combiner.addAll(rawTransactions.subList(0, 5)));
+        assertEquals(0, combiner.add(rawTransactions.get(0)));
+        assertEquals(5, combiner.addAll(rawTransactions));
+        assertEquals(10, combiner.getSignatureCount());
+
+        String expected = valueTransfer(keyring.getAddress(), "0x1").sign(keyring).getRawTransaction();
+        assertEquals(expected, combiner.getRawTransaction());
+        assertEquals(expected, valueTransfer(keyring.getAddress(), "0x1").combineSignedRawTransactions(rawTransactions));
+    }
+
+    @Test
+    public void combineFeePayerSignatures() throws Exception {
+        SingleKeyring sender = KeyringFactory.generate();
+        MultipleKeyring feePayer = KeyringFactory.createWithMultipleKey(KeyringFactory.generate().getAddress(), KeyringFactory.generateMultipleKeys(2));
+
+        FeeDelegatedValueTransfer signedBySender = feeDelegatedValueTransfer(sender.getAddress());
+        signedBySender.sign(sender);
+
+        List<String> rawTransactions = new ArrayList<>();
+        rawTransactions.add(signedBySender.getRawTransaction());
+        for(int i = 0; i < 2; i++) {
+            FeeDelegatedValueTransfer transaction = feeDelegatedValueTransfer(sender.getAddress());
+            transaction.setFeePayer(feePayer.getAddress());
+            transaction.signAsFeePayer(feePayer, i);
+            rawTransactions.add(transaction.getRawTransaction());
+        }
+
+        FeeDelegatedValueTransfer combined = feeDelegatedValueTransfer(sender.getAddress());
+        SignatureCombiner combiner = new SignatureCombiner(combined);
+        assertEquals(3, combiner.addAll(rawTransactions));
+        combiner.getTransaction();
+
+        assertEquals(feePayer.getAddress(), combined.getFeePayer());
+        assertEquals(TransactionDecoder.decode(signedBySender.getRawTransaction()).getSignatures(), combined.getSignatures());
+        assertEquals(2, combined.getFeePayerSignatures().size());
+    }
+
+    @Test
+    public void throwException_differentField() throws Exception {
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("Transactions containing different information cannot be combined.");
+
+        SingleKeyring keyring = KeyringFactory.generate();
+        String rawTransaction = valueTransfer(keyring.getAddress(), "0x2").sign(keyring).getRawTransaction();
+
+        new SignatureCombiner(valueTransfer(keyring.getAddress(), "0x1")).addAll(Arrays.asList(rawTransaction));
+    }
+}
@@ -0,0 +1,156 @@
+package com.klaytn.caver.common.transaction;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.account.*;
+import com.klaytn.caver.common.rpc.MockWeb3jService;
+import com.klaytn.caver.transaction.AbstractTransaction;
+import com.klaytn.caver.transaction.TransactionVerifier;
+import com.klaytn.caver.transaction.type.FeeDelegatedValueTransfer;
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.keyring.*;
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class TransactionVerifierTest {
+    static final String TO = "0x7b65b75d204abed71587c9e519a89277766ee1d0";
+
+    static ValueTransfer valueTransfer(String from) {
+        return new ValueTransfer.Builder()
+                .setFrom(from)
+                .setTo(TO)
+                .setValue("0x1")
+                .setChainId("0x7e3")
+                .setNonce("0x0")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .build();
+    }
+
+    static FeeDelegatedValueTransfer feeDelegatedValueTransfer(String from) {
+        return new FeeDelegatedValueTransfer.Builder()
+                .setFrom(from)
+                .setTo(TO)
+                .setValue("0x1")
+                .setChainId("0x7e3")
+                .setNonce("0x0")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .build();
+    }
+
+    @Test
+    public void verifyLegacyPublicAndWeightedMultiSig() throws Exception {
+        TransactionVerifier verifier = new TransactionVerifier();
+        SingleKeyring keyring = KeyringFactory.generate();
+        SingleKeyring other = KeyringFactory.generate();
+
+        ValueTransfer transaction = valueTransfer(keyring.getAddress());
+        transaction.sign(keyring);
+
+        assertEquals(Collections.singletonList(Numeric.prependHexPrefix(keyring.getPublicKey())), verifier.recoverPublicKeys(transaction));
+        assertTrue(verifier.verify(transaction, new AccountKeyLegacy()));
+        assertTrue(verifier.verify(transaction, keyring.toAccount().getAccountKey()));
+        assertTrue(verifier.verify(transaction, AccountKeyPublic.fromPublicKey(keyring.getPublicKey(true))));
+        assertFalse(verifier.verify(transaction, other.toAccount().getAccountKey()));
+        assertFalse(verifier.verify(transaction, new AccountKeyFail()));
+        assertFalse(verifier.verify(valueTransfer(other.getAddress()), new AccountKeyLegacy()));
+
+        MultipleKeyring multipleKeyring = KeyringFactory.createWithMultipleKey(keyring.getAddress(), KeyringFactory.generateMultipleKeys(3));
+        WeightedMultiSigOptions options = new WeightedMultiSigOptions(BigInteger.valueOf(2), Arrays.asList(BigInteger.ONE, BigInteger.ONE, BigInteger.ONE));
+        IAccountKey multiSig = multipleKeyring.toAccount(options).getAccountKey();
+
+        ValueTransfer multiSigned = valueTransfer(keyring.getAddress());
+        multiSigned.sign(multipleKeyring, 0);
+        assertFalse(verifier.verify(multiSigned, multiSig));
+
+        // The same signature twice counts the weight of the key once.
+        multiSigned.appendSignatures(multiSigned.getSignatures().get(0));
+        assertFalse(verifier.verify(multiSigned, multiSig));
+
+        multiSigned.sign(multipleKeyring, 2);
+        assertTrue(verifier.verify(multiSigned, multiSig));
+    }
+
+    @Test
+    public void verifyRoleBasedAndFeePayerWithCache() throws Exception {
+        TransactionVerifier verifier = new TransactionVerifier(ForkJoinPool.commonPool(), 16);
+        RoleBasedKeyring sender = KeyringFactory.createWithRoleBasedKey(KeyringFactory.generate().getAddress(), KeyringFactory.generateRolBasedKeys(new int[] {2, 1, 1}));
+        SingleKeyring feePayer = KeyringFactory.generate();
+
+        FeeDelegatedValueTransfer transaction = feeDelegatedValueTransfer(sender.getAddress());
+        transaction.sign(sender);
+        transaction.setFeePayer(feePayer.getAddress());
+        transaction.signAsFeePayer(feePayer);
+
+        IAccountKey roleBased = sender.toAccount().getAccountKey();
+        assertTrue(verifier.verify(transaction, roleBased));
+        assertEquals(2, verifier.getMissCount());
+        assertTrue(verifier.verifyFeePayer(transaction, new AccountKeyLegacy()));
+        assertFalse(verifier.verifyFeePayer(transaction, roleBased));
+
+        // The fee payer role falls back to the transaction role if it is not set.
+        List<IAccountKey> keys = new ArrayList<>(((AccountKeyRoleBased)roleBased).getAccountKeys());
+        keys.set(AccountKeyRoleBased.RoleGroup.FEE_PAYER.getIndex(), new AccountKeyNil());
+        assertFalse(TransactionVerifier.isSatisfied(new AccountKeyRoleBased(keys), AccountKeyRoleBased.RoleGroup.FEE_PAYER, sender.getAddress(),
+                Collections.singletonList(sender.getPublicKey().get(2)[0])));
+        assertTrue(TransactionVerifier.isSatisfied(new AccountKeyRoleBased(keys), AccountKeyRoleBased.RoleGroup.FEE_PAYER, sender.getAddress(),
+                Collections.singletonList(sender.getPublicKey().get(0)[1])));
+
+        assertTrue(verifier.verify(transaction, roleBased));
+        assertEquals(3, verifier.getHitCount());
+        assertEquals(3, verifier.getMissCount());
+    }
+
+    @Test
+    public void verifyAllWithAccountKeysOfNode() throws Exception {
+        SingleKeyring legacy = KeyringFactory.generate();
+        SingleKeyring failed = KeyringFactory.generate();
+        SingleKeyring feePayer = KeyringFactory.generate();
+
+        MockWeb3jService service = new MockWeb3jService()
+                .on("klay_getAccountKey", params -> {
+                    String address = params.get(0).asText();
+                    if(address.equals(failed.getAddress())) {
+                        return Collections.singletonMap("keyType", 3);
+                    }
+                    return address.equals(legacy.getAddress()) ? Collections.singletonMap("keyType", 1) : null;
+                });
+        Caver caver = new Caver(service);
+
+        List<AbstractTransaction> transactions = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            SingleKeyring sender = i % 2 == 0 ? legacy : failed;
+            if(i % 4 == 0) {
+                FeeDelegatedValueTransfer transaction = feeDelegatedValueTransfer(sender.getAddress());
+                transaction.sign(sender);
+                SingleKeyring signer = i % 8 == 0 ? feePayer : failed;
+                transaction.setFeePayer(signer.getAddress());
+                transaction.signAsFeePayer(signer);
+                transactions.add(transaction);
+            } else {
+                transactions.add(valueTransfer(sender.getAddress()).sign(sender));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Boolean> results = new TransactionVerifier(executor, 1024).verifyAll(transactions, caver.rpc.getKlay());
+
+            assertEquals(1, service.getIOCount());
+            assertEquals(3, service.getCallCount("klay_getAccountKey"));
+            for(int i = 0; i < 20; i++) {
+                assertEquals(i % 8 == 0 || i % 4 == 2, results.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
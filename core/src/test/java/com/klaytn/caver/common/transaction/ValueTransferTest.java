@@ -1,11 +1,15 @@
 package com.klaytn.caver.common.transaction;
 
 import com.klaytn.caver.Caver;
+import com.klaytn.caver.transaction.AbstractTransaction;
 import com.klaytn.caver.transaction.TransactionHasher;
 import com.klaytn.caver.transaction.TxPropertyBuilder;
 import com.klaytn.caver.transaction.type.TransactionType;
 import com.klaytn.caver.transaction.type.ValueTransfer;
 import com.klaytn.caver.wallet.keyring.AbstractKeyring;
+import com.klaytn.caver.wallet.keyring.KeyStore;
+import com.klaytn.caver.wallet.keyring.KeyStoreOption;
+import com.klaytn.caver.wallet.keyring.MessageSigned;
 import com.klaytn.caver.wallet.keyring.SignatureData;
 import org.junit.Before;
 import org.junit.Rule;
@@ -13,6 +17,7 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.web3j.crypto.CipherException;
 import org.web3j.utils.Numeric;
 
 import java.io.IOException;
@@ -464,6 +469,26 @@ public class ValueTransferTest {
             assertEquals(expectedEncoded, valueTransfer.getRLPEncoding());
         }
 
+        @Test
+        public void getRLPEncodingAsByteArray() {
+            String expectedEncoded = "0x08f87a8204d219830f4240947b65b75d204abed71587c9e519a89277766ee1d00a94a94f5374fce5edbc8e2a8697c15331677e6ebf0bf845f84325a0f3d0cd43661cabf53425535817c5058c27781f478cb5459874feaa462ed3a29aa06748abe186269ff10b8100a4b7d7fea274b53ea2905acbf498dc8b5ab1bf4fbc";
+
+            ValueTransfer valueTransfer = caver.transaction.valueTransfer.create(
+                    TxPropertyBuilder.valueTransfer()
+                            .setFrom(from)
+                            .setTo(to)
+                            .setValue(value)
+                            .setGas(gas)
+                            .setGasPrice(gasPrice)
+                            .setChainId(chainId)
+                            .setNonce(BigInteger.valueOf(nonce))
+                            .setSignatures(signatureData)
+            );
+            assertArrayEquals(Numeric.hexStringToByteArray(expectedEncoded), valueTransfer.getRLPEncodingAsByteArray());
+            assertArrayEquals(Numeric.hexStringToByteArray(valueTransfer.getRLPEncodingForSignature()), valueTransfer.getRLPEncodingForSignatureAsByteArray());
+            assertEquals(TransactionHasher.getHashForSignature(valueTransfer), Numeric.toHexString(TransactionHasher.getHashForSignatureAsByteArray(valueTransfer)));
+        }
+
         @Test
         public void throwException_NoNonce() {
             expectedException.expect(RuntimeException.class);
@@ -590,6 +615,46 @@ public class ValueTransferTest {
             assertEquals(expectedRawTx, mValueTransfer.getRawTransaction());
         }
 
+        @Test
+        public void signWithKey_CustomKeyring() throws IOException {
+            // A keyring which implements only the String sign functions is signed through the default byte array functions.
+            AbstractKeyring delegate = coupledKeyring;
+            AbstractKeyring customKeyring = new AbstractKeyring(from) {
+                @Override
+                public List<SignatureData> sign(String txHash, int chainId, int role) {
+                    return delegate.sign(txHash, chainId, role);
+                }
+
+                @Override
+                public SignatureData sign(String txHash, int chainId, int role, int index) {
+                    return delegate.sign(txHash, chainId, role, index);
+                }
+
+                @Override
+                public MessageSigned signMessage(String message, int role) {
+                    return delegate.signMessage(message, role);
+                }
+
+                @Override
+                public MessageSigned signMessage(String message, int role, int index) {
+                    return delegate.signMessage(message, role, index);
+                }
+
+                @Override
+                public KeyStore encrypt(String password, KeyStoreOption options) throws CipherException {
+                    return delegate.encrypt(password, options);
+                }
+
+                @Override
+                public AbstractKeyring copy() {
+                    return this;
+                }
+            };
+
+            mValueTransfer.sign(customKeyring);
+            assertEquals(expectedRawTx, mValueTransfer.getRawTransaction());
+        }
+
         @Test
         public void throwException_NotMatchAddress() throws IOException {
             expectedException.expect(IllegalArgumentException.class);
@@ -1124,6 +1189,38 @@ public class ValueTransferTest {
             assertEquals(expectedHash, txHash);
         }
 
+        @Test
+        public void getTransactionHash_CustomTransactionType() {
+            mValueTransfer = caver.transaction.valueTransfer.create(
+                    TxPropertyBuilder.valueTransfer()
+                            .setNonce(BigInteger.valueOf(nonce))
+                            .setGas(gas)
+                            .setGasPrice(gasPrice)
+                            .setTo(to)
+                            .setChainId(chainId)
+                            .setValue(value)
+                            .setFrom(from)
+                            .setSignatures(signatureData)
+            );
+
+            // A transaction type which implements only the String encoding functions is hashed through the default byte array functions.
+            ValueTransfer delegate = mValueTransfer;
+            AbstractTransaction customTransaction = new AbstractTransaction(null, delegate.getType(), from, delegate.getNonce(), gas, gasPrice, chainId, Arrays.asList(signatureData)) {
+                @Override
+                public String getRLPEncoding() {
+                    return delegate.getRLPEncoding();
+                }
+
+                @Override
+                public String getCommonRLPEncodingForSignature() {
+                    return delegate.getCommonRLPEncodingForSignature();
+                }
+            };
+
+            assertEquals(expectedHash, customTransaction.getTransactionHash());
+            assertEquals(delegate.getRLPEncodingForSignature(), customTransaction.getRLPEncodingForSignature());
+        }
+
         @Test
         public void throwException_NotDefined_Nonce() {
             expectedException.expect(RuntimeException.class);
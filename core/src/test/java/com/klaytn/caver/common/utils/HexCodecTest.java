@@ -0,0 +1,74 @@
+package com.klaytn.caver.common.utils;
+
+import com.klaytn.caver.utils.HexCodec;
+import org.junit.Test;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HexCodecTest {
+
+    @Test
+    public void checksumMatchesKeys() {
+        Random random = new Random(1);
+        for(int i = 0; i < 100; i++) {
+            byte[] bytes = new byte[20];
+            random.nextBytes(bytes);
+            String address = Numeric.toHexString(bytes);
+            String checksum = Keys.toChecksumAddress(address);
+
+            assertEquals(checksum, HexCodec.toChecksumAddress(address));
+            assertTrue(HexCodec.isAddress(checksum));
+            assertTrue(HexCodec.isChecksumAddress(checksum));
+            assertTrue(HexCodec.isAddress(address.toUpperCase().replace("0X", "0x")));
+            assertEquals(address, HexCodec.normalizeAddress(checksum.substring(2)));
+
+            String wrongCase = flipCase(checksum);
+            assertEquals(checksum.equals(wrongCase), HexCodec.isAddress(wrongCase));
+        }
+    }
+
+    @Test
+    public void validate() {
+        assertTrue(HexCodec.isAddress("0X8723590d5d60e35f7ce0db5c09d3938b26ff80ae"));
+        assertFalse(HexCodec.isAddress("0x8723590d5d60e35f7ce0db5c09d3938b26ff80a"));
+        assertFalse(HexCodec.isAddress("0x8723590d5d60e35f7ce0db5c09d3938b26ff80ag"));
+        assertNull(HexCodec.normalizeAddress("0x8723590d5D60e35f7cE0Db5C09D3938b26fF80AE"));
+
+        assertTrue(HexCodec.isHex(""));
+        assertTrue(HexCodec.isHex("-0x1f"));
+        assertTrue(HexCodec.isHex("1F"));
+        assertFalse(HexCodec.isHex("0x1g"));
+        assertTrue(HexCodec.isHexStrict("0x"));
+        assertTrue(HexCodec.isHexStrict("-0xab"));
+        assertFalse(HexCodec.isHexStrict("ab"));
+    }
+
+    @Test
+    public void convert() {
+        assertArrayEquals(Numeric.hexStringToByteArray("0x0fea"), HexCodec.toBytes("0x0fea"));
+        assertArrayEquals(Numeric.hexStringToByteArray("0xfea"), HexCodec.toBytes("fea"));
+        assertArrayEquals(new byte[0], HexCodec.toBytes("0x"));
+        assertEquals("0x00ff7f", HexCodec.toHexString(new byte[] {0, -1, 127}));
+        assertEquals("ff7f", HexCodec.toHexStringNoPrefix(new byte[] {-1, 127}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwException_invalidHex() {
+        HexCodec.toBytes("0x0g");
+    }
+
+    static String flipCase(String checksum) {
+        char[] chars = checksum.toCharArray();
+        for(int i = 2; i < chars.length; i++) {
+            if(Character.isLetter(chars[i])) {
+                chars[i] = Character.isUpperCase(chars[i]) ? Character.toLowerCase(chars[i]) : Character.toUpperCase(chars[i]);
+                break;
+            }
+        }
+        return new String(chars);
+    }
+}
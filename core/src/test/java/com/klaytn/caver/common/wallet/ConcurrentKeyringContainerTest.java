@@ -0,0 +1,123 @@
+package com.klaytn.caver.common.wallet;
+
+import com.klaytn.caver.transaction.type.ValueTransfer;
+import com.klaytn.caver.wallet.ConcurrentKeyringContainer;
+import com.klaytn.caver.wallet.KeyringContainer;
+import com.klaytn.caver.wallet.keyring.AbstractKeyring;
+import com.klaytn.caver.wallet.keyring.KeyringFactory;
+import com.klaytn.caver.wallet.keyring.SingleKeyring;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.web3j.crypto.Keys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentKeyringContainerTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    static ValueTransfer generateValueTransfer(AbstractKeyring keyring) {
+        return new ValueTransfer.Builder()
+                .setFrom(keyring.getAddress())
+                .setTo(keyring.getAddress())
+                .setValue("0x1")
+                .setChainId("0x7e3")
+                .setNonce("0x0")
+                .setGas("0x15f90")
+                .setGasPrice("0x5d21dba00")
+                .build();
+    }
+
+    @Test
+    public void addAllWithoutCopy() {
+        SingleKeyring keyring = KeyringFactory.generate();
+        ConcurrentKeyringContainer container = new ConcurrentKeyringContainer();
+        container.addAll(Arrays.asList(keyring, KeyringFactory.generate()));
+
+        assertEquals(2, container.length());
+        assertSame(keyring, container.getKeyring(keyring.getAddress()));
+    }
+
+    @Test
+    public void getKeyringWithNotNormalizedAddress() {
+        SingleKeyring keyring = KeyringFactory.generate();
+        ConcurrentKeyringContainer container = new ConcurrentKeyringContainer(Arrays.asList(keyring));
+        String address = keyring.getAddress();
+
+        assertSame(keyring, container.getKeyring(Keys.toChecksumAddress(address)));
+        assertSame(keyring, container.getKeyring(address.substring(2)));
+        assertSame(keyring, container.getKeyring("0x" + address.substring(2).toUpperCase()));
+        assertTrue(container.remove(Keys.toChecksumAddress(address)));
+        assertFalse(container.isExisted(address));
+    }
+
+    @Test
+    public void throwException_invalidAddress() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Invalid address. To get keyring from wallet, you need to pass a valid address string as a parameter.");
+
+        new ConcurrentKeyringContainer().getKeyring("0x1234");
+    }
+
+    @Test
+    public void throwException_duplicatedInAddAll() {
+        SingleKeyring existing = KeyringFactory.generate();
+        SingleKeyring added = KeyringFactory.generate();
+        ConcurrentKeyringContainer container = new ConcurrentKeyringContainer();
+        container.add(existing);
+
+        try {
+            container.addAll(Arrays.asList(added, existing));
+            fail();
+        } catch(IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Duplicated Account"));
+        }
+
+        assertEquals(1, container.length());
+        assertFalse(container.isExisted(added.getAddress()));
+    }
+
+    @Test
+    public void throwException_updateNotExistedKeyring() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Failed to find keyring to update.");
+
+        new ConcurrentKeyringContainer().updateKeyring(KeyringFactory.generate());
+    }
+
+    @Test
+    public void signConcurrently() throws Exception {
+        ConcurrentKeyringContainer container = new ConcurrentKeyringContainer();
+        List<String> addresses = container.generate(16);
+
+        KeyringContainer expectedContainer = new KeyringContainer();
+        for(String address : addresses) {
+            expectedContainer.add(container.getKeyring(address));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for(int i = 0; i < 64; i++) {
+                String address = addresses.get(i % addresses.size());
+                futures.add(executor.submit(() -> container.sign(address, generateValueTransfer(container.getKeyring(address))).getRawTransaction()));
+            }
+
+            for(int i = 0; i < futures.size(); i++) {
+                String address = addresses.get(i % addresses.size());
+                String expected = expectedContainer.sign(address, generateValueTransfer(expectedContainer.getKeyring(address))).getRawTransaction();
+                assertEquals(expected, futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.klaytn.caver.common.wallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.wallet.ConcurrentKeyringContainer;
+import com.klaytn.caver.wallet.keyring.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.web3j.crypto.CipherException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class KeyStoreLoaderTest {
+    static final String PASSWORD = "password";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Path write(String name, KeyStore keystore) throws IOException {
+        return write(name, objectMapper.writeValueAsString(keystore));
+    }
+
+    Path write(String name, String content) throws IOException {
+        Path path = temporaryFolder.getRoot().toPath().resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void loadDirectory() throws Exception {
+        SingleKeyring single = KeyringFactory.generate();
+        RoleBasedKeyring roleBased = KeyringFactory.createWithRoleBasedKey(KeyringFactory.generate().getAddress(), KeyringFactory.generateRolBasedKeys(new int[] {2, 1, 1}));
+        SingleKeyring v3 = KeyringFactory.generate();
+        SingleKeyring wrongPassword = KeyringFactory.generate();
+
+        write("1-single", single.encrypt(PASSWORD));
+        write("2-rolebased", roleBased.encrypt(PASSWORD));
+        write("3-v3", v3.encryptV3(PASSWORD, KeyStoreOption.getDefaultOptionWithKDF("pbkdf2")));
+        write("4-wrong-password", wrongPassword.encrypt("other"));
+        write("5-invalid", "{");
+        temporaryFolder.newFolder("6-directory");
+
+        ConcurrentKeyringContainer container = new ConcurrentKeyringContainer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // The budget allows one scrypt derivation at a time.
+            List<KeyStoreLoader.Result> results = new KeyStoreLoader(executor, 5 * 1024 * 1024).load(temporaryFolder.getRoot().toPath(), PASSWORD, container);
+
+            assertEquals(5, results.size());
+            assertEquals(single.getAddress(), results.get(0).getKeyring().getAddress());
+            assertEquals(Arrays.asList("1-single", "2-rolebased", "3-v3", "4-wrong-password", "5-invalid"),
+                    Arrays.asList(results.stream().map(result -> result.getPath().getFileName().toString()).toArray()));
+
+            for(int i = 0; i < 3; i++) {
+                assertTrue(results.get(i).isSuccess());
+                assertTrue(results.get(i).getDecryptNanos() > 0);
+                assertTrue(results.get(i).getElapsedNanos() > 0);
+            }
+            assertTrue(results.get(3).getError() instanceof CipherException);
+            assertTrue(results.get(4).getError() instanceof IOException);
+            assertEquals(0, results.get(4).getElapsedNanos());
+
+            assertEquals(3, container.length());
+            RoleBasedKeyring loaded = (RoleBasedKeyring)container.getKeyring(roleBased.getAddress());
+            assertEquals(roleBased.getKeys().get(0)[1].getPrivateKey(), loaded.getKeys().get(0)[1].getPrivateKey());
+            assertEquals(v3.getKey().getPrivateKey(), ((SingleKeyring)container.getKeyring(v3.getAddress())).getKey().getPrivateKey());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void decryptKeysInParallel() throws Exception {
+        MultipleKeyring keyring = KeyringFactory.createWithMultipleKey(KeyringFactory.generate().getAddress(), KeyringFactory.generateMultipleKeys(4));
+        KeyStore keystore = keyring.encrypt(PASSWORD);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            MultipleKeyring decrypted = (MultipleKeyring)KeyringFactory.decrypt(keystore, PASSWORD, executor);
+            for(int i = 0; i < 4; i++) {
+                assertEquals(keyring.getKeys()[i].getPrivateKey(), decrypted.getKeys()[i].getPrivateKey());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.experimental.runners.Enclosed;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.web3j.crypto.CipherException;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
 import org.web3j.utils.Numeric;
 
 import java.io.IOException;
@@ -2491,4 +2493,47 @@ public class KeyringTest {
             assertEquals(expectedPublicKeys.get(2)[0], ((AccountKeyPublic) feePayerRoleKey).getPublicKey());
         }
     }
+
+    public static class privateKeyTest {
+        static final String HASH = "0xe9a11d9ef95fb437f75d07ce768d43e74f158dd54b106e7d3746ce29d545b550";
+        static final int CHAIN_ID = 1;
+
+        @Test
+        public void getKeyPair_derivedOnce() {
+            PrivateKey key = PrivateKey.generate();
+
+            assertSame(key.getKeyPair(), key.getKeyPair());
+            assertEquals(Numeric.toBigInt(key.getPrivateKey()), key.getKeyPair().getPrivateKey());
+        }
+
+        @Test
+        public void getPublicKey_matchesKeyPair() {
+            PrivateKey key = PrivateKey.generate();
+            BigInteger expected = Sign.publicKeyFromPrivate(Numeric.toBigInt(key.getPrivateKey()));
+
+            assertEquals(Numeric.toHexStringNoPrefixZeroPadded(expected, 128), key.getPublicKey(false));
+            assertEquals(Utils.compressPublicKey(Numeric.toHexStringWithPrefixZeroPadded(expected, 128)), key.getPublicKey(true));
+            assertEquals(Numeric.prependHexPrefix(Keys.getAddress(expected)), key.getDerivedAddress());
+        }
+
+        @Test
+        public void sign_withByteArrayHash() {
+            PrivateKey key = PrivateKey.generate();
+
+            SignatureData expected = key.sign(HASH, CHAIN_ID);
+            SignatureData actual = key.sign(Numeric.hexStringToByteArray(HASH), CHAIN_ID);
+
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        public void signMessage_withByteArrayHash() {
+            PrivateKey key = PrivateKey.generate();
+
+            SignatureData expected = key.signMessage(HASH);
+            SignatureData actual = key.signMessage(Numeric.hexStringToByteArray(HASH));
+
+            assertEquals(expected, actual);
+        }
+    }
 }